@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.construct;
+
+import static java.util.Optional.of;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static org.mule.runtime.core.api.construct.BackPressureReason.MAX_CONCURRENCY_EXCEEDED;
+import static org.mule.runtime.core.internal.construct.BackPressureStrategySelector.BACK_PRESSURE_MAX_WAIT_PROPERTY;
+import static org.mule.tck.junit4.rule.SystemProperty.callWithProperty;
+import static org.mule.test.allure.AllureConstants.ExecutionEngineFeature.EXECUTION_ENGINE;
+import static org.mule.test.allure.AllureConstants.ExecutionEngineFeature.ExecutionEngineStory.BACKPRESSURE;
+
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.processor.strategy.CapacitySignal;
+import org.mule.runtime.core.internal.processor.strategy.CapacitySignalingProcessingStrategy;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@SmallTest
+@Feature(EXECUTION_ENGINE)
+@Story(BACKPRESSURE)
+public class BackPressureStrategySelectorTestCase extends AbstractMuleTestCase {
+
+  private final CapacitySignal capacitySignal = new CapacitySignal();
+  private final AtomicBoolean capacityAvailable = new AtomicBoolean(false);
+  private final ExecutorService executor = newSingleThreadExecutor();
+
+  private AbstractPipeline pipeline;
+  private CoreEvent event;
+
+  @Before
+  public void before() {
+    ProcessingStrategy processingStrategy =
+        mock(ProcessingStrategy.class, withSettings().extraInterfaces(CapacitySignalingProcessingStrategy.class));
+    when(((CapacitySignalingProcessingStrategy) processingStrategy).getCapacitySignal()).thenReturn(of(capacitySignal));
+    doAnswer(inv -> {
+      if (!capacityAvailable.get()) {
+        throw new FromFlowRejectedExecutionException(MAX_CONCURRENCY_EXCEEDED);
+      }
+      return null;
+    }).when(processingStrategy).checkBackpressureAccepting(any());
+
+    pipeline = mock(AbstractPipeline.class, RETURNS_DEEP_STUBS);
+    when(pipeline.getProcessingStrategy()).thenReturn(processingStrategy);
+    event = mock(CoreEvent.class, RETURNS_DEEP_STUBS);
+  }
+
+  @After
+  public void after() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void waitsUntilCapacitySignalled() throws Exception {
+    BackPressureStrategySelector selector = new BackPressureStrategySelector(pipeline);
+
+    Future<?> waiting = executor.submit(() -> {
+      selector.checkWithWaitStrategy(event);
+      return null;
+    });
+    new PollingProber().check(new JUnitLambdaProbe(() -> capacitySignal.getWaiters() == 1));
+
+    capacityAvailable.set(true);
+    capacitySignal.signal();
+    waiting.get(10, SECONDS);
+
+    assertThat(selector.getWaits(), is(1L));
+    assertThat(selector.getWaitedNanos(), is(greaterThan(0L)));
+  }
+
+  @Test
+  public void acceptedWithoutWaiting() throws Exception {
+    BackPressureStrategySelector selector = new BackPressureStrategySelector(pipeline);
+    capacityAvailable.set(true);
+
+    selector.checkWithWaitStrategy(event);
+
+    assertThat(selector.getWaits(), is(0L));
+  }
+
+  @Test
+  public void rejectedAfterMaxWait() throws Throwable {
+    BackPressureStrategySelector selector =
+        callWithProperty(BACK_PRESSURE_MAX_WAIT_PROPERTY, "50", () -> new BackPressureStrategySelector(pipeline));
+
+    try {
+      selector.checkWithWaitStrategy(event);
+      throw new AssertionError("Event should have been rejected");
+    } catch (FlowBackPressureException e) {
+      assertThat(e, instanceOf(FlowBackPressureMaxConcurrencyExceededException.class));
+    }
+    assertThat(selector.getWaits(), is(1L));
+  }
+}
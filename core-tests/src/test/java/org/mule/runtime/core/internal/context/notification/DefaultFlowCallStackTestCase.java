@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static java.lang.System.lineSeparator;
+import static org.apache.commons.lang3.SerializationUtils.clone;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.core.api.context.notification.FlowStackElement;
+import org.mule.runtime.core.internal.event.EventContextDeepNestingException;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+@SmallTest
+public class DefaultFlowCallStackTestCase extends AbstractMuleTestCase {
+
+  private final FlowStackElement outer = new FlowStackElement("outer", "outer/processors/0");
+  private final FlowStackElement inner = new FlowStackElement("inner", "inner/processors/1");
+
+  @Test
+  public void pushAndPop() {
+    DefaultFlowCallStack stack = new DefaultFlowCallStack();
+    assertThat(stack.peek(), is(nullValue()));
+
+    stack.push(outer);
+    stack.push(inner);
+    assertThat(stack.peek(), is(inner));
+    assertThat(stack.getElements(), contains(inner, outer));
+
+    assertThat(stack.pop(), is(inner));
+    assertThat(stack.pop(), is(outer));
+    assertThat(stack.getElements(), is(empty()));
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void popEmpty() {
+    new DefaultFlowCallStack().pop();
+  }
+
+  @Test
+  public void pushCurrentProcessorPath() {
+    DefaultFlowCallStack stack = new DefaultFlowCallStack();
+    stack.pushCurrentProcessorPath("ignored");
+    assertThat(stack.getElements(), is(empty()));
+
+    stack.push(outer);
+    stack.pushCurrentProcessorPath("outer/processors/1");
+
+    assertThat(stack.getElements().size(), is(1));
+    assertThat(stack.peek().getFlowName(), is("outer"));
+    assertThat(stack.peek().getProcessorPath(), is("outer/processors/1"));
+  }
+
+  @Test
+  public void cloneIsIndependent() {
+    DefaultFlowCallStack stack = new DefaultFlowCallStack();
+    stack.push(outer);
+
+    DefaultFlowCallStack cloned = stack.clone();
+    cloned.push(inner);
+    stack.pushCurrentProcessorPath("outer/processors/1");
+
+    assertThat(cloned.getElements(), contains(inner, outer));
+    assertThat(stack.getElements().size(), is(1));
+    assertThat(stack.peek().getProcessorPath(), is("outer/processors/1"));
+
+    cloned.pop();
+    assertThat(cloned.peek(), is(outer));
+  }
+
+  @Test
+  public void toStringFormat() {
+    DefaultFlowCallStack stack = new DefaultFlowCallStack();
+    assertThat(stack.toString(), is(""));
+
+    stack.push(outer);
+    stack.push(inner);
+    assertThat(stack.toString(),
+               is("at inner(inner/processors/1)" + lineSeparator() + "at outer(outer/processors/0)"));
+  }
+
+  @Test
+  public void serialization() {
+    DefaultFlowCallStack stack = new DefaultFlowCallStack();
+    stack.push(outer);
+    stack.push(inner);
+
+    List<FlowStackElement> elements = clone(stack).getElements();
+    assertThat(elements.size(), is(2));
+    assertThat(elements.get(0).toString(), is(inner.toString()));
+    assertThat(elements.get(1).toString(), is(outer.toString()));
+  }
+
+  @Test(expected = EventContextDeepNestingException.class)
+  public void maxDepth() {
+    DefaultFlowCallStack stack = new DefaultFlowCallStack();
+    for (int i = 0; i < 100; ++i) {
+      stack.push(outer);
+    }
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.internal.context.notification.NotificationOverflowPolicy.BLOCK;
+import static org.mule.runtime.core.internal.context.notification.NotificationOverflowPolicy.DROP;
+import static org.mule.runtime.core.internal.context.notification.NotificationOverflowPolicy.DROP_OLDEST;
+
+import org.mule.runtime.api.notification.Notification;
+import org.mule.runtime.api.notification.NotificationListener;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.context.notification.Event1;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class ListenerNotificationQueueTestCase extends AbstractMuleTestCase {
+
+  private static final int CAPACITY = 4;
+  private static final int BATCH_SIZE = 2;
+
+  private final Deque<Runnable> submittedTasks = new ConcurrentLinkedDeque<>();
+  private final List<Integer> received = new CopyOnWriteArrayList<>();
+  private Scheduler scheduler;
+  private NotificationListener<Notification> listener;
+
+  @Before
+  public void before() {
+    scheduler = mock(Scheduler.class);
+    when(scheduler.submit(any(Runnable.class))).thenAnswer(invocation -> {
+      submittedTasks.add(invocation.getArgument(0));
+      return null;
+    });
+    listener = notification -> received.add(Integer.valueOf(((Event1) notification).getResourceIdentifier()));
+  }
+
+  @Test
+  public void singleTaskForManyNotifications() {
+    ListenerNotificationQueue queue = new ListenerNotificationQueue(listener, scheduler, CAPACITY, BATCH_SIZE, DROP);
+    for (int i = 0; i < CAPACITY; ++i) {
+      queue.dispatch(notification(i));
+    }
+
+    assertThat(submittedTasks, hasSize(1));
+    runSubmittedTasks();
+    assertThat(received, contains(0, 1, 2, 3));
+    assertThat(queue.getQueuedCount(), is(4L));
+    assertThat(queue.getPendingCount(), is(0));
+  }
+
+  @Test
+  public void drainResubmitsWhileNotificationsArePending() {
+    ListenerNotificationQueue queue = new ListenerNotificationQueue(listener, scheduler, CAPACITY, BATCH_SIZE, DROP);
+    for (int i = 0; i < CAPACITY; ++i) {
+      queue.dispatch(notification(i));
+    }
+
+    submittedTasks.poll().run();
+    assertThat(received, contains(0, 1));
+    assertThat(submittedTasks, hasSize(1));
+  }
+
+  @Test
+  public void dropNewest() {
+    ListenerNotificationQueue queue = new ListenerNotificationQueue(listener, scheduler, CAPACITY, BATCH_SIZE, DROP);
+    for (int i = 0; i < CAPACITY + 2; ++i) {
+      queue.dispatch(notification(i));
+    }
+
+    runSubmittedTasks();
+    assertThat(received, contains(0, 1, 2, 3));
+    assertThat(queue.getDroppedCount(), is(2L));
+  }
+
+  @Test
+  public void dropOldest() {
+    ListenerNotificationQueue queue = new ListenerNotificationQueue(listener, scheduler, CAPACITY, BATCH_SIZE, DROP_OLDEST);
+    for (int i = 0; i < CAPACITY + 2; ++i) {
+      queue.dispatch(notification(i));
+    }
+
+    runSubmittedTasks();
+    assertThat(received, contains(2, 3, 4, 5));
+    assertThat(queue.getDroppedCount(), is(2L));
+  }
+
+  @Test
+  public void blockUntilDrained() throws Exception {
+    ListenerNotificationQueue queue = new ListenerNotificationQueue(listener, scheduler, CAPACITY, BATCH_SIZE, BLOCK);
+    for (int i = 0; i < CAPACITY; ++i) {
+      queue.dispatch(notification(i));
+    }
+
+    Thread blocked = new Thread(() -> queue.dispatch(notification(CAPACITY)));
+    blocked.start();
+    blocked.join(100);
+    assertThat(blocked.isAlive(), is(true));
+
+    runSubmittedTasks();
+    blocked.join(SECONDS.toMillis(5));
+    assertThat(blocked.isAlive(), is(false));
+    runSubmittedTasks();
+
+    assertThat(received, contains(0, 1, 2, 3, 4));
+    assertThat(queue.getDroppedCount(), is(0L));
+  }
+
+  @Test
+  public void blockingQueueDropsNotificationsFiredWhileDelivering() throws Exception {
+    ListenerNotificationQueue full = new ListenerNotificationQueue(listener, scheduler, CAPACITY, BATCH_SIZE, BLOCK);
+    for (int i = 0; i < CAPACITY; ++i) {
+      full.dispatch(notification(i));
+    }
+    ListenerNotificationQueue firing =
+        new ListenerNotificationQueue(notification -> full.dispatch(notification(CAPACITY)), scheduler, CAPACITY, BATCH_SIZE,
+                                      DROP);
+    firing.dispatch(notification(0));
+
+    Thread drainer = new Thread(() -> submittedTasks.pollLast().run());
+    drainer.start();
+    drainer.join(SECONDS.toMillis(5));
+    assertThat(drainer.isAlive(), is(false));
+
+    runSubmittedTasks();
+    assertThat(received, contains(0, 1, 2, 3));
+    assertThat(full.getDroppedCount(), is(1L));
+  }
+
+  @Test
+  public void flushDeliversPendingNotifications() {
+    ListenerNotificationQueue queue = new ListenerNotificationQueue(listener, scheduler, CAPACITY, BATCH_SIZE, DROP);
+    for (int i = 0; i < CAPACITY; ++i) {
+      queue.dispatch(notification(i));
+    }
+
+    queue.flush();
+    assertThat(received, contains(0, 1, 2, 3));
+    assertThat(queue.getPendingCount(), is(0));
+  }
+
+  @Test
+  public void listenerFailureDoesNotStopTheBatch() {
+    List<Integer> processed = new ArrayList<>();
+    ListenerNotificationQueue queue = new ListenerNotificationQueue(notification -> {
+      Integer value = Integer.valueOf(((Event1) notification).getResourceIdentifier());
+      processed.add(value);
+      if (value == 0) {
+        throw new IllegalStateException("Expected");
+      }
+    }, scheduler, CAPACITY, BATCH_SIZE, DROP);
+    queue.dispatch(notification(0));
+    queue.dispatch(notification(1));
+
+    runSubmittedTasks();
+    assertThat(processed, contains(0, 1));
+  }
+
+  private void runSubmittedTasks() {
+    Runnable task;
+    while ((task = submittedTasks.poll()) != null) {
+      task.run();
+    }
+  }
+
+  private static Notification notification(int value) {
+    return new Event1(String.valueOf(value));
+  }
+}
@@ -20,6 +20,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertEquals;
@@ -94,6 +95,7 @@ import org.mule.runtime.core.internal.el.ExpressionLanguageSessionAdaptor;
 import org.mule.runtime.core.internal.el.IllegalCompiledExpression;
 import org.mule.runtime.core.internal.message.BaseAttributes;
 import org.mule.runtime.core.internal.message.ErrorBuilder;
+import org.mule.runtime.core.internal.message.InternalEvent;
 import org.mule.runtime.core.internal.message.InternalMessage;
 import org.mule.tck.probe.JUnitLambdaProbe;
 import org.mule.tck.probe.PollingProber;
@@ -608,6 +610,21 @@ public class DataWeaveExpressionLanguageAdaptorTestCase extends AbstractWeaveExp
     assertThat(session.evaluate("flow.name").getValue(), is("test"));
   }
 
+  @Test
+  public void eventBindingsReusedForSameLocation() throws MuleException {
+    InternalEvent event = (InternalEvent) testEvent();
+    ComponentLocation otherLocation = from("otherFlow");
+
+    BindingContext bindingContext = event.asBindingContext(TEST_CONNECTOR_LOCATION);
+    assertThat(event.asBindingContext(TEST_CONNECTOR_LOCATION), is(sameInstance(bindingContext)));
+    assertThat(event.asBindingContext(otherLocation), is(not(sameInstance(bindingContext))));
+
+    assertThat(expressionLanguage.evaluate("flow.name", event, TEST_CONNECTOR_LOCATION, NULL_BINDING_CONTEXT).getValue(),
+               is("test"));
+    assertThat(expressionLanguage.evaluate("flow.name", event, otherLocation, NULL_BINDING_CONTEXT).getValue(),
+               is("otherFlow"));
+  }
+
   @Test
   public void sessionWithBindingContext() throws MuleException {
     ExpressionLanguageSessionAdaptor session = expressionLanguage.openSession(null, null, testEvent().asBindingContext());
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lock;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import org.mule.runtime.api.util.concurrent.Latch;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ConcurrentLockGroupTestCase extends AbstractMuleTestCase {
+
+  private static final int THREAD_COUNT = 100;
+  private static final int ITERATIONS_PER_THREAD = 100;
+
+  private final Latch threadStartLatch = new Latch();
+  private final ConcurrentLockGroup lockGroup = new ConcurrentLockGroup(new SingleServerLockProvider());
+  private final int[] counters = new int[2];
+
+  @Test
+  public void lockUnlock() throws Exception {
+    testHighConcurrency(false);
+  }
+
+  @Test
+  public void tryLockUnlock() throws Exception {
+    testHighConcurrency(true);
+  }
+
+  @Test
+  public void lockIsCreatedOncePerId() {
+    LockProvider lockProvider = mock(LockProvider.class, RETURNS_DEEP_STUBS.get());
+    ConcurrentLockGroup lockGroup = new ConcurrentLockGroup(lockProvider);
+    for (int i = 0; i < 5; i++) {
+      lockGroup.lock("lockId");
+    }
+    lockGroup.unlock("lockId");
+    verify(lockProvider, times(1)).createLock("lockId");
+  }
+
+  @Test
+  public void entryRemovedWhenLastHolderUnlocks() {
+    lockGroup.lock("lockId");
+    lockGroup.lock("lockId");
+    assertThat(lockGroup.getActiveLocksCount(), is(1));
+
+    lockGroup.unlock("lockId");
+    assertThat(lockGroup.getActiveLocksCount(), is(1));
+    lockGroup.unlock("lockId");
+    assertThat(lockGroup.getActiveLocksCount(), is(0));
+  }
+
+  @Test
+  public void entryRemovedWhenTryLockFails() throws Exception {
+    lockGroup.lock("lockId");
+
+    Thread thread = new Thread(() -> {
+      try {
+        assertThat(lockGroup.tryLock("lockId"), is(false));
+        assertThat(lockGroup.tryLock("lockId", 10, MILLISECONDS), is(false));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    thread.start();
+    thread.join(SECONDS.toMillis(5));
+
+    lockGroup.unlock("lockId");
+    assertThat(lockGroup.getActiveLocksCount(), is(0));
+  }
+
+  private void testHighConcurrency(boolean useTryLock) throws InterruptedException {
+    List<Thread> threads = new ArrayList<>(THREAD_COUNT * 2);
+    for (int i = 0; i < THREAD_COUNT; i++) {
+      for (int key = 0; key < counters.length; key++) {
+        Thread thread = new IncrementCounterThread(key, useTryLock);
+        threads.add(thread);
+        thread.start();
+      }
+    }
+    threadStartLatch.release();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    for (int counter : counters) {
+      assertThat(counter, is(THREAD_COUNT * ITERATIONS_PER_THREAD));
+    }
+    assertThat(lockGroup.getActiveLocksCount(), is(0));
+  }
+
+  private class IncrementCounterThread extends Thread {
+
+    private final int key;
+    private final boolean useTryLock;
+
+    private IncrementCounterThread(int key, boolean useTryLock) {
+      super("Thread-" + key);
+      this.key = key;
+      this.useTryLock = useTryLock;
+    }
+
+    @Override
+    public void run() {
+      try {
+        threadStartLatch.await(5000, MILLISECONDS);
+        for (int i = 0; i < ITERATIONS_PER_THREAD; i++) {
+          if (useTryLock) {
+            while (!lockGroup.tryLock(String.valueOf(key), 100, MILLISECONDS));
+          } else {
+            lockGroup.lock(String.valueOf(key));
+          }
+          try {
+            counters[key]++;
+          } finally {
+            lockGroup.unlock(String.valueOf(key));
+          }
+        }
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+}
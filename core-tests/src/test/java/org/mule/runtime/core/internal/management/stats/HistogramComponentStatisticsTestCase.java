@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+import org.mule.runtime.core.api.management.stats.ComponentStatistics;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+public class HistogramComponentStatisticsTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public SystemProperty statIntervalTime = new SystemProperty("statIntervalTime", null);
+
+  private static void assertValues(ComponentStatistics stats, long numEvents, long totalTime, long avgTime, long maxTime,
+                                   long minTime) {
+    assertThat("getExecutedEvents", stats.getExecutedEvents(), equalTo(numEvents));
+    assertThat("getTotalExecutionTime", stats.getTotalExecutionTime(), equalTo(totalTime));
+    assertThat("getAverageExecutionTime", stats.getAverageExecutionTime(), equalTo(avgTime));
+    assertThat("getMaxExecutionTime", stats.getMaxExecutionTime(), equalTo(maxTime));
+    assertThat("getMinExecutionTime", stats.getMinExecutionTime(), equalTo(minTime));
+  }
+
+  @Test
+  public void verifyStatDefaults() {
+    assertValues(new HistogramComponentStatistics(), 0L, 0L, 0L, 0L, 0L);
+  }
+
+  @Test
+  public void verifyMaxMinAverage() {
+    ComponentStatistics stats = new HistogramComponentStatistics();
+    stats.addExecutionTime(2L);
+    stats.addExecutionTime(3L);
+    assertValues(stats, 2L, 5L, 2L, 3L, 2L);
+  }
+
+  @Test
+  public void verifyMultiBranchMaxMinAverage() {
+    ComponentStatistics stats = new HistogramComponentStatistics();
+    stats.addExecutionBranchTime(true, 1L, 1L);
+    stats.addExecutionBranchTime(false, 1L, 2L);
+    stats.addCompleteExecutionTime(2L);
+    stats.addExecutionBranchTime(true, 3L, 3L);
+    stats.addCompleteExecutionTime(3L);
+    assertValues(stats, 2L, 5L, 2L, 3L, 2L);
+  }
+
+  @Test
+  public void clearDuringBranch() {
+    ComponentStatistics stats = new HistogramComponentStatistics();
+    stats.addExecutionBranchTime(true, 25L, 25L);
+    stats.clear();
+    assertValues(stats, 0L, 0L, 0L, 0L, 0L);
+    stats.addExecutionBranchTime(false, 25L, 50L);
+    assertValues(stats, 0L, 0L, 0L, 0L, 0L);
+  }
+
+  @Test
+  public void verifyShortStatIntervalReset() {
+    System.setProperty("statIntervalTime", "-1");
+    ComponentStatistics stats = new HistogramComponentStatistics();
+
+    stats.addExecutionTime(100L);
+    assertValues(stats, 1L, 100L, 100L, 100L, 100L);
+    stats.addExecutionTime(200L);
+    assertValues(stats, 1L, 200L, 200L, 200L, 200L);
+  }
+
+  @Test
+  public void percentiles() {
+    ComponentStatistics stats = new HistogramComponentStatistics();
+    for (long time = 1; time <= 100; ++time) {
+      stats.addExecutionTime(time);
+    }
+
+    assertThat(stats.getExecutionTimePercentile(50), equalTo(50L));
+    assertThat(stats.getExecutionTimePercentile(99), equalTo(99L));
+    assertThat(stats.getExecutedEventsPerSecond(), greaterThan(0d));
+  }
+
+  @Test
+  public void concurrentUpdates() throws Exception {
+    final int threads = 8;
+    final int eventsPerThread = 10000;
+    ComponentStatistics stats = new HistogramComponentStatistics();
+
+    ExecutorService executor = newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; ++i) {
+        futures.add(executor.submit(() -> {
+          for (int j = 1; j <= eventsPerThread; ++j) {
+            stats.addExecutionTime(j % 10 + 1);
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(10, SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(stats.getExecutedEvents(), equalTo((long) threads * eventsPerThread));
+    assertThat(stats.getTotalExecutionTime(), equalTo(threads * eventsPerThread * 55L / 10));
+    assertThat(stats.getMinExecutionTime(), equalTo(1L));
+    assertThat(stats.getMaxExecutionTime(), equalTo(10L));
+    assertThat(stats.getExecutionTimePercentile(100), equalTo(10L));
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static java.lang.Long.MAX_VALUE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.mule.runtime.core.internal.management.stats.LatencyHistogram.bucketIndex;
+import static org.mule.runtime.core.internal.management.stats.LatencyHistogram.highestEquivalentValue;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import org.junit.Test;
+
+public class LatencyHistogramTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void emptyHistogram() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertThat(histogram.getCount(), equalTo(0L));
+    assertThat(histogram.getValueAtPercentile(99), equalTo(0L));
+  }
+
+  @Test
+  public void smallValuesAreExact() {
+    for (long value = 0; value < 64; ++value) {
+      assertThat(highestEquivalentValue(bucketIndex(value)), equalTo(value));
+    }
+  }
+
+  @Test
+  public void relativeErrorIsBounded() {
+    for (long value : new long[] {64, 100, 1000, 12345, 1_000_000, 123_456_789_000L, MAX_VALUE}) {
+      final long reported = highestEquivalentValue(bucketIndex(value));
+      assertThat(reported, greaterThanOrEqualTo(value));
+      assertThat(reported - value, lessThanOrEqualTo(value / 32));
+    }
+  }
+
+  @Test
+  public void percentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long value = 1; value <= 1000; ++value) {
+      histogram.record(value);
+    }
+
+    assertThat(histogram.getCount(), equalTo(1000L));
+    assertWithinError(histogram.getValueAtPercentile(50), 500);
+    assertWithinError(histogram.getValueAtPercentile(90), 900);
+    assertWithinError(histogram.getValueAtPercentile(99), 990);
+    assertWithinError(histogram.getValueAtPercentile(99.9), 999);
+  }
+
+  @Test
+  public void reset() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(10);
+    histogram.reset();
+    assertThat(histogram.getCount(), equalTo(0L));
+  }
+
+  private static void assertWithinError(long actual, long expected) {
+    assertThat(actual, greaterThanOrEqualTo(expected));
+    assertThat(actual, lessThanOrEqualTo(expected + expected / 32 + 1));
+  }
+}
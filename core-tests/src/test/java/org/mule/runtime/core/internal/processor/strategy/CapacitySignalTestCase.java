@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.test.allure.AllureConstants.ExecutionEngineFeature.ExecutionEngineStory.BACKPRESSURE;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.size.SmallTest;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@SmallTest
+@Feature(PROCESSING_STRATEGIES)
+@Story(BACKPRESSURE)
+public class CapacitySignalTestCase extends AbstractMuleTestCase {
+
+  private final CapacitySignal signal = new CapacitySignal();
+  private final ExecutorService executor = newFixedThreadPool(2);
+
+  @After
+  public void after() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void signalBeforeAwaitIsNotMissed() throws Exception {
+    long generation = signal.currentGeneration();
+    signal.signal();
+
+    assertThat(signal.await(generation, SECONDS.toNanos(10)), is(true));
+  }
+
+  @Test
+  public void awaitTimesOut() throws Exception {
+    assertThat(signal.await(signal.currentGeneration(), MILLISECONDS.toNanos(10)), is(false));
+    assertThat(signal.getWaiters(), is(0));
+  }
+
+  @Test
+  public void waitersWokenUpInOrder() throws Exception {
+    List<Integer> woken = new CopyOnWriteArrayList<>();
+    long generation = signal.currentGeneration();
+
+    Future<?> first = executor.submit(() -> awaitAndRecord(generation, 1, woken));
+    new PollingProber().check(new JUnitLambdaProbe(() -> signal.getWaiters() == 1));
+    Future<?> second = executor.submit(() -> awaitAndRecord(generation, 2, woken));
+    new PollingProber().check(new JUnitLambdaProbe(() -> signal.getWaiters() == 2));
+
+    signal.signal();
+    first.get(10, SECONDS);
+    assertThat(woken, contains(1));
+
+    signal.signal();
+    second.get(10, SECONDS);
+    assertThat(woken, contains(1, 2));
+  }
+
+  @Test
+  public void signalAllWakesUpAllWaiters() throws Exception {
+    List<Integer> woken = new CopyOnWriteArrayList<>();
+    long generation = signal.currentGeneration();
+
+    Future<?> first = executor.submit(() -> awaitAndRecord(generation, 1, woken));
+    Future<?> second = executor.submit(() -> awaitAndRecord(generation, 2, woken));
+    new PollingProber().check(new JUnitLambdaProbe(() -> signal.getWaiters() == 2));
+
+    signal.signalAll();
+    first.get(10, SECONDS);
+    second.get(10, SECONDS);
+    assertThat(woken.size(), is(2));
+  }
+
+  private void awaitAndRecord(long generation, int waiter, List<Integer> woken) {
+    try {
+      if (signal.await(generation, SECONDS.toNanos(10))) {
+        woken.add(waiter);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.intThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.from;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import io.qameta.allure.Feature;
+import org.junit.Test;
+
+/**
+ * Runs the {@link CursorStreamProviderTestCase} scenarios against a {@link FileStoreCursorStreamProvider}, using the buffer size
+ * as the in memory window so that the bigger streams are spilled to disk.
+ */
+@SmallTest
+@Feature(STREAMING)
+public class FileStoreCursorStreamProviderTestCase extends CursorStreamProviderTestCase {
+
+  public FileStoreCursorStreamProviderTestCase(String name, int dataSize, int bufferSize, int maxBufferSize) {
+    super(name, dataSize, bufferSize, maxBufferSize);
+  }
+
+  @Override
+  protected CursorStreamProvider createStreamProvider(int bufferSize, int maxBufferSize, InputStream dataStream) {
+    FileStoreCursorStreamConfig config = new FileStoreCursorStreamConfig(new DataSize(bufferSize, BYTE));
+    return new FileStoreCursorStreamProvider(dataStream, config, bufferManager, from("log"), false);
+  }
+
+  @Test
+  public void memoryWindowGrowsWithData() throws Exception {
+    final FileStoreCursorStreamConfig config = new FileStoreCursorStreamConfig(new DataSize(MB_1, BYTE));
+    final SimpleByteBufferManager simpleBufferManager = spy(new SimpleByteBufferManager());
+    final byte[] smallData = data.substring(0, config.getBucketSize() / 2).getBytes();
+
+    final FileStoreStreamBuffer buffer =
+        new FileStoreStreamBuffer(new ByteArrayInputStream(smallData), config, simpleBufferManager);
+    try {
+      final ByteBuffer read = buffer.get(0, smallData.length);
+      assertThat(read.remaining(), is(smallData.length));
+      verify(simpleBufferManager, atLeastOnce()).allocateManaged(anyInt());
+      verify(simpleBufferManager, never()).allocateManaged(intThat(capacity -> capacity > config.getBucketSize()));
+    } finally {
+      buffer.close();
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphabetic;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.from;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.api.streaming.exception.StreamingBufferSizeExceededException;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.api.streaming.bytes.AbstractCursorStreamProvider;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamConfig;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.qameta.allure.Feature;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+/**
+ * Runs the {@link CursorStreamProviderTestCase} scenarios against a {@link SegmentedInMemoryStreamBuffer}
+ */
+@SmallTest
+@Feature(STREAMING)
+public class SegmentedInMemoryCursorStreamProviderTestCase extends CursorStreamProviderTestCase {
+
+  public SegmentedInMemoryCursorStreamProviderTestCase(String name, int dataSize, int bufferSize, int maxBufferSize) {
+    super(name, dataSize, bufferSize, maxBufferSize);
+  }
+
+  @Override
+  protected CursorStreamProvider createStreamProvider(int bufferSize, int maxBufferSize, InputStream dataStream) {
+    InMemoryCursorStreamConfig config =
+        new InMemoryCursorStreamConfig(new DataSize(bufferSize, BYTE),
+                                       new DataSize(bufferSize / 2, BYTE),
+                                       new DataSize(maxBufferSize, BYTE));
+
+    return new AbstractCursorStreamProvider(dataStream, from("log"), false) {
+
+      private final SegmentedInMemoryStreamBuffer buffer = new SegmentedInMemoryStreamBuffer(dataStream, config, bufferManager);
+
+      @Override
+      protected CursorStream doOpenCursor() {
+        return new BufferedCursorStream(buffer, this);
+      }
+
+      @Override
+      public void releaseResources() {
+        buffer.close();
+      }
+    };
+  }
+
+  @Test(expected = StreamingBufferSizeExceededException.class)
+  public void bufferSizeExceeded() throws Exception {
+    InMemoryCursorStreamConfig config =
+        new InMemoryCursorStreamConfig(new DataSize(16, BYTE), new DataSize(16, BYTE), new DataSize(32, BYTE));
+    SegmentedInMemoryStreamBuffer buffer =
+        new SegmentedInMemoryStreamBuffer(new ByteArrayInputStream(randomAlphabetic(64).getBytes()), config, bufferManager);
+    try {
+      IOUtils.toString(new BufferedCursorStream(buffer, null));
+    } finally {
+      buffer.close();
+    }
+  }
+
+  @Test
+  public void readsRacingCloseFailWithBufferClosed() throws Exception {
+    InMemoryCursorStreamConfig config =
+        new InMemoryCursorStreamConfig(new DataSize(16, BYTE), new DataSize(16, BYTE), new DataSize(1024, BYTE));
+
+    for (int i = 0; i < 100; i++) {
+      SegmentedInMemoryStreamBuffer buffer =
+          new SegmentedInMemoryStreamBuffer(new ByteArrayInputStream(randomAlphabetic(1024).getBytes()), config, bufferManager);
+      buffer.get(0, 1024);
+
+      CountDownLatch readerStarted = new CountDownLatch(1);
+      AtomicReference<Throwable> failure = new AtomicReference<>();
+      Future<?> reader = executorService.submit(() -> {
+        readerStarted.countDown();
+        try {
+          for (int position = 0; true; position = (position + 7) % 1024) {
+            buffer.get(position, 32);
+          }
+        } catch (Throwable t) {
+          failure.set(t);
+        }
+      });
+
+      readerStarted.await();
+      buffer.close();
+      reader.get(5, SECONDS);
+
+      assertThat(failure.get(), is(instanceOf(IllegalStateException.class)));
+    }
+  }
+}
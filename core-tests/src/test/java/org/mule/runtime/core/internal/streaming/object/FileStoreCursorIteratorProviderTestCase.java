@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.from;
+
+import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
+
+import java.util.List;
+
+public class FileStoreCursorIteratorProviderTestCase extends CursorIteratorProviderTestCase {
+
+  private static final int MAX_IN_MEMORY_BUCKETS = 2;
+
+  private final FileStoreCursorIteratorConfig config;
+
+  public FileStoreCursorIteratorProviderTestCase(String name, int dataSize, int initialBufferSize, int bufferSizeIncrement,
+                                                 int maxBufferSize) {
+    super(name, dataSize, initialBufferSize, bufferSizeIncrement, maxBufferSize);
+    // small buckets so that most of them get evicted from memory and read back from disk
+    config = new FileStoreCursorIteratorConfig(initialBufferSize / 10, MAX_IN_MEMORY_BUCKETS, maxBufferSize);
+  }
+
+  @Override
+  protected CursorIteratorProvider createStreamProvider(List<Object> data) {
+    return new FileStoreCursorIteratorProvider(toStreamingIterator(data), config, muleContext.getObjectSerializer(),
+                                               from("log"), false);
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DiskCacheEntriesTestCase extends AbstractMuleTestCase {
+
+  private static final String KEY = "key";
+  private static final String EXTENSION = ".entry";
+  private static final byte[] CONTENT = "content".getBytes(UTF_8);
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private File cacheDirectory;
+  private DiskCacheEntries entries;
+
+  @Before
+  public void setUp() {
+    cacheDirectory = new File(tempFolder.getRoot(), "cache");
+    entries = new DiskCacheEntries(cacheDirectory, EXTENSION, 1);
+  }
+
+  @Test
+  public void writtenEntryIsRead() throws IOException {
+    assertThat(entries.read(KEY).isPresent(), is(false));
+
+    entries.write(KEY, CONTENT);
+
+    assertThat(entries.read(KEY).get(), is(CONTENT));
+    assertThat(cacheDirectory.list((dir, name) -> name.endsWith(".tmp")).length, is(0));
+  }
+
+  @Test
+  public void corruptEntryIsDiscarded() throws IOException {
+    entries.write(KEY, CONTENT);
+
+    final File entryFile = entries.entryFile(KEY);
+    final byte[] entry = Files.readAllBytes(entryFile.toPath());
+    entry[entry.length - 1]++;
+    Files.write(entryFile.toPath(), entry);
+
+    assertThat(entries.read(KEY).isPresent(), is(false));
+    assertThat(entryFile.exists(), is(false));
+  }
+
+  @Test
+  public void entryOfOtherFormatVersionIsDiscarded() throws IOException {
+    entries.write(KEY, CONTENT);
+
+    assertThat(new DiskCacheEntries(cacheDirectory, EXTENSION, 2).read(KEY).isPresent(), is(false));
+    assertThat(entries.entryFile(KEY).exists(), is(false));
+  }
+
+  @Test
+  public void otherEntriesAreDiscarded() throws IOException {
+    entries.write("previous", CONTENT);
+    entries.write(KEY, CONTENT);
+
+    entries.discardAllBut(KEY);
+
+    assertThat(entries.entryFile("previous").exists(), is(false));
+    assertThat(entries.entryFile(KEY).exists(), is(true));
+  }
+}
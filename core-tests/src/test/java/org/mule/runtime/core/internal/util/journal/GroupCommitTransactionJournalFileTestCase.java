@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.journal;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import org.mule.runtime.core.internal.util.journal.GroupCommitJournalWriter.PendingWrite;
+import org.mule.runtime.core.internal.util.journal.queue.LocalQueueTxJournalEntry;
+import org.mule.runtime.core.internal.util.journal.queue.LocalTxQueueTransactionJournal;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GroupCommitTransactionJournalFileTestCase extends AbstractMuleContextTestCase {
+
+  private static final int THREADS = 8;
+  private static final int ENTRIES_PER_THREAD = 500;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void entriesAreDurableOnceAwaited() throws Exception {
+    TransactionJournalFile<Integer, LocalQueueTxJournalEntry> journal = openJournal(new JournalGroupCommitConfig(16, 0, false));
+    PendingWrite write = journal.logOperation(new LocalQueueTxJournalEntry(1, (byte) 5, "queue", "value"), null);
+    journal.awaitDurable(write);
+
+    TransactionJournalFile<Integer, LocalQueueTxJournalEntry> reopened = openJournal(null);
+    try {
+      assertThat(reopened.getLogEntries(1).size(), is(1));
+    } finally {
+      reopened.close();
+      journal.close();
+    }
+  }
+
+  @Test
+  public void updatesAreDurableOnceLogged() throws Exception {
+    JournalEntrySerializer serializer = LocalTxQueueTransactionJournal.createLocalTxQueueJournalEntrySerializer(muleContext);
+    TransactionJournal<Integer, LocalQueueTxJournalEntry> journal =
+        new TransactionJournal<>(temporaryFolder.getRoot().getAbsolutePath(), journalEntry -> false, serializer, null,
+                                 new JournalGroupCommitConfig(16, 1000, false));
+    journal.logUpdateOperation(new LocalQueueTxJournalEntry(1, (byte) 5, "queue", "value"));
+
+    TransactionJournalFile<Integer, LocalQueueTxJournalEntry> reopened =
+        new TransactionJournalFile(new File(temporaryFolder.getRoot(), TransactionJournal.TX1_LOG_FILE_NAME), serializer,
+                                   journalEntry -> false, null, null);
+    try {
+      assertThat(reopened.getLogEntries(1).size(), is(1));
+    } finally {
+      reopened.close();
+      journal.close();
+    }
+  }
+
+  @Test
+  public void concurrentWriters() throws Exception {
+    TransactionJournalFile<Integer, LocalQueueTxJournalEntry> journal = openJournal(new JournalGroupCommitConfig(16, 100, true));
+
+    ExecutorService executor = newFixedThreadPool(THREADS);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < THREADS; ++i) {
+        final int txId = i;
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < ENTRIES_PER_THREAD; ++j) {
+            journal.awaitDurable(journal.logOperation(new LocalQueueTxJournalEntry(txId, (byte) 5, "queue", j), null));
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(30, SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+      journal.close();
+    }
+
+    TransactionJournalFile<Integer, LocalQueueTxJournalEntry> reopened = openJournal(null);
+    try {
+      for (int i = 0; i < THREADS; ++i) {
+        Collection<LocalQueueTxJournalEntry> entries = reopened.getLogEntries(i);
+        assertThat(entries.size(), is(ENTRIES_PER_THREAD));
+
+        int expected = 0;
+        for (LocalQueueTxJournalEntry entry : entries) {
+          assertThat((Integer) entry.getValue(), equalTo(expected++));
+        }
+      }
+    } finally {
+      reopened.close();
+    }
+  }
+
+  @Test
+  public void pendingEntriesAreWrittenOnClose() throws Exception {
+    TransactionJournalFile<Integer, LocalQueueTxJournalEntry> journal = openJournal(new JournalGroupCommitConfig(4, 0, false));
+    for (int i = 0; i < 10; ++i) {
+      journal.logOperation(new LocalQueueTxJournalEntry(1, (byte) 5, "queue", i), null);
+    }
+    journal.close();
+
+    journal = openJournal(null);
+    try {
+      assertThat(journal.getLogEntries(1).size(), is(10));
+    } finally {
+      journal.close();
+    }
+  }
+
+  private TransactionJournalFile<Integer, LocalQueueTxJournalEntry> openJournal(JournalGroupCommitConfig config) {
+    File journalFile = new File(temporaryFolder.getRoot(), "journal");
+    JournalEntrySerializer serializer = LocalTxQueueTransactionJournal.createLocalTxQueueJournalEntrySerializer(muleContext);
+
+    return new TransactionJournalFile(journalFile, serializer, journalEntry -> false, null, config);
+  }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.internal.util.queue.MappedSegmentQueueStoreDelegate.SEGMENT_SIZE_PROPERTY_KEY;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class MappedSegmentQueueStoreDelegateTestCase extends AbstractMuleTestCase {
+
+  private static final String TEST_QUEUE_NAME = "test-queue";
+  private static final int NUMBER_OF_ITEMS = 500;
+
+  @Rule
+  public TemporaryFolder workingDirectory = new TemporaryFolder();
+
+  @Rule
+  public SystemProperty segmentSize = new SystemProperty(SEGMENT_SIZE_PROPERTY_KEY, "1024");
+
+  private MuleContext mockMuleContext;
+
+  @Before
+  public void before() {
+    mockMuleContext = mock(MuleContext.class);
+    when(mockMuleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    addJavaSerializerToMockMuleContext(mockMuleContext);
+  }
+
+  @Test
+  public void itemsAreReadInOrderAcrossSegments() throws Exception {
+    MappedSegmentQueueStoreDelegate queueStore = createTestQueueStore(0);
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      queueStore.putNow(i);
+    }
+
+    assertThat(queueStore.getSize(), is(NUMBER_OF_ITEMS));
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      assertThat((Integer) queueStore.poll(10), is(i));
+    }
+    assertThat(queueStore.poll(10), is(nullValue()));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void recoversPendingItems() throws Exception {
+    MappedSegmentQueueStoreDelegate queueStore = createTestQueueStore(0);
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      queueStore.putNow(i);
+    }
+    for (int i = 0; i < 100; i++) {
+      queueStore.poll(10);
+    }
+    queueStore.untake(1);
+    queueStore.untake(0);
+    queueStore.close();
+
+    queueStore = createTestQueueStore(0);
+    assertThat(queueStore.getSize(), is(NUMBER_OF_ITEMS - 98));
+    assertThat((Integer) queueStore.peek(), is(0));
+    assertThat((Integer) queueStore.poll(10), is(0));
+    assertThat((Integer) queueStore.poll(10), is(1));
+    for (int i = 100; i < NUMBER_OF_ITEMS; i++) {
+      assertThat((Integer) queueStore.poll(10), is(i));
+    }
+    queueStore.dispose();
+  }
+
+  @Test
+  public void removeAndContains() throws Exception {
+    MappedSegmentQueueStoreDelegate queueStore = createTestQueueStore(0);
+    for (int i = 0; i < 10; i++) {
+      queueStore.putNow(i);
+    }
+
+    assertThat(queueStore.contains(5), is(true));
+    queueStore.remove(5);
+    assertThat(queueStore.contains(5), is(false));
+    assertThat(queueStore.getSize(), is(9));
+    for (int i = 0; i < 10; i++) {
+      if (i != 5) {
+        assertThat((Integer) queueStore.poll(10), is(i));
+      }
+    }
+    queueStore.dispose();
+  }
+
+  @Test
+  public void removedUntakenItemIsSkipped() throws Exception {
+    MappedSegmentQueueStoreDelegate queueStore = createTestQueueStore(0);
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      queueStore.putNow(i);
+    }
+    queueStore.untake(NUMBER_OF_ITEMS);
+    queueStore.remove(NUMBER_OF_ITEMS);
+
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      assertThat((Integer) queueStore.poll(10), is(i));
+    }
+    assertThat(queueStore.poll(10), is(nullValue()));
+    queueStore.dispose();
+    assertThat(new File(workingDirectory.getRoot(), "queuestore/" + TEST_QUEUE_NAME + "-segments").exists(), is(false));
+  }
+
+  @Test
+  public void consumedSegmentsAreRecycled() throws Exception {
+    MappedSegmentQueueStoreDelegate queueStore = createTestQueueStore(0);
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      queueStore.putNow(i);
+      queueStore.poll(10);
+    }
+
+    File[] segmentFiles = new File(workingDirectory.getRoot(), "queuestore/" + TEST_QUEUE_NAME + "-segments").listFiles();
+    assertThat(segmentFiles.length, lessThanOrEqualTo(3));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void offerRespectsCapacity() throws Exception {
+    MappedSegmentQueueStoreDelegate queueStore = createTestQueueStore(2);
+    assertThat(queueStore.offer(1, 0, 10), is(true));
+    assertThat(queueStore.offer(2, 0, 10), is(true));
+    assertThat(queueStore.offer(3, 0, 10), is(false));
+
+    queueStore.clear();
+    assertThat(queueStore.getSize(), is(0));
+    assertThat(queueStore.offer(3, 0, 10), is(true));
+    assertThat((Integer) queueStore.poll(10), is(3));
+    queueStore.dispose();
+  }
+
+  private MappedSegmentQueueStoreDelegate createTestQueueStore(int capacity) {
+    return new MappedSegmentQueueStoreDelegate(TEST_QUEUE_NAME, workingDirectory.getRoot().getAbsolutePath(), mockMuleContext,
+                                               capacity);
+  }
+}
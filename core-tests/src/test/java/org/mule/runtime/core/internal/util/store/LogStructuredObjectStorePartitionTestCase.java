@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition.MAX_SEGMENT_SIZE_PROPERTY;
+import static org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition.SEGMENT_FILE_EXTENSION;
+import static org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition.isLogStructuredPartition;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+import static org.mule.tck.util.MuleContextUtils.mockMuleContext;
+
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.MuleConfiguration;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@SmallTest
+@RunWith(MockitoJUnitRunner.class)
+public class LogStructuredObjectStorePartitionTestCase extends AbstractMuleTestCase {
+
+  private static final String KEY = "key";
+  private static final String VALUE = "value";
+
+  @Rule
+  public TemporaryFolder objectStoreFolder = new TemporaryFolder();
+
+  @Rule
+  public SystemProperty maxSegmentSize = new SystemProperty(MAX_SEGMENT_SIZE_PROPERTY, "1024");
+
+  private MuleContext muleContext = mockMuleContext();
+
+  @Mock
+  private MuleConfiguration muleConfiguration;
+
+  private LogStructuredObjectStorePartition<String> partition;
+
+  @Before
+  public void setUp() throws Exception {
+    when(muleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    when(muleContext.getConfiguration()).thenReturn(muleConfiguration);
+    when(muleConfiguration.getWorkingDirectory()).thenReturn(objectStoreFolder.getRoot().getParentFile().getPath());
+    addJavaSerializerToMockMuleContext(muleContext);
+    partition = createPartition();
+  }
+
+  private LogStructuredObjectStorePartition<String> createPartition() throws ObjectStoreException {
+    LogStructuredObjectStorePartition<String> partition =
+        new LogStructuredObjectStorePartition<>(muleContext, "test", objectStoreFolder.getRoot());
+    partition.open();
+    return partition;
+  }
+
+  @Test
+  public void storeRetrieveAndRemove() throws ObjectStoreException {
+    partition.store(KEY, VALUE);
+    assertThat(partition.contains(KEY), is(true));
+    assertThat(partition.retrieve(KEY), is(VALUE));
+
+    assertThat(partition.remove(KEY), is(VALUE));
+    assertThat(partition.contains(KEY), is(false));
+    assertThat(isLogStructuredPartition(objectStoreFolder.getRoot()), is(true));
+  }
+
+  @Test(expected = ObjectAlreadyExistsException.class)
+  public void storeExistingKey() throws ObjectStoreException {
+    partition.store(KEY, VALUE);
+    partition.store(KEY, VALUE);
+  }
+
+  @Test
+  public void indicatesUnexistentKeyOnRetrieveError() throws ObjectStoreException {
+    final String nonExistentKey = "nonExistentKey";
+
+    try {
+      partition.retrieve(nonExistentKey);
+      fail("Supposed to thrown an exception as key is not valid");
+    } catch (ObjectDoesNotExistException e) {
+      assertTrue(e.getMessage().contains(nonExistentKey));
+    }
+  }
+
+  @Test
+  public void batchOperations() throws ObjectStoreException {
+    partition.store(KEY + 0, VALUE);
+
+    Map<String, String> entries = new LinkedHashMap<>();
+    entries.put(KEY + 0, "replaced");
+    entries.put(KEY + 1, VALUE + 1);
+    entries.put(KEY + 2, VALUE + 2);
+    partition.putAll(entries);
+
+    assertThat(partition.retrieveAll(asList(KEY + 0, KEY + 2, "missing")).keySet(), contains(KEY + 0, KEY + 2));
+    assertThat(partition.retrieve(KEY + 0), is("replaced"));
+
+    partition.removeAll(asList(KEY + 1, "missing"));
+
+    LogStructuredObjectStorePartition<String> recovered = createPartition();
+    assertThat(recovered.allKeys(), contains(KEY + 0, KEY + 2));
+    assertThat(recovered.retrieve(KEY + 0), is("replaced"));
+  }
+
+  @Test
+  public void recoversEntriesInStoreOrder() throws ObjectStoreException {
+    for (int i = 0; i < 50; i++) {
+      partition.store(KEY + i, VALUE + i);
+    }
+    partition.remove(KEY + 10);
+    partition.store(KEY + 10, "other");
+
+    LogStructuredObjectStorePartition<String> recovered = createPartition();
+    assertThat(recovered.allKeys().size(), is(50));
+    assertThat(recovered.allKeys().get(0), is(KEY + 0));
+    assertThat(recovered.allKeys().get(49), is(KEY + 10));
+    assertThat(recovered.retrieve(KEY + 10), is("other"));
+    assertThat(recovered.retrieve(KEY + 20), is(VALUE + 20));
+  }
+
+  @Test
+  public void recoveryDiscardsIncompleteRecord() throws Exception {
+    partition.store(KEY, VALUE);
+    File[] segments = objectStoreFolder.getRoot().listFiles(file -> file.getName().endsWith(SEGMENT_FILE_EXTENSION));
+    Files.write(segments[segments.length - 1].toPath(), new byte[] {0, 0, 1, 0, 1, 2}, APPEND);
+
+    LogStructuredObjectStorePartition<String> recovered = createPartition();
+    assertThat(recovered.retrieve(KEY), is(VALUE));
+    recovered.store(KEY + 1, VALUE);
+    assertThat(createPartition().allKeys(), contains(KEY, KEY + 1));
+  }
+
+  @Test
+  public void expireMaxEntries() throws ObjectStoreException {
+    for (int i = 0; i < 10; i++) {
+      partition.store(KEY + i, VALUE);
+    }
+
+    partition.expire(UNBOUNDED, 3);
+    assertThat(partition.allKeys(), contains(KEY + 7, KEY + 8, KEY + 9));
+    assertThat(createPartition().allKeys(), contains(KEY + 7, KEY + 8, KEY + 9));
+  }
+
+  @Test
+  public void expireTtl() throws Exception {
+    partition.store(KEY, VALUE);
+    Thread.sleep(10);
+
+    partition.expire(5, UNBOUNDED);
+    assertThat(partition.allKeys(), is(empty()));
+    assertThat(createPartition().allKeys(), is(empty()));
+  }
+
+  @Test
+  public void compactsGarbageSegments() throws ObjectStoreException {
+    for (int i = 0; i < 200; i++) {
+      partition.store(KEY + i, VALUE);
+    }
+    int segmentsBefore = countSegments();
+    assertThat(segmentsBefore, greaterThan(1));
+
+    partition.expire(UNBOUNDED, 5);
+    assertThat(countSegments(), lessThan(segmentsBefore));
+    assertThat(partition.retrieve(KEY + 199), is(VALUE));
+
+    LogStructuredObjectStorePartition<String> recovered = createPartition();
+    assertThat(recovered.allKeys(), contains(KEY + 195, KEY + 196, KEY + 197, KEY + 198, KEY + 199));
+  }
+
+  @Test
+  public void clear() throws Exception {
+    partition.store(KEY, VALUE);
+    partition.clear();
+
+    assertThat(partition.contains(KEY), is(false));
+    partition.store(KEY, VALUE);
+    assertThat(partition.retrieve(KEY), is(VALUE));
+    assertThat("Partition descriptor doesn't exists", new File(objectStoreFolder.getRoot(), "partition-descriptor").exists(),
+               is(true));
+  }
+
+  private int countSegments() {
+    return objectStoreFolder.getRoot().listFiles(file -> file.getName().endsWith(SEGMENT_FILE_EXTENSION)).length;
+  }
+}
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.internal.util.store;
 
+import static java.util.Arrays.asList;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
@@ -14,11 +15,15 @@ import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.core.internal.store.PartitionedInMemoryObjectStore;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.size.SmallTest;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -97,6 +102,89 @@ public class PartitionedInMemoryObjectStoreTestCase extends AbstractMuleTestCase
     assertThat(store.retrieve(TEST_KEY3, TEST_PARTITION), equalTo(TEST_VALUE));
   }
 
+  @Test
+  public void expireDoesNotRemoveKeyStoredAgain() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.store(TEST_KEY2, TEST_VALUE, TEST_PARTITION);
+
+    currentNanoTime = MILLISECONDS.toNanos(2);
+
+    store.remove(TEST_KEY1, TEST_PARTITION);
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.expire(1, 100, TEST_PARTITION);
+
+    assertThat(store.retrieve(TEST_KEY1, TEST_PARTITION), equalTo(TEST_VALUE));
+    assertThat(store.contains(TEST_KEY2, TEST_PARTITION), is(false));
+  }
+
+  @Test
+  public void expireByNumberOfEntriesAfterRemoval() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.store(TEST_KEY2, TEST_VALUE, TEST_PARTITION);
+    store.store(TEST_KEY3, TEST_VALUE, TEST_PARTITION);
+
+    store.remove(TEST_KEY1, TEST_PARTITION);
+    store.expire(10, 2, TEST_PARTITION);
+
+    assertThat(store.retrieve(TEST_KEY2, TEST_PARTITION), equalTo(TEST_VALUE));
+    assertThat(store.retrieve(TEST_KEY3, TEST_PARTITION), equalTo(TEST_VALUE));
+  }
+
+  @Test
+  public void batchOperations() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+
+    Map<String, String> entries = new HashMap<>();
+    entries.put(TEST_KEY1, "replaced");
+    entries.put(TEST_KEY2, TEST_VALUE);
+    store.putAll(entries, TEST_PARTITION);
+
+    Map<String, String> retrieved = store.retrieveAll(asList(TEST_KEY1, TEST_KEY2, TEST_KEY3), TEST_PARTITION);
+    assertThat(retrieved.size(), is(2));
+    assertThat(retrieved.get(TEST_KEY1), equalTo("replaced"));
+
+    store.removeAll(asList(TEST_KEY1, TEST_KEY3), TEST_PARTITION);
+    assertThat(store.contains(TEST_KEY1, TEST_PARTITION), is(false));
+    assertThat(store.retrieve(TEST_KEY2, TEST_PARTITION), equalTo(TEST_VALUE));
+  }
+
+  @Test
+  public void replacedEntriesExpireByTheirLastWrite() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+
+    currentNanoTime = MILLISECONDS.toNanos(2);
+    store.store(TEST_KEY2, TEST_VALUE, TEST_PARTITION);
+
+    currentNanoTime = MILLISECONDS.toNanos(3);
+    Map<String, String> entries = new HashMap<>();
+    entries.put(TEST_KEY1, "replaced");
+    store.putAll(entries, TEST_PARTITION);
+    store.expire(10, 1, TEST_PARTITION);
+
+    assertThat(store.contains(TEST_KEY2, TEST_PARTITION), is(false));
+    assertThat(store.retrieve(TEST_KEY1, TEST_PARTITION), equalTo("replaced"));
+  }
+
+  @Test
+  public void expireByNumberOfEntriesAfterManyRemovals() throws ObjectStoreException {
+    // enough removals for the expiry index to drop the removed entries while others are still live
+    for (int i = 0; i < 1000; ++i) {
+      currentNanoTime = MILLISECONDS.toNanos(i + 1);
+      store.store("key" + i, TEST_VALUE, TEST_PARTITION);
+      if (i % 10 != 9) {
+        store.remove("key" + i, TEST_PARTITION);
+      }
+    }
+    assertThat(store.allKeys(TEST_PARTITION).size(), is(100));
+
+    store.expire(Long.MAX_VALUE, 10, TEST_PARTITION);
+
+    assertThat(store.allKeys(TEST_PARTITION).size(), is(10));
+    for (int i = 909; i < 1000; i += 10) {
+      assertThat(store.contains("key" + i, TEST_PARTITION), is(true));
+    }
+  }
+
   @Test
   public void removesDataOnClear() throws ObjectStoreException {
     PartitionedInMemoryObjectStore os = spy(store);
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+
+import org.mule.runtime.api.lock.LockFactory;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.store.SharedPartitionedPersistentObjectStore;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Answers;
+
+public class SharedPartitionedPersistentObjectStoreTestCase extends AbstractMuleTestCase {
+
+  private static final int THREADS = 4;
+  private static final int KEYS_PER_THREAD = 20;
+
+  @Rule
+  public TemporaryFolder workingDirectory = new TemporaryFolder();
+
+  private final CountingLock lock = new CountingLock();
+  private final String partitionName = randomUUID().toString();
+  private MuleContext muleContext;
+  private LockFactory lockFactory;
+
+  @Before
+  public void before() {
+    muleContext = mock(MuleContext.class, Answers.RETURNS_DEEP_STUBS.get());
+    when(muleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    addJavaSerializerToMockMuleContext(muleContext);
+
+    lockFactory = mock(LockFactory.class);
+    when(lockFactory.createLock(anyString())).thenReturn(lock);
+  }
+
+  @Test
+  public void concurrentBatchOperationsFromDifferentContexts() throws Exception {
+    List<SharedPartitionedPersistentObjectStore<Serializable>> stores = new ArrayList<>();
+    for (int i = 0; i < 2; ++i) {
+      SharedPartitionedPersistentObjectStore<Serializable> store =
+          new SharedPartitionedPersistentObjectStore<>(workingDirectory.getRoot(), lockFactory);
+      store.setMuleContext(muleContext);
+      store.open(partitionName);
+      stores.add(store);
+    }
+    final int acquisitionsBefore = lock.acquisitions.get();
+
+    ExecutorService executor = newFixedThreadPool(THREADS);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < THREADS; ++i) {
+        final SharedPartitionedPersistentObjectStore<Serializable> store = stores.get(i % stores.size());
+        final int thread = i;
+        futures.add(executor.submit(() -> {
+          Map<String, Serializable> entries = new HashMap<>();
+          for (int j = 0; j < KEYS_PER_THREAD; ++j) {
+            entries.put(key(thread, j), "value" + j);
+          }
+          store.putAll(entries, partitionName);
+          assertThat(store.retrieveAll(entries.keySet(), partitionName), is(entries));
+
+          List<String> toRemove = new ArrayList<>();
+          for (int j = KEYS_PER_THREAD / 2; j < KEYS_PER_THREAD; ++j) {
+            toRemove.add(key(thread, j));
+          }
+          store.removeAll(toRemove, partitionName);
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(30, SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    List<String> expectedKeys = new ArrayList<>();
+    for (int i = 0; i < THREADS; ++i) {
+      for (int j = 0; j < KEYS_PER_THREAD / 2; ++j) {
+        expectedKeys.add(key(i, j));
+      }
+    }
+    assertThat(stores.get(0).allKeys(partitionName), containsInAnyOrder(expectedKeys.toArray()));
+    assertThat(lock.acquisitions.get() - acquisitionsBefore, is(greaterThanOrEqualTo(3 * THREADS)));
+  }
+
+  private static String key(int thread, int index) {
+    return "key-" + thread + "-" + index;
+  }
+
+  private static class CountingLock extends ReentrantLock {
+
+    private final AtomicInteger acquisitions = new AtomicInteger();
+
+    @Override
+    public void lock() {
+      super.lock();
+      acquisitions.incrementAndGet();
+    }
+  }
+}
@@ -14,6 +14,8 @@ import static org.mule.runtime.core.privileged.util.TemplateParser.createAntStyl
 import static org.mule.runtime.core.privileged.util.TemplateParser.createMuleStyleParser;
 import static org.mule.runtime.core.privileged.util.TemplateParser.createSquareBracesStyleParser;
 
+import org.mule.runtime.core.privileged.util.TemplateParser.CompiledTemplate;
+import org.mule.runtime.core.privileged.util.TemplateParser.TemplateCallback;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.size.SmallTest;
 
@@ -465,6 +467,46 @@ public class TemplateParserTestCase extends AbstractMuleTestCase {
     assertEquals(expectedResult, result);
   }
 
+  @Test
+  public void compiledMuleTemplateRendersAsParse() {
+    TemplateParser tp = createMuleStyleParser();
+    String[] templates = {"", "plain", "#[a]", "x #[a] y #[b] z", "##[muleman] # ###[value]", "#[#[mule]]", "#[hello #[mule]]",
+        "#[\\\"]", "#[\\a]", "a\\b", "\\#[a]", "#['[']", "#[a]#", "# []", "#[x]\\#[y] #[z]"};
+    List<TemplateCallback> callbacks = new ArrayList<>();
+    callbacks.add(token -> token);
+    callbacks.add(token -> null);
+    callbacks.add(token -> "value #[nested]");
+    callbacks.add(token -> "sarasa \\\\# sarasa2");
+    callbacks.add(token -> "plain '\"[");
+
+    for (String template : templates) {
+      CompiledTemplate compiled = tp.compile(template);
+      for (TemplateCallback callback : callbacks) {
+        assertEquals(template, tp.parse(callback, template), compiled.render(callback));
+      }
+    }
+  }
+
+  @Test
+  public void compiledMuleTemplateWithoutExpressions() {
+    TemplateParser tp = createMuleStyleParser();
+    CompiledTemplate compiled = tp.compile("no expressions # [here]");
+    assertFalse(compiled.hasExpressions());
+    assertEquals("no expressions # [here]", compiled.render(token -> {
+      throw new AssertionError("Unexpected expression " + token);
+    }));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void compileInvalidMuleTemplate() {
+    createMuleStyleParser().compile("#[mel:#[mel:]#[mel:]");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void compileNonMuleTemplate() {
+    createAntStyleParser().compile("${prop1}");
+  }
+
   private Map<String, Object> buildMap() {
     Map<String, Object> props = new HashMap<String, Object>();
     props.put("prop1", "value1");
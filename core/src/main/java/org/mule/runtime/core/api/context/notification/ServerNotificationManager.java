@@ -6,9 +6,13 @@
  */
 package org.mule.runtime.core.api.context.notification;
 
+import static java.lang.Integer.getInteger;
+import static java.lang.System.getProperty;
 import static java.lang.Thread.currentThread;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSet;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.internal.context.notification.NotificationOverflowPolicy.DROP;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.api.annotation.NoExtend;
@@ -52,6 +56,8 @@ import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.util.ClassUtils;
 import org.mule.runtime.core.internal.context.notification.Configuration;
+import org.mule.runtime.core.internal.context.notification.ListenerNotificationQueue;
+import org.mule.runtime.core.internal.context.notification.NotificationOverflowPolicy;
 import org.mule.runtime.core.internal.context.notification.Policy;
 import org.mule.runtime.core.internal.profiling.notification.ProfilingNotificationListener;
 import org.mule.runtime.core.internal.profiling.notification.ProfilingNotification;
@@ -60,6 +66,7 @@ import org.mule.runtime.core.privileged.context.notification.OptimisedNotificati
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
@@ -97,6 +104,35 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
 
   private static final Logger logger = getLogger(ServerNotificationManager.class);
 
+  /**
+   * Capacity of the queue of pending asynchronous notifications of each listener. If greater than zero, asynchronous
+   * notifications are delivered in batches through a {@link ListenerNotificationQueue} per listener instead of submitting a task
+   * per notification and listener. Defaults to {@code 0}.
+   *
+   * @since 4.5.0
+   */
+  public static final String BATCHED_DISPATCH_QUEUE_SIZE_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "notifications.batchedDispatch.queueSize";
+
+  /**
+   * Maximum number of notifications delivered to a listener in a single task when batched dispatch is enabled. Defaults to
+   * {@code 64}.
+   *
+   * @since 4.5.0
+   */
+  public static final String BATCHED_DISPATCH_BATCH_SIZE_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "notifications.batchedDispatch.batchSize";
+
+  /**
+   * One of {@link NotificationOverflowPolicy}, applied when batched dispatch is enabled and the queue of a listener is full.
+   * Defaults to {@link NotificationOverflowPolicy#DROP}, so that firing a notification never blocks the flow. With
+   * {@link NotificationOverflowPolicy#BLOCK}, notifications fired while delivering other notifications are still dropped.
+   *
+   * @since 4.5.0
+   */
+  public static final String BATCHED_DISPATCH_OVERFLOW_POLICY_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "notifications.batchedDispatch.overflowPolicy";
+
   private boolean dynamic = false;
   private Configuration configuration = new Configuration();
   private final AtomicInteger activeFires = new AtomicInteger();
@@ -105,6 +141,10 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
   private MuleContext muleContext;
   private Scheduler notificationsLiteScheduler;
   private Scheduler notificationsIoScheduler;
+  private final int batchedDispatchQueueSize = getInteger(BATCHED_DISPATCH_QUEUE_SIZE_PROPERTY, 0);
+  private final int batchedDispatchBatchSize = getInteger(BATCHED_DISPATCH_BATCH_SIZE_PROPERTY, 64);
+  private final NotificationOverflowPolicy batchedDispatchOverflowPolicy = resolveBatchedDispatchOverflowPolicy();
+  private final Map<NotificationListener, ListenerNotificationQueue> listenerQueues = new ConcurrentHashMap<>();
 
   @Override
   public boolean isNotificationDynamic() {
@@ -157,6 +197,11 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
    */
   public void removeListener(NotificationListener<?> listener) {
     configuration.removeListener(listener);
+    ListenerNotificationQueue queue = listenerQueues.remove(listener);
+    if (queue != null) {
+      // notifications already accepted for the listener are still delivered
+      queue.flush();
+    }
   }
 
   public void disableInterface(Class<? extends NotificationListener> iface) {
@@ -196,6 +241,8 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
       }
       if (notification.isSynchronous()) {
         notifyListeners(notification, (listener, nfn) -> listener.onNotification(nfn));
+      } else if (batchedDispatchQueueSize > 0) {
+        notifyListeners(notification, (listener, nfn) -> getListenerQueue(listener).dispatch(nfn));
       } else {
         notifyListeners(notification, (listener, nfn) -> {
           if (listener.isBlocking()) {
@@ -212,6 +259,17 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
     }
   }
 
+  private ListenerNotificationQueue getListenerQueue(NotificationListener listener) {
+    ListenerNotificationQueue queue = listenerQueues.get(listener);
+    if (queue != null) {
+      return queue;
+    }
+
+    return listenerQueues.computeIfAbsent(listener, l -> new ListenerNotificationQueue(l, l.isBlocking()
+        ? notificationsIoScheduler
+        : notificationsLiteScheduler, batchedDispatchQueueSize, batchedDispatchBatchSize, batchedDispatchOverflowPolicy));
+  }
+
   protected void notifyListeners(Notification notification, NotifierCallback notifier) {
     configuration.getPolicy().dispatch(notification, notifier);
   }
@@ -253,9 +311,23 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
       notificationsIoScheduler = null;
     }
 
+    // the schedulers are stopped, so notifications still pending are delivered from this thread
+    listenerQueues.values().forEach(ListenerNotificationQueue::flush);
+    listenerQueues.clear();
     configuration = null;
   }
 
+  private static NotificationOverflowPolicy resolveBatchedDispatchOverflowPolicy() {
+    final String policy = getProperty(BATCHED_DISPATCH_OVERFLOW_POLICY_PROPERTY, DROP.name());
+    try {
+      return NotificationOverflowPolicy.valueOf(policy.trim());
+    } catch (IllegalArgumentException e) {
+      logger.warn("Invalid value '{}' for system property '{}', using {} instead", policy,
+                  BATCHED_DISPATCH_OVERFLOW_POLICY_PROPERTY, DROP);
+      return DROP;
+    }
+  }
+
   /**
    * Support string or class parameters
    */
@@ -272,6 +344,24 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
     return clazz;
   }
 
+  /**
+   * @return how many asynchronous notifications were queued for delivery so far when batched dispatch is enabled, summing up
+   *         all the listeners.
+   * @since 4.5.0
+   */
+  public long getQueuedNotificationsCount() {
+    return listenerQueues.values().stream().mapToLong(ListenerNotificationQueue::getQueuedCount).sum();
+  }
+
+  /**
+   * @return how many asynchronous notifications were dropped so far because the queue of a listener was full, summing up all the
+   *         listeners.
+   * @since 4.5.0
+   */
+  public long getDroppedNotificationsCount() {
+    return listenerQueues.values().stream().mapToLong(ListenerNotificationQueue::getDroppedCount).sum();
+  }
+
   // for tests -------------------------------------------------------
 
   Policy getPolicy() {
@@ -13,6 +13,7 @@ import static java.lang.System.getProperty;
 import static org.mule.runtime.api.config.MuleRuntimeFeature.COMPUTE_CONNECTION_ERRORS_IN_STATS;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_DISABLE_PAYLOAD_STATISTICS;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_ENABLE_STATISTICS;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 
 import org.mule.api.annotation.NoExtend;
 import org.mule.runtime.api.component.Component;
@@ -31,6 +32,15 @@ import java.util.concurrent.ConcurrentHashMap;
 @NoExtend
 public class AllStatistics {
 
+  /**
+   * If set to {@code true}, the statistics of flows are updated without locking and keep a histogram of the processing times, so
+   * percentiles can be obtained.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_HISTOGRAM_STATISTICS = SYSTEM_PROPERTY_PREFIX + "statistics.histogram";
+
+  private final boolean histogramStatistics = getBoolean(MULE_HISTOGRAM_STATISTICS);
   private boolean isStatisticsEnabled = getBoolean(MULE_ENABLE_STATISTICS);
   private boolean payloadStatisticsDisabled = valueOf((getProperty(MULE_DISABLE_PAYLOAD_STATISTICS, "true")));
 
@@ -100,6 +110,15 @@ public class AllStatistics {
     }
   }
 
+  /**
+   * @return whether new flow statistics have to keep a histogram of the processing times.
+   * @see #MULE_HISTOGRAM_STATISTICS
+   * @since 4.5.0
+   */
+  public boolean isHistogramStatisticsEnabled() {
+    return histogramStatistics;
+  }
+
   public synchronized void remove(FlowConstructStatistics stat) {
     if (stat != null) {
       flowConstructStats.remove(stat.getName());
@@ -233,4 +233,43 @@ public class ComponentStatistics implements Statistics {
     return averageExecutionTime;
   }
 
+  /**
+   * Returns the execution time under which the given percentage of the events completed. Only implementations which keep a
+   * histogram of the execution times compute this value.
+   *
+   * @param percentile a value between {@code 0} and {@code 100}
+   * @return the execution time at the given percentile, or {@code 0} if not computed.
+   * @since 4.5.0
+   */
+  public long getExecutionTimePercentile(double percentile) {
+    return 0;
+  }
+
+  /**
+   * Returns the rate of executed events since the statistics were last cleared, or since the current interval started if
+   * {@code statIntervalTime} is set. Only implementations which keep track of the interval start compute this value.
+   *
+   * @return the executed events per second, or {@code 0} if not computed.
+   * @since 4.5.0
+   */
+  public double getExecutedEventsPerSecond() {
+    return 0;
+  }
+
+  /**
+   * @return whether statistics are cleared every {@link #getIntervalTime()} milliseconds.
+   * @since 4.5.0
+   */
+  protected final boolean isStatIntervalTimeEnabled() {
+    return statIntervalTimeEnabled;
+  }
+
+  /**
+   * @return the time in milliseconds after which statistics are cleared, if {@link #isStatIntervalTimeEnabled()}.
+   * @since 4.5.0
+   */
+  protected final long getIntervalTime() {
+    return intervalTime;
+  }
+
 }
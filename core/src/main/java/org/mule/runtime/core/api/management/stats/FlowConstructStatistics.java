@@ -64,6 +64,23 @@ public interface FlowConstructStatistics extends Statistics {
    */
   long getMinProcessingTime();
 
+  /**
+   * @param percentile a value between {@code 0} and {@code 100}
+   * @return the time under which the given percentage of the events were processed, or {@code 0} if not computed.
+   * @since 4.5.0
+   */
+  default long getProcessingTimePercentile(double percentile) {
+    return 0;
+  }
+
+  /**
+   * @return the rate of processed events per second in the current interval, or {@code 0} if not computed.
+   * @since 4.5.0
+   */
+  default double getProcessedEventsPerSecond() {
+    return 0;
+  }
+
   /**
    * @return the time consumed to process all the current finalized events
    */
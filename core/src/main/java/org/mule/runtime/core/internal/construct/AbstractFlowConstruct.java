@@ -27,6 +27,7 @@ import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.construct.FlowConstructInvalidException;
 import org.mule.runtime.core.api.exception.FlowExceptionHandler;
 import org.mule.runtime.core.api.lifecycle.LifecycleState;
+import org.mule.runtime.core.api.management.stats.ComponentStatistics;
 import org.mule.runtime.core.api.management.stats.FlowConstructStatistics;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.source.MessageSource;
@@ -35,6 +36,7 @@ import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
 import org.mule.runtime.core.internal.exception.ErrorHandler;
 import org.mule.runtime.core.internal.lifecycle.EmptyLifecycleCallback;
 import org.mule.runtime.core.internal.management.stats.DefaultFlowConstructStatistics;
+import org.mule.runtime.core.internal.management.stats.HistogramComponentStatistics;
 import org.mule.runtime.core.privileged.component.AbstractExecutableComponent;
 import org.mule.runtime.core.privileged.exception.MessagingExceptionHandlerAcceptor;
 import org.mule.runtime.core.privileged.registry.RegistrationException;
@@ -207,7 +209,10 @@ public abstract class AbstractFlowConstruct extends AbstractExecutableComponent
   }
 
   public static FlowConstructStatistics createFlowStatistics(String flowName, MuleContext muleContext) {
-    DefaultFlowConstructStatistics statistics = new DefaultFlowConstructStatistics("Flow", flowName);
+    ComponentStatistics flowStatistics = muleContext.getStatistics().isHistogramStatisticsEnabled()
+        ? new HistogramComponentStatistics()
+        : new ComponentStatistics();
+    DefaultFlowConstructStatistics statistics = new DefaultFlowConstructStatistics("Flow", flowName, flowStatistics);
     statistics.setEnabled(muleContext.getStatistics().isEnabled());
     muleContext.getStatistics().add(statistics);
     return statistics;
@@ -662,4 +662,21 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
   public Map<BackPressureReason, FlowBackPressureException> getBackPressureExceptions() {
     return backPressureExceptions;
   }
+
+  /**
+   * @return the number of events that sources with {@code WAIT} back-pressure strategy had to hold until this flow accepted them
+   * @since 4.5.0
+   */
+  public long getBackPressureWaits() {
+    return backpressureStrategySelector.getWaits();
+  }
+
+  /**
+   * @return the total time in nanoseconds that sources with {@code WAIT} back-pressure strategy spent blocked until this flow
+   *         accepted their events
+   * @since 4.5.0
+   */
+  public long getBackPressureWaitedNanos() {
+    return backpressureStrategySelector.getWaitedNanos();
+  }
 }
@@ -6,14 +6,26 @@
  */
 package org.mule.runtime.core.internal.construct;
 
+import static java.lang.Long.getLong;
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
 import static java.lang.Thread.currentThread;
 import static java.lang.Thread.sleep;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.construct.BackPressureReason.MAX_CONCURRENCY_EXCEEDED;
 import static org.mule.runtime.core.api.source.MessageSource.BackPressureStrategy.WAIT;
 import static org.mule.runtime.core.internal.construct.FlowBackPressureException.createAndThrowIfNeeded;
 
 import org.mule.runtime.core.api.construct.BackPressureReason;
 import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.api.source.MessageSource;
+import org.mule.runtime.core.internal.processor.strategy.CapacitySignal;
+import org.mule.runtime.core.internal.processor.strategy.CapacitySignalingProcessingStrategy;
+
+import java.util.concurrent.atomic.LongAdder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,44 +41,105 @@ class BackPressureStrategySelector {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(BackPressureStrategySelector.class);
 
+  /**
+   * The maximum time in milliseconds a source with {@link MessageSource.BackPressureStrategy#WAIT WAIT} back-pressure strategy
+   * waits for the flow to accept an event. Once elapsed, the event is rejected as with the other strategies. A negative value,
+   * the default, means to wait indefinitely.
+   *
+   * @since 4.5.0
+   */
+  public static final String BACK_PRESSURE_MAX_WAIT_PROPERTY = SYSTEM_PROPERTY_PREFIX + "backPressure.wait.maxWaitMillis";
+
   private static int EVENT_LOOP_SCHEDULER_BUSY_RETRY_INTERVAL_MS = 2;
+  private static final long EVENT_LOOP_SCHEDULER_BUSY_RETRY_INTERVAL_NS =
+      MILLISECONDS.toNanos(EVENT_LOOP_SCHEDULER_BUSY_RETRY_INTERVAL_MS);
+  // Safety net in case the capacity becomes available without a signal being sent
+  private static final long MAX_CONCURRENCY_RECHECK_INTERVAL_NS = MILLISECONDS.toNanos(100);
 
   private final AbstractPipeline abstractPipeline;
+  private final long maxWaitNanos;
+
+  private final LongAdder waits = new LongAdder();
+  private final LongAdder waitedNanos = new LongAdder();
 
   public BackPressureStrategySelector(AbstractPipeline abstractPipeline) {
     this.abstractPipeline = abstractPipeline;
+    final long maxWaitMillis = getLong(BACK_PRESSURE_MAX_WAIT_PROPERTY, -1L);
+    this.maxWaitNanos = maxWaitMillis < 0 ? Long.MAX_VALUE : MILLISECONDS.toNanos(maxWaitMillis);
   }
 
   /**
-   * Wait backpressure strategy. Implements a busy-wait strategy.
+   * Wait backpressure strategy. If the processing strategy signals when it has capacity again, the current thread waits for that
+   * signal. Otherwise, it implements a busy-wait strategy.
    *
    * @param event the event about to begin processing
-   * @throws FlowBackPressureException
+   * @throws FlowBackPressureException if the event is not accepted within the configured max wait
    */
   protected void checkWithWaitStrategy(CoreEvent event)
       throws FlowBackPressureException {
-    boolean accepted = false;
-    while (!accepted) {
-      try {
-        abstractPipeline.getProcessingStrategy().checkBackpressureAccepting(event);
-        accepted = true;
-      } catch (FromFlowRejectedExecutionException ree) {
-        if (LOGGER.isDebugEnabled()) {
-          LOGGER.debug("waitStrategy - " + ree.getClass().getName() + " @ "
-              + event.getContext().getOriginatingLocation().getRootContainerName() + ": " + ree.getReason());
-        }
+    final ProcessingStrategy processingStrategy = abstractPipeline.getProcessingStrategy();
+    final CapacitySignal capacitySignal = processingStrategy instanceof CapacitySignalingProcessingStrategy
+        ? ((CapacitySignalingProcessingStrategy) processingStrategy).getCapacitySignal().orElse(null)
+        : null;
 
-        // TODO MULE-16106 Add a callback for WAIT back pressure applied on the source
+    long waitStart = -1;
+    try {
+      while (true) {
+        final long generation = capacitySignal != null ? capacitySignal.currentGeneration() : 0;
         try {
-          sleep(EVENT_LOOP_SCHEDULER_BUSY_RETRY_INTERVAL_MS);
-        } catch (InterruptedException e) {
-          currentThread().interrupt();
-          createAndThrowIfNeeded(abstractPipeline, ree.getReason(), ree);
+          processingStrategy.checkBackpressureAccepting(event);
+          return;
+        } catch (FromFlowRejectedExecutionException ree) {
+          if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("waitStrategy - " + ree.getClass().getName() + " @ "
+                + event.getContext().getOriginatingLocation().getRootContainerName() + ": " + ree.getReason());
+          }
+
+          if (waitStart == -1) {
+            waitStart = nanoTime();
+          }
+          final long remainingNanos = maxWaitNanos - (nanoTime() - waitStart);
+          if (remainingNanos <= 0) {
+            createAndThrowIfNeeded(abstractPipeline, ree.getReason(), ree);
+          }
+
+          try {
+            if (capacitySignal != null) {
+              // A busy scheduler may become available without a signal, so that case is still rechecked periodically
+              capacitySignal.await(generation, min(remainingNanos, ree.getReason() == MAX_CONCURRENCY_EXCEEDED
+                  ? MAX_CONCURRENCY_RECHECK_INTERVAL_NS
+                  : EVENT_LOOP_SCHEDULER_BUSY_RETRY_INTERVAL_NS));
+            } else {
+              sleep(min(NANOSECONDS.toMillis(remainingNanos) + 1, EVENT_LOOP_SCHEDULER_BUSY_RETRY_INTERVAL_MS));
+            }
+          } catch (InterruptedException e) {
+            currentThread().interrupt();
+            createAndThrowIfNeeded(abstractPipeline, ree.getReason(), ree);
+          }
         }
       }
+    } finally {
+      if (waitStart != -1) {
+        waits.increment();
+        waitedNanos.add(nanoTime() - waitStart);
+      }
     }
   }
 
+  /**
+   * @return the number of events that had to wait for the flow to accept them
+   */
+  long getWaits() {
+    return waits.sum();
+  }
+
+  /**
+   * @return the total time in nanoseconds that sources spent waiting for the flow to accept events
+   */
+  long getWaitedNanos() {
+    return waitedNanos.sum();
+  }
+
   /**
    * Drop backpressure strategy. If backpressure is fired on the incoming event, it gets dropped from processing.
    *
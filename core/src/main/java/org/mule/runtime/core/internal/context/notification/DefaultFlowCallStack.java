@@ -8,6 +8,7 @@ package org.mule.runtime.core.internal.context.notification;
 
 import static java.lang.Integer.getInteger;
 import static java.lang.System.lineSeparator;
+import static java.util.concurrent.atomic.AtomicReferenceFieldUpdater.newUpdater;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_FLOW_STACK_MAX_DEPTH;
 
 import org.mule.runtime.core.api.context.notification.FlowCallStack;
@@ -15,33 +16,47 @@ import org.mule.runtime.core.api.context.notification.FlowStackElement;
 import org.mule.runtime.core.internal.event.EventContextDeepNestingException;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.EmptyStackException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Function;
 
 /**
  * Keeps context information about the executing flows and its callers in order to provide augmented troubleshooting information
  * for an application developer.
+ * <p>
+ * The elements are kept in an immutable linked stack, so pushing and popping elements are {@code O(1)} and a {@link #clone()}
+ * shares all of its elements with the original stack instead of copying them.
  */
 public class DefaultFlowCallStack implements FlowCallStack {
 
   private static final long serialVersionUID = -8683711977929802819L;
 
+  // Keeps the serialized form of previous versions, which held the elements in an ArrayDeque
+  private static final ObjectStreamField[] serialPersistentFields = {new ObjectStreamField("innerStack", Deque.class)};
+
+  private static final AtomicReferenceFieldUpdater<DefaultFlowCallStack, StackNode> TOP_UPDATER =
+      newUpdater(DefaultFlowCallStack.class, StackNode.class, "top");
+
   // BaseEventContext.class.getName() is here for backwards compatibility, since it was the equivalent property until 4.2.x
   private static final int MAX_DEPTH =
       getInteger(MULE_FLOW_STACK_MAX_DEPTH, getInteger(BaseEventContext.class.getName() + ".maxDepth", 45));
 
-  private final Deque<FlowStackElement> innerStack;
+  private volatile StackNode top;
 
-  public DefaultFlowCallStack() {
-    this.innerStack = new ArrayDeque<>(4);
-  }
+  public DefaultFlowCallStack() {}
 
-  private DefaultFlowCallStack(final Deque<FlowStackElement> innerStack) {
-    this.innerStack = ((ArrayDeque) innerStack).clone();
+  private DefaultFlowCallStack(final StackNode top) {
+    this.top = top;
   }
 
   /**
@@ -50,19 +65,19 @@ public class DefaultFlowCallStack implements FlowCallStack {
    * @param flowStackElement the element to add
    */
   public void push(FlowStackElement flowStackElement) {
-    if (innerStack.size() >= MAX_DEPTH) {
-      StringBuilder messageBuilder = new StringBuilder();
+    StackNode current;
+    do {
+      current = top;
+      if (current != null && current.size >= MAX_DEPTH) {
+        StringBuilder messageBuilder = new StringBuilder();
 
-      messageBuilder.append("Too many nested child contexts.")
-          .append(lineSeparator())
-          .append(toString());
+        messageBuilder.append("Too many nested child contexts.")
+            .append(lineSeparator())
+            .append(toString());
 
-      throw new EventContextDeepNestingException(messageBuilder.toString());
-    }
-
-    synchronized (innerStack) {
-      innerStack.push(flowStackElement);
-    }
+        throw new EventContextDeepNestingException(messageBuilder.toString());
+      }
+    } while (!TOP_UPDATER.compareAndSet(this, current, new StackNode(flowStackElement, current)));
   }
 
   /**
@@ -72,11 +87,15 @@ public class DefaultFlowCallStack implements FlowCallStack {
    * @throws EmptyStackException if this stack is empty.
    */
   public void pushCurrentProcessorPath(String processorPath) {
-    if (!innerStack.isEmpty()) {
-      synchronized (innerStack) {
-        innerStack.push(new FlowStackElement(innerStack.pop().getFlowName(), processorPath));
+    StackNode current;
+    do {
+      current = top;
+      if (current == null) {
+        return;
       }
-    }
+    } while (!TOP_UPDATER.compareAndSet(this, current,
+                                        new StackNode(new FlowStackElement(current.element.getFlowName(), processorPath),
+                                                      current.next)));
   }
 
   /**
@@ -86,9 +105,15 @@ public class DefaultFlowCallStack implements FlowCallStack {
    * @throws EmptyStackException if this stack is empty.
    */
   public FlowStackElement pop() {
-    synchronized (innerStack) {
-      return innerStack.pop();
-    }
+    StackNode current;
+    do {
+      current = top;
+      if (current == null) {
+        throw new NoSuchElementException();
+      }
+    } while (!TOP_UPDATER.compareAndSet(this, current, current.next));
+
+    return current.element;
   }
 
   /**
@@ -98,23 +123,23 @@ public class DefaultFlowCallStack implements FlowCallStack {
    * @throws EmptyStackException if this stack is empty.
    */
   public FlowStackElement peek() {
-    synchronized (innerStack) {
-      return innerStack.peek();
-    }
+    final StackNode current = top;
+    return current != null ? current.element : null;
   }
 
   @Override
   public List<FlowStackElement> getElements() {
-    synchronized (innerStack) {
-      return new ArrayList<>(innerStack);
+    final StackNode current = top;
+    final List<FlowStackElement> elements = new ArrayList<>(current != null ? current.size : 0);
+    for (StackNode node = current; node != null; node = node.next) {
+      elements.add(node.element);
     }
+    return elements;
   }
 
   @Override
   public DefaultFlowCallStack clone() {
-    synchronized (innerStack) {
-      return new DefaultFlowCallStack(innerStack);
-    }
+    return new DefaultFlowCallStack(top);
   }
 
   @Override
@@ -129,15 +154,47 @@ public class DefaultFlowCallStack implements FlowCallStack {
   private String doToString(Function<FlowStackElement, String> toString) {
     StringBuilder stackString = new StringBuilder(256);
 
-    int i = 0;
-    synchronized (innerStack) {
-      for (FlowStackElement flowStackElement : innerStack) {
-        stackString.append("at ").append(toString.apply(flowStackElement));
-        if (++i != innerStack.size()) {
-          stackString.append(lineSeparator());
-        }
+    for (StackNode node = top; node != null; node = node.next) {
+      stackString.append("at ").append(toString.apply(node.element));
+      if (node.next != null) {
+        stackString.append(lineSeparator());
       }
     }
     return stackString.toString();
   }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("innerStack", new ArrayDeque<>(getElements()));
+    out.writeFields();
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    final Deque<FlowStackElement> innerStack = (Deque<FlowStackElement>) in.readFields().get("innerStack", null);
+
+    StackNode node = null;
+    if (innerStack != null) {
+      // the deque has the top-most element first
+      for (Iterator<FlowStackElement> iterator = innerStack.descendingIterator(); iterator.hasNext();) {
+        node = new StackNode(iterator.next(), node);
+      }
+    }
+    top = node;
+  }
+
+  /**
+   * Immutable node of the stack. Nodes are shared between a stack and its clones.
+   */
+  private static final class StackNode {
+
+    private final FlowStackElement element;
+    private final StackNode next;
+    private final int size;
+
+    private StackNode(FlowStackElement element, StackNode next) {
+      this.element = element;
+      this.next = next;
+      this.size = next != null ? next.size + 1 : 1;
+    }
+  }
 }
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static java.lang.Boolean.TRUE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.internal.context.notification.NotificationOverflowPolicy.BLOCK;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.notification.Notification;
+import org.mule.runtime.api.notification.NotificationListener;
+import org.mule.runtime.api.scheduler.Scheduler;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.conversantmedia.util.concurrent.ConcurrentQueue;
+import com.conversantmedia.util.concurrent.MultithreadConcurrentQueue;
+import org.slf4j.Logger;
+
+/**
+ * Delivers asynchronous notifications to a single {@link NotificationListener} in batches.
+ * <p>
+ * Notifications are appended to a bounded lock-free queue. Instead of submitting a task per notification, a single drain task is
+ * submitted to the {@link Scheduler} whenever the queue goes from idle to having pending notifications. That task delivers up to
+ * a batch of notifications and, if more are pending, resubmits itself so that other listeners get their turn. Since there is at
+ * most one drain task per listener at any given time, each listener receives its notifications in order.
+ * <p>
+ * When the queue is full, the {@link NotificationOverflowPolicy} determines what happens with the new notification. With
+ * {@link NotificationOverflowPolicy#BLOCK}, the firing thread waits on a condition which is signalled after each delivered batch,
+ * unless it is itself delivering notifications, since it may be the very thread the queue is waiting on to be drained. In that
+ * case the new notification is discarded.
+ *
+ * @since 4.5.0
+ */
+public final class ListenerNotificationQueue {
+
+  private static final Logger LOGGER = getLogger(ListenerNotificationQueue.class);
+
+  // in case the drain task could not be scheduled, the blocked thread retries periodically
+  private static final long BLOCK_WAIT_MILLIS = 100;
+
+  // set while a thread delivers notifications of any queue, so that listeners firing notifications from it never block
+  private static final ThreadLocal<Boolean> DELIVERING = new ThreadLocal<>();
+
+  private final NotificationListener listener;
+  private final Scheduler scheduler;
+  private final NotificationOverflowPolicy overflowPolicy;
+  private final ConcurrentQueue<Notification> queue;
+  private final Notification[] batch;
+  private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+  private final AtomicLong queuedCount = new AtomicLong();
+  private final AtomicLong droppedCount = new AtomicLong();
+  private final ReentrantLock notFullLock = new ReentrantLock();
+  private final Condition notFull = notFullLock.newCondition();
+
+  /**
+   * Creates a new instance
+   *
+   * @param listener       the listener to deliver the notifications to
+   * @param scheduler      the scheduler where notifications are delivered
+   * @param capacity       how many notifications can be pending delivery at once
+   * @param batchSize      maximum number of notifications to deliver in a single task
+   * @param overflowPolicy what to do when the queue is full
+   */
+  public ListenerNotificationQueue(NotificationListener listener, Scheduler scheduler, int capacity, int batchSize,
+                                   NotificationOverflowPolicy overflowPolicy) {
+    this.listener = listener;
+    this.scheduler = scheduler;
+    this.overflowPolicy = overflowPolicy;
+    this.queue = new MultithreadConcurrentQueue<>(capacity);
+    this.batch = new Notification[batchSize];
+  }
+
+  /**
+   * Enqueues the given {@code notification} to be delivered to the listener.
+   *
+   * @param notification the notification to deliver
+   */
+  public void dispatch(Notification notification) {
+    if (!enqueue(notification)) {
+      droppedCount.incrementAndGet();
+      return;
+    }
+
+    queuedCount.incrementAndGet();
+    scheduleDrain();
+  }
+
+  private boolean enqueue(Notification notification) {
+    while (!queue.offer(notification)) {
+      switch (overflowPolicy) {
+        case DROP:
+          return false;
+        case DROP_OLDEST:
+          if (queue.poll() != null) {
+            droppedCount.incrementAndGet();
+          }
+          break;
+        case BLOCK:
+          if (DELIVERING.get() != null) {
+            LOGGER.debug("Discarding notification {} fired while delivering notifications, the queue of listener {} is full",
+                         notification, listener);
+            return false;
+          }
+          return awaitOffer(notification);
+      }
+    }
+    return true;
+  }
+
+  private boolean awaitOffer(Notification notification) {
+    notFullLock.lock();
+    try {
+      // the offer is retried holding the lock, so the signal of a drain can't be missed
+      while (!queue.offer(notification)) {
+        scheduleDrain();
+        notFull.await(BLOCK_WAIT_MILLIS, MILLISECONDS);
+      }
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } finally {
+      notFullLock.unlock();
+    }
+  }
+
+  private void scheduleDrain() {
+    if (drainScheduled.compareAndSet(false, true)) {
+      try {
+        scheduler.submit(this::drain);
+      } catch (RejectedExecutionException e) {
+        drainScheduled.set(false);
+        LOGGER.warn("Could not deliver notifications to listener {}: {}", listener, e.getMessage());
+      }
+    }
+  }
+
+  private void drain() {
+    final int drained = queue.remove(batch);
+    final Boolean wasDelivering = DELIVERING.get();
+    DELIVERING.set(TRUE);
+    try {
+      for (int i = 0; i < drained; ++i) {
+        deliver(batch[i]);
+        batch[i] = null;
+      }
+    } finally {
+      DELIVERING.set(wasDelivering);
+    }
+    signalNotFull(drained);
+
+    drainScheduled.set(false);
+    if (!queue.isEmpty()) {
+      scheduleDrain();
+    }
+  }
+
+  private void signalNotFull(int drained) {
+    if (overflowPolicy != BLOCK || drained == 0) {
+      return;
+    }
+
+    notFullLock.lock();
+    try {
+      notFull.signalAll();
+    } finally {
+      notFullLock.unlock();
+    }
+  }
+
+  /**
+   * Delivers all the pending notifications from the calling thread. Intended to be used once the {@link Scheduler} was stopped,
+   * so that no notification accepted for delivery is lost.
+   */
+  public void flush() {
+    Notification notification;
+    int flushed = 0;
+    final Boolean wasDelivering = DELIVERING.get();
+    DELIVERING.set(TRUE);
+    try {
+      while ((notification = queue.poll()) != null) {
+        deliver(notification);
+        ++flushed;
+      }
+    } finally {
+      DELIVERING.set(wasDelivering);
+    }
+    signalNotFull(flushed);
+  }
+
+  private void deliver(Notification notification) {
+    try {
+      listener.onNotification(notification);
+    } catch (Exception e) {
+      LOGGER.warn("Listener {} failed to process notification {}", listener, notification, e);
+    }
+  }
+
+  /**
+   * @return how many notifications were accepted for delivery so far
+   */
+  public long getQueuedCount() {
+    return queuedCount.get();
+  }
+
+  /**
+   * @return how many notifications were discarded so far because the queue was full
+   */
+  public long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  /**
+   * @return how many notifications are waiting to be delivered
+   */
+  public int getPendingCount() {
+    return queue.size();
+  }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+/**
+ * What to do with an asynchronous notification when the {@link ListenerNotificationQueue} of one of its listeners is full.
+ *
+ * @since 4.5.0
+ */
+public enum NotificationOverflowPolicy {
+
+  /**
+   * The new notification is discarded.
+   */
+  DROP,
+
+  /**
+   * The oldest queued notification is discarded to make room for the new one.
+   */
+  DROP_OLDEST,
+
+  /**
+   * The thread firing the notification waits until there's room for it in the queue.
+   */
+  BLOCK
+}
@@ -11,14 +11,19 @@ import static org.mule.runtime.api.el.ValidationResult.failure;
 import static org.mule.runtime.api.el.ValidationResult.success;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.util.ClassUtils.isInstance;
 import static org.mule.runtime.core.api.util.StreamingUtils.updateTypedValueForStreaming;
 
+import static java.lang.Integer.getInteger;
+import static java.lang.Math.max;
 import static java.lang.String.format;
 import static java.lang.Thread.currentThread;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
+import static com.github.benmanes.caffeine.cache.Caffeine.newBuilder;
+
 import org.mule.runtime.api.component.location.ComponentLocation;
 import org.mule.runtime.api.el.BindingContext;
 import org.mule.runtime.api.el.CompiledExpression;
@@ -41,6 +46,8 @@ import org.mule.runtime.core.api.transformer.TransformerException;
 import org.mule.runtime.core.internal.util.OneTimeWarning;
 import org.mule.runtime.core.privileged.transformer.TransformersRegistry;
 import org.mule.runtime.core.privileged.util.TemplateParser;
+import org.mule.runtime.core.privileged.util.TemplateParser.CompiledTemplate;
+import org.mule.runtime.core.privileged.util.TemplateParser.TemplateCallback;
 
 import java.util.Iterator;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -49,13 +56,27 @@ import javax.inject.Inject;
 
 import org.slf4j.Logger;
 
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
 public class DefaultExpressionManager implements ExtendedExpressionManager {
 
   public static final String DW_PREFIX = "dw";
   public static final String MEL_PREFIX = "mel";
   public static final String PREFIX_EXPR_SEPARATOR = ":";
   public static final int DW_PREFIX_LENGTH = (DW_PREFIX + PREFIX_EXPR_SEPARATOR).length();
+
+  /**
+   * Maximum number of compiled templates kept by each expression manager. Templates are cached by their text, so templates built
+   * at runtime (for instance, passing a variable with the template to parse-template) take entries as well, evicting the least
+   * used ones. {@code 0} disables the cache, compiling the template on every evaluation. Defaults to {@code 1024}.
+   *
+   * @since 4.5.0
+   */
+  public static final String COMPILED_TEMPLATES_CACHE_SIZE_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "expression.compiledTemplatesCacheSize";
+
   private static final Logger LOGGER = getLogger(DefaultExpressionManager.class);
+  private static final int DEFAULT_COMPILED_TEMPLATES_CACHE_SIZE = 1024;
 
   private final OneTimeWarning parseWarning = new OneTimeWarning(LOGGER,
                                                                  "Expression parsing is deprecated, regular expressions should be used instead.");
@@ -66,6 +87,10 @@ public class DefaultExpressionManager implements ExtendedExpressionManager {
   private ExtendedExpressionLanguageAdaptor expressionLanguage;
   // Default style parser
   private final TemplateParser parser = TemplateParser.createMuleStyleParser();
+  // Templates are usually static (loggers, parse-template), so scanning them on every event is avoided
+  private final LoadingCache<String, CompiledTemplate> compiledTemplates = newBuilder()
+      .maximumSize(max(0, getInteger(COMPILED_TEMPLATES_CACHE_SIZE_PROPERTY, DEFAULT_COMPILED_TEMPLATES_CACHE_SIZE)))
+      .build(parser::compile);
   private boolean melDefault;
 
   @Override
@@ -213,7 +238,7 @@ public class DefaultExpressionManager implements ExtendedExpressionManager {
 
     if ((!hasDwExpression(expression) && !hasMelExpression(expression) && melDefault) || hasMelExpression(expression)) {
       parseWarning.warn();
-      return parser.parse(token -> melParseEvaluation(event, componentLocation, eventBuilder, token), expression);
+      return parseTemplate(token -> melParseEvaluation(event, componentLocation, eventBuilder, token), expression);
     } else if (isExpression(expression)) {
       TypedValue evaluation = evaluate(expression, event, eventBuilder, componentLocation);
       try {
@@ -251,9 +276,9 @@ public class DefaultExpressionManager implements ExtendedExpressionManager {
 
     if ((!hasDwExpression(template) && !hasMelExpression(template) && melDefault) || hasMelExpression(template)) {
       Builder eventBuilder = CoreEvent.builder(event);
-      return parser.parse(token -> melParseEvaluation(event, componentLocation, eventBuilder, token), template);
+      return parseTemplate(token -> melParseEvaluation(event, componentLocation, eventBuilder, token), template);
     } else {
-      return parser.parse(token -> {
+      return parseTemplate(token -> {
         TypedValue<?> evaluation = expressionLanguage.evaluateLogExpression(token, event, componentLocation, bindingContext);
         if (evaluation.getValue() instanceof Message) {
           // Do not apply transformation to Message since payload will be considered then
@@ -272,6 +297,10 @@ public class DefaultExpressionManager implements ExtendedExpressionManager {
     }
   }
 
+  private String parseTemplate(TemplateCallback callback, String template) {
+    return compiledTemplates.get(template).render(callback);
+  }
+
   private Object melParseEvaluation(CoreEvent event, ComponentLocation componentLocation, Builder eventBuilder, String token) {
     Object result = evaluate(token, event, eventBuilder, componentLocation).getValue();
     if (result instanceof Message) {
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.internal.el.dataweave;
 
+import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
 import static org.mule.runtime.api.el.BindingContextUtils.PAYLOAD;
 import static org.mule.runtime.api.el.BindingContextUtils.addEventBuindingsToBuilder;
 import static org.mule.runtime.api.el.BindingContextUtils.addFlowNameBindingsToBuilder;
@@ -42,6 +43,7 @@ import org.mule.runtime.core.internal.el.ExtendedExpressionLanguageAdaptor;
 import org.mule.runtime.core.internal.el.IllegalCompiledExpression;
 import org.mule.runtime.core.internal.el.context.MuleInstanceContext;
 import org.mule.runtime.core.internal.el.context.ServerContext;
+import org.mule.runtime.core.internal.message.InternalEvent;
 
 import java.util.Iterator;
 import java.util.function.Function;
@@ -226,6 +228,13 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
       return context;
     }
 
+    if (event instanceof InternalEvent && context == NULL_BINDING_CONTEXT) {
+      // No extra bindings to add, so the bindings cached by the event can be reused across evaluations
+      return componentLocation == null
+          ? event.asBindingContext()
+          : ((InternalEvent) event).asBindingContext(componentLocation);
+    }
+
     Builder contextBuilder;
     if (event != null) {
       contextBuilder = addEventBuindingsToBuilder(event, context);
@@ -12,6 +12,7 @@ import static java.util.Optional.empty;
 import static java.util.Optional.ofNullable;
 import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
 import static org.mule.runtime.api.el.BindingContextUtils.addEventBindings;
+import static org.mule.runtime.api.el.BindingContextUtils.addFlowNameBindingsToBuilder;
 import static org.mule.runtime.api.util.collection.SmallMap.copy;
 import static org.mule.runtime.api.util.collection.SmallMap.unmodifiable;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.cannotReadPayloadAsBytes;
@@ -24,6 +25,7 @@ import static org.mule.runtime.core.internal.message.EventInternalContext.copyOf
 import static org.mule.runtime.core.internal.util.message.ItemSequenceInfoUtils.fromGroupCorrelation;
 import static org.mule.runtime.core.internal.util.message.ItemSequenceInfoUtils.toGroupCorrelation;
 
+import org.mule.runtime.api.component.location.ComponentLocation;
 import org.mule.runtime.api.el.BindingContext;
 import org.mule.runtime.api.event.EventContext;
 import org.mule.runtime.api.exception.DefaultMuleException;
@@ -434,6 +436,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     private transient EventInternalContext operationPolicyContext;
     private transient LazyValue<BindingContext> bindingContextBuilder =
         new LazyValue<>(() -> addEventBindings(this, NULL_BINDING_CONTEXT));
+    private transient volatile LocationBindingContext locationBindingContext;
 
     // Needed for deserialization with kryo
     private InternalEventImplementation() {
@@ -742,6 +745,35 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     public BindingContext asBindingContext() {
       return bindingContextBuilder.get();
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The context for the last location used is cached, since consecutive evaluations on an event usually come from the same
+     * component.
+     */
+    @Override
+    public BindingContext asBindingContext(ComponentLocation componentLocation) {
+      LocationBindingContext cached = locationBindingContext;
+      if (cached == null || cached.location != componentLocation) {
+        BindingContext bindingContext =
+            addFlowNameBindingsToBuilder(componentLocation, BindingContext.builder(asBindingContext())).build();
+        cached = new LocationBindingContext(componentLocation, bindingContext);
+        locationBindingContext = cached;
+      }
+      return cached.bindingContext;
+    }
+  }
+
+  private static final class LocationBindingContext {
+
+    private final ComponentLocation location;
+    private final BindingContext bindingContext;
+
+    private LocationBindingContext(ComponentLocation location, BindingContext bindingContext) {
+      this.location = location;
+      this.bindingContext = bindingContext;
+    }
   }
 
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lock;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * {@link LockGroup} implementation for holding references to created locks inside a mule instance.
+ * <p>
+ * As opposed to {@link InstanceLockGroup}, there's no monitor shared by all the lock ids: entries are kept in a
+ * {@link ConcurrentHashMap} and reference counted through its atomic per-key operations, so threads working with different lock
+ * ids don't contend with each other. An entry is removed as soon as no thread holds or waits for its lock.
+ *
+ * @since 4.5.0
+ */
+public class ConcurrentLockGroup implements LockGroup {
+
+  private final ConcurrentHashMap<String, LockEntry> locks = new ConcurrentHashMap<>();
+  private final LockProvider lockProvider;
+
+  public ConcurrentLockGroup(LockProvider lockProvider) {
+    this.lockProvider = lockProvider;
+  }
+
+  @Override
+  public void lock(String lockId) {
+    acquireEntry(lockId).getLock().lock();
+  }
+
+  @Override
+  public void unlock(String lockId) {
+    LockEntry lockEntry = locks.get(lockId);
+    if (lockEntry != null) {
+      lockEntry.getLock().unlock();
+      releaseEntry(lockId);
+    }
+  }
+
+  @Override
+  public boolean tryLock(String lockId, long timeout, TimeUnit timeUnit) throws InterruptedException {
+    LockEntry lockEntry = acquireEntry(lockId);
+    boolean lockAcquired = false;
+    try {
+      lockAcquired = lockEntry.getLock().tryLock(timeout, timeUnit);
+    } finally {
+      if (!lockAcquired) {
+        releaseEntry(lockId);
+      }
+    }
+    return lockAcquired;
+  }
+
+  @Override
+  public boolean tryLock(String lockId) {
+    LockEntry lockEntry = acquireEntry(lockId);
+    boolean lockAcquired = lockEntry.getLock().tryLock();
+    if (!lockAcquired) {
+      releaseEntry(lockId);
+    }
+    return lockAcquired;
+  }
+
+  @Override
+  public void lockInterruptibly(String lockId) throws InterruptedException {
+    LockEntry lockEntry = acquireEntry(lockId);
+    try {
+      lockEntry.getLock().lockInterruptibly();
+    } catch (InterruptedException e) {
+      releaseEntry(lockId);
+      throw e;
+    }
+  }
+
+  /**
+   * @return the amount of lock ids currently held or waited for
+   */
+  int getActiveLocksCount() {
+    return locks.size();
+  }
+
+  private LockEntry acquireEntry(String lockId) {
+    return locks.compute(lockId, (id, lockEntry) -> {
+      if (lockEntry == null) {
+        lockEntry = new LockEntry(lockProvider.createLock(id));
+      }
+      lockEntry.references++;
+      return lockEntry;
+    });
+  }
+
+  private void releaseEntry(String lockId) {
+    locks.computeIfPresent(lockId, (id, lockEntry) -> --lockEntry.references > 0 ? lockEntry : null);
+  }
+
+  private static final class LockEntry {
+
+    private final Lock lock;
+
+    // only accessed from within the map's atomic compute operations
+    private int references = 0;
+
+    private LockEntry(Lock lock) {
+      this.lock = lock;
+    }
+
+    private Lock getLock() {
+      return lock;
+    }
+  }
+
+  @Override
+  public void dispose() {
+    locks.clear();
+  }
+}
@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.internal.lock;
 
+import static java.lang.Boolean.getBoolean;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_LOCK_PROVIDER;
 
 import org.mule.runtime.api.lifecycle.Disposable;
@@ -21,6 +23,14 @@ import javax.inject.Named;
 
 public class MuleLockFactory implements LockFactory, Initialisable, Disposable {
 
+  /**
+   * If set to {@code true}, locks are tracked by a {@link ConcurrentLockGroup} instead of an {@link InstanceLockGroup}, so
+   * that locks with different ids don't contend with each other.
+   *
+   * @since 4.5.0
+   */
+  public static final String CONCURRENT_LOCK_GROUP_PROPERTY = SYSTEM_PROPERTY_PREFIX + "lock.concurrentLockGroup";
+
   private LockGroup lockGroup;
   private LockProvider lockProvider;
 
@@ -41,7 +51,9 @@ public class MuleLockFactory implements LockFactory, Initialisable, Disposable {
 
   @Override
   public void initialise() throws InitialisationException {
-    lockGroup = new InstanceLockGroup(lockProvider);
+    lockGroup = getBoolean(CONCURRENT_LOCK_GROUP_PROPERTY)
+        ? new ConcurrentLockGroup(lockProvider)
+        : new InstanceLockGroup(lockProvider);
   }
 
   @Inject
@@ -25,12 +25,21 @@ public class DefaultFlowConstructStatistics implements FlowConstructStatistics {
 
   private final AtomicLong executionError = new AtomicLong(0);
   private final AtomicLong fatalError = new AtomicLong(0);
-  protected final ComponentStatistics flowStatistics = new ComponentStatistics();
+  protected final ComponentStatistics flowStatistics;
 
   // Transient to avoid de-serialization backward compatibility problems (MULE-19020)
   private transient final AtomicLong connectionErrors = new AtomicLong(0);
 
   public DefaultFlowConstructStatistics(String flowConstructType, String name) {
+    this(flowConstructType, name, new ComponentStatistics());
+  }
+
+  /**
+   * @param flowStatistics the statistics to keep track of the processing times of the flow construct
+   * @since 4.5.0
+   */
+  public DefaultFlowConstructStatistics(String flowConstructType, String name, ComponentStatistics flowStatistics) {
+    this.flowStatistics = flowStatistics;
     this.name = name;
     this.flowConstructType = flowConstructType;
     flowStatistics.setEnabled(enabled);
@@ -122,6 +131,16 @@ public class DefaultFlowConstructStatistics implements FlowConstructStatistics {
     return flowStatistics.getTotalExecutionTime();
   }
 
+  @Override
+  public long getProcessingTimePercentile(double percentile) {
+    return flowStatistics.getExecutionTimePercentile(percentile);
+  }
+
+  @Override
+  public double getProcessedEventsPerSecond() {
+    return flowStatistics.getExecutedEventsPerSecond();
+  }
+
   @Override
   public long getExecutionErrors() {
     return executionError.get();
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static java.lang.Long.MAX_VALUE;
+import static java.lang.System.currentTimeMillis;
+import static org.mule.runtime.core.api.management.stats.ProcessingTime.getEffectiveTime;
+
+import org.mule.runtime.core.api.management.stats.AllStatistics;
+import org.mule.runtime.core.api.management.stats.ComponentStatistics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link ComponentStatistics} which can be updated concurrently without locking, and which keeps a {@link LatencyHistogram} of
+ * the execution times in order to provide percentiles.
+ * <p>
+ * Counters are kept in {@link LongAdder}s, so concurrent events update different cells instead of contending on the same
+ * monitor, and minimum and maximum are updated through compare-and-set. Aggregated values are computed when read, so getters are
+ * slightly more expensive than in {@link ComponentStatistics}.
+ * <p>
+ * Enabled through {@link AllStatistics#MULE_HISTOGRAM_STATISTICS}.
+ *
+ * @since 4.5.0
+ */
+public class HistogramComponentStatistics extends ComponentStatistics {
+
+  private static final long serialVersionUID = 4523086510532640327L;
+
+  private final LongAdder executedEvents = new LongAdder();
+  private final LongAdder totalExecutionTime = new LongAdder();
+  private final AtomicLong minExecutionTime = new AtomicLong(MAX_VALUE);
+  private final AtomicLong maxExecutionTime = new AtomicLong(0);
+  private final LatencyHistogram histogram = new LatencyHistogram();
+  private final AtomicLong currentIntervalStartTime = new AtomicLong(0);
+  private volatile long clearTime = currentTimeMillis();
+
+  @Override
+  public void clear() {
+    executedEvents.reset();
+    totalExecutionTime.reset();
+    minExecutionTime.set(MAX_VALUE);
+    maxExecutionTime.set(0);
+    histogram.reset();
+    clearTime = currentTimeMillis();
+  }
+
+  @Override
+  public long getMaxExecutionTime() {
+    return maxExecutionTime.get();
+  }
+
+  @Override
+  public long getMinExecutionTime() {
+    final long min = minExecutionTime.get();
+    return min == MAX_VALUE ? 0 : min;
+  }
+
+  @Override
+  public long getTotalExecutionTime() {
+    return totalExecutionTime.sum();
+  }
+
+  @Override
+  public long getExecutedEvents() {
+    return executedEvents.sum();
+  }
+
+  @Override
+  public long getAverageExecutionTime() {
+    final long executed = executedEvents.sum();
+    return executed == 0 ? 0 : totalExecutionTime.sum() / executed;
+  }
+
+  @Override
+  public long getExecutionTimePercentile(double percentile) {
+    return histogram.getValueAtPercentile(percentile);
+  }
+
+  @Override
+  public double getExecutedEventsPerSecond() {
+    final long elapsed = currentTimeMillis() - clearTime;
+    return elapsed <= 0 ? 0 : executedEvents.sum() * 1000d / elapsed;
+  }
+
+  @Override
+  public void addExecutionBranchTime(boolean first, long branch, long total) {
+    checkInterval();
+
+    if (first) {
+      executedEvents.increment();
+    }
+
+    if (executedEvents.sum() > 0) {
+      totalExecutionTime.add(getEffectiveTime(branch));
+      updateMax(getEffectiveTime(total));
+    }
+  }
+
+  @Override
+  public void addCompleteExecutionTime(long time) {
+    if (executedEvents.sum() > 0) {
+      final long effectiveTime = getEffectiveTime(time);
+      updateMin(effectiveTime);
+      histogram.record(effectiveTime);
+    }
+  }
+
+  @Override
+  public void addExecutionTime(long time) {
+    checkInterval();
+
+    executedEvents.increment();
+
+    final long effectiveTime = getEffectiveTime(time);
+    totalExecutionTime.add(effectiveTime);
+    updateMin(effectiveTime);
+    updateMax(effectiveTime);
+    histogram.record(effectiveTime);
+  }
+
+  /**
+   * Clears the statistics if the current interval is over. Only one of the threads which see the interval finished clears them.
+   */
+  private void checkInterval() {
+    if (!isStatIntervalTimeEnabled()) {
+      return;
+    }
+
+    final long currentTime = currentTimeMillis();
+    long intervalStart = currentIntervalStartTime.get();
+    if (intervalStart == 0) {
+      currentIntervalStartTime.compareAndSet(0, currentTime);
+      intervalStart = currentIntervalStartTime.get();
+    }
+
+    if ((currentTime - intervalStart) > getIntervalTime() && currentIntervalStartTime.compareAndSet(intervalStart, currentTime)) {
+      clear();
+    }
+  }
+
+  private void updateMin(long time) {
+    long min;
+    while (time < (min = minExecutionTime.get()) && !minExecutionTime.compareAndSet(min, time));
+  }
+
+  private void updateMax(long time) {
+    long max;
+    while (time > (max = maxExecutionTime.get()) && !maxExecutionTime.compareAndSet(max, time));
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of non-negative {@code long} values with a fixed memory footprint.
+ * <p>
+ * Values are counted in log-linear buckets, in the same fashion as an HDR histogram: values lower than {@code 64} have a bucket of
+ * their own, and each power of two above that is split into {@code 32} buckets of equal width. This means that any reported
+ * percentile is within a ~3% relative error of the recorded value, for the whole range of {@code long}, using less than 2000
+ * counters.
+ * <p>
+ * Recording a value is a single atomic increment, so many threads may record concurrently without contending on a lock. Reading
+ * percentiles while values are being recorded gives an approximate result.
+ *
+ * @since 4.5.0
+ */
+public final class LatencyHistogram implements Serializable {
+
+  private static final long serialVersionUID = -3187265932785434570L;
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+  private static final int LINEAR_LIMIT_MAGNITUDE = SUB_BUCKET_BITS + 1;
+  private static final int BUCKETS = LINEAR_LIMIT + (Long.SIZE - 1 - LINEAR_LIMIT_MAGNITUDE) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+  /**
+   * Counts the given value.
+   *
+   * @param value the value to record. Negative values are counted as {@code 0}
+   */
+  public void record(long value) {
+    counts.incrementAndGet(bucketIndex(max(value, 0)));
+  }
+
+  /**
+   * @param percentile a value between {@code 0} and {@code 100}
+   * @return the value under which the given percentage of the recorded values fall, or {@code 0} if no values were recorded
+   */
+  public long getValueAtPercentile(double percentile) {
+    checkArgument(percentile >= 0 && percentile <= 100, "percentile must be between 0 and 100");
+
+    final long[] snapshot = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; ++i) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+
+    final long target = max(1, (long) ceil(percentile / 100 * total));
+    long accumulated = 0;
+    for (int i = 0; i < BUCKETS; ++i) {
+      accumulated += snapshot[i];
+      if (accumulated >= target) {
+        return highestEquivalentValue(i);
+      }
+    }
+    return highestEquivalentValue(BUCKETS - 1);
+  }
+
+  /**
+   * @return the amount of values recorded
+   */
+  public long getCount() {
+    long total = 0;
+    for (int i = 0; i < BUCKETS; ++i) {
+      total += counts.get(i);
+    }
+    return total;
+  }
+
+  /**
+   * Discards all the recorded values. Values recorded concurrently with this method may or may not be discarded.
+   */
+  public void reset() {
+    for (int i = 0; i < BUCKETS; ++i) {
+      counts.set(i, 0);
+    }
+  }
+
+  static int bucketIndex(long value) {
+    if (value < LINEAR_LIMIT) {
+      return (int) value;
+    }
+
+    final int magnitude = Long.SIZE - 1 - numberOfLeadingZeros(value);
+    final int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+    return LINEAR_LIMIT + (magnitude - LINEAR_LIMIT_MAGNITUDE) * SUB_BUCKETS + subBucket;
+  }
+
+  static long highestEquivalentValue(int bucketIndex) {
+    if (bucketIndex < LINEAR_LIMIT) {
+      return bucketIndex;
+    }
+
+    final int magnitude = LINEAR_LIMIT_MAGNITUDE + (bucketIndex - LINEAR_LIMIT) / SUB_BUCKETS;
+    final long subBucket = SUB_BUCKETS + (bucketIndex - LINEAR_LIMIT) % SUB_BUCKETS;
+    final int shift = magnitude - SUB_BUCKET_BITS;
+    return ((subBucket + 1) << shift) - 1;
+  }
+}
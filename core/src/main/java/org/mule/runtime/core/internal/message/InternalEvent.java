@@ -6,7 +6,11 @@
  */
 package org.mule.runtime.core.internal.message;
 
+import static org.mule.runtime.api.el.BindingContextUtils.addFlowNameBindingsToBuilder;
+
 import org.mule.api.annotation.NoImplement;
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.el.BindingContext;
 import org.mule.runtime.api.event.EventContext;
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.api.metadata.DataType;
@@ -119,6 +123,20 @@ public interface InternalEvent extends PrivilegedEvent {
    */
   <T extends EventInternalContext> void setOperationPolicyContext(EventInternalContext<T> context);
 
+  /**
+   * Same as {@link #asBindingContext()}, plus the bindings describing the flow of the given {@code componentLocation}.
+   * <p>
+   * Implementations may cache the returned context, so evaluating several expressions for the same component on the same event
+   * builds it only once.
+   *
+   * @param componentLocation the location of the component evaluating expressions against this event
+   * @return a {@link BindingContext} for evaluating expressions against this event from the given location
+   * @since 4.5.0
+   */
+  default BindingContext asBindingContext(ComponentLocation componentLocation) {
+    return addFlowNameBindingsToBuilder(componentLocation, BindingContext.builder(asBindingContext())).build();
+  }
+
   /**
    * Create new {@link Builder} based on an existing {@link CoreEvent} instance. The existing {@link EventContext} is conserved.
    *
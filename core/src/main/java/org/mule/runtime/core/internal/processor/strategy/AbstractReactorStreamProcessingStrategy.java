@@ -31,6 +31,7 @@ import org.mule.runtime.core.internal.processor.strategy.enricher.ProcessingType
 import org.mule.runtime.core.internal.profiling.CoreProfilingService;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 
+import java.util.Optional;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -42,18 +43,20 @@ import javax.inject.Inject;
 import org.slf4j.Logger;
 
 public abstract class AbstractReactorStreamProcessingStrategy extends AbstractStreamProcessingStrategy
-    implements Lifecycle {
+    implements Lifecycle, CapacitySignalingProcessingStrategy {
 
   private static final Logger LOGGER = getLogger(AbstractReactorStreamProcessingStrategy.class);
 
   private final Supplier<Scheduler> cpuLightSchedulerSupplier;
   private final int parallelism;
   private final AtomicInteger inFlightEvents = new AtomicInteger();
+  private final CapacitySignal capacitySignal = new CapacitySignal();
   private final BiConsumer<CoreEvent, Throwable> inFlightDecrementCallback = (e, t) -> {
     int decremented = inFlightEvents.decrementAndGet();
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug("decremented inFlightEvents={}", decremented);
     }
+    capacitySignal.signal();
   };
 
   private Scheduler cpuLightScheduler;
@@ -92,6 +95,11 @@ public abstract class AbstractReactorStreamProcessingStrategy extends AbstractSt
     }
   }
 
+  @Override
+  public Optional<CapacitySignal> getCapacitySignal() {
+    return Optional.of(capacitySignal);
+  }
+
   @Override
   public void initialise() throws InitialisationException {
     // Nothing to do.
@@ -167,6 +175,7 @@ public abstract class AbstractReactorStreamProcessingStrategy extends AbstractSt
     // This counter relies on BaseEventContext.onResponse() and other ProcessingStrategy could be still processing
     // child events that will be dropped because of this stop, impeding such invocation.
     inFlightEvents.getAndSet(0);
+    capacitySignal.signalAll();
   }
 
   protected Scheduler createCpuLightScheduler(Supplier<Scheduler> cpuLightSchedulerSupplier) {
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Notifies the threads waiting for a {@link org.mule.runtime.core.api.processor.strategy.ProcessingStrategy} to accept an event
+ * that it may have capacity for it again.
+ * <p>
+ * Waiting threads are woken up in the order they started waiting. To avoid missing a signal that happens between checking the
+ * capacity and starting to wait, a waiter first takes the {@link #currentGeneration() current generation}, and doesn't wait if a
+ * signal was sent since then.
+ * <p>
+ * Signalling when there are no waiters does not acquire any lock.
+ *
+ * @since 4.5.0
+ */
+public final class CapacitySignal {
+
+  private final ReentrantLock lock = new ReentrantLock(true);
+  private final Condition capacityAvailable = lock.newCondition();
+  private final AtomicLong generation = new AtomicLong();
+  private final AtomicInteger waiters = new AtomicInteger();
+
+  /**
+   * @return the generation to pass to {@link #await(long, long)}. Must be obtained before checking the capacity.
+   */
+  public long currentGeneration() {
+    return generation.get();
+  }
+
+  /**
+   * Signals that capacity for one event may be available, waking up the thread that has been waiting the longest.
+   */
+  public void signal() {
+    generation.incrementAndGet();
+    if (waiters.get() > 0) {
+      lock.lock();
+      try {
+        capacityAvailable.signal();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Signals that capacity may be available for any number of events, waking up all the waiting threads.
+   */
+  public void signalAll() {
+    generation.incrementAndGet();
+    if (waiters.get() > 0) {
+      lock.lock();
+      try {
+        capacityAvailable.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Waits until a signal is sent, or the given timeout elapses.
+   *
+   * @param observedGeneration the value returned by {@link #currentGeneration()} before the capacity was checked
+   * @param timeoutNanos       the maximum time to wait
+   * @return {@code true} if a signal was sent, {@code false} if the timeout elapsed
+   * @throws InterruptedException if the current thread is interrupted while waiting
+   */
+  public boolean await(long observedGeneration, long timeoutNanos) throws InterruptedException {
+    lock.lockInterruptibly();
+    // counted while holding the lock: a signaller that does not see this waiter already bumped the generation checked below
+    waiters.incrementAndGet();
+    try {
+      long remainingNanos = timeoutNanos;
+      while (generation.get() == observedGeneration) {
+        if (remainingNanos <= 0) {
+          return false;
+        }
+        remainingNanos = capacityAvailable.awaitNanos(remainingNanos);
+      }
+      return true;
+    } finally {
+      waiters.decrementAndGet();
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of threads currently waiting for a signal
+   */
+  public int getWaiters() {
+    return waiters.get();
+  }
+}
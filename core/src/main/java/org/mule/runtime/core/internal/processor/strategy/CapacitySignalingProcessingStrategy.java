@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+
+import java.util.Optional;
+
+/**
+ * A {@link ProcessingStrategy} that notifies when it may accept events again after having rejected them because of
+ * back-pressure.
+ *
+ * @since 4.5.0
+ */
+public interface CapacitySignalingProcessingStrategy {
+
+  /**
+   * @return the signal to wait on after an event was rejected by
+   *         {@link ProcessingStrategy#checkBackpressureAccepting(org.mule.runtime.core.api.event.CoreEvent)}, if this strategy
+   *         supports it.
+   */
+  Optional<CapacitySignal> getCapacitySignal();
+}
@@ -22,6 +22,7 @@ import org.mule.runtime.core.api.processor.ReactiveProcessor;
 import org.mule.runtime.core.api.processor.Sink;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 
+import java.util.Optional;
 import java.util.concurrent.RejectedExecutionException;
 
 import org.reactivestreams.Publisher;
@@ -36,7 +37,8 @@ import javax.inject.Inject;
  *
  * @since 4.3.0
  */
-public abstract class ProcessingStrategyDecorator implements ProcessingStrategy, Lifecycle {
+public abstract class ProcessingStrategyDecorator
+    implements ProcessingStrategy, CapacitySignalingProcessingStrategy, Lifecycle {
 
   protected final ProcessingStrategy delegate;
 
@@ -87,6 +89,13 @@ public abstract class ProcessingStrategyDecorator implements ProcessingStrategy,
     return delegate.checkBackpressureEmitting(event);
   }
 
+  @Override
+  public Optional<CapacitySignal> getCapacitySignal() {
+    return delegate instanceof CapacitySignalingProcessingStrategy
+        ? ((CapacitySignalingProcessingStrategy) delegate).getCapacitySignal()
+        : Optional.empty();
+  }
+
   @Override
   public void initialise() throws InitialisationException {
     initialiseIfNeeded(delegate, muleContext);
@@ -115,7 +115,10 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
     private final LazyValue<Scheduler> flowDispatchSchedulerLazy;
     private final AtomicLong lastRetryTimestamp = new AtomicLong(MIN_VALUE);
     private final AtomicInteger queuedEvents = new AtomicInteger();
-    private final BiConsumer<CoreEvent, Throwable> queuedDecrementCallback = (e, t) -> queuedEvents.decrementAndGet();
+    private final BiConsumer<CoreEvent, Throwable> queuedDecrementCallback = (e, t) -> {
+      queuedEvents.decrementAndGet();
+      getCapacitySignal().ifPresent(CapacitySignal::signal);
+    };
     private final LongUnaryOperator lastRetryTimestampCheckOperator =
         v -> nanoTime() - v < SCHEDULER_BUSY_RETRY_INTERVAL_NS * 2
             ? v
@@ -283,7 +286,7 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
     protected ScheduledExecutorService getRetryScheduler(ScheduledExecutorService scheduler) {
       return new RejectionCallbackExecutorServiceDecorator(scheduler, scheduler,
                                                            () -> onRejected(scheduler),
-                                                           () -> lastRetryTimestamp.set(MIN_VALUE),
+                                                           this::onRetrySucceeded,
                                                            ofMillis(SCHEDULER_BUSY_RETRY_INTERVAL_MS));
     }
 
@@ -296,6 +299,12 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
       lastRetryTimestamp.set(nanoTime());
     }
 
+    private void onRetrySucceeded() {
+      lastRetryTimestamp.set(MIN_VALUE);
+      // the scheduler is not busy anymore, all the waiting sources may try again
+      getCapacitySignal().ifPresent(CapacitySignal::signalAll);
+    }
+
     protected int getSinksCount() {
       int coresLoad = CORES * 2;
       return min(maxConcurrency, coresLoad);
@@ -14,6 +14,7 @@ import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.PartitionableObjectStore;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -104,6 +105,12 @@ public abstract class AbstractPartitionableObjectStore<T extends Serializable> e
     }
   }
 
+  protected void validateKeysAndPartitionName(Collection<String> keys, String partitionName) throws ObjectStoreException {
+    for (String key : keys) {
+      validateKeyAndPartitionName(key, partitionName);
+    }
+  }
+
   protected void validatePresentKeyInPartition(String key, String partitionName) throws ObjectStoreException {
     validateKeyAndPartitionName(key, partitionName);
 
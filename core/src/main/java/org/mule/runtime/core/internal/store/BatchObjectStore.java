@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.store;
+
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.api.store.ObjectStoreException;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * An {@link ObjectStore} which can operate on many entries with a single invocation, so that the cost of locking, validating and
+ * persisting is paid once per batch instead of once per entry.
+ * <p>
+ * Use {@link BatchObjectStoreUtils} to do batched operations on any {@link ObjectStore}, regardless of it implementing this
+ * interface.
+ *
+ * @param <T> the type of the stored values
+ * @since 4.5.0
+ */
+public interface BatchObjectStore<T extends Serializable> {
+
+  /**
+   * Retrieves the values for the given {@code keys}.
+   *
+   * @param keys the keys to retrieve
+   * @return a {@link Map} with the keys which are present in the store and their values
+   * @throws ObjectStoreException if any of the keys is invalid or the store cannot be read
+   */
+  Map<String, T> retrieveAll(Collection<String> keys) throws ObjectStoreException;
+
+  /**
+   * Stores the given {@code entries}, replacing the values of the keys which are already present in the store.
+   *
+   * @param entries the keys and values to store
+   * @throws ObjectStoreException if any of the keys is invalid or the store cannot be written
+   */
+  void putAll(Map<String, ? extends T> entries) throws ObjectStoreException;
+
+  /**
+   * Removes the given {@code keys}, ignoring the ones which are not present in the store.
+   *
+   * @param keys the keys to remove
+   * @throws ObjectStoreException if any of the keys is invalid or the store cannot be written
+   */
+  void removeAll(Collection<String> keys) throws ObjectStoreException;
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.store;
+
+import static java.util.Collections.singletonList;
+
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.api.store.ObjectStoreException;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Utilities to do the operations of {@link BatchObjectStore} on any {@link ObjectStore}. If the store implements
+ * {@link BatchObjectStore} the operation is delegated to it, otherwise it is done one entry at a time.
+ *
+ * @since 4.5.0
+ */
+public final class BatchObjectStoreUtils {
+
+  private BatchObjectStoreUtils() {
+    // Nothing to do
+  }
+
+  /**
+   * @param store the store to read
+   * @param key   the key to retrieve
+   * @return the value for the {@code key}, or {@code null} if it is not present in the {@code store}
+   * @throws ObjectStoreException if the key is invalid or the store cannot be read
+   */
+  public static <T extends Serializable> T retrieveIfPresent(ObjectStore<T> store, String key) throws ObjectStoreException {
+    return retrieveAll(store, singletonList(key)).get(key);
+  }
+
+  /**
+   * @see BatchObjectStore#retrieveAll(Collection)
+   */
+  public static <T extends Serializable> Map<String, T> retrieveAll(ObjectStore<T> store, Collection<String> keys)
+      throws ObjectStoreException {
+    if (store instanceof BatchObjectStore) {
+      return ((BatchObjectStore<T>) store).retrieveAll(keys);
+    }
+    return retrieveEach(store, keys);
+  }
+
+  /**
+   * Same as {@link #retrieveAll(ObjectStore, Collection)}, but always retrieving one key at a time.
+   */
+  public static <T extends Serializable> Map<String, T> retrieveEach(ObjectStore<T> store, Collection<String> keys)
+      throws ObjectStoreException {
+    final Map<String, T> values = new LinkedHashMap<>();
+    for (String key : keys) {
+      if (store.contains(key)) {
+        try {
+          values.put(key, store.retrieve(key));
+        } catch (ObjectDoesNotExistException e) {
+          // removed concurrently
+        }
+      }
+    }
+    return values;
+  }
+
+  /**
+   * @see BatchObjectStore#putAll(Map)
+   */
+  public static <T extends Serializable> void putAll(ObjectStore<T> store, Map<String, ? extends T> entries)
+      throws ObjectStoreException {
+    if (store instanceof BatchObjectStore) {
+      ((BatchObjectStore<T>) store).putAll(entries);
+    } else {
+      putEach(store, entries);
+    }
+  }
+
+  /**
+   * Same as {@link #putAll(ObjectStore, Map)}, but always storing one entry at a time.
+   */
+  public static <T extends Serializable> void putEach(ObjectStore<T> store, Map<String, ? extends T> entries)
+      throws ObjectStoreException {
+    for (Entry<String, ? extends T> entry : entries.entrySet()) {
+      removeIfPresent(store, entry.getKey());
+      store.store(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * @see BatchObjectStore#removeAll(Collection)
+   */
+  public static <T extends Serializable> void removeAll(ObjectStore<T> store, Collection<String> keys)
+      throws ObjectStoreException {
+    if (store instanceof BatchObjectStore) {
+      ((BatchObjectStore<T>) store).removeAll(keys);
+    } else {
+      removeEach(store, keys);
+    }
+  }
+
+  /**
+   * Same as {@link #removeAll(ObjectStore, Collection)}, but always removing one key at a time.
+   */
+  public static <T extends Serializable> void removeEach(ObjectStore<T> store, Collection<String> keys)
+      throws ObjectStoreException {
+    for (String key : keys) {
+      removeIfPresent(store, key);
+    }
+  }
+
+  private static void removeIfPresent(ObjectStore<?> store, String key) throws ObjectStoreException {
+    if (store.contains(key)) {
+      try {
+        store.remove(key);
+      } catch (ObjectDoesNotExistException e) {
+        // removed concurrently
+      }
+    }
+  }
+}
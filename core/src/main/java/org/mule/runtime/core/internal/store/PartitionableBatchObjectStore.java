@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.store;
+
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.PartitionableObjectStore;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A {@link PartitionableObjectStore} which supports the operations of {@link BatchObjectStore} on each of its partitions.
+ *
+ * @param <T> the type of the stored values
+ * @since 4.5.0
+ */
+public interface PartitionableBatchObjectStore<T extends Serializable> extends PartitionableObjectStore<T> {
+
+  /**
+   * @see BatchObjectStore#retrieveAll(Collection)
+   */
+  Map<String, T> retrieveAll(Collection<String> keys, String partitionName) throws ObjectStoreException;
+
+  /**
+   * @see BatchObjectStore#putAll(Map)
+   */
+  void putAll(Map<String, ? extends T> entries, String partitionName) throws ObjectStoreException;
+
+  /**
+   * @see BatchObjectStore#removeAll(Collection)
+   */
+  void removeAll(Collection<String> keys, String partitionName) throws ObjectStoreException;
+}
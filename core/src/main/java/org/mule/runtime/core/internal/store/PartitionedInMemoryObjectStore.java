@@ -6,34 +6,50 @@
  */
 package org.mule.runtime.core.internal.store;
 
+import static java.lang.Math.max;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+
 import org.mule.runtime.api.store.ObjectAlreadyExistsException;
 import org.mule.runtime.api.store.ObjectDoesNotExistException;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.PartitionableExpirableObjectStore;
+import org.mule.runtime.api.util.Reference;
 import org.mule.runtime.core.api.component.InternalComponent;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * In memory {@link PartitionableExpirableObjectStore}.
+ * <p>
+ * Each partition keeps an {@link ExpiryIndex} with its keys in the order they were stored, so removing a key, trimming the
+ * partition to its max size and expiring entries by TTL only touch the affected entries, regardless of the size of the partition.
+ * Removing a key takes amortized constant time, since its entry is only flagged and dropped from the order later on.
+ * The index is built on concurrent structures, and its entry for a key is only updated while holding the lock of that key in the
+ * partition map, so it is consistent with the stored values without serializing the writes to different keys.
+ */
 public class PartitionedInMemoryObjectStore<T extends Serializable> extends AbstractPartitionableObjectStore<T>
-    implements PartitionableExpirableObjectStore<T>, InternalComponent {
+    implements PartitionableExpirableObjectStore<T>, PartitionableBatchObjectStore<T>, InternalComponent {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(PartitionedInMemoryObjectStore.class);
 
   private ConcurrentMap<String, ConcurrentMap<String, T>> partitions = new ConcurrentHashMap<>();
-  private ConcurrentMap<String, ConcurrentLinkedQueue<ExpiryEntry>> expiryInfoPartition = new ConcurrentHashMap<>();
+  private ConcurrentMap<String, ExpiryIndex> expiryInfoPartition = new ConcurrentHashMap<>();
 
   @Override
   public boolean isPersistent() {
@@ -51,11 +67,18 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
 
   @Override
   protected void doStore(String key, T value, String partitionName) throws ObjectStoreException {
-    T oldValue = getPartition(partitionName).putIfAbsent(key, value);
-    if (oldValue != null) {
+    final ExpiryIndex expiryIndex = getExpiryInfoPartition(partitionName);
+    final Reference<Boolean> stored = new Reference<>(false);
+
+    getPartition(partitionName).computeIfAbsent(key, k -> {
+      expiryIndex.add(k, getCurrentNanoTime());
+      stored.set(true);
+      return value;
+    });
+
+    if (!stored.get()) {
       throw new ObjectAlreadyExistsException();
     }
-    getExpiryInfoPartition(partitionName).add(new ExpiryEntry(getCurrentNanoTime(), key));
   }
 
   @Override
@@ -69,21 +92,70 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
 
   @Override
   protected T doRemove(String key, String partitionName) throws ObjectStoreException {
-    T removedValue = getPartition(partitionName).remove(key);
-    if (removedValue == null) {
+    final ExpiryIndex expiryIndex = getExpiryInfoPartition(partitionName);
+    final Reference<T> removedValue = new Reference<>();
+
+    getPartition(partitionName).computeIfPresent(key, (k, value) -> {
+      expiryIndex.remove(k);
+      removedValue.set(value);
+      return null;
+    });
+
+    if (removedValue.get() == null) {
       throw new ObjectDoesNotExistException();
     }
 
-    Iterator<ExpiryEntry> iterator = getExpiryInfoPartition(partitionName).iterator();
-    while (iterator.hasNext()) {
-      ExpiryEntry entry = iterator.next();
-      if (key.equals(entry.getKey())) {
-        iterator.remove();
-        break;
+    return removedValue.get();
+  }
+
+  @Override
+  public Map<String, T> retrieveAll(Collection<String> keys, String partitionName) throws ObjectStoreException {
+    validateKeysAndPartitionName(keys, partitionName);
+
+    final ConcurrentMap<String, T> partition = getPartition(partitionName);
+    final Map<String, T> values = new LinkedHashMap<>();
+    for (String key : keys) {
+      final T value = partition.get(key);
+      if (value != null) {
+        values.put(key, value);
       }
     }
+    return values;
+  }
 
-    return removedValue;
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Replaced entries are considered as just stored for expiration purposes.
+   */
+  @Override
+  public void putAll(Map<String, ? extends T> entries, String partitionName) throws ObjectStoreException {
+    validateKeysAndPartitionName(entries.keySet(), partitionName);
+
+    final ExpiryIndex expiryIndex = getExpiryInfoPartition(partitionName);
+    final ConcurrentMap<String, T> partition = getPartition(partitionName);
+    final long now = getCurrentNanoTime();
+    for (Entry<String, ? extends T> entry : entries.entrySet()) {
+      partition.compute(entry.getKey(), (k, previous) -> {
+        // replaces any previous entry for the key, moving it to the end of the index
+        expiryIndex.add(k, now);
+        return entry.getValue();
+      });
+    }
+  }
+
+  @Override
+  public void removeAll(Collection<String> keys, String partitionName) throws ObjectStoreException {
+    validateKeysAndPartitionName(keys, partitionName);
+
+    final ExpiryIndex expiryIndex = getExpiryInfoPartition(partitionName);
+    final ConcurrentMap<String, T> partition = getPartition(partitionName);
+    for (String key : keys) {
+      partition.computeIfPresent(key, (k, value) -> {
+        expiryIndex.remove(k);
+        return null;
+      });
+    }
   }
 
   @Override
@@ -119,11 +191,11 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
     return partition;
   }
 
-  private ConcurrentLinkedQueue<ExpiryEntry> getExpiryInfoPartition(String partitionName) {
-    ConcurrentLinkedQueue<ExpiryEntry> partition = expiryInfoPartition.get(partitionName);
+  private ExpiryIndex getExpiryInfoPartition(String partitionName) {
+    ExpiryIndex partition = expiryInfoPartition.get(partitionName);
     if (partition == null) {
-      partition = new ConcurrentLinkedQueue<>();
-      ConcurrentLinkedQueue<ExpiryEntry> previous = expiryInfoPartition.putIfAbsent(partitionName, partition);
+      partition = new ExpiryIndex();
+      ExpiryIndex previous = expiryInfoPartition.putIfAbsent(partitionName, partition);
       if (previous != null) {
         partition = previous;
       }
@@ -151,7 +223,7 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
     final long now = getCurrentNanoTime();
     int expiredEntries = 0;
     ExpiryEntry oldestEntry;
-    ConcurrentLinkedQueue<ExpiryEntry> store = getExpiryInfoPartition(partitionName);
+    ExpiryIndex store = getExpiryInfoPartition(partitionName);
     ConcurrentMap<String, T> partition = getPartition(partitionName);
 
     trimToMaxSize(store, maxEntries, partition);
@@ -162,8 +234,7 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
 
     while ((oldestEntry = store.peek()) != null) {
       if (NANOSECONDS.toMillis(now - oldestEntry.getTime()) >= entryTTL) {
-        oldestEntry = store.remove();
-        partition.remove(oldestEntry.getKey());
+        removeExpired(store, oldestEntry, partition);
         expiredEntries++;
       } else {
         break;
@@ -175,26 +246,28 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
     }
   }
 
-  private void trimToMaxSize(ConcurrentLinkedQueue<ExpiryEntry> store, int maxEntries, ConcurrentMap<String, T> partition) {
+  private void trimToMaxSize(ExpiryIndex store, int maxEntries, ConcurrentMap<String, T> partition) {
     if (maxEntries <= UNBOUNDED) {
       return;
     }
 
-    int currentSize = store.size();
-    int excess = (currentSize - maxEntries);
-    if (excess > 0) {
-      while (currentSize > maxEntries) {
-        ExpiryEntry toRemove = store.remove();
-        partition.remove(toRemove.getKey());
-        currentSize--;
-      }
+    int excess = 0;
+    ExpiryEntry toRemove;
+    while (store.size() > maxEntries && (toRemove = store.peek()) != null) {
+      removeExpired(store, toRemove, partition);
+      excess++;
+    }
 
-      if (LOGGER.isDebugEnabled()) {
-        LOGGER.debug("Expired " + excess + " excess entries");
-      }
+    if (excess > 0 && LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Expired " + excess + " excess entries");
     }
   }
 
+  private void removeExpired(ExpiryIndex store, ExpiryEntry entry, ConcurrentMap<String, T> partition) {
+    // if the entry is no longer in the index, the key was removed or stored again after it was peeked
+    partition.compute(entry.getKey(), (key, value) -> store.remove(entry) ? null : value);
+  }
+
   @Override
   public void disposePartition(String partitionName) throws ObjectStoreException {
     Map partition = partitions.remove(partitionName);
@@ -202,7 +275,7 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
       partition.clear();
     }
 
-    ConcurrentLinkedQueue<ExpiryEntry> entries = expiryInfoPartition.remove(partitionName);
+    ExpiryIndex entries = expiryInfoPartition.remove(partitionName);
     if (entries != null) {
       entries.clear();
     }
@@ -220,9 +293,11 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
   private static class ExpiryEntry {
 
     private final long time;
-    private final Serializable key;
+    private final String key;
+    // set once the entry is no longer the one of its key, so it is skipped and dropped from the order of the index
+    private final AtomicBoolean unlinked = new AtomicBoolean(false);
 
-    public ExpiryEntry(long time, Serializable key) {
+    public ExpiryEntry(long time, String key) {
       this.time = time;
       this.key = key;
     }
@@ -231,8 +306,117 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
       return time;
     }
 
-    public Serializable getKey() {
+    public String getKey() {
       return key;
     }
+
+    /**
+     * @return whether the entry was unlinked by this call
+     */
+    public boolean unlink() {
+      return unlinked.compareAndSet(false, true);
+    }
+
+    public boolean isUnlinked() {
+      return unlinked.get();
+    }
+  }
+
+  /**
+   * Keeps the {@link ExpiryEntry expiry entries} of a partition in the order they were added, allowing to peek the oldest one and
+   * to remove any of them in constant time without locking the whole index.
+   * <p>
+   * The entries are kept both by key and in a queue in the order they were added. Removing an entry unlinks it from its key and
+   * flags it, without traversing the queue. Flagged entries are dropped when they reach the head of the queue, and the queue is
+   * compacted once the flagged entries outnumber the live ones, so removals take amortized constant time and the queue stays
+   * proportional to the size of the partition.
+   * <p>
+   * The entry of a given key must only be changed while holding the lock of the key in the partition map.
+   */
+  private static class ExpiryIndex {
+
+    private static final int MIN_COMPACTION_THRESHOLD = 64;
+
+    private final ConcurrentMap<String, ExpiryEntry> entriesByKey = new ConcurrentHashMap<>();
+    private final Queue<ExpiryEntry> orderedEntries = new ConcurrentLinkedQueue<>();
+    // approximate, only used for deciding when to compact
+    private final AtomicInteger unlinkedEntries = new AtomicInteger();
+    private final AtomicBoolean compacting = new AtomicBoolean(false);
+
+    /**
+     * Adds an entry for the given key, replacing the previous one if any.
+     */
+    public void add(String key, long time) {
+      final ExpiryEntry entry = new ExpiryEntry(time, key);
+      final ExpiryEntry previous = entriesByKey.put(key, entry);
+      orderedEntries.add(entry);
+      if (previous != null) {
+        unlink(previous);
+      }
+    }
+
+    public void remove(String key) {
+      final ExpiryEntry entry = entriesByKey.remove(key);
+      if (entry != null) {
+        unlink(entry);
+      }
+    }
+
+    /**
+     * Removes the given entry, only if it still is the one registered for its key.
+     *
+     * @return whether the entry was removed
+     */
+    public boolean remove(ExpiryEntry entry) {
+      final boolean current = entriesByKey.remove(entry.getKey(), entry);
+      // a stale entry is dropped as well, so it is not peeked again
+      entry.unlink();
+      drop(entry);
+      return current;
+    }
+
+    public ExpiryEntry peek() {
+      ExpiryEntry oldest;
+      while ((oldest = orderedEntries.peek()) != null && oldest.isUnlinked()) {
+        drop(oldest);
+      }
+      return oldest;
+    }
+
+    public int size() {
+      return entriesByKey.size();
+    }
+
+    public void clear() {
+      entriesByKey.clear();
+      orderedEntries.clear();
+      unlinkedEntries.set(0);
+    }
+
+    private void unlink(ExpiryEntry entry) {
+      if (entry.unlink() && unlinkedEntries.incrementAndGet() > max(MIN_COMPACTION_THRESHOLD, entriesByKey.size())) {
+        compact();
+      }
+    }
+
+    /**
+     * Removes the given entry from the queue. Only peeked entries are dropped, so it is found at the head of the queue.
+     */
+    private void drop(ExpiryEntry entry) {
+      if (orderedEntries.remove(entry)) {
+        unlinkedEntries.updateAndGet(count -> count > 0 ? count - 1 : 0);
+      }
+    }
+
+    private void compact() {
+      if (compacting.compareAndSet(false, true)) {
+        try {
+          unlinkedEntries.set(0);
+          orderedEntries.removeIf(ExpiryEntry::isUnlinked);
+        } finally {
+          compacting.set(false);
+        }
+      }
+    }
   }
 }
@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.core.internal.store;
 
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
+import static org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition.isLogStructuredPartition;
+import static org.mule.runtime.core.internal.util.store.PersistentObjectStorePartition.readPartitionName;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.api.exception.MuleRuntimeException;
@@ -18,27 +21,32 @@ import org.mule.runtime.core.api.config.i18n.CoreMessages;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.util.FileUtils;
 import org.mule.runtime.core.api.util.UUID;
+import org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition;
 import org.mule.runtime.core.internal.util.store.PersistentObjectStorePartition;
+import org.mule.runtime.core.internal.util.store.PersistentPartition;
 
 import java.io.File;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.slf4j.Logger;
 
 public class PartitionedPersistentObjectStore<T extends Serializable> extends AbstractPartitionableObjectStore<T>
-    implements PartitionableExpirableObjectStore<T>, InternalComponent, MuleContextAware {
+    implements PartitionableExpirableObjectStore<T>, PartitionableBatchObjectStore<T>, InternalComponent, MuleContextAware {
 
   private static final Logger LOGGER = getLogger(PartitionedPersistentObjectStore.class);
   public static final String OBJECT_STORE_DIR = "objectstore";
 
   protected MuleContext muleContext;
   private File storeDirectory;
-  private Map<String, PersistentObjectStorePartition> partitionsByName = new HashMap<>();
+  private Map<String, PersistentPartition> partitionsByName = new HashMap<>();
+  private final Set<String> logStructuredPartitionNames = newKeySet();
   private boolean initialized = false;
 
   public PartitionedPersistentObjectStore() {
@@ -50,7 +58,7 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     muleContext = context;
   }
 
-  protected PartitionedPersistentObjectStore(Map<String, PersistentObjectStorePartition> getPartitionsByName) {
+  protected PartitionedPersistentObjectStore(Map<String, PersistentPartition> getPartitionsByName) {
     this.partitionsByName = getPartitionsByName;
   }
 
@@ -81,9 +89,21 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
   @Override
   public void close(String partitionName) throws ObjectStoreException {}
 
+  /**
+   * Makes the partition with the given name, if not yet created, be backed by a {@link LogStructuredObjectStorePartition}
+   * instead of storing one file per entry. Partitions that already exist keep the format they were created with.
+   *
+   * @param partitionName the name of the partition
+   */
+  public void useLogStructuredPartition(String partitionName) {
+    logStructuredPartitionNames.add(partitionName);
+  }
+
   private void createPartition(String partitionName) throws ObjectStoreException {
-    PersistentObjectStorePartition persistentObjectStorePartition =
-        new PersistentObjectStorePartition(muleContext, partitionName, getNewPartitionDirectory(partitionName));
+    File partitionDirectory = getNewPartitionDirectory(partitionName);
+    PersistentPartition persistentObjectStorePartition = logStructuredPartitionNames.contains(partitionName)
+        ? new LogStructuredObjectStorePartition(muleContext, partitionName, partitionDirectory)
+        : new PersistentObjectStorePartition(muleContext, partitionName, partitionDirectory);
     persistentObjectStorePartition.open();
     partitionsByName.putIfAbsent(partitionName, persistentObjectStorePartition);
   }
@@ -122,6 +142,24 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     return getPartitionObjectStore(partitionName).remove(key.toString());
   }
 
+  @Override
+  public Map<String, T> retrieveAll(Collection<String> keys, String partitionName) throws ObjectStoreException {
+    validateKeysAndPartitionName(keys, partitionName);
+    return getPartitionObjectStore(partitionName).retrieveAll(keys);
+  }
+
+  @Override
+  public void putAll(Map<String, ? extends T> entries, String partitionName) throws ObjectStoreException {
+    validateKeysAndPartitionName(entries.keySet(), partitionName);
+    getPartitionObjectStore(partitionName).putAll(entries);
+  }
+
+  @Override
+  public void removeAll(Collection<String> keys, String partitionName) throws ObjectStoreException {
+    validateKeysAndPartitionName(keys, partitionName);
+    getPartitionObjectStore(partitionName).removeAll(keys);
+  }
+
   @Override
   public List<String> allKeys(String partitionName) throws ObjectStoreException {
     return getPartitionObjectStore(partitionName).allKeys();
@@ -137,7 +175,7 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     getPartitionObjectStore(partitionName).clear();
   }
 
-  protected PersistentObjectStorePartition<T> getPartitionObjectStore(String partitionName) throws ObjectStoreException {
+  protected PersistentPartition<T> getPartitionObjectStore(String partitionName) throws ObjectStoreException {
     if (!partitionsByName.containsKey(partitionName)) {
       throw new ObjectStoreException(CoreMessages.createStaticMessage("No partition named: " + partitionName));
     }
@@ -191,8 +229,7 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     }
     for (File partitionDirectory : directories) {
       try {
-        PersistentObjectStorePartition persistentObjectStorePartition =
-            new PersistentObjectStorePartition(muleContext, partitionDirectory);
+        PersistentPartition persistentObjectStorePartition = loadPartition(partitionDirectory);
         persistentObjectStorePartition.open();
         partitionsByName.putIfAbsent(persistentObjectStorePartition.getPartitionName(), persistentObjectStorePartition);
       } catch (Exception e) {
@@ -201,6 +238,14 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     }
   }
 
+  private PersistentPartition loadPartition(File partitionDirectory) throws ObjectStoreException {
+    String partitionName = readPartitionName(partitionDirectory);
+    if (isLogStructuredPartition(partitionDirectory)) {
+      return new LogStructuredObjectStorePartition(muleContext, partitionName, partitionDirectory);
+    }
+    return new PersistentObjectStorePartition(muleContext, partitionName, partitionDirectory);
+  }
+
   @Override
   public void setMuleContext(MuleContext context) {
     muleContext = context;
@@ -12,9 +12,11 @@ import org.mule.runtime.api.lock.LockFactory;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.core.internal.util.store.PersistentObjectStorePartition;
 import org.mule.runtime.core.internal.util.store.PersistentObjectStorePartitionData;
+import org.mule.runtime.core.internal.util.store.PersistentPartition;
 
 import java.io.File;
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
@@ -36,11 +38,11 @@ public class SharedPartitionedPersistentObjectStore<T extends Serializable> exte
    * Uses an static field to control access from different instances of this partitioned persistent object store between different
    * deploymennts, registries.
    */
-  private static Map<String, PersistentObjectStorePartition> partitionsByName =
-      new ConcurrentHashMap<String, PersistentObjectStorePartition>() {
+  private static Map<String, PersistentPartition> partitionsByName =
+      new ConcurrentHashMap<String, PersistentPartition>() {
 
         @Override
-        public PersistentObjectStorePartition put(String key, PersistentObjectStorePartition value) {
+        public PersistentPartition put(String key, PersistentPartition value) {
           // Creates an instance of the information to avoid referencing to the muleContext as the same
           // persistentObjectStorePartition
           // is used by different muleContexts
@@ -48,7 +50,7 @@ public class SharedPartitionedPersistentObjectStore<T extends Serializable> exte
         }
 
         @Override
-        public PersistentObjectStorePartition putIfAbsent(String key, PersistentObjectStorePartition value) {
+        public PersistentPartition putIfAbsent(String key, PersistentPartition value) {
           // Creates an instance of the information to avoid referencing to the muleContext as the same
           // persistentObjectStorePartition
           // is used by different muleContexts
@@ -75,8 +77,8 @@ public class SharedPartitionedPersistentObjectStore<T extends Serializable> exte
   }
 
   @Override
-  protected PersistentObjectStorePartition<T> getPartitionObjectStore(String partitionName) throws ObjectStoreException {
-    PersistentObjectStorePartition<T> partitionObjectStore = super.getPartitionObjectStore(partitionName);
+  protected PersistentPartition<T> getPartitionObjectStore(String partitionName) throws ObjectStoreException {
+    PersistentPartition<T> partitionObjectStore = super.getPartitionObjectStore(partitionName);
     // Create a new PersistentObjectStorePartition that references to the current muleContext to deserialize an entry that was
     // added
     // by another muleContext (serialization)
@@ -108,6 +110,16 @@ public class SharedPartitionedPersistentObjectStore<T extends Serializable> exte
     }
   }
 
+  /**
+   * Partitions of this store are accessed from different {@link org.mule.runtime.core.api.MuleContext}s, so they cannot rely on
+   * the in-memory index of a {@link org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition}. The file per
+   * entry format is always used.
+   */
+  @Override
+  public void useLogStructuredPartition(String partitionName) {
+    // Nothing to do
+  }
+
   @Override
   protected T doRemove(String key, String partitionName) throws ObjectStoreException {
     lock.lock();
@@ -118,6 +130,36 @@ public class SharedPartitionedPersistentObjectStore<T extends Serializable> exte
     }
   }
 
+  @Override
+  public Map<String, T> retrieveAll(Collection<String> keys, String partitionName) throws ObjectStoreException {
+    lock.lock();
+    try {
+      return super.retrieveAll(keys, partitionName);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void putAll(Map<String, ? extends T> entries, String partitionName) throws ObjectStoreException {
+    lock.lock();
+    try {
+      super.putAll(entries, partitionName);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void removeAll(Collection<String> keys, String partitionName) throws ObjectStoreException {
+    lock.lock();
+    try {
+      super.removeAll(keys, partitionName);
+    } finally {
+      lock.unlock();
+    }
+  }
+
   @Override
   public void expire(long entryTTL, int maxEntries) throws ObjectStoreException {
     lock.lock();
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static java.nio.ByteBuffer.allocate;
+import static java.nio.ByteBuffer.wrap;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.streaming.TempBufferFileUtils.createBufferFile;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.api.streaming.bytes.ManagedByteBufferWrapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+
+/**
+ * An implementation of {@link AbstractInputStreamBuffer} which holds up to {@link FileStoreCursorStreamConfig#getMaxInMemorySize()}
+ * bytes in memory, and spills the rest of the stream to a temporal file.
+ * <p>
+ * The in memory window holds the beginning of the stream. It starts with the size of one bucket and is doubled as data arrives,
+ * up to {@link FileStoreCursorStreamConfig#getMaxInMemorySize()}, so that small streams don't pay for the whole window. Once it's
+ * full, the following data is appended to a file created through {@link org.mule.runtime.core.internal.streaming.TempBufferFileUtils},
+ * which is read through positional reads so that cursors can seek to any position without the heap usage growing with the size
+ * of the stream. The file is deleted when this buffer is closed.
+ *
+ * @since 4.5.0
+ */
+public class FileStoreStreamBuffer extends AbstractInputStreamBuffer {
+
+  private static final Logger LOGGER = getLogger(FileStoreStreamBuffer.class);
+
+  private final int maxInMemorySize;
+  private final int bucketSize;
+
+  private final List<ManagedByteBufferWrapper> outgrownMemoryBuffers = new ArrayList<>();
+  private ManagedByteBufferWrapper managedMemoryBuffer;
+  private ByteBuffer memoryBuffer;
+  private File bufferFile;
+  private FileChannel fileChannel;
+  private long bufferTip = 0;
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream        the stream to be buffered
+   * @param config        this buffer's configuration.
+   * @param bufferManager the {@link ByteBufferManager} that will be used to allocate all buffers
+   */
+  public FileStoreStreamBuffer(InputStream stream, FileStoreCursorStreamConfig config, ByteBufferManager bufferManager) {
+    super(stream, bufferManager);
+    maxInMemorySize = config.getMaxInMemorySize().toBytes();
+    bucketSize = config.getBucketSize();
+    managedMemoryBuffer = bufferManager.allocateManaged(min(bucketSize, maxInMemorySize));
+    memoryBuffer = managedMemoryBuffer.getDelegate();
+  }
+
+  @Override
+  protected ByteBuffer doGet(long position, int length) {
+    return doGet(position, length, true);
+  }
+
+  private ByteBuffer doGet(long position, int length, boolean consumeStreamIfNecessary) {
+    readLock.lock();
+    try {
+      ByteBuffer presentRead = getFromCurrentData(position, length);
+      if (presentRead != null) {
+        return presentRead;
+      }
+
+      if (consumeStreamIfNecessary) {
+        readLock.unlock();
+        writeLock.lock();
+
+        try {
+          ByteBuffer refetch = getFromCurrentData(position, length);
+          if (refetch != null) {
+            return refetch;
+          }
+
+          final long requiredUpperBound = position + length;
+          while (!streamFullyConsumed && bufferTip < requiredUpperBound) {
+            final int read = consumeForwardData();
+            if (read > 0) {
+              refetch = getFromCurrentData(position, min(length, read));
+              if (refetch != null) {
+                return refetch;
+              }
+            }
+          }
+          return doGet(position, length, false);
+        } catch (IOException e) {
+          throw new MuleRuntimeException(createStaticMessage("Could not read stream"), e);
+        } finally {
+          // classic lock downgrade
+          readLock.lock();
+          writeLock.unlock();
+        }
+      } else {
+        return getFromCurrentData(position, length);
+      }
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  private ByteBuffer getFromCurrentData(long position, int length) {
+    if (position < bufferTip) {
+      return copy(position, min(length, toIntExact(min(bufferTip - position, Integer.MAX_VALUE))));
+    }
+
+    return null;
+  }
+
+  /**
+   * {@inheritDoc} Data is read into the in memory window until it is full, and into the temporal file afterwards.
+   */
+  @Override
+  public int consumeForwardData() throws IOException {
+    if (bufferTip < maxInMemorySize) {
+      if (!memoryBuffer.hasRemaining()) {
+        growMemoryBuffer();
+      }
+      final int read = consumeStream(memoryBuffer);
+      if (read > 0) {
+        bufferTip += read;
+      }
+      return read;
+    }
+
+    ManagedByteBufferWrapper managedReadBuffer = bufferManager.allocateManaged(bucketSize);
+    try {
+      ByteBuffer readBuffer = managedReadBuffer.getDelegate();
+      final int read = consumeStream(readBuffer);
+      if (read > 0) {
+        readBuffer.flip();
+        final long filePosition = bufferTip - maxInMemorySize;
+        while (readBuffer.hasRemaining()) {
+          getFileChannel().write(readBuffer, filePosition + readBuffer.position());
+        }
+        bufferTip += read;
+      }
+      return read;
+    } finally {
+      managedReadBuffer.release();
+    }
+  }
+
+  /**
+   * Replaces the in memory window with one twice as big, up to {@code maxInMemorySize}. The outgrown window is only released when
+   * this buffer is closed, since slices of it may still be held by the cursors.
+   */
+  private void growMemoryBuffer() {
+    final ManagedByteBufferWrapper grown =
+        bufferManager.allocateManaged(min(max(memoryBuffer.capacity() * 2, bucketSize), maxInMemorySize));
+    final ByteBuffer grownBuffer = grown.getDelegate();
+    memoryBuffer.flip();
+    grownBuffer.put(memoryBuffer);
+
+    outgrownMemoryBuffers.add(managedMemoryBuffer);
+    managedMemoryBuffer = grown;
+    memoryBuffer = grownBuffer;
+  }
+
+  @Override
+  protected ByteBuffer copy(long position, int length) {
+    if (position < maxInMemorySize) {
+      // bytes in the memory window are never modified once written, so they can be safely shared
+      final int offset = toIntExact(position);
+      return wrap(memoryBuffer.array(), offset, min(length, maxInMemorySize - offset)).slice();
+    }
+
+    ByteBuffer buffer = allocate(length);
+    try {
+      final long filePosition = position - maxInMemorySize;
+      while (buffer.hasRemaining()) {
+        if (fileChannel.read(buffer, filePosition + buffer.position()) < 0) {
+          break;
+        }
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not read from buffer file " + bufferFile.getAbsolutePath()),
+                                     e);
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  private FileChannel getFileChannel() throws IOException {
+    if (fileChannel == null) {
+      bufferFile = createBufferFile("stream-buffer");
+      fileChannel = FileChannel.open(bufferFile.toPath(), READ, WRITE);
+    }
+    return fileChannel;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void doClose() {
+    managedMemoryBuffer.release();
+    managedMemoryBuffer = null;
+    outgrownMemoryBuffers.forEach(ManagedByteBufferWrapper::release);
+    outgrownMemoryBuffers.clear();
+    memoryBuffer = null;
+
+    if (fileChannel != null) {
+      try {
+        fileChannel.close();
+      } catch (IOException e) {
+        LOGGER.debug("Found exception trying to close buffer file channel", e);
+      }
+      if (!bufferFile.delete()) {
+        LOGGER.warn("Could not delete buffer file {}", bufferFile.getAbsolutePath());
+      }
+      fileChannel = null;
+    }
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static java.nio.ByteBuffer.wrap;
+import static java.util.Arrays.copyOf;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.Preconditions.checkState;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.streaming.exception.StreamingBufferSizeExceededException;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamConfig;
+import org.mule.runtime.core.api.streaming.bytes.ManagedByteBufferWrapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An implementation of {@link AbstractInputStreamBuffer} which holds the buffered information in memory, as a sequence of
+ * chunks.
+ * <p>
+ * As opposed to {@link InMemoryStreamBuffer}, growing this buffer never copies the already buffered data: the first chunk has
+ * the configured initial size and each expansion appends a new chunk of {@link InMemoryCursorStreamConfig#getBufferSizeIncrement()}
+ * bytes, up to the configured max buffer size. Once that threshold is reached, a {@link StreamingBufferSizeExceededException}
+ * will be thrown.
+ * <p>
+ * Since buffered bytes are never moved nor modified, reads of already buffered data return read-only slices of the chunks
+ * without taking any lock. The write lock is only acquired when the stream needs to be consumed further. Since such reads may
+ * race with {@link #close()}, they work on a snapshot of the chunks and fail with an {@link IllegalStateException} once the
+ * buffer is closed.
+ *
+ * @since 4.5.0
+ */
+public class SegmentedInMemoryStreamBuffer extends AbstractInputStreamBuffer {
+
+  private static final int STREAM_FINISHED_PROBE = 10;
+
+  private final int initialChunkSize;
+  private final int chunkSize;
+  private final int maxBufferSize;
+
+  private volatile ManagedByteBufferWrapper[] chunks;
+  private volatile long bufferTip = 0;
+  private long capacity;
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream        the stream to be buffered
+   * @param config        this buffer's configuration.
+   * @param bufferManager the {@link ByteBufferManager} that will be used to allocate all buffers
+   */
+  public SegmentedInMemoryStreamBuffer(InputStream stream, InMemoryCursorStreamConfig config, ByteBufferManager bufferManager) {
+    super(stream, bufferManager);
+    initialChunkSize = config.getInitialBufferSize().toBytes();
+    chunkSize = config.getBufferSizeIncrement() != null
+        ? config.getBufferSizeIncrement().toBytes()
+        : 0;
+    maxBufferSize = config.getMaxBufferSize().toBytes();
+
+    chunks = new ManagedByteBufferWrapper[] {bufferManager.allocateManaged(initialChunkSize)};
+    capacity = initialChunkSize;
+  }
+
+  @Override
+  protected ByteBuffer doGet(long position, int length) {
+    ByteBuffer presentRead = getFromCurrentData(position, length);
+    if (presentRead != null) {
+      return presentRead;
+    }
+
+    writeLock.lock();
+    try {
+      while (true) {
+        checkNotClosed();
+        presentRead = getFromCurrentData(position, length);
+        if (presentRead != null || streamFullyConsumed) {
+          return presentRead;
+        }
+        consumeForwardData();
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not read stream"), e);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private ByteBuffer getFromCurrentData(long position, int length) {
+    final long tip = bufferTip;
+    if (position < tip) {
+      return copy(position, toIntExact(min(length, tip - position)));
+    }
+
+    return null;
+  }
+
+  private void checkNotClosed() {
+    checkState(!closed.get(), "Buffer is closed");
+  }
+
+  /**
+   * {@inheritDoc} If the last chunk doesn't have any remaining capacity, a new one is appended before attempting to consume new
+   * information.
+   *
+   * @throws StreamingBufferSizeExceededException if the buffer is full and cannot be expanded
+   */
+  @Override
+  public int consumeForwardData() throws IOException {
+    ByteBuffer lastChunk = chunks[chunks.length - 1].getDelegate();
+    if (!lastChunk.hasRemaining()) {
+      if (!canBeExpanded()) {
+        return probeStreamFinished();
+      }
+      lastChunk = addChunk();
+    }
+
+    final int read = consumeStream(lastChunk);
+    if (read > 0) {
+      bufferTip += read;
+    }
+    return read;
+  }
+
+  private int probeStreamFinished() throws IOException {
+    ManagedByteBufferWrapper probe = bufferManager.allocateManaged(STREAM_FINISHED_PROBE);
+    try {
+      final int read = consumeStream(probe.getDelegate());
+      if (read > 0) {
+        throw new StreamingBufferSizeExceededException(maxBufferSize);
+      }
+      return read;
+    } finally {
+      probe.release();
+    }
+  }
+
+  private ByteBuffer addChunk() {
+    ManagedByteBufferWrapper chunk = bufferManager.allocateManaged(chunkSize);
+    ManagedByteBufferWrapper[] newChunks = copyOf(chunks, chunks.length + 1);
+    newChunks[chunks.length] = chunk;
+    chunks = newChunks;
+    capacity += chunkSize;
+
+    return chunk.getDelegate();
+  }
+
+  private boolean canBeExpanded() {
+    if (chunkSize <= 0) {
+      return false;
+    } else if (maxBufferSize == 0) {
+      return true;
+    }
+
+    return capacity + chunkSize <= maxBufferSize;
+  }
+
+  /**
+   * Returns a read-only slice of the chunk holding the given {@code position}. The slice may contain less than {@code length}
+   * bytes if the requested range spans more than one chunk.
+   */
+  @Override
+  protected ByteBuffer copy(long position, int length) {
+    final ManagedByteBufferWrapper[] currentChunks = chunks;
+    checkNotClosed();
+
+    final int chunkIndex;
+    final int offset;
+    if (position < initialChunkSize) {
+      chunkIndex = 0;
+      offset = toIntExact(position);
+    } else {
+      final long positionAfterFirstChunk = position - initialChunkSize;
+      chunkIndex = 1 + toIntExact(positionAfterFirstChunk / chunkSize);
+      offset = toIntExact(positionAfterFirstChunk % chunkSize);
+    }
+
+    checkState(chunkIndex < currentChunks.length, "Buffer is closed");
+    ByteBuffer chunk = currentChunks[chunkIndex].getDelegate();
+    return wrap(chunk.array(), offset, min(length, chunk.capacity() - offset)).slice().asReadOnlyBuffer();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void doClose() {
+    // the closed flag is already set at this point, so lock free readers stop using the chunks before they are released
+    final ManagedByteBufferWrapper[] releasedChunks = chunks;
+    chunks = new ManagedByteBufferWrapper[0];
+    for (ManagedByteBufferWrapper chunk : releasedChunks) {
+      chunk.release();
+    }
+  }
+}
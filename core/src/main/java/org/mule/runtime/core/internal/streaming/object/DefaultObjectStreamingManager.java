@@ -6,6 +6,11 @@
  */
 package org.mule.runtime.core.internal.streaming.object;
 
+import static org.mule.runtime.api.util.Preconditions.checkState;
+
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
+import org.mule.runtime.core.internal.streaming.object.factory.FileStoreCursorIteratorProviderFactory;
 import org.mule.runtime.core.internal.streaming.object.factory.InMemoryCursorIteratorProviderFactory;
 import org.mule.runtime.core.internal.streaming.object.factory.NullCursorIteratorProviderFactory;
 import org.mule.runtime.core.api.streaming.StreamingManager;
@@ -21,9 +26,22 @@ import org.mule.runtime.core.api.streaming.object.ObjectStreamingManager;
 public class DefaultObjectStreamingManager implements ObjectStreamingManager {
 
   protected final StreamingManager streamingManager;
+  private final ObjectSerializer objectSerializer;
 
   public DefaultObjectStreamingManager(StreamingManager streamingManager) {
+    this(streamingManager, null);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param streamingManager the owning {@link StreamingManager}
+   * @param objectSerializer the artifact's {@link ObjectSerializer}, used by the file store buffers
+   * @since 4.5.0
+   */
+  public DefaultObjectStreamingManager(StreamingManager streamingManager, ObjectSerializer objectSerializer) {
     this.streamingManager = streamingManager;
+    this.objectSerializer = objectSerializer;
   }
 
   /**
@@ -34,6 +52,19 @@ public class DefaultObjectStreamingManager implements ObjectStreamingManager {
     return new InMemoryCursorIteratorProviderFactory(config, streamingManager);
   }
 
+  /**
+   * Creates a {@link CursorIteratorProviderFactory} which buffers in a temporal file, keeping only up to
+   * {@link FileStoreCursorIteratorConfig#getMaxInMemoryBuckets()} buckets in memory
+   *
+   * @param config the configuration for the produced {@link CursorIteratorProvider} instances
+   * @return a new {@link CursorIteratorProviderFactory}
+   * @since 4.5.0
+   */
+  public CursorIteratorProviderFactory getFileStoreCursorProviderFactory(FileStoreCursorIteratorConfig config) {
+    checkState(objectSerializer != null, "File store cursor providers require an ObjectSerializer");
+    return new FileStoreCursorIteratorProviderFactory(config, objectSerializer, streamingManager);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.extension.api.ExtensionConstants.DEFAULT_OBJECT_STREAMING_BUFFER_INCREMENT_SIZE;
+
+/**
+ * Configuration for a {@link ObjectStreamBuffer} which uses a local file for buffering
+ *
+ * @since 4.5.0
+ */
+public final class FileStoreCursorIteratorConfig {
+
+  private static final int DEFAULT_MAX_IN_MEMORY_BUCKETS = 4;
+
+  private final int bucketSize;
+  private final int maxInMemoryBuckets;
+  private final int maxBufferSize;
+
+  /**
+   * @return A new instance configured with default settings
+   */
+  public static FileStoreCursorIteratorConfig getDefault() {
+    return new FileStoreCursorIteratorConfig(DEFAULT_OBJECT_STREAMING_BUFFER_INCREMENT_SIZE, DEFAULT_MAX_IN_MEMORY_BUCKETS, 0);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param bucketSize         the amount of instances that each bucket holds. Must be greater than zero
+   * @param maxInMemoryBuckets how many buckets which were already written to disk can be held in memory at the same time. Must be
+   *                           greater than zero
+   * @param maxBufferSize      the maximum amount of instances that the buffer can hold. Use zero for unbounded buffers
+   * @throws IllegalArgumentException if any of the given arguments is invalid
+   */
+  public FileStoreCursorIteratorConfig(int bucketSize, int maxInMemoryBuckets, int maxBufferSize) {
+    checkArgument(bucketSize > 0, "bucketSize must be greater than zero");
+    checkArgument(maxInMemoryBuckets > 0, "maxInMemoryBuckets must be greater than zero");
+    checkArgument(maxBufferSize >= 0, "maxBufferSize cannot be negative");
+
+    this.bucketSize = bucketSize;
+    this.maxInMemoryBuckets = maxInMemoryBuckets;
+    this.maxBufferSize = maxBufferSize;
+  }
+
+  public int getBucketSize() {
+    return bucketSize;
+  }
+
+  public int getMaxInMemoryBuckets() {
+    return maxInMemoryBuckets;
+  }
+
+  public int getMaxBufferSize() {
+    return maxBufferSize;
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static java.lang.Math.toIntExact;
+import static java.nio.ByteBuffer.allocate;
+import static java.nio.ByteBuffer.wrap;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.streaming.TempBufferFileUtils.createBufferFile;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.serialization.SerializationProtocol;
+import org.mule.runtime.api.streaming.exception.StreamingBufferSizeExceededException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+
+/**
+ * An {@link AbstractObjectStreamBuffer} implementation which keeps only the most recently used buckets in memory and spills the
+ * rest to a temporal file.
+ * <p>
+ * All buckets have the same {@link FileStoreCursorIteratorConfig#getBucketSize()}. Each time a bucket is filled, it is serialized
+ * through the artifact's {@link ObjectSerializer} and appended to a file created through
+ * {@link org.mule.runtime.core.internal.streaming.TempBufferFileUtils}. Up to
+ * {@link FileStoreCursorIteratorConfig#getMaxInMemoryBuckets()} of those buckets are also retained in memory. When a cursor
+ * seeks to a {@link Position} which bucket was evicted, it is read back from the file. The file is deleted when this buffer is
+ * closed.
+ * <p>
+ * Items in the stream must be serializable by the configured {@link ObjectSerializer}.
+ *
+ * @param <T> The generic type of the items in the stream
+ * @since 4.5.0
+ */
+public class FileStoreObjectStreamBuffer<T> extends AbstractObjectStreamBuffer<T> {
+
+  private static final Logger LOGGER = getLogger(FileStoreObjectStreamBuffer.class);
+
+  private final FileStoreCursorIteratorConfig config;
+  private final SerializationProtocol serializer;
+  private final Map<Integer, Bucket<T>> hotBuckets;
+  private final List<Long> spilledBucketOffsets = new ArrayList<>();
+
+  private File bufferFile;
+  private FileChannel fileChannel;
+  private long fileTip = 0;
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream     the stream to be buffered
+   * @param config     this buffer's configuration
+   * @param serializer the {@link ObjectSerializer} used to write buckets to disk and read them back
+   */
+  public FileStoreObjectStreamBuffer(Iterator<T> stream, FileStoreCursorIteratorConfig config, ObjectSerializer serializer) {
+    super(stream);
+    this.config = config;
+    this.serializer = serializer.getInternalProtocol();
+
+    final int maxInMemoryBuckets = config.getMaxInMemoryBuckets();
+    hotBuckets = new LinkedHashMap<Integer, Bucket<T>>(maxInMemoryBuckets + 1, 1f, true) {
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, Bucket<T>> eldest) {
+        // evicted buckets were already written to disk, so they can just be dropped
+        return size() > maxInMemoryBuckets;
+      }
+    };
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Position toPosition(long position) {
+    final int bucketSize = config.getBucketSize();
+    return new Position(toIntExact(position / bucketSize), (int) (position % bucketSize));
+  }
+
+  @Override
+  protected void initialize(Optional<Position> maxPosition, Bucket<T> initialBucket) {
+    setCurrentBucket(new Bucket<>(0, config.getBucketSize()));
+  }
+
+  @Override
+  protected Bucket<T> getPresentBucket(Position position) {
+    final int bucketIndex = position.getBucketIndex();
+    Bucket<T> currentBucket = getCurrentBucket();
+    if (currentBucket != null && currentBucket.getIndex() == bucketIndex) {
+      return currentBucket;
+    }
+
+    if (bucketIndex >= spilledBucketOffsets.size()) {
+      return null;
+    }
+
+    Bucket<T> bucket;
+    synchronized (hotBuckets) {
+      bucket = hotBuckets.get(bucketIndex);
+    }
+
+    if (bucket == null) {
+      // concurrent readers may load the same bucket twice, which is harmless since buckets on disk are immutable
+      bucket = load(bucketIndex);
+      synchronized (hotBuckets) {
+        hotBuckets.put(bucketIndex, bucket);
+      }
+    }
+
+    return bucket;
+  }
+
+  @Override
+  protected Bucket<T> onBucketOverflow(Bucket<T> overflownBucket) {
+    spill(overflownBucket);
+    synchronized (hotBuckets) {
+      hotBuckets.put(overflownBucket.getIndex(), overflownBucket);
+    }
+
+    return new Bucket<>(overflownBucket.getIndex() + 1, config.getBucketSize());
+  }
+
+  @Override
+  protected void validateMaxBufferSizeNotExceeded(int instancesCount) {
+    final int maxBufferSize = config.getMaxBufferSize();
+    if (maxBufferSize > 0 && instancesCount > maxBufferSize) {
+      throw new StreamingBufferSizeExceededException(maxBufferSize);
+    }
+  }
+
+  private void spill(Bucket<T> bucket) {
+    try {
+      ByteBuffer data = wrap(serializer.serialize(bucket));
+      final long offset = fileTip;
+      while (data.hasRemaining()) {
+        getFileChannel().write(data, offset + data.position());
+      }
+
+      spilledBucketOffsets.add(offset);
+      fileTip += data.limit();
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not write to buffer file " + bufferFile.getAbsolutePath()), e);
+    }
+  }
+
+  private Bucket<T> load(int bucketIndex) {
+    final long offset = spilledBucketOffsets.get(bucketIndex);
+    final long end = bucketIndex + 1 < spilledBucketOffsets.size() ? spilledBucketOffsets.get(bucketIndex + 1) : fileTip;
+
+    ByteBuffer data = allocate(toIntExact(end - offset));
+    try {
+      while (data.hasRemaining()) {
+        if (fileChannel.read(data, offset + data.position()) < 0) {
+          break;
+        }
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not read from buffer file " + bufferFile.getAbsolutePath()), e);
+    }
+
+    return serializer.deserialize(data.array());
+  }
+
+  private FileChannel getFileChannel() throws IOException {
+    if (fileChannel == null) {
+      bufferFile = createBufferFile("object-stream-buffer");
+      fileChannel = FileChannel.open(bufferFile.toPath(), READ, WRITE);
+    }
+    return fileChannel;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void doClose() {
+    synchronized (hotBuckets) {
+      hotBuckets.clear();
+    }
+    spilledBucketOffsets.clear();
+
+    if (fileChannel != null) {
+      try {
+        fileChannel.close();
+      } catch (IOException e) {
+        LOGGER.debug("Found exception trying to close buffer file channel", e);
+      }
+      if (!bufferFile.delete()) {
+        LOGGER.warn("Could not delete buffer file {}", bufferFile.getAbsolutePath());
+      }
+      fileChannel = null;
+    }
+  }
+}
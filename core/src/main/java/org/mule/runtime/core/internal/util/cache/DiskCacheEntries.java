@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.cache;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+
+/**
+ * The entries of a cache persisted in a directory, one file per key.
+ * <p>
+ * Each entry holds the format version, the key it was stored for, its content and a checksum of the content. Entries are
+ * written to a temporary file that is then atomically moved in place, so a reader never sees a partially written entry. An
+ * entry that is corrupt, that was written with another format version or for another key is deleted when read.
+ *
+ * @since 4.5.0
+ */
+public final class DiskCacheEntries {
+
+  private static final Logger LOGGER = getLogger(DiskCacheEntries.class);
+
+  private final File cacheDirectory;
+  private final String fileExtension;
+  private final int formatVersion;
+
+  /**
+   * Creates a new instance
+   *
+   * @param cacheDirectory the directory where the entries are stored. Created when the first entry is written
+   * @param fileExtension  the extension of the files of the entries, including the dot
+   * @param formatVersion  the version of the format of the content of the entries, entries with another version are discarded
+   */
+  public DiskCacheEntries(File cacheDirectory, String fileExtension, int formatVersion) {
+    this.cacheDirectory = cacheDirectory;
+    this.fileExtension = fileExtension;
+    this.formatVersion = formatVersion;
+  }
+
+  /**
+   * Reads the content of the entry for the given {@code key}, discarding the entry if it is not valid.
+   *
+   * @param key the key of the entry
+   * @return the content of the entry, or {@link Optional#empty()} if there is no valid entry for the given {@code key}
+   */
+  public Optional<byte[]> read(String key) {
+    final File entryFile = entryFile(key);
+    if (!entryFile.isFile()) {
+      return empty();
+    }
+
+    try (DataInputStream input = new DataInputStream(Files.newInputStream(entryFile.toPath()))) {
+      if (input.readInt() == formatVersion && key.equals(input.readUTF())) {
+        final byte[] content = new byte[input.readInt()];
+        input.readFully(content);
+        final byte[] checksum = new byte[input.readInt()];
+        input.readFully(checksum);
+        if (MessageDigest.isEqual(checksum, createDigest().digest(content))) {
+          return of(content);
+        }
+      }
+    } catch (IOException e) {
+      discard(key, e.toString());
+      return empty();
+    }
+
+    discard(key, "stale or corrupt entry");
+    return empty();
+  }
+
+  /**
+   * Writes the entry for the given {@code key}, replacing any previous one.
+   *
+   * @param key     the key of the entry
+   * @param content the content of the entry
+   * @throws IOException if the entry could not be written
+   */
+  public void write(String key, byte[] content) throws IOException {
+    final byte[] checksum = createDigest().digest(content);
+
+    Files.createDirectories(cacheDirectory.toPath());
+    File tempFile = File.createTempFile(key, ".tmp", cacheDirectory);
+    try {
+      try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(tempFile.toPath()))) {
+        output.writeInt(formatVersion);
+        output.writeUTF(key);
+        output.writeInt(content.length);
+        output.write(content);
+        output.writeInt(checksum.length);
+        output.write(checksum);
+      }
+
+      Files.move(tempFile.toPath(), entryFile(key).toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+      tempFile = null;
+    } finally {
+      if (tempFile != null) {
+        tempFile.delete();
+      }
+    }
+  }
+
+  /**
+   * Deletes the entry for the given {@code key}, because its content turned out to be unusable.
+   *
+   * @param key    the key of the entry
+   * @param reason why the entry is discarded, for logging
+   */
+  public void discard(String key, String reason) {
+    final File entryFile = entryFile(key);
+    LOGGER.warn("Discarding invalid cache entry at '{}' ({})", entryFile, reason);
+    entryFile.delete();
+  }
+
+  /**
+   * Deletes all the entries but the one for the given {@code key}.
+   *
+   * @param key the key of the entry to keep
+   */
+  public void discardAllBut(String key) {
+    final File currentEntry = entryFile(key);
+    final File[] entries = cacheDirectory.listFiles((dir, name) -> name.endsWith(fileExtension));
+    if (entries != null) {
+      for (File entry : entries) {
+        if (!entry.equals(currentEntry)) {
+          entry.delete();
+        }
+      }
+    }
+  }
+
+  /**
+   * @param key the key of the entry
+   * @return the file of the entry for the given {@code key}
+   */
+  public File entryFile(String key) {
+    return new File(cacheDirectory, key + fileExtension);
+  }
+
+  /**
+   * @return the directory where the entries are stored
+   */
+  public File getCacheDirectory() {
+    return cacheDirectory;
+  }
+
+  /**
+   * @return a new {@link MessageDigest} of the algorithm used for the keys and checksums of the entries
+   */
+  public static MessageDigest createDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // SHA-256 is required to be supported by every JVM
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * @param bytes the bytes to encode, usually a digest
+   * @return the hexadecimal representation of the given {@code bytes}, suitable for a key
+   */
+  public static String toHex(byte[] bytes) {
+    final StringBuilder hex = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return hex.toString();
+  }
+}
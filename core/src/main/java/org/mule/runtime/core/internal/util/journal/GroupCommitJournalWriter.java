@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.journal;
+
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
+import static java.nio.ByteBuffer.wrap;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.conversantmedia.util.concurrent.ConcurrentQueue;
+import com.conversantmedia.util.concurrent.MultithreadConcurrentQueue;
+
+/**
+ * Appends serialized journal entries to a file, grouping the entries of concurrent writers in a single write.
+ * <p>
+ * Writers enqueue their entries in a lock-free ring buffer. There's no dedicated flusher thread: the first writer which needs
+ * its entry to be durable becomes the leader, drains up to {@link JournalGroupCommitConfig#getBatchSize()} entries, writes them
+ * with one gathering write (followed by a sync if configured) and then wakes up the writers whose entries were part of the
+ * batch. Writers which arrive while a batch is being written just wait, and their entries become part of the next batch.
+ *
+ * @since 4.5.0
+ */
+final class GroupCommitJournalWriter {
+
+  private static final long MAX_PARK_NANOS = MICROSECONDS.toNanos(50);
+  private static final long MAX_WAIT_MILLIS = 10;
+
+  private final File file;
+  private final int batchSize;
+  private final long maxDelayNanos;
+  private final boolean sync;
+
+  private final ConcurrentQueue<PendingWrite> pending;
+  private final PendingWrite[] batch;
+  private final ByteBuffer[] buffers;
+  private final ReentrantLock flushLock = new ReentrantLock();
+  private final Object flushedMonitor = new Object();
+  private final FileChannel channel;
+
+  /**
+   * Creates a new instance
+   *
+   * @param file   the journal file. Will be created if it doesn't exist
+   * @param config the group commit configuration
+   */
+  GroupCommitJournalWriter(File file, JournalGroupCommitConfig config) {
+    this.file = file;
+    batchSize = config.getBatchSize();
+    maxDelayNanos = MICROSECONDS.toNanos(config.getMaxDelayMicros());
+    sync = config.isSync();
+
+    // room for a few batches, so writers only have to write a batch themselves when the leader falls behind
+    pending = new MultithreadConcurrentQueue<>(batchSize * 4);
+    batch = new PendingWrite[batchSize];
+    buffers = new ByteBuffer[batchSize];
+    try {
+      channel = FileChannel.open(file.toPath(), CREATE, WRITE, APPEND);
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not open journal file " + file.getAbsolutePath()), e);
+    }
+  }
+
+  /**
+   * Enqueues the given entry to be written. If the ring buffer is full, the caller will write a batch itself.
+   *
+   * @param serializedEntry the entry to write
+   * @return a {@link PendingWrite} to use with {@link #awaitDurable(PendingWrite)}
+   */
+  PendingWrite append(byte[] serializedEntry) {
+    final PendingWrite write = new PendingWrite(serializedEntry);
+    while (!pending.offer(write)) {
+      flushLock.lock();
+      try {
+        writeBatch(false);
+      } finally {
+        flushLock.unlock();
+      }
+    }
+    return write;
+  }
+
+  /**
+   * Blocks until the given entry has been written to the journal file, taking care of writing a batch if no other writer is
+   * already doing it.
+   *
+   * @param write a value returned by {@link #append(byte[])}
+   */
+  void awaitDurable(PendingWrite write) {
+    boolean interrupted = false;
+    while (!write.done) {
+      if (flushLock.tryLock()) {
+        try {
+          if (!write.done) {
+            writeBatch(true);
+          }
+        } finally {
+          flushLock.unlock();
+        }
+      } else {
+        synchronized (flushedMonitor) {
+          if (!write.done) {
+            try {
+              flushedMonitor.wait(MAX_WAIT_MILLIS);
+            } catch (InterruptedException e) {
+              interrupted = true;
+            }
+          }
+        }
+      }
+    }
+
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    if (write.failure != null) {
+      throw new MuleRuntimeException(createStaticMessage("Could not write to journal file " + file.getAbsolutePath()),
+                                     write.failure);
+    }
+  }
+
+  /**
+   * Writes all the pending entries.
+   */
+  void flush() {
+    flushLock.lock();
+    try {
+      while (!pending.isEmpty()) {
+        writeBatch(false);
+      }
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  /**
+   * Writes all the pending entries and closes the journal file.
+   */
+  void close() throws IOException {
+    flushLock.lock();
+    try {
+      flush();
+      channel.close();
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  /**
+   * Must be invoked holding the {@link #flushLock}.
+   */
+  private void writeBatch(boolean allowDelay) {
+    if (allowDelay && maxDelayNanos > 0 && pending.size() < batchSize) {
+      final long deadline = nanoTime() + maxDelayNanos;
+      long remaining = maxDelayNanos;
+      while (pending.size() < batchSize && remaining > 0) {
+        parkNanos(min(remaining, MAX_PARK_NANOS));
+        remaining = deadline - nanoTime();
+      }
+    }
+
+    final int size = pending.remove(batch);
+    if (size == 0) {
+      return;
+    }
+
+    IOException failure = null;
+    try {
+      long remaining = 0;
+      for (int i = 0; i < size; ++i) {
+        buffers[i] = wrap(batch[i].serializedEntry);
+        remaining += batch[i].serializedEntry.length;
+      }
+      while (remaining > 0) {
+        remaining -= channel.write(buffers, 0, size);
+      }
+      if (sync) {
+        channel.force(false);
+      }
+    } catch (IOException e) {
+      failure = e;
+    }
+
+    for (int i = 0; i < size; ++i) {
+      batch[i].failure = failure;
+      batch[i].done = true;
+      batch[i] = null;
+      buffers[i] = null;
+    }
+
+    synchronized (flushedMonitor) {
+      flushedMonitor.notifyAll();
+    }
+  }
+
+  /**
+   * An entry which was appended to the journal but may not have been written yet.
+   */
+  static final class PendingWrite {
+
+    private final byte[] serializedEntry;
+    private volatile IOException failure;
+    private volatile boolean done = false;
+
+    private PendingWrite(byte[] serializedEntry) {
+      this.serializedEntry = serializedEntry;
+    }
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.journal;
+
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+
+/**
+ * Configuration for a {@link TransactionJournal} which writes its entries in groups, so that many concurrent transactions share
+ * each write to the journal file.
+ *
+ * @since 4.5.0
+ */
+public final class JournalGroupCommitConfig {
+
+  private final int batchSize;
+  private final long maxDelayMicros;
+  private final boolean sync;
+
+  /**
+   * Creates a new instance
+   *
+   * @param batchSize      the maximum amount of entries to write at once. Must be greater than zero
+   * @param maxDelayMicros how long a write may be held back waiting for the batch to fill up. Zero means that entries are written
+   *                       as soon as possible, still grouping the entries which were logged while the previous write was running
+   * @param sync           whether each write must be synced to the storage device before the transactions in it are considered
+   *                       committed
+   * @throws IllegalArgumentException if any of the given arguments is invalid
+   */
+  public JournalGroupCommitConfig(int batchSize, long maxDelayMicros, boolean sync) {
+    checkArgument(batchSize > 0, "batchSize must be greater than zero");
+    checkArgument(maxDelayMicros >= 0, "maxDelayMicros cannot be negative");
+
+    this.batchSize = batchSize;
+    this.maxDelayMicros = maxDelayMicros;
+    this.sync = sync;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public long getMaxDelayMicros() {
+    return maxDelayMicros;
+  }
+
+  public boolean isSync() {
+    return sync;
+  }
+}
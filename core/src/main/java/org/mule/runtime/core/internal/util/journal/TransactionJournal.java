@@ -7,10 +7,13 @@
 package org.mule.runtime.core.internal.util.journal;
 
 import org.mule.runtime.api.util.Preconditions;
+import org.mule.runtime.core.internal.util.journal.GroupCommitJournalWriter.PendingWrite;
 
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.util.Collection;
 import java.util.Collections;
@@ -37,6 +40,8 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
   private transient Logger logger = LoggerFactory.getLogger(getClass());
 
   private final TransactionCompletePredicate transactionCompletePredicate;
+  private final JournalEntrySerializer journalEntrySerializer;
+  private final JournalGroupCommitConfig groupCommitConfig;
 
   /**
    * Log file in which we are currently writing new entries.
@@ -62,6 +67,18 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    */
   public TransactionJournal(String logFilesDirectory, TransactionCompletePredicate transactionCompletePredicate,
                             JournalEntrySerializer journalEntrySerializer, Integer maximumFileSizeInMegabytes) {
+    this(logFilesDirectory, transactionCompletePredicate, journalEntrySerializer, maximumFileSizeInMegabytes, null);
+  }
+
+  /**
+   * @param logFilesDirectory directory used to store the journal files.
+   * @param groupCommitConfig if not {@code null}, the entries of concurrent transactions are written to the journal files in
+   *                          groups
+   * @since 4.5.0
+   */
+  public TransactionJournal(String logFilesDirectory, TransactionCompletePredicate transactionCompletePredicate,
+                            JournalEntrySerializer journalEntrySerializer, Integer maximumFileSizeInMegabytes,
+                            JournalGroupCommitConfig groupCommitConfig) {
     File logFileDirectory = new File(logFilesDirectory);
     if (!logFileDirectory.exists()) {
       Preconditions.checkState(logFileDirectory.mkdirs(),
@@ -72,11 +89,13 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
     File logFile2 = new File(logFileDirectory, TX2_LOG_FILE_NAME);
     logger.info(String.format("Using files for tx logs %s and %s", logFile1.getAbsolutePath(), logFile2.getAbsolutePath()));
 
-    this.currentLogFile =
-        new TransactionJournalFile(logFile1, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
-    this.notCurrentLogFile =
-        new TransactionJournalFile(logFile2, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
+    this.currentLogFile = new TransactionJournalFile(logFile1, journalEntrySerializer, transactionCompletePredicate,
+                                                     clearFileMinimumSizeInBytes, groupCommitConfig);
+    this.notCurrentLogFile = new TransactionJournalFile(logFile2, journalEntrySerializer, transactionCompletePredicate,
+                                                        clearFileMinimumSizeInBytes, groupCommitConfig);
     this.transactionCompletePredicate = transactionCompletePredicate;
+    this.journalEntrySerializer = journalEntrySerializer;
+    this.groupCommitConfig = groupCommitConfig;
 
   }
 
@@ -89,12 +108,22 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
 
   /**
    * Log an update operation over a transactional resource
+   * <p>
+   * When using group commit, this returns once the entry was written along with the entries of other transactions, so the
+   * resource may be updated right after.
    *
    * @param journalEntry journal entry with the update operation details
    */
-  public synchronized void logUpdateOperation(JournalEntry<T> journalEntry) {
-    TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
-    logFile.logOperation(journalEntry);
+  public void logUpdateOperation(JournalEntry<T> journalEntry) {
+    final byte[] serializedEntry = serializeForGroupCommit(journalEntry);
+    final TransactionJournalFile logFile;
+    final PendingWrite write;
+    synchronized (this) {
+      logFile = determineLogFile(journalEntry.getTxId());
+      write = logFile.logOperation(journalEntry, serializedEntry);
+    }
+    // wait outside of the lock so other transactions can join the same write
+    logFile.awaitDurable(write);
   }
 
   /**
@@ -104,12 +133,33 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    *
    * @param journalEntry journal entry with the checkpoint operation details
    */
-  public synchronized void logCheckpointOperation(JournalEntry<T> journalEntry) {
-    TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
-    logFile.logOperation(journalEntry);
-    if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
-      logFile.clearEntriesForTransaction(journalEntry.getTxId());
+  public void logCheckpointOperation(JournalEntry<T> journalEntry) {
+    final byte[] serializedEntry = serializeForGroupCommit(journalEntry);
+    final TransactionJournalFile logFile;
+    final PendingWrite write;
+    synchronized (this) {
+      logFile = determineLogFile(journalEntry.getTxId());
+      write = logFile.logOperation(journalEntry, serializedEntry);
+      if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
+        logFile.clearEntriesForTransaction(journalEntry.getTxId());
+      }
     }
+    // wait outside of the lock so other transactions can join the same write
+    logFile.awaitDurable(write);
+  }
+
+  /**
+   * When using group commit, entries are serialized before taking the journal lock, so concurrent transactions don't have to
+   * wait for each other's serialization.
+   */
+  private byte[] serializeForGroupCommit(JournalEntry<T> journalEntry) {
+    if (groupCommitConfig == null) {
+      return null;
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    journalEntrySerializer.serialize(journalEntry, new DataOutputStream(bytes));
+    return bytes.toByteArray();
   }
 
   /**
@@ -8,11 +8,13 @@ package org.mule.runtime.core.internal.util.journal;
 
 import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.core.internal.util.journal.GroupCommitJournalWriter.PendingWrite;
 
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.EOFException;
@@ -47,10 +49,12 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
   private final File journalFile;
   private final JournalEntrySerializer<T, K> journalEntrySerializer;
   private final Long clearFileMinimumSizeInBytes;
+  private final JournalGroupCommitConfig groupCommitConfig;
 
   private Multimap<T, K> entries = LinkedHashMultimap.create();
 
   private DataOutputStream logFileOutputStream;
+  private volatile GroupCommitJournalWriter groupCommitWriter;
   private int journalOperations = 0;
 
   /**
@@ -61,9 +65,25 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    */
   public TransactionJournalFile(File journalFile, JournalEntrySerializer journalEntrySerializer,
                                 TransactionCompletePredicate transactionCompletePredicate, Long clearFileMinimumSizeInBytes) {
+    this(journalFile, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes, null);
+  }
+
+  /**
+   * @param journalFile                  journal file to use. Will be created if it doesn't exists. If exists then transaction
+   *                                     entries will get loaded from it.
+   * @param journalEntrySerializer       serializer for {@link JournalEntry}
+   * @param transactionCompletePredicate a callback to determine if a transaction is complete.
+   * @param groupCommitConfig            if not {@code null}, entries are written in groups through a
+   *                                     {@link GroupCommitJournalWriter}
+   * @since 4.5.0
+   */
+  public TransactionJournalFile(File journalFile, JournalEntrySerializer journalEntrySerializer,
+                                TransactionCompletePredicate transactionCompletePredicate, Long clearFileMinimumSizeInBytes,
+                                JournalGroupCommitConfig groupCommitConfig) {
     this.journalFile = journalFile;
     this.journalEntrySerializer = journalEntrySerializer;
     this.clearFileMinimumSizeInBytes = clearFileMinimumSizeInBytes;
+    this.groupCommitConfig = groupCommitConfig;
     if (journalFile.exists()) {
       loadAllEntries(transactionCompletePredicate);
     }
@@ -76,9 +96,52 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    * @param journalEntry operation details
    */
   public synchronized void logOperation(K journalEntry) {
+    logOperation(journalEntry, null);
+  }
+
+  /**
+   * Adds a journal entry for an operation done over a transactional resource.
+   * <p>
+   * When using group commit, the entry is only enqueued to be written. Use {@link #awaitDurable(PendingWrite)} with the returned
+   * value to wait for it to be written.
+   *
+   * @param journalEntry    operation details
+   * @param serializedEntry the already serialized {@code journalEntry}, if available
+   * @return the pending write of the entry, or {@code null} if it was already written
+   * @since 4.5.0
+   */
+  public synchronized PendingWrite logOperation(K journalEntry, byte[] serializedEntry) {
     entries.put(journalEntry.getTxId(), journalEntry);
-    journalEntrySerializer.serialize(journalEntry, logFileOutputStream);
     journalOperations++;
+    if (groupCommitWriter == null) {
+      journalEntrySerializer.serialize(journalEntry, logFileOutputStream);
+      return null;
+    }
+
+    return groupCommitWriter.append(serializedEntry != null ? serializedEntry : serialize(journalEntry));
+  }
+
+  /**
+   * Blocks until the given entry is written to the journal file.
+   *
+   * @param write a value returned by {@link #logOperation(JournalEntry, byte[])}
+   * @since 4.5.0
+   */
+  public void awaitDurable(PendingWrite write) {
+    if (write != null) {
+      groupCommitWriter.awaitDurable(write);
+    }
+  }
+
+  /**
+   * @param journalEntry the entry to serialize
+   * @return the bytes that would be written to the journal file for the given {@code journalEntry}
+   * @since 4.5.0
+   */
+  byte[] serialize(K journalEntry) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    journalEntrySerializer.serialize(journalEntry, new DataOutputStream(bytes));
+    return bytes.toByteArray();
   }
 
   /**
@@ -121,6 +184,10 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    */
   public synchronized void close() {
     try {
+      if (groupCommitWriter != null) {
+        groupCommitWriter.close();
+        return;
+      }
       logFileOutputStream.close();
     } catch (IOException e) {
       LOGGER.warn(e.getMessage());
@@ -170,6 +237,10 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
         throw new MuleRuntimeException(e);
       }
     }
+    if (groupCommitConfig != null) {
+      this.groupCommitWriter = new GroupCommitJournalWriter(journalFile, groupCommitConfig);
+      return;
+    }
     try {
       this.logFileOutputStream = new DataOutputStream(new FileOutputStream(journalFile, true));
     } catch (FileNotFoundException e) {
@@ -9,6 +9,7 @@ package org.mule.runtime.core.internal.util.journal.queue;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import org.mule.runtime.core.internal.util.journal.JournalEntry;
 import org.mule.runtime.core.internal.util.journal.JournalEntrySerializer;
+import org.mule.runtime.core.internal.util.journal.JournalGroupCommitConfig;
 import org.mule.runtime.core.internal.util.journal.TransactionCompletePredicate;
 import org.mule.runtime.core.internal.util.journal.TransactionJournal;
 import org.mule.runtime.core.internal.util.queue.QueueStore;
@@ -35,6 +36,15 @@ public abstract class AbstractQueueTransactionJournal<T, K extends JournalEntry<
 
   public AbstractQueueTransactionJournal(String logFilesDirectory, JournalEntrySerializer journalEntrySerializer,
                                          Integer maximumFileSizeInMegabytes) {
+    this(logFilesDirectory, journalEntrySerializer, maximumFileSizeInMegabytes, null);
+  }
+
+  /**
+   * @param groupCommitConfig if not {@code null}, the journal entries of concurrent transactions are written in groups
+   * @since 4.5.0
+   */
+  public AbstractQueueTransactionJournal(String logFilesDirectory, JournalEntrySerializer journalEntrySerializer,
+                                         Integer maximumFileSizeInMegabytes, JournalGroupCommitConfig groupCommitConfig) {
     checkArgument(maximumFileSizeInMegabytes == null || maximumFileSizeInMegabytes > 0,
                   "Maximum tx log file size needs to be greater than zero");
     this.logFile = new TransactionJournal(logFilesDirectory, new TransactionCompletePredicate() {
@@ -44,7 +54,7 @@ public abstract class AbstractQueueTransactionJournal<T, K extends JournalEntry<
         AbstractQueueTxJournalEntry abstractQueueTxJournalEntry = (AbstractQueueTxJournalEntry) journalEntry;
         return abstractQueueTxJournalEntry.isCommit() || abstractQueueTxJournalEntry.isRollback();
       }
-    }, journalEntrySerializer, maximumFileSizeInMegabytes);
+    }, journalEntrySerializer, maximumFileSizeInMegabytes, groupCommitConfig);
   }
 
   public void logAdd(T txId, QueueStore queue, Serializable value) {
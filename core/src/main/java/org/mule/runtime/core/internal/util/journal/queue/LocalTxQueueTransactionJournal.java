@@ -8,6 +8,7 @@ package org.mule.runtime.core.internal.util.journal.queue;
 
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.internal.util.journal.JournalEntrySerializer;
+import org.mule.runtime.core.internal.util.journal.JournalGroupCommitConfig;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
@@ -23,6 +24,16 @@ public class LocalTxQueueTransactionJournal extends AbstractQueueTransactionJour
     super(logFilesDirectory, createLocalTxQueueJournalEntrySerializer(muleContext), maximumFileSizeInMegabytes);
   }
 
+  /**
+   * @param groupCommitConfig if not {@code null}, the journal entries of concurrent transactions are written in groups
+   * @since 4.5.0
+   */
+  public LocalTxQueueTransactionJournal(String logFilesDirectory, final MuleContext muleContext,
+                                        Integer maximumFileSizeInMegabytes, JournalGroupCommitConfig groupCommitConfig) {
+    super(logFilesDirectory, createLocalTxQueueJournalEntrySerializer(muleContext), maximumFileSizeInMegabytes,
+          groupCommitConfig);
+  }
+
   public LocalTxQueueTransactionJournal(String logFilesDirectory, final MuleContext muleContext) {
     super(logFilesDirectory, createLocalTxQueueJournalEntrySerializer(muleContext), null);
   }
@@ -8,6 +8,7 @@ package org.mule.runtime.core.internal.util.journal.queue;
 
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.internal.util.journal.JournalEntrySerializer;
+import org.mule.runtime.core.internal.util.journal.JournalGroupCommitConfig;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
@@ -21,6 +22,15 @@ public class XaTxQueueTransactionJournal extends AbstractQueueTransactionJournal
 
   public XaTxQueueTransactionJournal(String logFilesDirectory, final MuleContext muleContext,
                                      Integer maximumFileSizeInMegabytes) {
+    this(logFilesDirectory, muleContext, maximumFileSizeInMegabytes, null);
+  }
+
+  /**
+   * @param groupCommitConfig if not {@code null}, the journal entries of concurrent transactions are written in groups
+   * @since 4.5.0
+   */
+  public XaTxQueueTransactionJournal(String logFilesDirectory, final MuleContext muleContext,
+                                     Integer maximumFileSizeInMegabytes, JournalGroupCommitConfig groupCommitConfig) {
     super(logFilesDirectory, new JournalEntrySerializer<Xid, XaQueueTxJournalEntry>() {
 
       @Override
@@ -32,7 +42,7 @@ public class XaTxQueueTransactionJournal extends AbstractQueueTransactionJournal
       public void serialize(XaQueueTxJournalEntry journalEntry, DataOutputStream dataOutputStream) {
         journalEntry.write(dataOutputStream, muleContext);
       }
-    }, maximumFileSizeInMegabytes);
+    }, maximumFileSizeInMegabytes, groupCommitConfig);
   }
 
   public XaTxQueueTransactionJournal(String logFilesDirectory, final MuleContext muleContext) {
@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.core.internal.util.queue;
 
+import static java.lang.Boolean.getBoolean;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.util.queue.DefaultQueueConfiguration;
 import org.mule.runtime.core.api.util.queue.QueueConfiguration;
@@ -19,6 +22,16 @@ import org.apache.commons.lang3.NotImplementedException;
  */
 public class DefaultQueueStore implements RecoverableQueueStore {
 
+  /**
+   * When set, persistent queues are stored using a {@link MappedSegmentQueueStoreDelegate} instead of a
+   * {@link DualRandomAccessFileQueueStoreDelegate}. Data already stored by one of them is not visible to the other.
+   *
+   * @since 4.5.0
+   */
+  public static final String MAPPED_SEGMENTS_QUEUE_STORE_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "queue.mappedSegments";
+
+  private static final boolean USE_MAPPED_SEGMENTS_QUEUE_STORE = getBoolean(MAPPED_SEGMENTS_QUEUE_STORE_PROPERTY_KEY);
+
   private QueueConfiguration config;
   private String name;
   private QueueStoreDelegate delegate;
@@ -42,7 +55,10 @@ public class DefaultQueueStore implements RecoverableQueueStore {
     if (this.config == null) {
       this.config = new DefaultQueueConfiguration();
     }
-    if (this.config.isPersistent()) {
+    if (this.config.isPersistent() && USE_MAPPED_SEGMENTS_QUEUE_STORE) {
+      delegate = new MappedSegmentQueueStoreDelegate(this.name, muleContext.getConfiguration().getWorkingDirectory(),
+                                                     muleContext, this.config.getCapacity());
+    } else if (this.config.isPersistent()) {
       delegate = new DualRandomAccessFileQueueStoreDelegate(this.name, muleContext.getConfiguration().getWorkingDirectory(),
                                                             muleContext, this.config.getCapacity());
     } else {
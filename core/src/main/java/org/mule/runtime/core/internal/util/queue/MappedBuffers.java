@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+import org.slf4j.Logger;
+
+/**
+ * Releases the memory mapping of {@link MappedByteBuffer}s, which otherwise is only released when the buffer is garbage
+ * collected, keeping the address space and the handle of the mapped file in use until then.
+ * <p>
+ * There is no public API for this, so it relies on {@code sun.misc.Unsafe#invokeCleaner} on Java 9 and later and on the cleaner
+ * of {@code sun.nio.ch.DirectBuffer} on Java 8. If neither is available, buffers are left to the garbage collector.
+ *
+ * @since 4.5.0
+ */
+final class MappedBuffers {
+
+  private static final Logger LOGGER = getLogger(MappedBuffers.class);
+
+  private static final Unmapper UNMAPPER = createUnmapper();
+
+  private MappedBuffers() {}
+
+  /**
+   * Releases the mapping of the given buffer. The buffer must not be accessed afterwards.
+   *
+   * @param buffer the buffer to unmap
+   */
+  static void unmap(MappedByteBuffer buffer) {
+    if (UNMAPPER == null) {
+      return;
+    }
+
+    try {
+      UNMAPPER.unmap(buffer);
+    } catch (Exception e) {
+      LOGGER.debug("Could not unmap buffer, it will be released when garbage collected", e);
+    }
+  }
+
+  private static Unmapper createUnmapper() {
+    try {
+      final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      final Object unsafe = theUnsafe.get(null);
+      return buffer -> invokeCleaner.invoke(unsafe, buffer);
+    } catch (NoSuchMethodException e) {
+      // Java 8
+      return createJava8Unmapper();
+    } catch (Exception e) {
+      LOGGER.debug("Mapped buffers cannot be unmapped, they will be released when garbage collected", e);
+      return null;
+    }
+  }
+
+  private static Unmapper createJava8Unmapper() {
+    try {
+      final Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+      final Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+      return buffer -> {
+        final Object bufferCleaner = cleaner.invoke(buffer);
+        if (bufferCleaner != null) {
+          clean.invoke(bufferCleaner);
+        }
+      };
+    } catch (Exception e) {
+      LOGGER.debug("Mapped buffers cannot be unmapped, they will be released when garbage collected", e);
+      return null;
+    }
+  }
+
+  @FunctionalInterface
+  private interface Unmapper {
+
+    void unmap(MappedByteBuffer buffer) throws Exception;
+  }
+}
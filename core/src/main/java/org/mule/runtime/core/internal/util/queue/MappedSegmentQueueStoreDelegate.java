@@ -0,0 +1,790 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static java.lang.Integer.getInteger;
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Arrays.copyOf;
+import static java.util.Comparator.comparingLong;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.internal.util.queue.MappedBuffers.unmap;
+import static org.mule.runtime.core.internal.util.queue.QueueFileProvider.toHex;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.serialization.SerializationProtocol;
+import org.mule.runtime.core.api.MuleContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+
+/**
+ * {@link TransactionalQueueStoreDelegate} implementation which stores the queue data in fixed size memory mapped segment files.
+ * <p/>
+ * Producers append records to the last segment and consumers read them sequentially from the first one. Each side is guarded by
+ * its own lock, in the same way {@link java.util.concurrent.LinkedBlockingQueue} does, so enqueuing and dequeuing don't contend
+ * with each other. Since both sides move forward through the segments, no per item offset index is needed: only the items
+ * returned through {@link #untake(Serializable)} are tracked, as packed {@code long} addresses.
+ * <p/>
+ * Each record is laid out as {@code [length][state][payload]}. Dequeuing a record just flips its state byte in the mapped
+ * buffer. Once the consumer moves past a segment and all of its records have been removed, the segment file is recycled for new
+ * records instead of being deleted.
+ * <p/>
+ * Mapped buffers are forced to disk every {@link #FORCE_INTERVAL_PROPERTY_KEY} appends. Data written to a mapped buffer survives
+ * a crash of the JVM, so only a failure of the whole host may lose the last unforced items.
+ * <p/>
+ * Segments which are not recycled are unmapped before their files are deleted, as well as every segment when the store is
+ * closed, so the store must not be used after {@link #close()}.
+ *
+ * @since 4.5.0
+ */
+public class MappedSegmentQueueStoreDelegate implements TransactionalQueueStoreDelegate {
+
+  public static final String SEGMENT_SIZE_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "queue.segmentSize";
+  public static final String FORCE_INTERVAL_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "queue.forceInterval";
+
+  private static final Logger LOGGER = getLogger(MappedSegmentQueueStoreDelegate.class);
+
+  private static final String QUEUE_STORE_DIRECTORY = "queuestore";
+  private static final String SEGMENTS_DIRECTORY_SUFFIX = "-segments";
+  private static final String SEGMENT_FILE_PREFIX = "segment-";
+  private static final String SEGMENT_FILE_EXTENSION = ".seg";
+
+  private static final int MAX_FREE_SEGMENTS = 2;
+  private static final int SEGMENT_MAGIC = 0x4d515347;
+  private static final long FREE_SEGMENT = -1;
+  private static final int SEGMENT_HEADER_SIZE = 12;
+  private static final int RECORD_HEADER_SIZE = 5;
+  private static final int END_OF_SEGMENT = -1;
+
+  private static final byte QUEUED = 0;
+  private static final byte REMOVED = 1;
+  private static final byte UNTAKEN = 2;
+
+  private final int capacity;
+  private final int segmentSize;
+  private final int forceInterval;
+  private final File segmentsDirectory;
+  private final SerializationProtocol serializer;
+
+  private final ReentrantLock putLock = new ReentrantLock();
+  private final Condition notFull = putLock.newCondition();
+  private final ReentrantLock takeLock = new ReentrantLock();
+  private final Condition notEmpty = takeLock.newCondition();
+  private final AtomicInteger count = new AtomicInteger();
+
+  private final Deque<Segment> segments = new ConcurrentLinkedDeque<>();
+  private final Queue<Segment> freeSegments = new ConcurrentLinkedQueue<>();
+  private volatile Segment[] segmentsBySlot = new Segment[0];
+
+  // guarded by putLock
+  private Segment writeSegment;
+  private int writeOffset;
+  private int unforcedWrites = 0;
+  private long nextSequence = 0;
+  private int nextSlot = 0;
+
+  // guarded by takeLock
+  private Segment readSegment;
+  private int readOffset;
+  private final UntakenRecords untaken = new UntakenRecords();
+
+  public MappedSegmentQueueStoreDelegate(String queueName, String workingDirectory, MuleContext muleContext, int capacity) {
+    this.capacity = capacity;
+    segmentSize = getInteger(SEGMENT_SIZE_PROPERTY_KEY, 8 * 1024 * 1024);
+    forceInterval = max(1, getInteger(FORCE_INTERVAL_PROPERTY_KEY, 64));
+    serializer = muleContext.getObjectSerializer().getInternalProtocol();
+    segmentsDirectory = createSegmentsDirectory(new File(workingDirectory, QUEUE_STORE_DIRECTORY), queueName);
+
+    recover();
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(format("Queue %s has %s messages", queueName, getSize()));
+    }
+  }
+
+  private static File createSegmentsDirectory(File queuesDirectory, String queueName) {
+    File directory = new File(queuesDirectory, queueName + SEGMENTS_DIRECTORY_SUFFIX);
+    if (directory.isDirectory() || directory.mkdirs()) {
+      return directory;
+    }
+
+    // if file system does not support the name provided then use a hex representation of the name.
+    directory = new File(queuesDirectory, toHex(queueName) + SEGMENTS_DIRECTORY_SUFFIX);
+    if (directory.isDirectory() || directory.mkdirs()) {
+      return directory;
+    }
+
+    throw new MuleRuntimeException(createStaticMessage("Could not create queue store directory " + directory.getAbsolutePath()));
+  }
+
+  @Override
+  public void putNow(Serializable o) {
+    putLock.lock();
+    try {
+      append(o, QUEUED);
+    } finally {
+      putLock.unlock();
+    }
+    signalNotEmpty();
+  }
+
+  @Override
+  public boolean offer(Serializable o, int room, long timeout) throws InterruptedException {
+    checkInterrupted();
+    putLock.lockInterruptibly();
+    try {
+      if (capacity > 0) {
+        if (capacity <= room) {
+          throw new IllegalStateException("Can not add more objects than the capacity in one time");
+        }
+        long nanos = MILLISECONDS.toNanos(timeout);
+        while (count.get() >= capacity - room) {
+          if (timeout < 0) {
+            notFull.await();
+          } else {
+            if (nanos <= 0L) {
+              return false;
+            }
+            nanos = notFull.awaitNanos(nanos);
+          }
+        }
+      }
+      if (o != null) {
+        append(o, QUEUED);
+      }
+    } finally {
+      putLock.unlock();
+    }
+    signalNotEmpty();
+    return true;
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends Serializable> items) {
+    putLock.lock();
+    try {
+      for (Serializable item : items) {
+        append(item, QUEUED);
+      }
+    } finally {
+      putLock.unlock();
+    }
+    signalNotEmpty();
+    return true;
+  }
+
+  @Override
+  public Serializable poll(long timeout) throws InterruptedException {
+    checkInterrupted();
+    Serializable item;
+    takeLock.lockInterruptibly();
+    try {
+      long nanos = MILLISECONDS.toNanos(timeout);
+      while (count.get() == 0) {
+        if (nanos <= 0L) {
+          return null;
+        }
+        nanos = notEmpty.awaitNanos(nanos);
+      }
+
+      item = deserialize(takeFirst(true));
+      if (count.decrementAndGet() > 0) {
+        notEmpty.signal();
+      }
+      recycleConsumedSegments();
+    } finally {
+      takeLock.unlock();
+    }
+    signalNotFull();
+    return item;
+  }
+
+  @Override
+  public Serializable peek() throws InterruptedException {
+    checkInterrupted();
+    takeLock.lock();
+    try {
+      return count.get() == 0 ? null : deserialize(takeFirst(false));
+    } finally {
+      takeLock.unlock();
+    }
+  }
+
+  @Override
+  public void untake(Serializable item) throws InterruptedException {
+    checkInterrupted();
+    long address;
+    putLock.lock();
+    try {
+      address = append(item, UNTAKEN);
+    } finally {
+      putLock.unlock();
+    }
+
+    takeLock.lock();
+    try {
+      untaken.push(address);
+      count.incrementAndGet();
+      notEmpty.signal();
+    } finally {
+      takeLock.unlock();
+    }
+  }
+
+  @Override
+  public int getSize() {
+    return count.get();
+  }
+
+  @Override
+  public void clear() throws InterruptedException {
+    checkInterrupted();
+    fullyLock();
+    try {
+      for (Segment segment : segments) {
+        release(segment);
+      }
+      segments.clear();
+      untaken.clear();
+      count.set(0);
+      newWriteSegment(0);
+      readSegment = writeSegment;
+      readOffset = SEGMENT_HEADER_SIZE;
+      notFull.signalAll();
+    } finally {
+      fullyUnlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p/>
+   * Records are not indexed by value, so this scans and deserializes every live record of the queue while holding both locks,
+   * which takes time proportional to the size of the queue and blocks producers and consumers meanwhile. It is only used when
+   * rolling back a transaction which added items to the queue.
+   */
+  @Override
+  public void remove(Serializable value) {
+    fullyLock();
+    try {
+      for (Segment segment : segments) {
+        for (int offset = segment.firstRecordOffset(); offset >= 0; offset = segment.nextRecordOffset(offset)) {
+          if (segment.isLive(offset) && deserialize(segment.read(offset)).equals(value)) {
+            markRemoved(segment, offset);
+            count.decrementAndGet();
+            notFull.signal();
+            return;
+          }
+        }
+      }
+    } finally {
+      fullyUnlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p/>
+   * As {@link #remove(Serializable)}, this scans and deserializes every live record of the queue while holding both locks.
+   */
+  @Override
+  public boolean contains(Serializable value) {
+    fullyLock();
+    try {
+      for (Segment segment : segments) {
+        for (int offset = segment.firstRecordOffset(); offset >= 0; offset = segment.nextRecordOffset(offset)) {
+          if (segment.isLive(offset) && deserialize(segment.read(offset)).equals(value)) {
+            return true;
+          }
+        }
+      }
+      return false;
+    } finally {
+      fullyUnlock();
+    }
+  }
+
+  @Override
+  public void close() {
+    fullyLock();
+    try {
+      for (Segment segment : segments) {
+        segment.close();
+      }
+      for (Segment segment : freeSegments) {
+        segment.close();
+      }
+    } finally {
+      fullyUnlock();
+    }
+  }
+
+  @Override
+  public void dispose() {
+    fullyLock();
+    try {
+      for (Segment segment : segments) {
+        segment.close();
+      }
+      for (Segment segment : freeSegments) {
+        segment.close();
+      }
+      segments.clear();
+      freeSegments.clear();
+      deleteQuietly(segmentsDirectory);
+    } finally {
+      fullyUnlock();
+    }
+  }
+
+  /**
+   * Writes a new record at the end of the queue. Must be invoked holding the {@link #putLock}.
+   *
+   * @return the packed address of the new record
+   */
+  private long append(Serializable item, byte state) {
+    final byte[] data = serializer.serialize(item);
+    final int required = RECORD_HEADER_SIZE + data.length + 4;
+    if (writeOffset + required > writeSegment.size()) {
+      final Segment sealed = writeSegment;
+      final int endOfData = writeOffset;
+      newWriteSegment(required);
+      // the new segment must be reachable before the consumer can find the end mark
+      sealed.next = writeSegment;
+      sealed.buffer.putInt(endOfData, END_OF_SEGMENT);
+      sealed.buffer.force();
+      unforcedWrites = 0;
+    }
+
+    final int offset = writeOffset;
+    final ByteBuffer view = writeSegment.buffer.duplicate();
+    view.position(offset + RECORD_HEADER_SIZE);
+    view.put(data);
+    view.putInt(0);
+    view.put(offset + 4, state);
+    // the length is written last, so a partially written record is never considered by the recovery
+    view.putInt(offset, data.length);
+
+    writeSegment.live.incrementAndGet();
+    writeOffset += RECORD_HEADER_SIZE + data.length;
+
+    if (++unforcedWrites >= forceInterval) {
+      writeSegment.buffer.force();
+      unforcedWrites = 0;
+    }
+
+    if (state == QUEUED) {
+      count.incrementAndGet();
+    }
+
+    return address(writeSegment, offset);
+  }
+
+  /**
+   * Locates the first live record of the queue. Must be invoked holding the {@link #takeLock} and only when {@link #count} is
+   * greater than zero.
+   *
+   * @param remove whether the record has to be removed from the queue
+   * @return the serialized item
+   */
+  private byte[] takeFirst(boolean remove) {
+    while (!untaken.isEmpty()) {
+      final long address = untaken.peek();
+      final Segment segment = segmentsBySlot[slotOf(address)];
+      final int offset = offsetOf(address);
+      if (segment.isReleased() || segment.state(offset) != UNTAKEN) {
+        // removed during recovery or through remove(Serializable)
+        untaken.pop();
+        continue;
+      }
+
+      final byte[] data = segment.read(offset);
+      if (remove) {
+        untaken.pop();
+        markRemoved(segment, offset);
+      }
+      return data;
+    }
+
+    while (true) {
+      final int length = readSegment.buffer.getInt(readOffset);
+      if (length == END_OF_SEGMENT) {
+        readSegment = readSegment.next;
+        readOffset = SEGMENT_HEADER_SIZE;
+      } else if (length <= 0) {
+        throw new IllegalStateException("Queue store data is not consistent with its size");
+      } else if (readSegment.state(readOffset) != QUEUED) {
+        readOffset += RECORD_HEADER_SIZE + length;
+      } else {
+        final byte[] data = readSegment.read(readOffset);
+        if (remove) {
+          markRemoved(readSegment, readOffset);
+          readOffset += RECORD_HEADER_SIZE + length;
+        }
+        return data;
+      }
+    }
+  }
+
+  private void markRemoved(Segment segment, int offset) {
+    segment.buffer.put(offset + 4, REMOVED);
+    segment.live.decrementAndGet();
+  }
+
+  /**
+   * Recycles the segments which were already passed by the consumer and have no live records left. Must be invoked holding the
+   * {@link #takeLock}.
+   */
+  private void recycleConsumedSegments() {
+    for (Segment segment : segments) {
+      if (segment.sequence >= readSegment.sequence) {
+        return;
+      }
+      if (segment.live.get() == 0) {
+        segments.remove(segment);
+        release(segment);
+      }
+    }
+  }
+
+  private void release(Segment segment) {
+    if (freeSegments.size() < MAX_FREE_SEGMENTS && segment.size() == segmentSize) {
+      segment.markFree();
+      freeSegments.add(segment);
+    } else {
+      // the file can only be deleted once it is no longer mapped
+      segment.close();
+      deleteQuietly(segment.file);
+    }
+  }
+
+  /**
+   * Starts a new segment, big enough to hold a record of {@code required} bytes. Must be invoked holding the {@link #putLock}.
+   */
+  private void newWriteSegment(int required) {
+    final long sequence = nextSequence++;
+    Segment segment = null;
+    if (SEGMENT_HEADER_SIZE + required <= segmentSize) {
+      final Segment free = freeSegments.poll();
+      if (free != null) {
+        segment = free.reuse(sequence);
+      }
+    }
+    if (segment == null) {
+      segment = createSegment(nextSlot++, sequence, max(segmentSize, SEGMENT_HEADER_SIZE + required));
+    }
+
+    registerSlot(segment);
+    segments.addLast(segment);
+    writeSegment = segment;
+    writeOffset = SEGMENT_HEADER_SIZE;
+  }
+
+  private void registerSlot(Segment segment) {
+    Segment[] slots = segmentsBySlot;
+    if (segment.slot >= slots.length) {
+      slots = copyOf(slots, segment.slot + 1);
+    }
+    slots[segment.slot] = segment;
+    segmentsBySlot = slots;
+  }
+
+  private Segment createSegment(int slot, long sequence, int size) {
+    final File file = new File(segmentsDirectory, SEGMENT_FILE_PREFIX + slot + SEGMENT_FILE_EXTENSION);
+    return openSegment(slot, file, size).reuse(sequence);
+  }
+
+  private Segment openSegment(int slot, File file, int size) {
+    try (FileChannel channel = FileChannel.open(file.toPath(), CREATE, READ, WRITE)) {
+      // the mapping remains valid after the channel is closed
+      final MappedByteBuffer buffer = channel.map(READ_WRITE, 0, max(size, channel.size()));
+      return new Segment(slot, file, buffer, buffer.getInt(0) == SEGMENT_MAGIC ? buffer.getLong(4) : FREE_SEGMENT);
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not open queue segment " + file.getAbsolutePath()), e);
+    }
+  }
+
+  private void recover() {
+    final List<Segment> recovered = new ArrayList<>();
+    final File[] files = segmentsDirectory.listFiles((dir, name) -> name.startsWith(SEGMENT_FILE_PREFIX)
+        && name.endsWith(SEGMENT_FILE_EXTENSION));
+    if (files != null) {
+      for (File file : files) {
+        final String name = file.getName();
+        final int slot = Integer.parseInt(name.substring(SEGMENT_FILE_PREFIX.length(),
+                                                         name.length() - SEGMENT_FILE_EXTENSION.length()));
+        nextSlot = max(nextSlot, slot + 1);
+
+        if (file.length() < SEGMENT_HEADER_SIZE + 4) {
+          // the segment was being created when the process stopped
+          deleteQuietly(file);
+          continue;
+        }
+        final Segment segment = openSegment(slot, file, 0);
+        if (segment.sequence == FREE_SEGMENT) {
+          release(segment);
+        } else {
+          recovered.add(segment);
+        }
+      }
+    }
+    recovered.sort(comparingLong(segment -> segment.sequence));
+
+    Segment previous = null;
+    for (Segment segment : recovered) {
+      int endOfData = SEGMENT_HEADER_SIZE;
+      for (int offset = segment.firstRecordOffset(); offset >= 0; offset = segment.nextRecordOffset(offset)) {
+        if (segment.isLive(offset)) {
+          count.incrementAndGet();
+          segment.live.incrementAndGet();
+          if (segment.state(offset) == UNTAKEN) {
+            untaken.push(address(segment, offset));
+          }
+        }
+        endOfData = segment.endOf(offset);
+      }
+
+      registerSlot(segment);
+      segments.addLast(segment);
+      if (previous != null) {
+        previous.next = segment;
+      }
+      previous = segment;
+      nextSequence = segment.sequence + 1;
+      writeSegment = segment;
+      writeOffset = endOfData;
+    }
+
+    if (writeSegment == null) {
+      newWriteSegment(0);
+    } else {
+      // end of data mark, in case the last record was truncated
+      writeSegment.buffer.putInt(writeOffset, 0);
+    }
+    readSegment = segments.getFirst();
+    readOffset = SEGMENT_HEADER_SIZE;
+
+    // sealed segments must always have an end mark so that the consumer moves on to the next one
+    for (Segment segment : segments) {
+      if (segment.next != null) {
+        segment.sealAtEndOfData();
+      }
+    }
+  }
+
+  private Serializable deserialize(byte[] data) {
+    return serializer.deserialize(data);
+  }
+
+  private void signalNotEmpty() {
+    takeLock.lock();
+    try {
+      notEmpty.signal();
+    } finally {
+      takeLock.unlock();
+    }
+  }
+
+  private void signalNotFull() {
+    putLock.lock();
+    try {
+      notFull.signal();
+    } finally {
+      putLock.unlock();
+    }
+  }
+
+  private void fullyLock() {
+    putLock.lock();
+    takeLock.lock();
+  }
+
+  private void fullyUnlock() {
+    takeLock.unlock();
+    putLock.unlock();
+  }
+
+  private void checkInterrupted() throws InterruptedException {
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+  }
+
+  private static long address(Segment segment, int offset) {
+    return ((long) segment.slot << 32) | offset;
+  }
+
+  private static int slotOf(long address) {
+    return (int) (address >>> 32);
+  }
+
+  private static int offsetOf(long address) {
+    return (int) address;
+  }
+
+  private static class Segment {
+
+    private final int slot;
+    private final File file;
+    private final MappedByteBuffer buffer;
+    private final long sequence;
+    private final AtomicInteger live = new AtomicInteger();
+    private volatile Segment next;
+    private volatile boolean released;
+
+    private Segment(int slot, File file, MappedByteBuffer buffer, long sequence) {
+      this.slot = slot;
+      this.file = file;
+      this.buffer = buffer;
+      this.sequence = sequence;
+    }
+
+    private int size() {
+      return buffer.capacity();
+    }
+
+    private Segment reuse(long sequence) {
+      buffer.putInt(0, SEGMENT_MAGIC);
+      buffer.putLong(4, sequence);
+      buffer.putInt(SEGMENT_HEADER_SIZE, 0);
+      return new Segment(slot, file, buffer, sequence);
+    }
+
+    private void markFree() {
+      buffer.putLong(4, FREE_SEGMENT);
+      buffer.force();
+    }
+
+    private byte state(int offset) {
+      return buffer.get(offset + 4);
+    }
+
+    private boolean isLive(int offset) {
+      final byte state = state(offset);
+      return state == QUEUED || state == UNTAKEN;
+    }
+
+    private byte[] read(int offset) {
+      final ByteBuffer view = buffer.duplicate();
+      final byte[] data = new byte[view.getInt(offset)];
+      view.position(offset + RECORD_HEADER_SIZE);
+      view.get(data);
+      return data;
+    }
+
+    /**
+     * @return the offset of the first record in this segment, or {@code -1} if it has no records.
+     */
+    private int firstRecordOffset() {
+      return isRecord(SEGMENT_HEADER_SIZE) ? SEGMENT_HEADER_SIZE : -1;
+    }
+
+    /**
+     * @return the offset of the record following the one at the given {@code offset}, or {@code -1} if there are no more records
+     *         in this segment.
+     */
+    private int nextRecordOffset(int offset) {
+      final int next = endOf(offset);
+      return isRecord(next) ? next : -1;
+    }
+
+    private int endOf(int offset) {
+      return offset + RECORD_HEADER_SIZE + buffer.getInt(offset);
+    }
+
+    private boolean isRecord(int offset) {
+      if (offset + RECORD_HEADER_SIZE > size()) {
+        return false;
+      }
+      final int length = buffer.getInt(offset);
+      return length > 0 && offset + RECORD_HEADER_SIZE + length <= size();
+    }
+
+    private void sealAtEndOfData() {
+      int offset = SEGMENT_HEADER_SIZE;
+      while (isRecord(offset)) {
+        offset = endOf(offset);
+      }
+      if (offset + 4 <= size()) {
+        buffer.putInt(offset, END_OF_SEGMENT);
+      }
+    }
+
+    private boolean isReleased() {
+      return released;
+    }
+
+    /**
+     * Forces the pending writes to disk and unmaps the buffer. The segment must not be accessed afterwards.
+     */
+    private void close() {
+      if (released) {
+        return;
+      }
+      released = true;
+      buffer.force();
+      unmap(buffer);
+    }
+  }
+
+  /**
+   * A stack of packed record addresses, for the items which were returned to the head of the queue.
+   */
+  private static class UntakenRecords {
+
+    private long[] addresses = new long[8];
+    private int size = 0;
+
+    private void push(long address) {
+      if (size == addresses.length) {
+        addresses = copyOf(addresses, size * 2);
+      }
+      addresses[size++] = address;
+    }
+
+    private long peek() {
+      return addresses[size - 1];
+    }
+
+    private long pop() {
+      return addresses[--size];
+    }
+
+    private boolean isEmpty() {
+      return size == 0;
+    }
+
+    private void clear() {
+      size = 0;
+    }
+  }
+}
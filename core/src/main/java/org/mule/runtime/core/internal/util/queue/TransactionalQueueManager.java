@@ -7,11 +7,16 @@
 
 package org.mule.runtime.core.internal.util.queue;
 
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.util.queue.DefaultQueueConfiguration;
 import org.mule.runtime.core.api.util.queue.QueueConfiguration;
 import org.mule.runtime.core.api.util.queue.QueueSession;
+import org.mule.runtime.core.internal.util.journal.JournalGroupCommitConfig;
 import org.mule.runtime.core.internal.util.journal.queue.LocalTxQueueTransactionJournal;
 import org.mule.runtime.core.internal.util.journal.queue.LocalTxQueueTransactionRecoverer;
 import org.mule.runtime.core.internal.util.journal.queue.XaTxQueueTransactionJournal;
@@ -27,6 +32,25 @@ import java.util.Map;
  */
 public class TransactionalQueueManager extends AbstractQueueManager {
 
+  /**
+   * Maximum amount of transaction journal entries written at once. Zero (the default) disables group commit.
+   *
+   * @since 4.5.0
+   */
+  public static final String JOURNAL_GROUP_COMMIT_BATCH_SIZE_PROPERTY_KEY = "mule.queue.journal.groupCommitBatchSize";
+  /**
+   * Microseconds a group commit may wait for its batch to fill up. Only used if group commit is enabled.
+   *
+   * @since 4.5.0
+   */
+  public static final String JOURNAL_GROUP_COMMIT_MAX_DELAY_PROPERTY_KEY = "mule.queue.journal.groupCommitMaxDelayMicros";
+  /**
+   * Whether each group commit is synced to the storage device. Only used if group commit is enabled.
+   *
+   * @since 4.5.0
+   */
+  public static final String JOURNAL_SYNC_ON_COMMIT_PROPERTY_KEY = "mule.queue.journal.syncOnCommit";
+
   private LocalTxQueueTransactionJournal localTxTransactionJournal;
   private LocalTxQueueTransactionRecoverer localTxQueueTransactionRecoverer;
   private XaTxQueueTransactionJournal xaTransactionJournal;
@@ -67,14 +91,27 @@ public class TransactionalQueueManager extends AbstractQueueManager {
   public void initialise() throws InitialisationException {
     String workingDirectory = getMuleContext().getConfiguration().getWorkingDirectory();
     int queueTransactionFilesSizeInMegabytes = getMuleContext().getConfiguration().getMaxQueueTransactionFilesSizeInMegabytes();
+    JournalGroupCommitConfig groupCommitConfig = resolveGroupCommitConfig();
     localTxTransactionJournal = new LocalTxQueueTransactionJournal(workingDirectory + File.separator + "queue-tx-log",
-                                                                   getMuleContext(), queueTransactionFilesSizeInMegabytes);
+                                                                   getMuleContext(), queueTransactionFilesSizeInMegabytes,
+                                                                   groupCommitConfig);
     localTxQueueTransactionRecoverer = new LocalTxQueueTransactionRecoverer(localTxTransactionJournal, this);
     xaTransactionJournal = new XaTxQueueTransactionJournal(workingDirectory + File.separator + "queue-xa-tx-log",
-                                                           getMuleContext(), queueTransactionFilesSizeInMegabytes);
+                                                           getMuleContext(), queueTransactionFilesSizeInMegabytes,
+                                                           groupCommitConfig);
     xaTransactionRecoverer = new XaTransactionRecoverer(xaTransactionJournal, this);
   }
 
+  private JournalGroupCommitConfig resolveGroupCommitConfig() {
+    int batchSize = getInteger(JOURNAL_GROUP_COMMIT_BATCH_SIZE_PROPERTY_KEY, 0);
+    if (batchSize <= 0) {
+      return null;
+    }
+
+    return new JournalGroupCommitConfig(batchSize, getLong(JOURNAL_GROUP_COMMIT_MAX_DELAY_PROPERTY_KEY, 0L),
+                                        getBoolean(JOURNAL_SYNC_ON_COMMIT_PROPERTY_KEY));
+  }
+
   @Override
   public RecoverableQueueStore getRecoveryQueue(String queueName) {
     if (queuesAccessedForRecovery.containsKey(queueName)) {
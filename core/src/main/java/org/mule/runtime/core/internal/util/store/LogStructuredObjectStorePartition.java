@@ -0,0 +1,733 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Long.getLong;
+import static java.lang.Long.parseLong;
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Comparator.comparingLong;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.config.i18n.CoreMessages.failedToCreate;
+import static org.mule.runtime.core.api.util.FileUtils.cleanDirectory;
+import static org.mule.runtime.core.internal.util.store.PersistentObjectStorePartition.createPartitionDescriptorIfAbsent;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.TemplateObjectStore;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.privileged.store.DeserializationPostInitialisable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+
+/**
+ * A {@link PersistentPartition} which, instead of writing one file per entry as {@link PersistentObjectStorePartition} does, appends every operation to a sequence of
+ * segment files and keeps an in-memory index pointing to the last record of each live key.
+ * <p>
+ * Each record carries a sequence number, the timestamp in which the entry was originally stored, the key and the serialized
+ * value (or no value for removals, which are persisted as tombstones) and is protected by a CRC32 checksum. Storing, retrieving
+ * and removing entries are therefore single appends or positional reads, regardless of the amount of entries in the partition.
+ * <p>
+ * Once the active segment reaches {@link #MAX_SEGMENT_SIZE_PROPERTY} bytes a new one is started. Sealed segments whose live data
+ * falls below half of their size are compacted by copying their live records to the active segment and deleting them. Compaction
+ * is run as part of {@link #expire(long, int)}, which is invoked from the expiration monitor of the object store manager.
+ * <p>
+ * On startup, the segments are replayed in order to rebuild the index. A trailing record which was partially written because of
+ * a crash is detected through its length and checksum and truncated.
+ *
+ * @param <T> the serializable entity to be persisted by the partition
+ *
+ * @since 4.5.0
+ */
+public class LogStructuredObjectStorePartition<T extends Serializable> extends TemplateObjectStore<T>
+    implements PersistentPartition<T> {
+
+  private static final Logger LOGGER = getLogger(LogStructuredObjectStorePartition.class);
+
+  /**
+   * System property to set the max size in bytes of each segment file. Defaults to 64MB.
+   */
+  public static final String MAX_SEGMENT_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectStore.logStructured.maxSegmentSize";
+
+  /**
+   * System property to force every write to be synced to the storage device before returning. Defaults to {@code false}.
+   */
+  public static final String SYNC_WRITES_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectStore.logStructured.syncWrites";
+
+  static final String LOG_STRUCTURED_DESCRIPTOR_FILE = "log-structured-descriptor";
+  static final String SEGMENT_FILE_EXTENSION = ".segment";
+
+  private static final long DEFAULT_MAX_SEGMENT_SIZE = 64 * 1024 * 1024;
+  private static final double COMPACTION_THRESHOLD = 0.5;
+
+  private static final byte PUT = 1;
+  private static final byte TOMBSTONE = 2;
+
+  // type + sequence + timestamp + key length
+  private static final int HEADER_SIZE = 1 + 8 + 8 + 4;
+  // record length field + header + value length field + checksum
+  private static final int RECORD_OVERHEAD = 4 + HEADER_SIZE + 4 + 4;
+
+  private final MuleContext muleContext;
+  private final ObjectSerializer serializer;
+  private final String partitionName;
+  private final File partitionDirectory;
+  private final long maxSegmentSize;
+  private final boolean syncWrites;
+
+  private final List<Segment> segments = new ArrayList<>();
+  private final LinkedHashMap<String, RecordLocation> index = new LinkedHashMap<>();
+  private Segment activeSegment;
+  private long nextSequence = 0;
+  private boolean loaded = false;
+
+  private final ReadWriteLock rwLock = new ReentrantReadWriteLock();
+  private final Lock rLock = rwLock.readLock();
+  private final Lock wLock = rwLock.writeLock();
+
+  public LogStructuredObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory) {
+    this.muleContext = muleContext;
+    this.serializer = muleContext.getObjectSerializer();
+    this.partitionName = partitionName;
+    this.partitionDirectory = partitionDirectory;
+    this.maxSegmentSize = getLong(MAX_SEGMENT_SIZE_PROPERTY, DEFAULT_MAX_SEGMENT_SIZE);
+    this.syncWrites = getBoolean(SYNC_WRITES_PROPERTY);
+  }
+
+  /**
+   * @param partitionDirectory the directory of a partition
+   * @return whether the given directory holds the data of a {@link LogStructuredObjectStorePartition}
+   */
+  public static boolean isLogStructuredPartition(File partitionDirectory) {
+    return new File(partitionDirectory, LOG_STRUCTURED_DESCRIPTOR_FILE).exists();
+  }
+
+  @Override
+  public String getPartitionName() {
+    return partitionName;
+  }
+
+  @Override
+  public File getPartitionDirectory() {
+    return partitionDirectory;
+  }
+
+  @Override
+  public boolean isPersistent() {
+    return true;
+  }
+
+  @Override
+  public synchronized void open() throws ObjectStoreException {
+    wLock.lock();
+    try {
+      if (loaded) {
+        return;
+      }
+
+      if (!partitionDirectory.exists() && !partitionDirectory.mkdirs()) {
+        throw new ObjectStoreException(failedToCreate("object store directory " + partitionDirectory.getAbsolutePath()));
+      }
+      createPartitionDescriptorIfAbsent(partitionDirectory, partitionName);
+
+      File descriptor = new File(partitionDirectory, LOG_STRUCTURED_DESCRIPTOR_FILE);
+      if (!descriptor.exists() && !descriptor.createNewFile()) {
+        throw new IOException("Could not create " + descriptor.getAbsolutePath());
+      }
+
+      recover();
+      loaded = true;
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage(format("Could not restore object store data from %s",
+                                                                partitionDirectory.getAbsolutePath())),
+                                     e);
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  @Override
+  public void close() throws ObjectStoreException {
+    wLock.lock();
+    try {
+      closeSegments();
+      try {
+        cleanDirectory(partitionDirectory);
+        partitionDirectory.delete();
+      } catch (IOException e) {
+        throw new ObjectStoreException(createStaticMessage("Could not close object store partition"), e);
+      }
+      loaded = false;
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  @Override
+  public void clear() throws ObjectStoreException {
+    wLock.lock();
+    try {
+      closeSegments();
+      for (File segmentFile : listSegmentFiles()) {
+        if (!segmentFile.delete()) {
+          throw new ObjectStoreException(createStaticMessage("Deleting " + segmentFile.getAbsolutePath() + " failed"));
+        }
+      }
+      if (loaded) {
+        activeSegment = openSegment(0);
+      }
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage("Could not clear ObjectStore"), e);
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  @Override
+  public List<String> allKeys() throws ObjectStoreException {
+    rLock.lock();
+    try {
+      return unmodifiableList(new ArrayList<>(index.keySet()));
+    } finally {
+      rLock.unlock();
+    }
+  }
+
+  @Override
+  protected boolean doContains(String key) throws ObjectStoreException {
+    rLock.lock();
+    try {
+      return index.containsKey(key);
+    } finally {
+      rLock.unlock();
+    }
+  }
+
+  @Override
+  protected void doStore(String key, T value) throws ObjectStoreException {
+    byte[] serializedValue = serializer.getInternalProtocol().serialize(value);
+
+    wLock.lock();
+    try {
+      if (index.containsKey(key)) {
+        throw new ObjectAlreadyExistsException();
+      }
+      index.put(key, append(PUT, nextSequence++, currentTimeMillis(), key, serializedValue));
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  @Override
+  protected T doRetrieve(String key) throws ObjectStoreException {
+    rLock.lock();
+    try {
+      RecordLocation location = index.get(key);
+      if (location == null) {
+        throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
+      }
+      return load(location);
+    } finally {
+      rLock.unlock();
+    }
+  }
+
+  @Override
+  public Map<String, T> retrieveAll() throws ObjectStoreException {
+    rLock.lock();
+    try {
+      Map<String, T> values = new LinkedHashMap<>(index.size());
+      for (Entry<String, RecordLocation> entry : index.entrySet()) {
+        values.put(entry.getKey(), load(entry.getValue()));
+      }
+      return values;
+    } finally {
+      rLock.unlock();
+    }
+  }
+
+  @Override
+  protected T doRemove(String key) throws ObjectStoreException {
+    wLock.lock();
+    try {
+      RecordLocation location = index.get(key);
+      if (location == null) {
+        throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
+      }
+      T value = load(location);
+      delete(key, location);
+      index.remove(key);
+      return value;
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  @Override
+  public Map<String, T> retrieveAll(Collection<String> keys) throws ObjectStoreException {
+    rLock.lock();
+    try {
+      Map<String, T> values = new LinkedHashMap<>();
+      for (String key : keys) {
+        RecordLocation location = index.get(key);
+        if (location != null) {
+          values.put(key, load(location));
+        }
+      }
+      return values;
+    } finally {
+      rLock.unlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * All the records are appended before syncing the log, so the whole batch costs a single sync when
+   * {@link #SYNC_WRITES_PROPERTY} is set.
+   */
+  @Override
+  public void putAll(Map<String, ? extends T> entries) throws ObjectStoreException {
+    Map<String, byte[]> serializedValues = new LinkedHashMap<>(entries.size());
+    for (Entry<String, ? extends T> entry : entries.entrySet()) {
+      serializedValues.put(entry.getKey(), serializer.getInternalProtocol().serialize(entry.getValue()));
+    }
+
+    wLock.lock();
+    try {
+      for (Entry<String, byte[]> entry : serializedValues.entrySet()) {
+        RecordLocation previous = index.remove(entry.getKey());
+        if (previous != null) {
+          delete(entry.getKey(), previous, false);
+        }
+        index.put(entry.getKey(), append(PUT, nextSequence++, currentTimeMillis(), entry.getKey(), entry.getValue(), false));
+      }
+      syncIfNeeded();
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  @Override
+  public void removeAll(Collection<String> keys) throws ObjectStoreException {
+    wLock.lock();
+    try {
+      for (String key : keys) {
+        RecordLocation location = index.remove(key);
+        if (location != null) {
+          delete(key, location, false);
+        }
+      }
+      syncIfNeeded();
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  private void syncIfNeeded() throws IOException {
+    if (syncWrites) {
+      activeSegment.channel.force(false);
+    }
+  }
+
+  /**
+   * Removes the entries exceeding {@code maxEntries} and the ones older than {@code entryTTL}. Since the index keeps the entries
+   * in the order they were stored, only the expired entries are visited.
+   * <p>
+   * Once the expired entries are removed, segments with too little live data are compacted.
+   */
+  @Override
+  public void expire(long entryTTL, int maxEntries) throws ObjectStoreException {
+    wLock.lock();
+    try {
+      int excess = maxEntries == UNBOUNDED ? 0 : index.size() - maxEntries;
+      final long now = currentTimeMillis();
+
+      Iterator<Entry<String, RecordLocation>> entries = index.entrySet().iterator();
+      while (entries.hasNext()) {
+        Entry<String, RecordLocation> entry = entries.next();
+        if (excess > 0) {
+          excess--;
+        } else if (entryTTL == UNBOUNDED || (now - entry.getValue().timestamp) < entryTTL) {
+          break;
+        }
+        delete(entry.getKey(), entry.getValue());
+        entries.remove();
+      }
+
+      compact();
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  private T load(RecordLocation location) throws ObjectStoreException {
+    ByteBuffer buffer = ByteBuffer.allocate(location.valueLength);
+    try {
+      readFully(location.segment.channel, buffer, location.valueOffset);
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    }
+
+    T value = serializer.getInternalProtocol().deserialize(buffer.array());
+    if (value instanceof DeserializationPostInitialisable) {
+      try {
+        DeserializationPostInitialisable.Implementation.init(value, muleContext);
+      } catch (Exception e) {
+        throw new ObjectStoreException(e);
+      }
+    }
+    return value;
+  }
+
+  private void delete(String key, RecordLocation location) throws IOException {
+    delete(key, location, syncWrites);
+  }
+
+  private void delete(String key, RecordLocation location, boolean sync) throws IOException {
+    append(TOMBSTONE, nextSequence++, currentTimeMillis(), key, null, sync);
+    location.segment.liveBytes -= location.recordLength;
+  }
+
+  private RecordLocation append(byte type, long sequence, long timestamp, String key, byte[] value) throws IOException {
+    return append(type, sequence, timestamp, key, value, syncWrites);
+  }
+
+  private RecordLocation append(byte type, long sequence, long timestamp, String key, byte[] value, boolean sync)
+      throws IOException {
+    byte[] keyBytes = key.getBytes(UTF_8);
+    int valueLength = value == null ? 0 : value.length;
+    int recordLength = RECORD_OVERHEAD + keyBytes.length + valueLength;
+
+    if (activeSegment.size > 0 && activeSegment.size + recordLength > maxSegmentSize) {
+      rollSegment();
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(recordLength);
+    buffer.putInt(recordLength - 4);
+    buffer.put(type);
+    buffer.putLong(sequence);
+    buffer.putLong(timestamp);
+    buffer.putInt(keyBytes.length);
+    buffer.put(keyBytes);
+    buffer.putInt(valueLength);
+    if (value != null) {
+      buffer.put(value);
+    }
+    CRC32 crc = new CRC32();
+    crc.update(buffer.array(), 4, recordLength - 8);
+    buffer.putInt((int) crc.getValue());
+    buffer.flip();
+
+    long recordOffset = activeSegment.size;
+    while (buffer.hasRemaining()) {
+      activeSegment.channel.write(buffer, recordOffset + buffer.position());
+    }
+    if (sync) {
+      activeSegment.channel.force(false);
+    }
+    activeSegment.size += recordLength;
+
+    if (type == TOMBSTONE) {
+      return null;
+    }
+
+    activeSegment.liveBytes += recordLength;
+    return new RecordLocation(activeSegment, recordOffset, recordLength, recordOffset + 4 + HEADER_SIZE + keyBytes.length + 4,
+                              valueLength, sequence, timestamp);
+  }
+
+  private void rollSegment() throws IOException {
+    activeSegment.channel.force(false);
+    activeSegment = openSegment(activeSegment.id + 1);
+  }
+
+  /**
+   * Rewrites the live records of the sealed segments which are mostly garbage into the active segment, and deletes them.
+   * <p>
+   * Tombstones are carried over while there are older segments that may still hold a previous value for their key, so removed
+   * entries are not brought back when the partition is recovered.
+   */
+  private void compact() throws IOException {
+    List<Segment> candidates = new ArrayList<>();
+    for (Segment segment : segments) {
+      if (segment != activeSegment && segment.liveBytes < segment.size * COMPACTION_THRESHOLD) {
+        candidates.add(segment);
+      }
+    }
+
+    for (Segment segment : candidates) {
+      boolean isOldestSegment = segments.get(0) == segment;
+      long position = 0;
+      Record record;
+      while ((record = readRecord(segment.channel, position, segment.size)) != null) {
+        RecordLocation location = index.get(record.key);
+        if (record.type == PUT && location != null && location.segment == segment && location.recordOffset == position) {
+          index.put(record.key, append(PUT, record.sequence, record.timestamp, record.key, record.value));
+        } else if (record.type == TOMBSTONE && location == null && !isOldestSegment) {
+          append(TOMBSTONE, record.sequence, record.timestamp, record.key, null);
+        }
+        position += record.length;
+      }
+
+      if (syncWrites) {
+        activeSegment.channel.force(false);
+      }
+      segment.channel.close();
+      segments.remove(segment);
+      if (!segment.file.delete()) {
+        LOGGER.warn("Could not delete compacted segment file {}", segment.file.getAbsolutePath());
+      }
+    }
+  }
+
+  private void recover() throws IOException {
+    List<File> segmentFiles = listSegmentFiles();
+    segmentFiles.sort(comparingLong(LogStructuredObjectStorePartition::segmentId));
+
+    Map<String, RecordLocation> puts = new HashMap<>();
+    Map<String, Long> tombstones = new HashMap<>();
+
+    for (File segmentFile : segmentFiles) {
+      Segment segment = openSegment(segmentId(segmentFile));
+      long fileSize = segment.channel.size();
+      long position = 0;
+      Record record;
+      while ((record = readRecord(segment.channel, position, fileSize)) != null) {
+        nextSequence = max(nextSequence, record.sequence + 1);
+        if (record.type == PUT) {
+          RecordLocation previous = puts.get(record.key);
+          if (previous == null || previous.sequence < record.sequence) {
+            RecordLocation location = new RecordLocation(segment, position, record.length,
+                                                         position + record.length - 4 - record.value.length,
+                                                         record.value.length, record.sequence, record.timestamp);
+            puts.put(record.key, location);
+            segment.liveBytes += record.length;
+            if (previous != null) {
+              previous.segment.liveBytes -= previous.recordLength;
+            }
+          }
+        } else {
+          tombstones.merge(record.key, record.sequence, Long::max);
+        }
+        position += record.length;
+      }
+
+      if (position < fileSize) {
+        LOGGER.warn(format("Found %d corrupted or incomplete bytes at the end of segment %s of object store partition '%s'. "
+            + "They will be discarded.", fileSize - position, segmentFile.getName(), partitionName));
+        segment.channel.truncate(position);
+      }
+      segment.size = position;
+    }
+
+    // the index must keep the entries in the order they were stored for expiration to work
+    List<Entry<String, RecordLocation>> live = new ArrayList<>(puts.size());
+    for (Entry<String, RecordLocation> entry : puts.entrySet()) {
+      Long removedAt = tombstones.get(entry.getKey());
+      if (removedAt != null && removedAt > entry.getValue().sequence) {
+        entry.getValue().segment.liveBytes -= entry.getValue().recordLength;
+      } else {
+        live.add(entry);
+      }
+    }
+    live.sort(comparingLong(entry -> entry.getValue().sequence));
+    for (Entry<String, RecordLocation> entry : live) {
+      index.put(entry.getKey(), entry.getValue());
+    }
+
+    if (segments.isEmpty()) {
+      activeSegment = openSegment(0);
+    } else {
+      activeSegment = segments.get(segments.size() - 1);
+    }
+  }
+
+  /**
+   * Reads the record at the given position.
+   *
+   * @return the read {@link Record}, or {@code null} if there is no complete and valid record at that position
+   */
+  private Record readRecord(FileChannel channel, long position, long limit) throws IOException {
+    if (position + 4 > limit) {
+      return null;
+    }
+    ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+    readFully(channel, lengthBuffer, position);
+    int bodyLength = lengthBuffer.getInt(0);
+    if (bodyLength < RECORD_OVERHEAD - 4 || position + 4 + bodyLength > limit) {
+      return null;
+    }
+
+    ByteBuffer body = ByteBuffer.allocate(bodyLength);
+    readFully(channel, body, position + 4);
+    CRC32 crc = new CRC32();
+    crc.update(body.array(), 0, bodyLength - 4);
+    if ((int) crc.getValue() != body.getInt(bodyLength - 4)) {
+      return null;
+    }
+
+    body.flip();
+    byte type = body.get();
+    long sequence = body.getLong();
+    long timestamp = body.getLong();
+    int keyLength = body.getInt();
+    if (keyLength < 0 || keyLength > body.remaining() - 8) {
+      return null;
+    }
+    byte[] key = new byte[keyLength];
+    body.get(key);
+    int valueLength = body.getInt();
+    if (valueLength < 0 || valueLength != body.remaining() - 4) {
+      return null;
+    }
+    byte[] value = new byte[valueLength];
+    body.get(value);
+
+    return new Record(type, sequence, timestamp, new String(key, UTF_8), value, bodyLength + 4);
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new IOException("Unexpected end of segment file");
+      }
+    }
+  }
+
+  private Segment openSegment(long id) throws IOException {
+    File file = new File(partitionDirectory, format("%020d%s", id, SEGMENT_FILE_EXTENSION));
+    Segment segment = new Segment(id, file, FileChannel.open(file.toPath(), CREATE, READ, WRITE));
+    segment.size = segment.channel.size();
+    segments.add(segment);
+    return segment;
+  }
+
+  private void closeSegments() {
+    for (Segment segment : segments) {
+      try {
+        segment.channel.close();
+      } catch (IOException e) {
+        LOGGER.warn("Could not close segment file " + segment.file.getAbsolutePath(), e);
+      }
+    }
+    segments.clear();
+    index.clear();
+    activeSegment = null;
+  }
+
+  private List<File> listSegmentFiles() {
+    List<File> segmentFiles = new ArrayList<>();
+    File[] files = partitionDirectory.listFiles(file -> file.isFile() && file.getName().endsWith(SEGMENT_FILE_EXTENSION));
+    if (files != null) {
+      segmentFiles.addAll(asList(files));
+    }
+    return segmentFiles;
+  }
+
+  private static long segmentId(File segmentFile) {
+    String name = segmentFile.getName();
+    return parseLong(name.substring(0, name.length() - SEGMENT_FILE_EXTENSION.length()));
+  }
+
+  private static final class Segment {
+
+    private final long id;
+    private final File file;
+    private final FileChannel channel;
+    private long size;
+    private long liveBytes;
+
+    private Segment(long id, File file, FileChannel channel) {
+      this.id = id;
+      this.file = file;
+      this.channel = channel;
+    }
+  }
+
+  private static final class RecordLocation {
+
+    private final Segment segment;
+    private final long recordOffset;
+    private final int recordLength;
+    private final long valueOffset;
+    private final int valueLength;
+    private final long sequence;
+    private final long timestamp;
+
+    private RecordLocation(Segment segment, long recordOffset, int recordLength, long valueOffset, int valueLength,
+                           long sequence, long timestamp) {
+      this.segment = segment;
+      this.recordOffset = recordOffset;
+      this.recordLength = recordLength;
+      this.valueOffset = valueOffset;
+      this.valueLength = valueLength;
+      this.sequence = sequence;
+      this.timestamp = timestamp;
+    }
+  }
+
+  private static final class Record {
+
+    private final byte type;
+    private final long sequence;
+    private final long timestamp;
+    private final String key;
+    private final byte[] value;
+    private final int length;
+
+    private Record(byte type, long sequence, long timestamp, String key, byte[] value, int length) {
+      this.type = type;
+      this.sequence = sequence;
+      this.timestamp = timestamp;
+      this.key = key;
+      this.value = value;
+      this.length = length;
+    }
+  }
+}
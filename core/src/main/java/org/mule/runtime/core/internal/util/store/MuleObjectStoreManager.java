@@ -8,8 +8,14 @@
 package org.mule.runtime.core.internal.util.store;
 
 import static java.lang.String.format;
+import static java.lang.System.getProperty;
+import static java.util.Arrays.stream;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.stream.Collectors.toSet;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -29,13 +35,16 @@ import org.mule.runtime.api.store.PartitionableObjectStore;
 import org.mule.runtime.core.api.MuleContext;
 
 import java.io.Serializable;
+import java.util.HashSet;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import javax.inject.Inject;
 
 import org.mule.runtime.core.internal.store.AbstractPartitionableObjectStore;
+import org.mule.runtime.core.internal.store.PartitionedPersistentObjectStore;
 import org.slf4j.Logger;
 
 public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable, Disposable {
@@ -43,6 +52,13 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
   private static Logger LOGGER = getLogger(MuleObjectStoreManager.class);
   public static final int UNBOUNDED = 0;
 
+  /**
+   * System property with a comma separated list of the names of the persistent object stores to be backed by a
+   * {@link LogStructuredObjectStorePartition}. {@value #ALL_STORES} may be used to apply it to every persistent object store.
+   */
+  public static final String LOG_STRUCTURED_OBJECT_STORES_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectStore.logStructured.stores";
+  public static final String ALL_STORES = "*";
+
   private SchedulerService schedulerService;
   private Registry registry;
   private MuleContext muleContext;
@@ -58,6 +74,8 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
   private ObjectStore<?> baseTransientPartition;
   private ObjectStore<?> basePersistentPartition;
 
+  private Set<String> logStructuredStores = parseStoreNames(getProperty(LOG_STRUCTURED_OBJECT_STORES_PROPERTY, ""));
+
   @Override
   public void initialise() throws InitialisationException {
     basePersistentStore = lookupBaseStore(basePersistentStoreKey, "Persistent");
@@ -153,6 +171,10 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
 
   private <T extends ObjectStore<?>> T doCreateObjectStore(String name, ObjectStoreSettings settings) {
     final ObjectStore<? extends Serializable> baseStore = getBaseStore(settings);
+    if (baseStore instanceof PartitionedPersistentObjectStore && isLogStructured(name)) {
+      ((PartitionedPersistentObjectStore<?>) baseStore).useLogStructuredPartition(name);
+    }
+
     T store;
     try {
       store = getPartitionFromBaseObjectStore(baseStore, name);
@@ -167,6 +189,14 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
     return store;
   }
 
+  private boolean isLogStructured(String name) {
+    return logStructuredStores.contains(ALL_STORES) || logStructuredStores.contains(name);
+  }
+
+  private static Set<String> parseStoreNames(String storeNames) {
+    return stream(storeNames.split(",")).map(String::trim).filter(storeName -> !storeName.isEmpty()).collect(toSet());
+  }
+
   private <T extends ObjectStore<? extends Serializable>> T getBaseStore(ObjectStoreSettings settings) {
     return settings.isPersistent() ? (T) basePersistentStore : (T) baseTransientStore;
   }
@@ -313,6 +343,15 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
     this.baseTransientStoreKey = baseTransientStoreKey;
   }
 
+  /**
+   * @param logStructuredStores the names of the persistent object stores to be backed by a
+   *                            {@link LogStructuredObjectStorePartition}, or {@value #ALL_STORES} for all of them. May be
+   *                            {@code null}, meaning no store.
+   */
+  public void setLogStructuredStores(Set<String> logStructuredStores) {
+    this.logStructuredStores = logStructuredStores == null ? emptySet() : unmodifiableSet(new HashSet<>(logStructuredStores));
+  }
+
   @Inject
   public void setSchedulerService(SchedulerService schedulerService) {
     this.schedulerService = schedulerService;
@@ -7,19 +7,26 @@
 package org.mule.runtime.core.internal.util.store;
 
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
+import static org.mule.runtime.core.internal.store.BatchObjectStoreUtils.putEach;
+import static org.mule.runtime.core.internal.store.BatchObjectStoreUtils.removeEach;
+import static org.mule.runtime.core.internal.store.BatchObjectStoreUtils.retrieveEach;
 import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.TemplateObjectStore;
 import org.mule.runtime.api.store.PartitionableObjectStore;
+import org.mule.runtime.core.internal.store.BatchObjectStore;
+import org.mule.runtime.core.internal.store.PartitionableBatchObjectStore;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
 
-public class ObjectStorePartition<T extends Serializable> extends TemplateObjectStore<T> implements Disposable {
+public class ObjectStorePartition<T extends Serializable> extends TemplateObjectStore<T>
+    implements BatchObjectStore<T>, Disposable {
 
   private static final Logger LOGGER = getLogger(ObjectStorePartition.class);
 
@@ -86,6 +93,32 @@ public class ObjectStorePartition<T extends Serializable> extends TemplateObject
     return partitionedObjectStore.retrieveAll(partitionName);
   }
 
+  @Override
+  public Map<String, T> retrieveAll(Collection<String> keys) throws ObjectStoreException {
+    if (partitionedObjectStore instanceof PartitionableBatchObjectStore) {
+      return ((PartitionableBatchObjectStore<T>) partitionedObjectStore).retrieveAll(keys, partitionName);
+    }
+    return retrieveEach(this, keys);
+  }
+
+  @Override
+  public void putAll(Map<String, ? extends T> entries) throws ObjectStoreException {
+    if (partitionedObjectStore instanceof PartitionableBatchObjectStore) {
+      ((PartitionableBatchObjectStore<T>) partitionedObjectStore).putAll(entries, partitionName);
+    } else {
+      putEach(this, entries);
+    }
+  }
+
+  @Override
+  public void removeAll(Collection<String> keys) throws ObjectStoreException {
+    if (partitionedObjectStore instanceof PartitionableBatchObjectStore) {
+      ((PartitionableBatchObjectStore<T>) partitionedObjectStore).removeAll(keys, partitionName);
+    } else {
+      removeEach(this, keys);
+    }
+  }
+
   public PartitionableObjectStore<T> getBaseStore() {
     return partitionedObjectStore;
   }
@@ -19,7 +19,6 @@ import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.U
 
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.serialization.ObjectSerializer;
-import org.mule.runtime.api.store.ExpirableObjectStore;
 import org.mule.runtime.api.store.ObjectAlreadyExistsException;
 import org.mule.runtime.api.store.ObjectDoesNotExistException;
 import org.mule.runtime.api.store.ObjectStoreException;
@@ -44,9 +43,11 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -57,7 +58,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class PersistentObjectStorePartition<T extends Serializable> extends TemplateObjectStore<T>
-    implements ExpirableObjectStore<T> {
+    implements PersistentPartition<T> {
 
   private static final String OBJECT_FILE_EXTENSION = ".obj";
   private static final String PARTITION_DESCRIPTOR_FILE = "partition-descriptor";
@@ -92,7 +93,7 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
     this.muleContext = muleContext;
     serializer = muleContext.getObjectSerializer();
     this.partitionDirectory = partitionDirectory;
-    this.partitionName = readPartitionFileName(partitionDirectory);
+    this.partitionName = readPartitionName(partitionDirectory);
   }
 
   protected PersistentObjectStorePartition() {
@@ -100,7 +101,14 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
     serializer = null;
   }
 
-  private String readPartitionFileName(File partitionDirectory) throws ObjectStoreNotAvailableException {
+  /**
+   * Reads the name of a partition from the descriptor file in its directory.
+   *
+   * @param partitionDirectory the directory of the partition
+   * @return the name of the partition
+   * @throws ObjectStoreNotAvailableException if the descriptor file cannot be read
+   */
+  public static String readPartitionName(File partitionDirectory) throws ObjectStoreNotAvailableException {
     File partitionDescriptorFile = new File(partitionDirectory, PARTITION_DESCRIPTOR_FILE);
     try {
       return readFileToString(partitionDescriptorFile);
@@ -223,6 +231,59 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
     }
   }
 
+  @Override
+  public Map<String, T> retrieveAll(Collection<String> keys) throws ObjectStoreException {
+    assureLoaded();
+
+    rLock.lock();
+    try {
+      Map<String, T> values = new LinkedHashMap<>();
+      for (String key : keys) {
+        if (realKeyToUUIDIndex.containsKey(key)) {
+          values.put(key, load(key));
+        }
+      }
+      return values;
+    } finally {
+      rLock.unlock();
+    }
+  }
+
+  @Override
+  public void putAll(Map<String, ? extends T> entries) throws ObjectStoreException {
+    assureLoaded();
+
+    wLock.lock();
+    try {
+      for (Entry<String, ? extends T> entry : entries.entrySet()) {
+        if (realKeyToUUIDIndex.containsKey(entry.getKey())) {
+          deleteStoreFile(getValueFile((String) realKeyToUUIDIndex.get(entry.getKey())));
+        }
+        File newFile = createFileToStoreObject();
+        realKeyToUUIDIndex.put(entry.getKey(), newFile.getName());
+        serialize(newFile, new StoreValue<>(entry.getKey(), entry.getValue()));
+      }
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  @Override
+  public void removeAll(Collection<String> keys) throws ObjectStoreException {
+    assureLoaded();
+
+    wLock.lock();
+    try {
+      for (String key : keys) {
+        if (realKeyToUUIDIndex.containsKey(key)) {
+          deleteStoreFile(getValueFile((String) realKeyToUUIDIndex.get(key)));
+        }
+      }
+    } finally {
+      wLock.unlock();
+    }
+  }
+
   private T load(String key) throws ObjectStoreException {
     String filename = (String) realKeyToUUIDIndex.get(key);
     File file = getValueFile(filename);
@@ -391,19 +452,37 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
     try {
       File partitionDescriptorFile = new File(partitionDirectory, PARTITION_DESCRIPTOR_FILE);
       if (partitionDescriptorFile.exists()) {
-        this.partitionName = readPartitionFileName(partitionDirectory);
+        this.partitionName = readPartitionName(partitionDirectory);
         return partitionDescriptorFile;
       }
-      try (FileWriter fileWriter = new FileWriter(partitionDescriptorFile.getAbsolutePath(), false)) {
-        fileWriter.write(partitionName);
-        fileWriter.flush();
-      }
+      writePartitionDescriptor(partitionDescriptorFile, partitionName);
       return partitionDescriptorFile;
     } catch (Exception e) {
       throw new ObjectStoreException(e);
     }
   }
 
+  /**
+   * Creates the descriptor file of a partition in its directory, unless it already exists.
+   *
+   * @param partitionDirectory the directory of the partition
+   * @param partitionName      the name of the partition
+   * @throws IOException if the descriptor file cannot be written
+   */
+  static void createPartitionDescriptorIfAbsent(File partitionDirectory, String partitionName) throws IOException {
+    File partitionDescriptorFile = new File(partitionDirectory, PARTITION_DESCRIPTOR_FILE);
+    if (!partitionDescriptorFile.exists()) {
+      writePartitionDescriptor(partitionDescriptorFile, partitionName);
+    }
+  }
+
+  private static void writePartitionDescriptor(File partitionDescriptorFile, String partitionName) throws IOException {
+    try (FileWriter fileWriter = new FileWriter(partitionDescriptorFile.getAbsolutePath(), false)) {
+      fileWriter.write(partitionName);
+      fileWriter.flush();
+    }
+  }
+
   protected void serialize(File outputFile, StoreValue<T> storeValue) throws ObjectStoreException {
     try (
         FileOutputStream fileOutputStream = new FileOutputStream(outputFile);
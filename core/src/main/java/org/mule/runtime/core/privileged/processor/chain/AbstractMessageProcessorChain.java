@@ -14,11 +14,13 @@ import static org.mule.runtime.api.notification.MessageProcessorNotification.MES
 import static org.mule.runtime.api.notification.MessageProcessorNotification.createFrom;
 import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.OPERATION_EXECUTED;
 import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.STARTING_OPERATION_EXECUTION;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.isStopped;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.setMuleContextIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
 import static org.mule.runtime.core.api.rx.Exceptions.unwrap;
 import static org.mule.runtime.core.api.util.StreamingUtils.updateEventForStreaming;
 import static org.mule.runtime.core.api.util.StringUtils.isBlank;
@@ -33,6 +35,7 @@ import static org.mule.runtime.core.privileged.processor.chain.ChainErrorHandlin
 import static org.mule.runtime.core.privileged.processor.chain.ChainErrorHandlingUtils.resolveException;
 import static org.mule.runtime.core.privileged.processor.chain.ChainErrorHandlingUtils.resolveMessagingException;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.String.format;
 import static java.lang.System.currentTimeMillis;
 import static java.lang.Thread.currentThread;
@@ -88,6 +91,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -100,6 +104,7 @@ import org.slf4j.MDC;
 
 import reactor.core.CoreSubscriber;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.SynchronousSink;
 import reactor.util.context.Context;
 
 /**
@@ -114,6 +119,13 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
   private static final String UNEXPECTED_ERROR_HANDLER_STATE_MESSAGE =
       "Unexpected state. Error handler should be invoked with either an Event instance or a MessagingException";
 
+  /**
+   * When set, runs of consecutive {@code CPU_LITE} processors which are implemented only through
+   * {@link Processor#process(CoreEvent)} are invoked one after the other from a single stage of the chain, instead of having a
+   * set of reactive operators for each one of them.
+   */
+  static final String FUSE_CPU_LITE_PROCESSORS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "processorChain.fuseCpuLiteProcessors";
+
   private static Class<ClassLoader> appClClass;
 
   private static final Logger LOGGER = getLogger(AbstractMessageProcessorChain.class);
@@ -140,6 +152,7 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
   private final FlowExceptionHandler messagingExceptionHandler;
   private final ProcessingStrategy processingStrategy;
   private final List<ReactiveInterceptorAdapter> additionalInterceptors = new LinkedList<>();
+  private final boolean fuseCpuLiteProcessors;
 
   private boolean canProcessMessage = true;
 
@@ -171,6 +184,7 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     this.processingStrategy = processingStrategyOptional.orElse(null);
     this.processors = processors;
     this.messagingExceptionHandler = messagingExceptionHandler;
+    this.fuseCpuLiteProcessors = getBoolean(FUSE_CPU_LITE_PROCESSORS_PROPERTY);
   }
 
   @Override
@@ -240,10 +254,12 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
                                        List<ReactiveInterceptor> interceptors,
                                        BiConsumer<BaseEventContext, ? super Exception> errorBubbler) {
     Flux<CoreEvent> stream = from(publisher);
-    for (Processor processor : getProcessorsToExecute()) {
+    for (Processor processor : resolveStages(errorBubbler)) {
       // Perform assembly for processor chain by transforming the existing publisher with a publisher function for each processor
       // along with the interceptors that decorate it.
-      stream = stream.transform(applyInterceptors(interceptors, processor))
+      stream = stream.transform(processor instanceof FusedProcessorsStage
+          ? ((FusedProcessorsStage) processor).toReactiveStage()
+          : applyInterceptors(interceptors, processor))
           // #1 Register local error hook to wrap exceptions in a MessagingException maintaining failed event.
           .subscriberContext(context -> context.put(REACTOR_ON_OPERATOR_ERROR_LOCAL,
                                                     getLocalOperatorErrorHook(processor, errorTypeLocator,
@@ -268,6 +284,54 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     return stream;
   }
 
+  /**
+   * @return the processors to assemble in the chain, with runs of fusable processors grouped in a {@link FusedProcessorsStage}.
+   */
+  private List<Processor> resolveStages(BiConsumer<BaseEventContext, ? super Exception> errorBubbler) {
+    final List<Processor> processorsToExecute = getProcessorsToExecute();
+    // Interceptors from the API must see every processor
+    if (!fuseCpuLiteProcessors || !additionalInterceptors.isEmpty() || processorsToExecute.size() < 2) {
+      return processorsToExecute;
+    }
+
+    final List<Processor> stages = new ArrayList<>(processorsToExecute.size());
+    final List<Processor> run = new ArrayList<>();
+    for (Processor processor : processorsToExecute) {
+      if (isFusable(processor)) {
+        run.add(processor);
+      } else {
+        addRun(stages, run, errorBubbler);
+        stages.add(processor);
+      }
+    }
+    addRun(stages, run, errorBubbler);
+
+    return stages;
+  }
+
+  private void addRun(List<Processor> stages, List<Processor> run,
+                      BiConsumer<BaseEventContext, ? super Exception> errorBubbler) {
+    if (run.size() == 1) {
+      stages.add(run.get(0));
+    } else if (run.size() > 1) {
+      stages.add(new FusedProcessorsStage(new ArrayList<>(run), errorBubbler));
+    }
+    run.clear();
+  }
+
+  private static boolean isFusable(Processor processor) {
+    if (processor.getProcessingType() != CPU_LITE || processor instanceof MessageProcessorChain) {
+      return false;
+    }
+
+    try {
+      // Processors with their own reactive implementation (routers, scopes, non-blocking operations) keep their own stage
+      return processor.getClass().getMethod("apply", Publisher.class).isDefault();
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
   /*
    * Used to process failed events which are dropped from the reactor stream due to error. Errors are processed by invoking the
    * current EventContext error callback.
@@ -531,6 +595,92 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     }
   }
 
+  /**
+   * A stage of the chain which invokes a run of non-blocking {@code CPU_LITE} processors one after the other. For
+   * each of them it does the same as the interceptors from {@link #resolveInterceptors()} and the error hooks from
+   * {@link #doApply(Publisher, List, BiConsumer)}, but without a set of reactive operators per processor.
+   */
+  private final class FusedProcessorsStage implements Processor {
+
+    private final List<Processor> processors;
+    private final List<String> processorPaths;
+    private final List<BiFunction<Throwable, Object, Throwable>> errorHooks;
+    private final List<BiConsumer<Throwable, Object>> errorHandlers;
+
+    private FusedProcessorsStage(List<Processor> processors, BiConsumer<BaseEventContext, ? super Exception> errorBubbler) {
+      this.processors = processors;
+      this.processorPaths = new ArrayList<>(processors.size());
+      this.errorHooks = new ArrayList<>(processors.size());
+      this.errorHandlers = new ArrayList<>(processors.size());
+
+      for (Processor processor : processors) {
+        processorPaths.add(getProcessorPath(processor));
+        errorHooks.add(getLocalOperatorErrorHook(processor, errorTypeLocator, exceptionContextProviders));
+        errorHandlers.add(getContinueStrategyErrorHandler(processor, errorBubbler));
+      }
+    }
+
+    @Override
+    public CoreEvent process(CoreEvent event) throws MuleException {
+      return processToApply(event, this);
+    }
+
+    @Override
+    public Publisher<CoreEvent> apply(Publisher<CoreEvent> publisher) {
+      return from(publisher).handle(this::processAll);
+    }
+
+    private void processAll(CoreEvent event, SynchronousSink<CoreEvent> sink) {
+      CoreEvent current = event;
+      for (int i = 0; i < processors.size(); ++i) {
+        final Processor processor = processors.get(i);
+        final String processorPath = processorPaths.get(i);
+        try {
+          beforeComponentProcessingStrategy(processor, processorPath, current);
+          beforeProcessorInSameThread(current, processor);
+          final CoreEvent result = processor.process(current);
+          if (result == null) {
+            // Same as the default Processor#apply, the event is dropped
+            ((BaseEventContext) current.getContext()).success();
+            return;
+          }
+          afterProcessorInSameThread(result, processor);
+          current = afterComponentProcessingStrategy(processor, processorPath, result);
+        } catch (Throwable t) {
+          // Same as the onErrorMap of the reactive chain, any error is handled, not only exceptions
+          errorHandlers.get(i).accept(errorHooks.get(i).apply(t, current), current);
+          return;
+        } finally {
+          // afterComponentProcessingStrategy is not reached if the processor fails or drops the event
+          if (processorPath != null) {
+            MDC.remove("processorPath");
+          }
+        }
+      }
+      sink.next(current);
+    }
+
+    /**
+     * @return this stage decorated with the thread context and processing strategy, as done for any other processor.
+     */
+    private ReactiveProcessor toReactiveStage() {
+      ReactiveProcessor stage = stream -> from(stream)
+          .transform(doOnNextOrErrorWithContext(TCCL_REACTOR_CTX_CONSUMER)
+              .andThen(this)
+              .andThen(doOnNextOrErrorWithContext(TCCL_ORIGINAL_REACTOR_CTX_CONSUMER)));
+
+      if (processingStrategy != null) {
+        stage = processingStrategy.onProcessor(new InterceptedReactiveProcessor(this, stage));
+      }
+      return stage;
+    }
+
+    @Override
+    public String toString() {
+      return getClass().getSimpleName() + processors;
+    }
+  }
+
   protected List<Processor> getProcessorsToExecute() {
     return processors;
   }
@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Stack;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -125,18 +126,42 @@ public final class TemplateParser {
   private String parseMule(Map<?, ?> props, String template, TemplateCallback callback, boolean insideExpression) {
     validateBalanceMuleStyle(template);
 
+    StringBuilder result = new StringBuilder();
+    scanMule(template, insideExpression, result, enclosingTemplate -> {
+      Object value = enclosingTemplate;
+      if (callback != null) {
+        value = callback.match(enclosingTemplate);
+        if (value == null) {
+          value = NULL_AS_STRING;
+        } else {
+          value = parseMule(props, escapeValue(enclosingTemplate, value.toString()), callback, value.equals(enclosingTemplate));
+        }
+      }
+      result.append(value);
+    });
+
+    return result.toString();
+  }
+
+  /**
+   * Scans a mule style template, appending its literal parts (with the escape characters already processed) to {@code literal}
+   * and handing each top level expression found to {@code expressionHandler}, in order.
+   * <p>
+   * This is shared by {@link #parseMule(Map, String, TemplateCallback, boolean)} and {@link #compile(String)}, so a compiled
+   * template is split exactly as it would be parsed.
+   */
+  private void scanMule(String template, boolean insideExpression, StringBuilder literal, Consumer<String> expressionHandler) {
     boolean lastIsBackSlash = false;
     boolean lastStartedExpression = false;
     boolean inExpression = insideExpression;
     boolean openSingleQuotes = false;
 
-    StringBuilder result = new StringBuilder();
     int currentPosition = 0;
     while (currentPosition < template.length()) {
       char c = template.charAt(currentPosition);
 
       if (lastStartedExpression && c != OPEN_EXPRESSION) {
-        result.append(START_EXPRESSION);
+        literal.append(START_EXPRESSION);
       }
       if (lastStartedExpression && c == OPEN_EXPRESSION) {
         inExpression = true;
@@ -147,7 +172,7 @@ public final class TemplateParser {
 
       if (lastIsBackSlash) {
         if ((inExpression ? c != '\'' && c != '"' : true) && c != START_EXPRESSION) {
-          result.append("\\");
+          literal.append("\\");
         }
       } else {
         if (c == '\'') {
@@ -157,30 +182,65 @@ public final class TemplateParser {
 
       if (c == OPEN_EXPRESSION && lastStartedExpression && (!insideExpression || !openSingleQuotes)) {
         int closing = closingBracesPosition(template, currentPosition);
-        String enclosingTemplate = template.substring(currentPosition + 1, closing);
-
-        Object value = enclosingTemplate;
-        if (callback != null) {
-          value = callback.match(enclosingTemplate);
-          if (value == null) {
-            value = NULL_AS_STRING;
-          } else {
-            value = parseMule(props, escapeValue(enclosingTemplate, value.toString()), callback, value.equals(enclosingTemplate));
-          }
-        }
-        result.append(value);
+        expressionHandler.accept(template.substring(currentPosition + 1, closing));
 
         currentPosition = closing;
       } else if ((c != START_EXPRESSION || lastIsBackSlash) && c != '\\') {
-        result.append(c);
+        literal.append(c);
       }
 
       lastStartedExpression = !lastIsBackSlash && c == START_EXPRESSION;
       lastIsBackSlash = c == '\\';
       currentPosition++;
     }
+  }
 
-    return result.toString();
+  /**
+   * Pre-processes a template so that it can be resolved many times without scanning it again.
+   * <p>
+   * The result of {@link CompiledTemplate#render(TemplateCallback)} is the same as that of
+   * {@link #parse(TemplateCallback, String)} for the same template and callback.
+   *
+   * @param template the string containing the template place holders
+   * @return the compiled template
+   * @throws IllegalArgumentException if the template is not valid
+   * @throws IllegalStateException    if this parser is not of {@link #WIGGLY_MULE_TEMPLATE_STYLE}
+   * @since 4.5.0
+   */
+  public CompiledTemplate compile(String template) {
+    if (!styleIs(WIGGLY_MULE_TEMPLATE_STYLE)) {
+      throw new IllegalStateException("Only templates of style '" + WIGGLY_MULE_TEMPLATE_STYLE + "' can be compiled");
+    }
+    validateBalanceMuleStyle(template);
+
+    List<String> literals = new ArrayList<>();
+    List<String> expressions = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+    scanMule(template, false, literal, expression -> {
+      literals.add(literal.toString());
+      literal.setLength(0);
+      expressions.add(expression);
+    });
+    literals.add(literal.toString());
+
+    return new CompiledTemplate(literals.toArray(new String[literals.size()]),
+                                expressions.toArray(new String[expressions.size()]));
+  }
+
+  private void appendResolvedExpression(StringBuilder result, String expression, TemplateCallback callback) {
+    Object value = callback.match(expression);
+    if (value == null) {
+      result.append(NULL_AS_STRING);
+      return;
+    }
+
+    String valueString = value.toString();
+    if (valueString.indexOf(START_EXPRESSION) == -1 && valueString.indexOf('\\') == -1) {
+      // nothing to escape nor resolve in the value
+      result.append(valueString);
+    } else {
+      result.append(parseMule(null, escapeValue(expression, valueString), callback, value.equals(expression)));
+    }
   }
 
   private int closingBracesPosition(String template, int startingPosition) {
@@ -430,6 +490,68 @@ public final class TemplateParser {
     style.validate(expression);
   }
 
+  /**
+   * A template pre-processed through {@link TemplateParser#compile(String)}: a sequence of literal segments and the expressions
+   * between them.
+   *
+   * @since 4.5.0
+   */
+  public final class CompiledTemplate {
+
+    private final String[] literals;
+    private final String[] expressions;
+    private final int literalsLength;
+
+    private CompiledTemplate(String[] literals, String[] expressions) {
+      this.literals = literals;
+      this.expressions = expressions;
+
+      int length = 0;
+      for (String literal : literals) {
+        length += literal.length();
+      }
+      this.literalsLength = length;
+    }
+
+    /**
+     * Resolves the expressions of the template through the given {@code callback}.
+     *
+     * @param callback a callback used to resolve the expressions
+     * @return the resolved template
+     */
+    public String render(TemplateCallback callback) {
+      if (expressions.length == 0) {
+        return literals[0];
+      }
+
+      StringBuilder result = new StringBuilder(literalsLength + 16 * expressions.length);
+      render(callback, result);
+      return result.toString();
+    }
+
+    /**
+     * Resolves the expressions of the template through the given {@code callback}, appending the result to the given
+     * {@code builder}.
+     *
+     * @param callback a callback used to resolve the expressions
+     * @param builder  where to append the resolved template
+     */
+    public void render(TemplateCallback callback, StringBuilder builder) {
+      for (int i = 0; i < expressions.length; ++i) {
+        builder.append(literals[i]);
+        appendResolvedExpression(builder, expressions[i], callback);
+      }
+      builder.append(literals[expressions.length]);
+    }
+
+    /**
+     * @return whether the template has any expression to resolve
+     */
+    public boolean hasExpressions() {
+      return expressions.length > 0;
+    }
+  }
+
   @FunctionalInterface
   public interface TemplateCallback {
 
@@ -6,12 +6,14 @@
  */
 package org.mule.runtime.module.artifact.api.classloader;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.Integer.toHexString;
 import static java.lang.String.format;
 import static java.lang.System.identityHashCode;
 import static java.lang.reflect.Modifier.isAbstract;
 import static org.apache.commons.io.FilenameUtils.normalize;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.core.api.util.IOUtils.closeQuietly;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -22,6 +24,8 @@ import org.mule.module.artifact.classloader.ScalaClassValueReleaser;
 import org.mule.runtime.core.api.util.IOUtils;
 import org.mule.runtime.module.artifact.api.descriptor.ArtifactDescriptor;
 import org.mule.runtime.module.artifact.api.descriptor.BundleDescriptor;
+import org.mule.runtime.module.artifact.internal.classloader.LocalPackageIndex;
+import org.mule.runtime.module.artifact.internal.util.FileJarExplorer;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -51,6 +55,14 @@ public class MuleArtifactClassLoader extends FineGrainedControlClassLoader imple
 
   private static final Logger LOGGER = getLogger(MuleArtifactClassLoader.class);
 
+  /**
+   * Enables the indexes that speed up class lookups: the index of the packages in the jars of each artifact class loader and
+   * the cache of the classes not found on each {@link RegionClassLoader}.
+   *
+   * @since 4.5.0
+   */
+  public static final String CLASSLOADING_LOOKUP_INDEX_PROPERTY = SYSTEM_PROPERTY_PREFIX + "classloading.lookupIndex";
+
   private static final String DEFAULT_RESOURCE_RELEASER_CLASS_LOCATION =
       "/org/mule/module/artifact/classloader/JdbcResourceReleaser.class";
 
@@ -96,6 +108,10 @@ public class MuleArtifactClassLoader extends FineGrainedControlClassLoader imple
   private final String artifactId;
   private final Object localResourceLocatorLock = new Object();
   private volatile LocalResourceLocator localResourceLocator;
+  private final boolean lookupIndexEnabled = getBoolean(CLASSLOADING_LOOKUP_INDEX_PROPERTY);
+  private final Object localPackageIndexLock = new Object();
+  private volatile boolean localPackageIndexBuilt = false;
+  private LocalPackageIndex localPackageIndex;
   private String resourceReleaserClassLocation = DEFAULT_RESOURCE_RELEASER_CLASS_LOCATION;
   private final ResourceReleaser classLoaderReferenceReleaser;
   private volatile boolean shouldReleaseJdbcReferences = false;
@@ -136,6 +152,51 @@ public class MuleArtifactClassLoader extends FineGrainedControlClassLoader imple
     return (T) artifactDescriptor;
   }
 
+  @Override
+  public Class<?> findLocalClass(String name) throws ClassNotFoundException {
+    if (lookupIndexEnabled) {
+      final LocalPackageIndex packageIndex = getLocalPackageIndex();
+      if (packageIndex != null && findLoadedClass(name) == null && !packageIndex.mayContain(name)) {
+        throw new ClassNotFoundException(name);
+      }
+    }
+
+    return super.findLocalClass(name);
+  }
+
+  /**
+   * @return the number of class lookups that were answered by the index of the packages in the jars of this class loader
+   *         without searching the jars. Always zero unless {@link #CLASSLOADING_LOOKUP_INDEX_PROPERTY} is set.
+   * @since 4.5.0
+   */
+  public long getPackageIndexSkippedLookups() {
+    return localPackageIndexBuilt && localPackageIndex != null ? localPackageIndex.getSkippedLookups() : 0;
+  }
+
+  /**
+   * @return whether the lookup indexes are enabled for this class loader, see {@link #CLASSLOADING_LOOKUP_INDEX_PROPERTY}.
+   */
+  protected boolean isLookupIndexEnabled() {
+    return lookupIndexEnabled;
+  }
+
+  private LocalPackageIndex getLocalPackageIndex() {
+    if (!localPackageIndexBuilt) {
+      synchronized (localPackageIndexLock) {
+        if (!localPackageIndexBuilt) {
+          try {
+            localPackageIndex = LocalPackageIndex.build(getURLs(), new FileJarExplorer()).orElse(null);
+          } catch (RuntimeException e) {
+            LOGGER.warn("Could not index the packages of the class loader for artifact '{}', lookups will not use the index: {}",
+                        artifactId, e.toString());
+          }
+          localPackageIndexBuilt = true;
+        }
+      }
+    }
+    return localPackageIndex;
+  }
+
   @Override
   public URL findResource(String name) {
     if (name.startsWith(RESOURCE_PREFIX)) {
@@ -288,6 +349,11 @@ public class MuleArtifactClassLoader extends FineGrainedControlClassLoader imple
 
   @Override
   public void dispose() {
+    if (localPackageIndexBuilt && localPackageIndex != null && LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Package index of the class loader for artifact '{}' had {} packages and skipped {} class lookups",
+                   artifactId, localPackageIndex.getPackagesCount(), localPackageIndex.getSkippedLookups());
+    }
+
     descriptorMapping.forEach((descriptor, classloader) -> {
       try {
         classloader.close();
@@ -7,6 +7,7 @@
 
 package org.mule.runtime.module.artifact.api.classloader;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.Integer.toHexString;
 import static java.lang.String.format;
 import static java.lang.System.identityHashCode;
@@ -15,6 +16,7 @@ import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.toList;
 import static org.apache.commons.io.FilenameUtils.normalize;
 import static org.apache.commons.lang3.ClassUtils.getPackageName;
+import static org.mule.runtime.api.exception.MuleException.MULE_VERBOSE_EXCEPTIONS;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.module.artifact.api.descriptor.ArtifactConstants.API_CLASSIFIERS;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -28,6 +30,7 @@ import org.mule.runtime.module.artifact.api.descriptor.ArtifactDescriptor;
 import org.mule.runtime.module.artifact.api.descriptor.BundleDependency;
 import org.mule.runtime.module.artifact.api.descriptor.BundleDescriptor;
 import org.mule.runtime.module.artifact.api.descriptor.ClassLoaderModel;
+import org.mule.runtime.module.artifact.internal.classloader.NegativeLookupCache;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
@@ -69,6 +72,7 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
   }
 
   private static final String CLASS_EXTENSION = ".class";
+  private static final int NEGATIVE_LOOKUP_CACHE_MAX_SIZE = 10000;
   private static final Logger LOGGER = getLogger(RegionClassLoader.class);
 
   private final ReadWriteLock innerStateRWLock = new ReentrantReadWriteLock();
@@ -80,6 +84,8 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
   private final Map<String, List<ArtifactClassLoader>> resourceMapping = new HashMap<>();
   private final Object descriptorMappingLock = new Object();
   private final Map<BundleDescriptor, URLClassLoader> descriptorMapping = new HashMap<>();
+  private final NegativeLookupCache negativeLookupCache =
+      isLookupIndexEnabled() ? new NegativeLookupCache(NEGATIVE_LOOKUP_CACHE_MAX_SIZE) : null;
 
   private ArtifactClassLoader ownerClassLoader;
 
@@ -142,6 +148,8 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
 
     innerStateWriteLock.lock();
     try {
+      invalidateNegativeLookupCache();
+
       RegionMemberClassLoader registeredClassLoader = findRegisteredClassLoader(artifactClassLoader);
       if (artifactClassLoader == ownerClassLoader || registeredClassLoader != null) {
         throw new IllegalArgumentException(createClassLoaderAlreadyInRegionError(artifactClassLoader.getArtifactId()));
@@ -254,6 +262,7 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
       }
 
       registeredClassLoaders.remove(index);
+      invalidateNegativeLookupCache();
 
       return true;
     } finally {
@@ -261,6 +270,70 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
     }
   }
 
+  @Override
+  protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+    if (negativeLookupCache == null) {
+      return super.loadClass(name, resolve);
+    }
+
+    if (negativeLookupCache.isMissing(name)) {
+      throw new PreviouslyNotFoundClassException(name, getArtifactId());
+    }
+
+    final long lookupGeneration = negativeLookupCache.getGeneration();
+    try {
+      return super.loadClass(name, resolve);
+    } catch (ClassNotFoundException e) {
+      if (!isExportedPackage(getPackageName(name))) {
+        negativeLookupCache.addMissing(name, lookupGeneration);
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Classes may be defined in a region member after a lookup for them failed, as bytecode generators do when they probe for a
+   * class before injecting it in the class loader of the class it is generated for. The region only finds classes of its members
+   * through the packages they export, so misses for any package exported in this region or in an enclosing one are not cached.
+   */
+  private boolean isExportedPackage(String packageName) {
+    innerStateReadLock.lock();
+    try {
+      if (packageMapping.containsKey(packageName)) {
+        return true;
+      }
+    } finally {
+      innerStateReadLock.unlock();
+    }
+
+    final RegionClassLoader parentRegion = getNearestRegion(getParent());
+    return parentRegion != null && parentRegion.isExportedPackage(packageName);
+  }
+
+  private void invalidateNegativeLookupCache() {
+    if (negativeLookupCache != null) {
+      negativeLookupCache.invalidate();
+    }
+  }
+
+  /**
+   * @return the number of class lookups answered by the cache of classes not found in this region. Always zero unless
+   *         {@link #CLASSLOADING_LOOKUP_INDEX_PROPERTY} is set.
+   * @since 4.5.0
+   */
+  public long getNegativeLookupHits() {
+    return negativeLookupCache != null ? negativeLookupCache.getHits() : 0;
+  }
+
+  /**
+   * @return the number of classes currently known to be missing from this region. Always zero unless
+   *         {@link #CLASSLOADING_LOOKUP_INDEX_PROPERTY} is set.
+   * @since 4.5.0
+   */
+  public int getNegativeLookupCacheSize() {
+    return negativeLookupCache != null ? negativeLookupCache.size() : 0;
+  }
+
   @Override
   public Class<?> findLocalClass(String name) throws ClassNotFoundException {
     innerStateReadLock.lock();
@@ -415,6 +488,11 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
 
   @Override
   public void dispose() {
+    if (negativeLookupCache != null && LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Negative lookup cache of region '{}' had {} classes and answered {} class lookups",
+                   getArtifactId(), negativeLookupCache.size(), negativeLookupCache.getHits());
+    }
+
     registeredClassLoaders.stream().map(c -> c.unfilteredClassLoader).forEach(this::disposeClassLoader);
     registeredClassLoaders.clear();
     descriptorMapping.forEach((descriptor, classloader) -> {
@@ -467,6 +545,28 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
     return "Region already contains classloader for artifact:" + artifactId;
   }
 
+  /**
+   * Thrown when looking up a class that is known to be missing from the region, so the stack trace is not filled in unless
+   * verbose exceptions are enabled, as with {@link ClassNotFoundInRegionException}.
+   */
+  private static final class PreviouslyNotFoundClassException extends ClassNotFoundException {
+
+    private static final long serialVersionUID = 6416431541350390384L;
+
+    private PreviouslyNotFoundClassException(String className, String regionName) {
+      super(format("Class '%s' was already not found in region '%s'.", className, regionName));
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+      if (getBoolean(MULE_VERBOSE_EXCEPTIONS)) {
+        return super.fillInStackTrace();
+      } else {
+        return this;
+      }
+    }
+  }
+
   private static class RegionMemberClassLoader {
 
     final ArtifactClassLoader unfilteredClassLoader;
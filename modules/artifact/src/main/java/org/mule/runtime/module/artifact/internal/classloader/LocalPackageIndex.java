@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.artifact.internal.classloader;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+import static org.apache.commons.lang3.ClassUtils.getPackageName;
+
+import org.mule.runtime.module.artifact.internal.util.JarExplorer;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Index of the packages that contain classes in the jars of a class loader, built once when the class loader is first used, so
+ * that looking up a class from a package the class loader doesn't have is answered without searching every jar.
+ * <p>
+ * Only class loaders whose URLs are all jar files can be indexed, as the contents of any other kind of location (like the
+ * exploded classes folder of an artifact being developed) may change after the index is built.
+ *
+ * @since 4.5.0
+ */
+public final class LocalPackageIndex {
+
+  private static final String FILE_PROTOCOL = "file";
+  private static final String JAR_EXTENSION = ".jar";
+  private static final String MULTI_RELEASE_PACKAGE_PREFIX = "META-INF.versions.";
+
+  private final Set<String> packages;
+  private final LongAdder skippedLookups = new LongAdder();
+
+  private LocalPackageIndex(Set<String> packages) {
+    this.packages = packages;
+  }
+
+  /**
+   * Builds the index for the given class loader URLs.
+   *
+   * @param urls        the URLs of the class loader. Non null.
+   * @param jarExplorer explorer used to find the packages in each jar. Non null.
+   * @return the index, or {@link Optional#empty()} if some of the URLs is not a jar file
+   */
+  public static Optional<LocalPackageIndex> build(URL[] urls, JarExplorer jarExplorer) {
+    final Set<String> packages = new HashSet<>();
+    for (URL url : urls) {
+      if (!FILE_PROTOCOL.equals(url.getProtocol()) || !url.getPath().toLowerCase().endsWith(JAR_EXTENSION)) {
+        return empty();
+      }
+
+      final File jarFile;
+      try {
+        jarFile = new File(url.toURI());
+      } catch (URISyntaxException | IllegalArgumentException e) {
+        return empty();
+      }
+      if (jarFile.isDirectory()) {
+        return empty();
+      } else if (!jarFile.exists()) {
+        // The class loader ignores missing jars as well
+        continue;
+      }
+
+      for (String packageName : jarExplorer.explore(jarFile.toURI()).getPackages()) {
+        packages.add(packageName);
+        if (packageName.startsWith(MULTI_RELEASE_PACKAGE_PREFIX)) {
+          // Classes for a specific java version, i.e.: META-INF/versions/11/org/foo/Bar.class
+          final int versionEnd = packageName.indexOf('.', MULTI_RELEASE_PACKAGE_PREFIX.length());
+          if (versionEnd > 0) {
+            packages.add(packageName.substring(versionEnd + 1));
+          }
+        }
+      }
+    }
+
+    return of(new LocalPackageIndex(packages));
+  }
+
+  /**
+   * @param className the fully qualified name of a class
+   * @return {@code false} if the indexed jars have no class in the package of the given class, {@code true} otherwise. Classes
+   *         in the default package are never skipped, as they are not indexed.
+   */
+  public boolean mayContain(String className) {
+    final String packageName = getPackageName(className);
+    if (packageName.isEmpty() || packages.contains(packageName)) {
+      return true;
+    }
+
+    skippedLookups.increment();
+    return false;
+  }
+
+  /**
+   * @return the number of indexed packages
+   */
+  public int getPackagesCount() {
+    return packages.size();
+  }
+
+  /**
+   * @return the number of class lookups that were answered by this index without searching the jars
+   */
+  public long getSkippedLookups() {
+    return skippedLookups.sum();
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.artifact.internal.classloader;
+
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the names of the classes that a class loader could not find, so that repeated lookups of missing classes (as done
+ * by libraries probing for optional dependencies) are answered without going through every class loader again.
+ * <p>
+ * The cache must be {@link #invalidate() invalidated} whenever the set of classes visible through the class loader changes. A
+ * miss is only recorded if no invalidation happened since the lookup started, see {@link #getGeneration()}. The cache is
+ * cleared when it reaches its maximum size.
+ *
+ * @since 4.5.0
+ */
+public final class NegativeLookupCache {
+
+  private final int maxSize;
+  private final Set<String> missingClasses = ConcurrentHashMap.newKeySet();
+  private final AtomicLong generation = new AtomicLong();
+  private final LongAdder hits = new LongAdder();
+
+  /**
+   * Creates a new cache.
+   *
+   * @param maxSize the maximum number of class names to keep. Must be positive.
+   */
+  public NegativeLookupCache(int maxSize) {
+    checkArgument(maxSize > 0, "maxSize must be positive");
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * @param className the name of a class
+   * @return {@code true} if the class is known to be missing
+   */
+  public boolean isMissing(String className) {
+    if (missingClasses.contains(className)) {
+      hits.increment();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * @return the current generation of the cache, to be obtained before starting a lookup and passed to
+   *         {@link #addMissing(String, long)} if the lookup fails.
+   */
+  public long getGeneration() {
+    return generation.get();
+  }
+
+  /**
+   * Records a class as missing, unless the cache was invalidated after the lookup started.
+   *
+   * @param className        the name of the class that was not found
+   * @param lookupGeneration the {@link #getGeneration() generation} of the cache when the lookup started
+   */
+  public void addMissing(String className, long lookupGeneration) {
+    if (generation.get() != lookupGeneration) {
+      return;
+    }
+
+    if (missingClasses.size() >= maxSize) {
+      missingClasses.clear();
+    }
+    missingClasses.add(className);
+
+    // An invalidation may have happened between the check above and the addition
+    if (generation.get() != lookupGeneration) {
+      missingClasses.remove(className);
+    }
+  }
+
+  /**
+   * Discards all the recorded misses.
+   */
+  public void invalidate() {
+    generation.incrementAndGet();
+    missingClasses.clear();
+  }
+
+  /**
+   * @return the number of class names currently known to be missing
+   */
+  public int size() {
+    return missingClasses.size();
+  }
+
+  /**
+   * @return the number of lookups answered by this cache
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+}
@@ -12,15 +12,24 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mule.runtime.core.api.util.ClassUtils.getResource;
+import static org.mule.runtime.module.artifact.api.classloader.MuleArtifactClassLoader.CLASSLOADING_LOOKUP_INDEX_PROPERTY;
+import static org.mule.tck.junit4.rule.SystemProperty.callWithProperty;
 import org.mule.runtime.module.artifact.api.descriptor.ArtifactDescriptor;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.URL;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class MuleArtifactClassLoaderTestCase extends AbstractMuleTestCase {
 
@@ -33,6 +42,9 @@ public class MuleArtifactClassLoaderTestCase extends AbstractMuleTestCase {
   private final URL jarLocation;
   private final URL testsJarLocation;
 
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
   public MuleArtifactClassLoaderTestCase() {
     apiLocation = getResource("com/organization/test-artifact/1.0.0/test-artifact-1.0.0-raml.zip", this.getClass());
     apiLibraryLocation =
@@ -89,6 +101,51 @@ public class MuleArtifactClassLoaderTestCase extends AbstractMuleTestCase {
     findAndValidate(classLoader, "resource::com.organization:test-artifact:*:raml:zip", API_RESOURCE_NAME, apiLocation, API_LINE);
   }
 
+  @Test
+  public void skipsLookupOfClassFromPackageNotInJars() throws Throwable {
+    MuleArtifactClassLoader classLoader = createIndexedClassLoader(createJarWithClass("org/foo/Bar.class").toURI().toURL());
+
+    assertClassNotFound(classLoader, "org.other.Missing");
+    assertThat(classLoader.getPackageIndexSkippedLookups(), is(1L));
+
+    assertClassNotFound(classLoader, "org.foo.Missing");
+    assertClassNotFound(classLoader, "Missing");
+    assertThat(classLoader.getPackageIndexSkippedLookups(), is(1L));
+  }
+
+  @Test
+  public void doesNotIndexClassesFolder() throws Throwable {
+    MuleArtifactClassLoader classLoader = createIndexedClassLoader(createJarWithClass("org/foo/Bar.class").toURI().toURL(),
+                                                                   tempFolder.newFolder("classes").toURI().toURL());
+
+    assertClassNotFound(classLoader, "org.other.Missing");
+    assertThat(classLoader.getPackageIndexSkippedLookups(), is(0L));
+  }
+
+  private MuleArtifactClassLoader createIndexedClassLoader(URL... urls) throws Throwable {
+    return callWithProperty(CLASSLOADING_LOOKUP_INDEX_PROPERTY, "true",
+                            () -> new MuleArtifactClassLoader("test", mock(ArtifactDescriptor.class), urls, null,
+                                                              mock(ClassLoaderLookupPolicy.class)));
+  }
+
+  private File createJarWithClass(String classEntry) throws IOException {
+    File jar = tempFolder.newFile("test.jar");
+    try (ZipOutputStream jarStream = new ZipOutputStream(new FileOutputStream(jar))) {
+      jarStream.putNextEntry(new ZipEntry(classEntry));
+      jarStream.closeEntry();
+    }
+    return jar;
+  }
+
+  private void assertClassNotFound(MuleArtifactClassLoader classLoader, String className) {
+    try {
+      classLoader.findLocalClass(className);
+      fail("Class should not be found: " + className);
+    } catch (ClassNotFoundException e) {
+      // Expected
+    }
+  }
+
   private MuleArtifactClassLoader createClassLoader() {
     return new MuleArtifactClassLoader("test", mock(ArtifactDescriptor.class),
                                        new URL[] {apiLocation, apiLibraryLocation, jarLocation, testsJarLocation},
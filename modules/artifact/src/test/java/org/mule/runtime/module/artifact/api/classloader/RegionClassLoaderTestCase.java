@@ -28,12 +28,14 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.module.artifact.api.classloader.ChildFirstLookupStrategy.CHILD_FIRST;
 import static org.mule.runtime.module.artifact.api.classloader.DefaultArtifactClassLoaderFilter.NULL_CLASSLOADER_FILTER;
+import static org.mule.runtime.module.artifact.api.classloader.MuleArtifactClassLoader.CLASSLOADING_LOOKUP_INDEX_PROPERTY;
 import static org.mule.runtime.module.artifact.api.classloader.ParentFirstLookupStrategy.PARENT_FIRST;
 import static org.mule.runtime.module.artifact.api.classloader.RegionClassLoader.REGION_OWNER_CANNOT_BE_REMOVED_ERROR;
 import static org.mule.runtime.module.artifact.api.classloader.RegionClassLoader.createCannotRemoveClassLoaderError;
 import static org.mule.runtime.module.artifact.api.classloader.RegionClassLoader.createClassLoaderAlreadyInRegionError;
 import static org.mule.runtime.module.artifact.api.classloader.RegionClassLoader.duplicatePackageMappingError;
 import static org.mule.runtime.module.artifact.api.classloader.RegionClassLoader.illegalPackageMappingError;
+import static org.mule.tck.junit4.rule.SystemProperty.callWithProperty;
 
 import org.mule.runtime.core.api.util.ClassUtils;
 import org.mule.runtime.core.internal.util.EnumerationAdapter;
@@ -133,6 +135,82 @@ public class RegionClassLoaderTestCase extends AbstractMuleTestCase {
     regionClassLoader.loadClass(CLASS_NAME);
   }
 
+  @Test
+  public void cachesClassNotFoundInRegion() throws Throwable {
+    final ClassLoader parentClassLoader = mock(ClassLoader.class);
+    when(parentClassLoader.loadClass(CLASS_NAME)).thenThrow(new ClassNotFoundException());
+    when(lookupPolicy.getClassLookupStrategy(CLASS_NAME)).thenReturn(CHILD_FIRST);
+
+    RegionClassLoader regionClassLoader = createIndexedRegionClassLoader(parentClassLoader);
+    createClassLoaders(regionClassLoader).forEach(classLoader -> regionClassLoader.addClassLoader(classLoader,
+                                                                                                 NULL_CLASSLOADER_FILTER));
+
+    assertClassNotFound(regionClassLoader, CLASS_NAME);
+    assertClassNotFound(regionClassLoader, CLASS_NAME);
+
+    verify(parentClassLoader, times(1)).loadClass(CLASS_NAME);
+    assertThat(regionClassLoader.getNegativeLookupHits(), is(1L));
+    assertThat(regionClassLoader.getNegativeLookupCacheSize(), is(1));
+  }
+
+  @Test
+  public void addingClassLoaderInvalidatesClassesNotFoundInRegion() throws Throwable {
+    final ClassLoader parentClassLoader = mock(ClassLoader.class);
+    when(parentClassLoader.loadClass(CLASS_NAME)).thenThrow(new ClassNotFoundException());
+    when(lookupPolicy.getClassLookupStrategy(CLASS_NAME)).thenReturn(CHILD_FIRST);
+    when(lookupPolicy.getPackageLookupStrategy(PACKAGE_NAME)).thenReturn(CHILD_FIRST);
+
+    RegionClassLoader regionClassLoader = createIndexedRegionClassLoader(parentClassLoader);
+    createClassLoaders(regionClassLoader);
+    regionClassLoader.addClassLoader(appClassLoader, NULL_CLASSLOADER_FILTER);
+
+    assertClassNotFound(regionClassLoader, CLASS_NAME);
+
+    regionClassLoader.addClassLoader(pluginClassLoader,
+                                     new DefaultArtifactClassLoaderFilter(singleton(PACKAGE_NAME), emptySet()));
+    pluginClassLoader.addClass(CLASS_NAME, PLUGIN_LOADED_CLASS);
+
+    assertThat(regionClassLoader.getNegativeLookupCacheSize(), is(0));
+    assertThat(regionClassLoader.loadClass(CLASS_NAME), equalTo(PLUGIN_LOADED_CLASS));
+  }
+
+  @Test
+  public void classInjectedInMemberAfterLookupFailedIsFound() throws Throwable {
+    final ClassLoader parentClassLoader = mock(ClassLoader.class);
+    when(parentClassLoader.loadClass(CLASS_NAME)).thenThrow(new ClassNotFoundException());
+    when(lookupPolicy.getClassLookupStrategy(CLASS_NAME)).thenReturn(CHILD_FIRST);
+    when(lookupPolicy.getPackageLookupStrategy(PACKAGE_NAME)).thenReturn(CHILD_FIRST);
+
+    RegionClassLoader regionClassLoader = createIndexedRegionClassLoader(parentClassLoader);
+    createClassLoaders(regionClassLoader);
+    regionClassLoader.addClassLoader(appClassLoader, NULL_CLASSLOADER_FILTER);
+    regionClassLoader.addClassLoader(pluginClassLoader,
+                                     new DefaultArtifactClassLoaderFilter(singleton(PACKAGE_NAME), emptySet()));
+
+    // probe for the class before it is generated and injected in the member
+    assertClassNotFound(regionClassLoader, CLASS_NAME);
+    assertThat(regionClassLoader.getNegativeLookupCacheSize(), is(0));
+
+    pluginClassLoader.addClass(CLASS_NAME, PLUGIN_LOADED_CLASS);
+
+    assertThat(regionClassLoader.loadClass(CLASS_NAME), equalTo(PLUGIN_LOADED_CLASS));
+    assertThat(regionClassLoader.getNegativeLookupHits(), is(0L));
+  }
+
+  private RegionClassLoader createIndexedRegionClassLoader(ClassLoader parentClassLoader) throws Throwable {
+    return callWithProperty(CLASSLOADING_LOOKUP_INDEX_PROPERTY, "true",
+                            () -> new RegionClassLoader(ARTIFACT_ID, artifactDescriptor, parentClassLoader, lookupPolicy));
+  }
+
+  private void assertClassNotFound(RegionClassLoader regionClassLoader, String className) {
+    try {
+      regionClassLoader.loadClass(className);
+      Assert.fail("Class should not be found: " + className);
+    } catch (ClassNotFoundException e) {
+      // Expected
+    }
+  }
+
   private List<ArtifactClassLoader> createClassLoaders(ClassLoader parent) {
     appClassLoader = new TestApplicationClassLoader(parent);
     pluginClassLoader = new SubTestClassLoader(parent);
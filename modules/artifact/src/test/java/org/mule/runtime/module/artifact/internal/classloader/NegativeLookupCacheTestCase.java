@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.artifact.internal.classloader;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import org.junit.Test;
+
+public class NegativeLookupCacheTestCase extends AbstractMuleTestCase {
+
+  private static final String CLASS_NAME = "org.foo.Missing";
+
+  private final NegativeLookupCache cache = new NegativeLookupCache(2);
+
+  @Test
+  public void missingClassIsRemembered() {
+    assertThat(cache.isMissing(CLASS_NAME), is(false));
+
+    cache.addMissing(CLASS_NAME, cache.getGeneration());
+
+    assertThat(cache.isMissing(CLASS_NAME), is(true));
+    assertThat(cache.getHits(), is(1L));
+  }
+
+  @Test
+  public void missStartedBeforeInvalidationIsNotRemembered() {
+    final long lookupGeneration = cache.getGeneration();
+    cache.invalidate();
+
+    cache.addMissing(CLASS_NAME, lookupGeneration);
+
+    assertThat(cache.isMissing(CLASS_NAME), is(false));
+    assertThat(cache.size(), is(0));
+  }
+
+  @Test
+  public void invalidationDiscardsMisses() {
+    cache.addMissing(CLASS_NAME, cache.getGeneration());
+    cache.invalidate();
+
+    assertThat(cache.isMissing(CLASS_NAME), is(false));
+  }
+
+  @Test
+  public void clearedWhenFull() {
+    cache.addMissing("org.foo.Missing1", cache.getGeneration());
+    cache.addMissing("org.foo.Missing2", cache.getGeneration());
+    cache.addMissing("org.foo.Missing3", cache.getGeneration());
+
+    assertThat(cache.size(), is(1));
+    assertThat(cache.isMissing("org.foo.Missing3"), is(true));
+  }
+}
@@ -6,9 +6,11 @@
  */
 package org.mule.runtime.core.internal.routing;
 
+import static java.lang.Boolean.getBoolean;
 import static java.util.Collections.singletonList;
 import static java.util.Optional.of;
 import static org.mule.runtime.api.metadata.DataType.fromObject;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.util.StreamingUtils.updateTypedValueForStreaming;
 import static org.mule.runtime.core.internal.routing.ExpressionSplittingStrategy.DEFAULT_SPLIT_EXPRESSION;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.buildNewChainWithListOfProcessors;
@@ -20,7 +22,11 @@ import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.CollectionDataType;
+import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.streaming.object.CursorIterator;
+import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
 import org.mule.runtime.core.api.el.ExpressionManager;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.processor.AbstractMessageProcessorOwner;
@@ -33,6 +39,8 @@ import org.mule.runtime.core.internal.routing.outbound.EventBuilderConfigurerLis
 import org.mule.runtime.core.privileged.processor.Scope;
 import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -62,6 +70,14 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
 
   private static final Logger LOGGER = getLogger(Foreach.class);
 
+  /**
+   * When set, payloads which are a {@link CursorIteratorProvider} are iterated by opening a cursor on them directly, instead of
+   * splitting them through the expression language. Only applies when the default collection expression is used.
+   *
+   * @since 4.5.0
+   */
+  public static final String STREAM_CURSOR_ITERATORS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "foreach.streamCursorIterators";
+
   static final String DEFAULT_COUNTER_VARIABLE = "counter";
   public static final String DEFAULT_ROOT_MESSAGE_VARIABLE = "rootMessage";
   private String counterVariableName = DEFAULT_COUNTER_VARIABLE;
@@ -77,6 +93,7 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
   private String expression = DEFAULT_SPLIT_EXPRESSION;
   private int batchSize = 1;
   private SplittingStrategy<CoreEvent, Iterator<TypedValue<?>>> splittingStrategy;
+  private boolean streamCursorIterators;
 
   private MessageProcessorChain nestedChain;
 
@@ -104,6 +121,7 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     Optional<ProcessingStrategy> processingStrategy = getProcessingStrategy(locator, this);
     nestedChain = buildNewChainWithListOfProcessors(processingStrategy, messageProcessors);
     splittingStrategy = new ExpressionSplittingStrategy(expressionManager, expression);
+    streamCursorIterators = getBoolean(STREAM_CURSOR_ITERATORS_PROPERTY);
     super.initialise();
   }
 
@@ -150,6 +168,10 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     } else if (DEFAULT_SPLIT_EXPRESSION.equals(expression) && payloadValue instanceof EventBuilderConfigurerIterator) {
       // Support EventBuilderConfigurerIterator currently used by Batch Module
       result = new EventBuilderConfigurerIteratorWrapper((EventBuilderConfigurerIterator) payloadValue);
+    } else if (streamCursorIterators && DEFAULT_SPLIT_EXPRESSION.equals(expression)
+        && payloadValue instanceof CursorIteratorProvider) {
+      result = new CursorIteratorWrapper(((CursorIteratorProvider) payloadValue).openCursor(),
+                                         request.getMessage().getPayload().getDataType());
     } else {
       result = getSplittingStrategy().split(request);
     }
@@ -216,4 +238,56 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     }
   }
 
+  /**
+   * Iterates the items of a {@link CursorIterator}, closing it once all the items have been read or when the iteration is
+   * finished by the {@link ForeachRouter}, whichever happens first.
+   */
+  private static class CursorIteratorWrapper implements Iterator<TypedValue<?>>, Closeable {
+
+    private final CursorIterator<?> cursor;
+    private final DataType itemDataType;
+    private volatile boolean closed = false;
+
+    CursorIteratorWrapper(CursorIterator<?> cursor, DataType collectionDataType) {
+      this.cursor = cursor;
+      this.itemDataType = collectionDataType instanceof CollectionDataType
+          && ((CollectionDataType) collectionDataType).getItemDataType().getType() != Object.class
+              ? ((CollectionDataType) collectionDataType).getItemDataType()
+              : null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (closed) {
+        return false;
+      }
+
+      boolean hasNext = cursor.hasNext();
+      if (!hasNext) {
+        close();
+      }
+      return hasNext;
+    }
+
+    @Override
+    public TypedValue<?> next() {
+      Object item = cursor.next();
+      return itemDataType != null ? new TypedValue<>(item, itemDataType) : TypedValue.of(item);
+    }
+
+    @Override
+    public void close() {
+      if (closed) {
+        return;
+      }
+
+      closed = true;
+      try {
+        cursor.close();
+      } catch (IOException e) {
+        LOGGER.debug("Found exception closing cursor iterator after foreach", e);
+      }
+    }
+  }
+
 }
@@ -7,6 +7,7 @@
 package org.mule.runtime.core.internal.routing;
 
 import static java.util.Optional.of;
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
 import static org.mule.runtime.api.functional.Either.left;
 import static org.mule.runtime.api.functional.Either.right;
 import static org.mule.runtime.api.metadata.DataType.MULE_MESSAGE;
@@ -34,8 +35,11 @@ import org.mule.runtime.core.internal.routing.outbound.EventBuilderConfigurer;
 import org.mule.runtime.core.internal.rx.FluxSinkRecorder;
 import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -64,6 +68,8 @@ class ForeachRouter {
 
   private final AtomicInteger inflightEvents = new AtomicInteger(0);
   private final AtomicBoolean completeDeferred = new AtomicBoolean(false);
+  // contexts whose iteration has not finished yet, so their iterators are closed if the inner flux terminates before that
+  private final Set<ForeachContext> openContexts = newKeySet();
 
   ForeachRouter(Foreach owner, StreamingManager streamingManager, Publisher<CoreEvent> publisher, String expression,
                 int batchSize, MessageProcessorChain nestedChain) {
@@ -121,12 +127,14 @@ class ForeachRouter {
               innerRecorder.next(evt);
             } else {
               // NO - Propagate the first inside event down to downstreamFlux
+              closeIterator(foreachContext);
               downstreamRecorder.next(right(evt));
               completeRouterIfNecessary();
             }
           } catch (Exception e) {
             LOGGER.error("Exception in foreach after iteration", e);
 
+            closeIterator(getContext(evt));
             // Delete foreach context
             this.eventWithCurrentContextDeleted(evt);
             downstreamRecorder.next(left(new MessagingException(evt, e, owner)));
@@ -134,10 +142,12 @@ class ForeachRouter {
           }
         })
         .onErrorContinue(MessagingException.class, (e, o) -> {
+          closeIterator(getContext(((MessagingException) e).getEvent()));
           this.eventWithCurrentContextDeleted(((MessagingException) e).getEvent());
           downstreamRecorder.next(left(e));
           completeRouterIfNecessary();
-        });
+        })
+        .doFinally(signal -> openContexts.forEach(this::closeIterator));
 
     downstreamFlux = Flux.<Either<Throwable, CoreEvent>>create(sink -> {
       downstreamRecorder.accept(sink);
@@ -169,6 +179,23 @@ class ForeachRouter {
     downstreamRecorder.complete();
   }
 
+  /**
+   * Closes the iterator of the given context if it holds resources, such as a cursor over the iterated collection.
+   */
+  private void closeIterator(ForeachContext foreachContext) {
+    if (foreachContext == null || !openContexts.remove(foreachContext)) {
+      return;
+    }
+
+    if (foreachContext.getIterator() instanceof Closeable) {
+      try {
+        ((Closeable) foreachContext.getIterator()).close();
+      } catch (IOException e) {
+        LOGGER.debug("Found exception closing iterator after foreach", e);
+      }
+    }
+  }
+
   private CoreEvent eventWithCurrentContextDeleted(CoreEvent event) {
     removeContext(event);
     return event;
@@ -190,6 +217,7 @@ class ForeachRouter {
       ForeachContext foreachContext = this.createForeachContext(event, typedValueIterator);
 
       addContext(responseEvent, foreachContext);
+      openContexts.add(foreachContext);
 
     } catch (Exception e) {
       // Delete foreach context
@@ -6,12 +6,16 @@
  */
 package org.mule.runtime.core.internal.routing;
 
+import static java.lang.Double.parseDouble;
+import static java.lang.Long.getLong;
 import static java.lang.String.format;
+import static java.lang.System.getProperty;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.mule.runtime.api.el.BindingContextUtils.CORRELATION_ID;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STORE_MANAGER;
 import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_POSTFIX;
 import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_PREFIX;
@@ -52,6 +56,9 @@ import org.slf4j.Logger;
  * of computing hashes(SHA,MD5) from the data. Note that the underlying endpoint must support unique message IDs for this to work,
  * otherwise a <code>UniqueIdNotSupportedException</code> is thrown.<br>
  * <p>
+ * Optionally, an in memory bloom filter of the stored ids may be kept, so that ids which were definitely not stored skip the
+ * lookup in the object store. See {@link #setBloomFilterMaxBytes(long)}.
+ * <p>
  * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/IdempotentReceiver.html">
  * http://www.eaipatterns.com/IdempotentReceiver.html</a>
  */
@@ -59,6 +66,22 @@ public class IdempotentMessageValidator extends AbstractComponent
     implements Processor, MuleContextAware, Lifecycle {
 
   private static final Logger LOGGER = getLogger(IdempotentMessageValidator.class);
+  private static final double DEFAULT_BLOOM_FILTER_FPP = 0.01;
+
+  /**
+   * Default memory, in bytes, for the bloom filter of stored ids. {@code 0}, the default, means no filter is used.
+   *
+   * @since 4.5.0
+   */
+  public static final String BLOOM_FILTER_MAX_BYTES_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "idempotentValidator.bloomFilter.maxBytes";
+
+  /**
+   * Default false positive probability for the bloom filter of stored ids.
+   *
+   * @since 4.5.0
+   */
+  public static final String BLOOM_FILTER_FPP_PROPERTY = SYSTEM_PROPERTY_PREFIX + "idempotentValidator.bloomFilter.fpp";
 
   protected MuleContext muleContext;
 
@@ -72,6 +95,29 @@ public class IdempotentMessageValidator extends AbstractComponent
   private CompiledExpression compiledIdExpression;
   private CompiledExpression compiledValueExpression;
 
+  private long bloomFilterMaxBytes = getLong(BLOOM_FILTER_MAX_BYTES_PROPERTY, 0);
+  private double bloomFilterFalsePositiveProbability = resolveBloomFilterFalsePositiveProbability();
+  private MessageIdFilter idFilter;
+
+  private static double resolveBloomFilterFalsePositiveProbability() {
+    final String fpp = getProperty(BLOOM_FILTER_FPP_PROPERTY);
+    if (fpp == null) {
+      return DEFAULT_BLOOM_FILTER_FPP;
+    }
+
+    try {
+      final double value = parseDouble(fpp.trim());
+      if (value > 0 && value < 1) {
+        return value;
+      }
+    } catch (NumberFormatException e) {
+      // handled below
+    }
+    LOGGER.warn("Invalid value '{}' for system property '{}', it must be a number between 0 and 1, exclusive. Using {}",
+                fpp, BLOOM_FILTER_FPP_PROPERTY, DEFAULT_BLOOM_FILTER_FPP);
+    return DEFAULT_BLOOM_FILTER_FPP;
+  }
+
   @Override
   public void setMuleContext(MuleContext context) {
     this.muleContext = context;
@@ -87,6 +133,13 @@ public class IdempotentMessageValidator extends AbstractComponent
     setupObjectStore();
     compiledIdExpression = compile(idExpression, muleContext.getExpressionManager());
     compiledValueExpression = compile(valueExpression, muleContext.getExpressionManager());
+    if (bloomFilterMaxBytes > 0) {
+      try {
+        idFilter = new MessageIdFilter(bloomFilterMaxBytes, bloomFilterFalsePositiveProbability);
+      } catch (IllegalArgumentException e) {
+        throw new InitialisationException(e, this);
+      }
+    }
   }
 
   private void setupObjectStore() throws InitialisationException {
@@ -109,6 +162,9 @@ public class IdempotentMessageValidator extends AbstractComponent
   @Override
   public void start() throws MuleException {
     startIfNeeded(store);
+    if (idFilter != null) {
+      idFilter.rebuild(store);
+    }
   }
 
   @Override
@@ -164,8 +220,11 @@ public class IdempotentMessageValidator extends AbstractComponent
       String id = getIdForEvent(session);
       String value = getValueForEvent(session);
 
-      if (event != null && isNewMessage(event, id)) {
+      if (event != null && (isDefinitelyNewMessage(id) || isNewMessage(event, id))) {
         try {
+          if (idFilter != null) {
+            idFilter.put(id, store);
+          }
           store.store(id, value);
           return true;
         } catch (ObjectAlreadyExistsException ex) {
@@ -197,6 +256,10 @@ public class IdempotentMessageValidator extends AbstractComponent
     }
   }
 
+  private boolean isDefinitelyNewMessage(String id) {
+    return idFilter != null && idFilter.isDefinitelyNew(id);
+  }
+
   protected boolean isNewMessage(CoreEvent event, String id) {
     try {
       if (store == null) {
@@ -228,4 +291,26 @@ public class IdempotentMessageValidator extends AbstractComponent
   public void setPrivateObjectStore(ObjectStore<String> privateStore) {
     this.privateStore = privateStore;
   }
+
+  /**
+   * Sets the memory, in bytes, of the bloom filter used to skip the object store lookup for ids which were definitely not
+   * stored. The amount of ids the filter can hold depends on this value and the
+   * {@link #setBloomFilterFalsePositiveProbability(double) false positive probability}. {@code 0} means no filter is used.
+   *
+   * @param bloomFilterMaxBytes the memory for the filter
+   * @since 4.5.0
+   */
+  public void setBloomFilterMaxBytes(long bloomFilterMaxBytes) {
+    this.bloomFilterMaxBytes = bloomFilterMaxBytes;
+  }
+
+  /**
+   * Sets the probability of the bloom filter reporting an id which was not stored, in which case the object store is queried.
+   *
+   * @param bloomFilterFalsePositiveProbability a value between {@code 0} and {@code 1}, exclusive
+   * @since 4.5.0
+   */
+  public void setBloomFilterFalsePositiveProbability(double bloomFilterFalsePositiveProbability) {
+    this.bloomFilterFalsePositiveProbability = bloomFilterFalsePositiveProbability;
+  }
 }
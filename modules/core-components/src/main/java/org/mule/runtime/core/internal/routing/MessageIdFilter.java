@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.lang.Math.log;
+import static java.lang.Math.max;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import static com.google.common.hash.BloomFilter.create;
+import static com.google.common.hash.Funnels.stringFunnel;
+
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.api.store.ObjectStoreException;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+import com.google.common.hash.BloomFilter;
+
+/**
+ * In memory probabilistic set of the ids stored by an {@link IdempotentMessageValidator}, used to avoid querying its
+ * {@link ObjectStore} for ids which were definitely not stored.
+ * <p>
+ * The filter may report ids that are not in the store anymore, either because of false positives or because they expired from
+ * the store. Those ids are checked against the store as usual. Once the filter holds more ids than it was sized for, it is
+ * rebuilt from the keys of the store, discarding the expired ones. If the store holds more keys than that, or its keys can't be
+ * retrieved, the filter is bypassed. Since the store may shrink as its entries expire, a bypassed filter tries to rebuild
+ * itself again every time as many ids as it can hold have been stored.
+ * <p>
+ * Ids stored concurrently with a rebuild may be missing from the rebuilt filter. That is safe, since the store rejects
+ * duplicated ids with an {@link org.mule.runtime.api.store.ObjectAlreadyExistsException}, same as it does for concurrent
+ * messages with the same id.
+ *
+ * @since 4.5.0
+ */
+final class MessageIdFilter {
+
+  private static final Logger LOGGER = getLogger(MessageIdFilter.class);
+
+  private final long capacity;
+  private final double falsePositiveProbability;
+  private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+  private final AtomicLong putsWhileBypassed = new AtomicLong();
+
+  private volatile BloomFilter<CharSequence> current;
+  private volatile BloomFilter<CharSequence> next;
+  private volatile boolean bypassed = true;
+
+  /**
+   * Creates a new instance
+   *
+   * @param maxBytes                 the memory to use for the filter. Must be greater than zero
+   * @param falsePositiveProbability the probability of reporting an id which was not stored. Must be between {@code 0} and
+   *                                 {@code 1}, exclusive
+   */
+  MessageIdFilter(long maxBytes, double falsePositiveProbability) {
+    checkArgument(maxBytes > 0, "maxBytes must be greater than zero");
+    checkArgument(falsePositiveProbability > 0 && falsePositiveProbability < 1,
+                  "falsePositiveProbability must be between 0 and 1, exclusive");
+
+    this.falsePositiveProbability = falsePositiveProbability;
+    // bits per id for an optimally configured bloom filter: -ln(p) / ln(2)^2
+    this.capacity = max(1, (long) (maxBytes * 8 * log(2) * log(2) / -log(falsePositiveProbability)));
+  }
+
+  /**
+   * @param id a message id
+   * @return {@code true} if the given {@code id} was definitely not stored, {@code false} if it may have been
+   */
+  boolean isDefinitelyNew(String id) {
+    return !bypassed && !current.mightContain(id);
+  }
+
+  /**
+   * Adds the given {@code id} to the filter, rebuilding it from the {@code store} if it is saturated.
+   *
+   * @param id    the id about to be stored
+   * @param store the store of the validator
+   */
+  void put(String id, ObjectStore<String> store) {
+    if (bypassed) {
+      retryRebuild(id, store);
+      return;
+    }
+
+    final BloomFilter<CharSequence> nextFilter = next;
+    if (nextFilter != null) {
+      nextFilter.put(id);
+    }
+    current.put(id);
+
+    if (current.approximateElementCount() > capacity) {
+      rebuild(store);
+    }
+  }
+
+  private void retryRebuild(String id, ObjectStore<String> store) {
+    if (putsWhileBypassed.incrementAndGet() < capacity) {
+      return;
+    }
+
+    putsWhileBypassed.set(0);
+    rebuild(store);
+    if (!bypassed) {
+      // the id is stored after this method returns, so it may be missing from the keys the filter was rebuilt from
+      current.put(id);
+    }
+  }
+
+  /**
+   * Replaces the filter with a new one containing the keys of the {@code store}. Does nothing if another thread is already
+   * rebuilding it.
+   *
+   * @param store the store of the validator
+   */
+  void rebuild(ObjectStore<String> store) {
+    if (!rebuilding.compareAndSet(false, true)) {
+      return;
+    }
+
+    try {
+      final BloomFilter<CharSequence> rebuilt = create(stringFunnel(UTF_8), capacity, falsePositiveProbability);
+      next = rebuilt;
+
+      final List<String> keys = store.allKeys();
+      if (keys.size() > capacity) {
+        LOGGER.warn("Object store holds {} ids, more than the {} the message id filter can hold. The filter will be bypassed.",
+                    keys.size(), capacity);
+        bypassed = true;
+        return;
+      }
+
+      for (String key : keys) {
+        rebuilt.put(key);
+      }
+      current = rebuilt;
+      bypassed = false;
+      putsWhileBypassed.set(0);
+    } catch (ObjectStoreException e) {
+      LOGGER.warn("Could not rebuild message id filter, it will be bypassed: " + e.getMessage());
+      bypassed = true;
+    } finally {
+      next = null;
+      rebuilding.set(false);
+    }
+  }
+
+  long getCapacity() {
+    return capacity;
+  }
+}
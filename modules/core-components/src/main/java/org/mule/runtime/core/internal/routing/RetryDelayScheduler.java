@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.pow;
+import static java.lang.Math.round;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.api.transaction.TransactionCoordination.isTransactionActive;
+
+import org.mule.runtime.core.internal.util.rx.ConditionalExecutorServiceDecorator;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Schedules the retries of an {@link UntilSuccessful} scope, applying the configured backoff and jitter to the delay between
+ * them.
+ * <p>
+ * When a {@link RetryTimingWheel} is provided, retries are scheduled in it instead of having a task scheduled in the
+ * {@link ScheduledExecutorService} for each one of them. When a transaction is active, retries are run in the current thread after
+ * the delay, same as when no timing wheel is used.
+ *
+ * @since 4.5.0
+ */
+final class RetryDelayScheduler {
+
+  private final ConditionalExecutorServiceDecorator delayScheduler;
+  private final RetryTimingWheel timingWheel;
+  private final int backoffMultiplier;
+  private final long maxDelayMillis;
+  private final int jitterPercentage;
+
+  // retries scheduled outside of the timing wheel, which keeps its own count
+  private final AtomicInteger pendingRetries = new AtomicInteger();
+
+  /**
+   * Creates a new instance that schedules each retry in the given {@code scheduler}, with a fixed delay between them.
+   *
+   * @param scheduler the scheduler for running the retries
+   */
+  RetryDelayScheduler(ScheduledExecutorService scheduler) {
+    this(scheduler, null, 1, Long.MAX_VALUE, 0);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param scheduler         the scheduler for running the retries
+   * @param timingWheel       the timing wheel to schedule the retries in. May be {@code null}
+   * @param backoffMultiplier the factor to multiply the delay for each subsequent retry. Must be greater than zero
+   * @param maxDelayMillis    the upper bound for the delay after applying the backoff
+   * @param jitterPercentage  the maximum percentage of the delay to randomly add or subtract from it. Must be between {@code 0}
+   *                          and {@code 100}
+   */
+  RetryDelayScheduler(ScheduledExecutorService scheduler, RetryTimingWheel timingWheel, int backoffMultiplier,
+                      long maxDelayMillis, int jitterPercentage) {
+    checkArgument(backoffMultiplier > 0, "backoffMultiplier must be greater than zero");
+    checkArgument(jitterPercentage >= 0 && jitterPercentage <= 100, "jitterPercentage must be between 0 and 100");
+
+    this.delayScheduler = new ConditionalExecutorServiceDecorator(scheduler, s -> isTransactionActive());
+    this.timingWheel = timingWheel;
+    this.backoffMultiplier = backoffMultiplier;
+    this.maxDelayMillis = maxDelayMillis;
+    this.jitterPercentage = jitterPercentage;
+  }
+
+  /**
+   * @param delayMillis   the delay between retries configured in the scope
+   * @param attemptNumber the number of the retry about to be scheduled, starting at {@code 1}
+   * @return the delay to wait before the given retry
+   */
+  long delayFor(long delayMillis, int attemptNumber) {
+    long delay = delayMillis;
+    if (backoffMultiplier > 1 && attemptNumber > 1) {
+      delay = (long) min(maxDelayMillis, delayMillis * pow(backoffMultiplier, attemptNumber - 1));
+    }
+
+    if (jitterPercentage > 0 && delay > 0) {
+      long jitter = round(delay * jitterPercentage / 100d);
+      delay += ThreadLocalRandom.current().nextLong(-jitter, jitter + 1);
+    }
+
+    return max(0, delay);
+  }
+
+  /**
+   * Runs the given {@code retry} after {@code delayMillis}.
+   *
+   * @param retry       the retry to run
+   * @param delayMillis the delay before running it, as returned by {@link #delayFor(long, int)}
+   */
+  void schedule(Runnable retry, long delayMillis) {
+    if (timingWheel != null && !isTransactionActive()) {
+      timingWheel.schedule(retry, delayMillis);
+      return;
+    }
+
+    pendingRetries.incrementAndGet();
+    delayScheduler.schedule(() -> {
+      pendingRetries.decrementAndGet();
+      retry.run();
+    }, delayMillis, MILLISECONDS);
+  }
+
+  /**
+   * @return the number of retries scheduled and not run yet. Retries discarded by stopping the timing wheel are not counted.
+   */
+  int getPendingRetries() {
+    return pendingRetries.get() + (timingWheel != null ? timingWheel.getPendingTimeouts() : 0);
+  }
+}
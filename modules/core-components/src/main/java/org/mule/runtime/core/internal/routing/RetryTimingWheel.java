@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.lang.Integer.highestOneBit;
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+
+/**
+ * Hashed timing wheel for the delays between retries of an {@link UntilSuccessful} scope.
+ * <p>
+ * Instead of having a task scheduled in the {@link ScheduledExecutorService} for each pending retry, a single periodic task
+ * advances the wheel every tick, dispatching the retries whose delay has elapsed. Scheduling and cancelling a retry are
+ * {@code O(1)}. Delays are rounded up to the tick duration.
+ * <p>
+ * Newly scheduled retries are queued and only moved into the buckets of the wheel by the tick task, so the buckets are never
+ * accessed concurrently.
+ * <p>
+ * The tick task only runs while there are pending retries. It is cancelled once the wheel becomes empty and started again when
+ * a new retry is scheduled.
+ *
+ * @since 4.5.0
+ */
+final class RetryTimingWheel {
+
+  private static final Logger LOGGER = getLogger(RetryTimingWheel.class);
+
+  private final ScheduledExecutorService scheduler;
+  private final long tickNanos;
+  private final Deque<RetryTimeout>[] buckets;
+  private final int mask;
+
+  private final Queue<RetryTimeout> scheduledTimeouts = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pendingTimeouts = new AtomicInteger();
+  private final AtomicBoolean ticking = new AtomicBoolean(false);
+
+  private volatile ScheduledFuture<?> tickTask;
+  private volatile long startNanos;
+  private long lastTick;
+
+  /**
+   * Creates a new instance
+   *
+   * @param scheduler  the scheduler used for running the ticks of the wheel and dispatching the expired retries
+   * @param tickMillis the duration of each tick of the wheel. Must be greater than zero
+   * @param wheelSize  the number of buckets of the wheel. Rounded up to a power of two
+   */
+  @SuppressWarnings("unchecked")
+  RetryTimingWheel(ScheduledExecutorService scheduler, long tickMillis, int wheelSize) {
+    checkArgument(tickMillis > 0, "tickMillis must be greater than zero");
+    checkArgument(wheelSize > 0 && wheelSize <= 1 << 30, "wheelSize must be between 1 and 2^30");
+
+    this.scheduler = scheduler;
+    this.tickNanos = MILLISECONDS.toNanos(tickMillis);
+
+    int size = highestOneBit(wheelSize) == wheelSize ? wheelSize : highestOneBit(wheelSize) << 1;
+    this.buckets = new Deque[size];
+    for (int i = 0; i < size; ++i) {
+      buckets[i] = new ArrayDeque<>();
+    }
+    this.mask = size - 1;
+  }
+
+  /**
+   * Schedules the given {@code task} to be run after {@code delayMillis}.
+   *
+   * @param task        the retry to run
+   * @param delayMillis the delay before running the {@code task}
+   * @return a handle to cancel the scheduled {@code task}
+   */
+  RetryTimeout schedule(Runnable task, long delayMillis) {
+    RetryTimeout timeout = new RetryTimeout(task, nanoTime() + MILLISECONDS.toNanos(max(0, delayMillis)));
+    // counted before starting the ticks, so a tick task that finds the wheel empty does not stop after this is started
+    pendingTimeouts.incrementAndGet();
+    scheduledTimeouts.add(timeout);
+
+    startIfNecessary();
+    return timeout;
+  }
+
+  /**
+   * @return the number of scheduled tasks not yet dispatched nor cancelled
+   */
+  int getPendingTimeouts() {
+    return pendingTimeouts.get();
+  }
+
+  /**
+   * @return whether the tick task is scheduled
+   */
+  boolean isTicking() {
+    return tickTask != null;
+  }
+
+  /**
+   * Stops the ticks of the wheel, discarding all the pending tasks.
+   */
+  void stop() {
+    // not holding the lock while waiting for a running tick, which takes it when the wheel becomes empty
+    synchronized (this) {
+      if (tickTask != null) {
+        tickTask.cancel(false);
+        tickTask = null;
+      }
+    }
+
+    RetryTimeout timeout;
+    while ((timeout = scheduledTimeouts.poll()) != null) {
+      timeout.cancel();
+    }
+    // the tick task was cancelled, the buckets may be safely accessed from this thread
+    while (!ticking.compareAndSet(false, true)) {
+      Thread.yield();
+    }
+    try {
+      for (Deque<RetryTimeout> bucket : buckets) {
+        bucket.forEach(RetryTimeout::cancel);
+        bucket.clear();
+      }
+    } finally {
+      ticking.set(false);
+    }
+  }
+
+  /**
+   * Starts the tick task if it is not running. Holds the same lock as {@link #stopIfEmpty()}, so either the tick task sees the
+   * timeout counted by {@link #schedule(Runnable, long)} and keeps running, or this sees the tick task cancelled and starts it
+   * again.
+   */
+  private synchronized void startIfNecessary() {
+    if (tickTask == null) {
+      startNanos = nanoTime();
+      lastTick = 0;
+      tickTask = scheduler.scheduleAtFixedRate(this::tick, tickNanos, tickNanos, NANOSECONDS);
+    }
+  }
+
+  /**
+   * Advances the wheel up to the current time, dispatching the expired tasks. Ticks that were missed because the scheduler was
+   * busy are processed here as well.
+   */
+  void tick() {
+    if (!ticking.compareAndSet(false, true)) {
+      return;
+    }
+
+    try {
+      final long currentTick = (nanoTime() - startNanos) / tickNanos;
+      transferScheduledTimeouts();
+
+      while (lastTick < currentTick) {
+        lastTick++;
+        expireTimeouts(buckets[(int) (lastTick & mask)], lastTick);
+      }
+
+      stopIfEmpty();
+    } catch (Throwable t) {
+      LOGGER.error("Unexpected error advancing the until-successful retries timing wheel", t);
+    } finally {
+      ticking.set(false);
+    }
+  }
+
+  /**
+   * Cancels the tick task if there are no pending timeouts. Must be called from the tick task.
+   */
+  private synchronized void stopIfEmpty() {
+    if (pendingTimeouts.get() > 0 || tickTask == null) {
+      return;
+    }
+
+    tickTask.cancel(false);
+    tickTask = null;
+    // all the timeouts left in the buckets are cancelled ones, and the ticks will start over when started again
+    for (Deque<RetryTimeout> bucket : buckets) {
+      bucket.clear();
+    }
+  }
+
+  private void transferScheduledTimeouts() {
+    RetryTimeout timeout;
+    while ((timeout = scheduledTimeouts.poll()) != null) {
+      if (timeout.isCancelled()) {
+        continue;
+      }
+
+      long deadlineNanos = timeout.deadlineNanos - startNanos;
+      // round up, so a task is never run before its delay elapses
+      timeout.deadlineTick = max(lastTick + 1, (deadlineNanos + tickNanos - 1) / tickNanos);
+      buckets[(int) (timeout.deadlineTick & mask)].add(timeout);
+    }
+  }
+
+  private void expireTimeouts(Deque<RetryTimeout> bucket, long tick) {
+    final Iterator<RetryTimeout> iterator = bucket.iterator();
+    while (iterator.hasNext()) {
+      RetryTimeout timeout = iterator.next();
+      if (timeout.isCancelled()) {
+        iterator.remove();
+      } else if (timeout.deadlineTick <= tick) {
+        iterator.remove();
+        if (timeout.expire()) {
+          dispatch(timeout.task);
+        }
+      }
+      // else, the timeout is due in a later round of the wheel
+    }
+  }
+
+  private void dispatch(Runnable task) {
+    try {
+      scheduler.execute(task);
+    } catch (RejectedExecutionException e) {
+      LOGGER.warn("Retry dispatch rejected by the scheduler, running it in the timing wheel thread: " + e.getMessage());
+      task.run();
+    }
+  }
+
+  /**
+   * Handle for a task scheduled in a {@link RetryTimingWheel}.
+   */
+  final class RetryTimeout {
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final Runnable task;
+    private final long deadlineNanos;
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+
+    // only accessed from the tick task
+    private long deadlineTick;
+
+    private RetryTimeout(Runnable task, long deadlineNanos) {
+      this.task = task;
+      this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Cancels the scheduled task. The task is discarded from the wheel on the next tick of its bucket.
+     *
+     * @return {@code true} if the task was cancelled, {@code false} if it was already dispatched or cancelled
+     */
+    boolean cancel() {
+      if (state.compareAndSet(PENDING, CANCELLED)) {
+        pendingTimeouts.decrementAndGet();
+        return true;
+      }
+      return false;
+    }
+
+    boolean isCancelled() {
+      return state.get() == CANCELLED;
+    }
+
+    private boolean expire() {
+      if (state.compareAndSet(PENDING, EXPIRED)) {
+        pendingTimeouts.decrementAndGet();
+        return true;
+      }
+      return false;
+    }
+  }
+}
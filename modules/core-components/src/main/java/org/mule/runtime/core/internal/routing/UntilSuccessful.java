@@ -6,8 +6,12 @@
  */
 package org.mule.runtime.core.internal.routing;
 
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.MAX_VALUE;
+import static java.lang.Integer.getInteger;
 import static java.util.Collections.singletonList;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.buildNewChainWithListOfProcessors;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.createDefaultProcessingStrategyFactory;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.getProcessingStrategy;
@@ -42,6 +46,45 @@ import org.reactivestreams.Publisher;
  */
 public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
 
+  /**
+   * When set, the delays between retries are managed by a timing wheel shared by all the events going through the scope, instead
+   * of scheduling a task for each pending retry.
+   *
+   * @since 4.5.0
+   */
+  public static final String RETRY_TIMING_WHEEL_PROPERTY = SYSTEM_PROPERTY_PREFIX + "untilSuccessful.timingWheel";
+
+  /**
+   * The duration in milliseconds of each tick of the retries timing wheel. Delays between retries are rounded up to it.
+   *
+   * @since 4.5.0
+   */
+  public static final String RETRY_TIMING_WHEEL_TICK_PROPERTY = SYSTEM_PROPERTY_PREFIX + "untilSuccessful.timingWheel.tickMillis";
+
+  /**
+   * The factor to multiply the delay between retries by, for each subsequent retry of an event.
+   *
+   * @since 4.5.0
+   */
+  public static final String RETRY_BACKOFF_MULTIPLIER_PROPERTY = SYSTEM_PROPERTY_PREFIX + "untilSuccessful.backoffMultiplier";
+
+  /**
+   * The upper bound in milliseconds for the delay between retries when a backoff multiplier is set.
+   *
+   * @since 4.5.0
+   */
+  public static final String RETRY_MAX_BACKOFF_PROPERTY = SYSTEM_PROPERTY_PREFIX + "untilSuccessful.maxBackoffMillis";
+
+  /**
+   * The maximum percentage of the delay between retries to randomly add or subtract from it, so events that failed at the same
+   * time are not retried all at once.
+   *
+   * @since 4.5.0
+   */
+  public static final String RETRY_JITTER_PERCENTAGE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "untilSuccessful.jitterPercentage";
+
+  private static final int RETRY_TIMING_WHEEL_SIZE = 512;
+
   private static final String DEFAULT_MILLIS_BETWEEN_RETRIES = "60000";
   private static final String DEFAULT_RETRIES = "5";
 
@@ -59,6 +102,8 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
   private MessageProcessorChain nestedChain;
   private Predicate<CoreEvent> shouldRetry;
   private Scheduler timer;
+  private RetryTimingWheel retryTimingWheel;
+  private RetryDelayScheduler retryScheduler;
   private List<Processor> processors;
   private ProcessingStrategy processingStrategy;
 
@@ -74,6 +119,13 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
     super.initialise();
 
     timer = schedulerService.cpuLightScheduler();
+    if (getBoolean(RETRY_TIMING_WHEEL_PROPERTY)) {
+      retryTimingWheel = new RetryTimingWheel(timer, getInteger(RETRY_TIMING_WHEEL_TICK_PROPERTY, 10), RETRY_TIMING_WHEEL_SIZE);
+    }
+    retryScheduler = new RetryDelayScheduler(timer, retryTimingWheel,
+                                             getInteger(RETRY_BACKOFF_MULTIPLIER_PROPERTY, 1),
+                                             getInteger(RETRY_MAX_BACKOFF_PROPERTY, MAX_VALUE),
+                                             getInteger(RETRY_JITTER_PERCENTAGE_PROPERTY, 0));
     shouldRetry = event -> event.getError().isPresent();
 
     final Optional<ProcessingStrategy> processingStrategyFromRootContainer = getProcessingStrategy(componentLocator, this);
@@ -85,6 +137,9 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
   @Override
   public void dispose() {
     super.dispose();
+    if (retryTimingWheel != null) {
+      retryTimingWheel.stop();
+    }
     timer.stop();
   }
 
@@ -107,11 +162,19 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
 
   @Override
   public Publisher<CoreEvent> apply(Publisher<CoreEvent> publisher) {
-    return new UntilSuccessfulRouter(this, publisher, nestedChain, processingStrategy, expressionManager, shouldRetry, timer,
-                                     maxRetries, millisBetweenRetries)
+    return new UntilSuccessfulRouter(this, publisher, nestedChain, processingStrategy, expressionManager, shouldRetry,
+                                     retryScheduler, maxRetries, millisBetweenRetries)
                                          .getDownstreamPublisher();
   }
 
+  /**
+   * @return the number of events waiting for their next retry in this scope
+   * @since 4.5.0
+   */
+  public int getPendingRetries() {
+    return retryScheduler != null ? retryScheduler.getPendingRetries() : 0;
+  }
+
 
   /**
    * @return the number of times the scope will retry before failing. Default value is 5.
@@ -7,14 +7,12 @@
 package org.mule.runtime.core.internal.routing;
 
 import static java.lang.Integer.parseInt;
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
 import static org.mule.runtime.api.functional.Either.left;
 import static org.mule.runtime.api.functional.Either.right;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.metadata.DataType.NUMBER;
 import static org.mule.runtime.core.api.retry.policy.SimpleRetryPolicyTemplate.RETRY_COUNT_FOREVER;
-import static org.mule.runtime.core.api.transaction.TransactionCoordination.isTransactionActive;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.applyWithChildContext;
 import static org.mule.runtime.internal.exception.SuppressedMuleException.suppressIfPresent;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -25,7 +23,6 @@ import static reactor.util.context.Context.empty;
 import org.mule.runtime.api.component.Component;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.functional.Either;
-import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.el.ExpressionManagerSession;
 import org.mule.runtime.core.api.el.ExtendedExpressionManager;
 import org.mule.runtime.core.api.event.CoreEvent;
@@ -35,7 +32,6 @@ import org.mule.runtime.core.api.retry.policy.RetryPolicyExhaustedException;
 import org.mule.runtime.core.internal.event.EventInternalContextResolver;
 import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.internal.rx.FluxSinkRecorder;
-import org.mule.runtime.core.internal.util.rx.ConditionalExecutorServiceDecorator;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -72,7 +68,7 @@ class UntilSuccessfulRouter {
 
   private final Component owner;
   private final Predicate<CoreEvent> shouldRetry;
-  private final ConditionalExecutorServiceDecorator delayScheduler;
+  private final RetryDelayScheduler retryScheduler;
 
   private final Flux<CoreEvent> upstreamFlux;
   private final Flux<CoreEvent> innerFlux;
@@ -96,11 +92,11 @@ class UntilSuccessfulRouter {
 
   UntilSuccessfulRouter(Component owner, Publisher<CoreEvent> publisher, Processor nestedChain,
                         ProcessingStrategy processingStrategy, ExtendedExpressionManager expressionManager,
-                        Predicate<CoreEvent> shouldRetry, Scheduler delayScheduler,
+                        Predicate<CoreEvent> shouldRetry, RetryDelayScheduler retryScheduler,
                         String maxRetries, String millisBetweenRetries) {
     this.owner = owner;
     this.shouldRetry = shouldRetry;
-    this.delayScheduler = new ConditionalExecutorServiceDecorator(delayScheduler, s -> isTransactionActive());
+    this.retryScheduler = retryScheduler;
     this.retryContextResolver = new EventInternalContextResolver<>(RETRY_CTX_INTERNAL_PARAM_KEY,
                                                                    HashMap::new);
 
@@ -180,12 +176,13 @@ class UntilSuccessfulRouter {
       int retriesLeft =
           ctx.retryCount.getAndDecrement();
       if (retriesLeft > 0) {
+        ctx.attemptCount.incrementAndGet();
         LOGGER.error("Retrying execution of event, attempt {} of {}.", ctx.getAttemptNumber(),
                      ctx.maxRetries != RETRY_COUNT_FOREVER ? ctx.maxRetries : "unlimited");
 
         // Schedule retry with delay
-        UntilSuccessfulRouter.this.delayScheduler.schedule(() -> innerRecorder.next(eventWithCurrentContext(ctx.event, ctx)),
-                                                           ctx.delayInMillis, MILLISECONDS);
+        retryScheduler.schedule(() -> innerRecorder.next(eventWithCurrentContext(ctx.event, ctx)),
+                                retryScheduler.delayFor(ctx.delayInMillis, ctx.getAttemptNumber()));
       } else { // Retries exhausted
         // Current context already pooped. No need to re-insert it
         LOGGER.error("Retry attempts exhausted. Failing...");
@@ -296,6 +293,8 @@ class UntilSuccessfulRouter {
 
     CoreEvent event;
     AtomicInteger retryCount = new AtomicInteger();
+    // counted apart from retryCount, which does not reflect the attempts made when retrying forever
+    AtomicInteger attemptCount = new AtomicInteger();
 
     Integer delayInMillis;
     Integer maxRetries;
@@ -313,7 +312,7 @@ class UntilSuccessfulRouter {
     }
 
     int getAttemptNumber() {
-      return maxRetries - retryCount.get();
+      return attemptCount.get();
     }
   }
 
@@ -7,15 +7,20 @@
 
 package org.mule.runtime.core.internal.routing.forkjoin;
 
+import static java.lang.Integer.getInteger;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.time.Duration.ofMillis;
 import static java.util.Optional.empty;
 import static java.util.stream.Collectors.toList;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.event.CoreEvent.builder;
 import static org.mule.runtime.core.internal.exception.ErrorHandlerContextManager.ERROR_HANDLER_CONTEXT;
 import static org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair.of;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.processWithChildContextDontComplete;
 import static reactor.core.Exceptions.propagate;
 import static reactor.core.publisher.Flux.from;
+import static reactor.core.publisher.Flux.fromIterable;
 import static reactor.core.publisher.Mono.defer;
 import static reactor.core.publisher.Mono.error;
 import static reactor.core.publisher.Mono.just;
@@ -27,7 +32,6 @@ import org.mule.runtime.api.metadata.CollectionDataType;
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.api.scheduler.Scheduler;
-import org.mule.runtime.api.util.Pair;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.message.GroupCorrelation;
 import org.mule.runtime.core.api.processor.ReactiveProcessor;
@@ -49,11 +53,13 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.reactivestreams.Publisher;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
@@ -66,12 +72,32 @@ import reactor.core.scheduler.Schedulers;
  * <li>Use of an optional timeout.
  * <li>Delay error behavior, where all errors are collated and thrown as a composite exception.
  * </ul>
+ * <p>
+ * When {@link #MAX_ROUTE_BATCH_SIZE_PROPERTY} is set and concurrency is limited, routes are dispatched in micro-batches once
+ * {@code maxConcurrency} of them are in flight. See {@link AdaptiveBatchSizer}. Since the size of the batches depends on how many
+ * routes are left, the routes are collected before dispatching the first one in that case.
  */
 public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrategyFactory {
 
   public static final String TIMEOUT_EXCEPTION_DESCRIPTION = "Route Timeout";
   public static final String TIMEOUT_EXCEPTION_DETAILED_DESCRIPTION_PREFIX = "Timeout while processing route/part:";
+
+  /**
+   * Maximum amount of routes to execute sequentially as a single unit of concurrency. Defaults to {@code 1}, which dispatches
+   * each route on its own.
+   * <p>
+   * Batching reduces the per route dispatching overhead for collections with many small items. It only applies when
+   * {@code maxConcurrency} is limited, since otherwise all routes run in parallel anyway.
+   *
+   * @since 4.5.0
+   */
+  public static final String MAX_ROUTE_BATCH_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "forkJoin.maxRouteBatchSize";
+
   private final boolean mergeVariables;
+  private final int maxRouteBatchSize = max(1, getInteger(MAX_ROUTE_BATCH_SIZE_PROPERTY, 1));
+
+  private final LongAdder inFlightRoutes = new LongAdder();
+  private final LongAdder completedRoutes = new LongAdder();
 
   public AbstractForkJoinStrategyFactory() {
     this(true);
@@ -85,33 +111,56 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
   public ForkJoinStrategy createForkJoinStrategy(ProcessingStrategy processingStrategy, int maxConcurrency, boolean delayErrors,
                                                  long timeout, Scheduler timeoutScheduler, ErrorType timeoutErrorType) {
     reactor.core.scheduler.Scheduler reactorTimeoutScheduler = Schedulers.fromExecutorService(timeoutScheduler);
+    final Function<RoutingPair, Publisher<? extends CoreEvent>> processRoutePair =
+        processRoutePair(processingStrategy, maxConcurrency, delayErrors, timeout, reactorTimeoutScheduler, timeoutErrorType);
+    final boolean batchRoutes = maxRouteBatchSize > 1 && maxConcurrency < Integer.MAX_VALUE;
+    final AdaptiveBatchSizer batchSizer = new AdaptiveBatchSizer(maxConcurrency, maxRouteBatchSize);
+
     return (original, routingPairs) -> {
       final AtomicInteger count = new AtomicInteger();
       final CoreEvent.Builder resultBuilder = builder(original);
-      return from(routingPairs)
-          .map(addSequence(count))
-          .flatMapSequential(processRoutePair(processingStrategy, maxConcurrency, delayErrors, timeout, reactorTimeoutScheduler,
-                                              timeoutErrorType),
-                             maxConcurrency)
-          .reduce(new Pair<List<CoreEvent>, Boolean>(new ArrayList<>(), false), (pair, event) -> {
-            // Accumulates events and check if there is a (new) error within those events
-            pair.getFirst().add(event);
-            boolean hasNewError = event.getError().map(err -> !isOriginalError(err, original.getError())).orElse(false);
-            return new Pair(pair.getFirst(), pair.getSecond() || hasNewError);
-          })
-          .doOnNext(p -> {
-            Pair<List<CoreEvent>, Boolean> pair = (Pair<List<CoreEvent>, Boolean>) p;
-            if (pair.getSecond()) {
-              throw propagate(createCompositeRoutingException(pair.getFirst().stream()
+      final Flux<RoutingPair> sequencedPairs = from(routingPairs).map(addSequence(count));
+
+      final Flux<CoreEvent> results;
+      if (batchRoutes) {
+        results = sequencedPairs
+            .collectList()
+            .flatMapIterable(batchSizer::split)
+            .flatMapSequential(batch -> fromIterable(batch).concatMap(processRoutePair), maxConcurrency);
+      } else {
+        results = sequencedPairs.flatMapSequential(processRoutePair, maxConcurrency);
+      }
+
+      return results
+          .collect(() -> new RouteResults(original.getError()), RouteResults::add)
+          .doOnNext(routeResults -> {
+            if (routeResults.hasNewError) {
+              throw propagate(createCompositeRoutingException(routeResults.events.stream()
                   .map(event -> removeOriginalError(event, original.getError())).collect(toList())));
             }
           })
-          .map(pair -> ((Pair<List<CoreEvent>, Boolean>) pair).getFirst())
+          .map(routeResults -> routeResults.events)
           .doOnNext(mergeVariables(original, resultBuilder))
           .map(createResultEvent(original, resultBuilder));
     };
   }
 
+  /**
+   * @return the amount of routes currently being processed by the strategies created by this factory
+   * @since 4.5.0
+   */
+  public long getInFlightRoutes() {
+    return inFlightRoutes.sum();
+  }
+
+  /**
+   * @return the amount of routes processed by the strategies created by this factory, either successfully or not
+   * @since 4.5.0
+   */
+  public long getCompletedRoutes() {
+    return completedRoutes.sum();
+  }
+
   private boolean isOriginalError(Error newError, Optional<Error> originalError) {
     return originalError.map(error -> error.equals(newError)).orElse(false);
   }
@@ -158,11 +207,17 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
                                                                   .build())
                                                           .onErrorResume(MessagingException.class,
                                                                          me -> delayErrors ? just(me.getEvent()) : error(me))
-
-      ;
+                                                          .doOnSubscribe(s -> inFlightRoutes.increment())
+                                                          // runs exactly once, whether the route completes, fails or is cancelled
+                                                          .doFinally(signal -> routeCompleted());
     };
   }
 
+  private void routeCompleted() {
+    inFlightRoutes.decrement();
+    completedRoutes.increment();
+  }
+
   private Mono<CoreEvent> onTimeout(ProcessingStrategy processingStrategy, boolean delayErrors, ErrorType timeoutErrorType,
                                     RoutingPair pair) {
     return defer(() -> delayErrors ? just(createTimeoutErrorEvent(timeoutErrorType, pair))
@@ -247,4 +302,66 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
     };
   }
 
+  /**
+   * Accumulates the events resulting from the routes, checking whether there is a (new) error within those events.
+   */
+  private final class RouteResults {
+
+    private final Optional<Error> originalError;
+    private final List<CoreEvent> events = new ArrayList<>();
+    private boolean hasNewError = false;
+
+    private RouteResults(Optional<Error> originalError) {
+      this.originalError = originalError;
+    }
+
+    private void add(CoreEvent event) {
+      events.add(event);
+      if (!hasNewError) {
+        hasNewError = event.getError().map(err -> !isOriginalError(err, originalError)).orElse(false);
+      }
+    }
+  }
+
+  /**
+   * Decides the size of the micro-batches of routes to dispatch. The first {@code maxConcurrency} batches have a single route,
+   * so that short collections get the same parallelism as without batching. From then on the size of each batch doubles, up to
+   * {@code maxBatchSize}, amortizing the dispatching of the routes that would have to wait for a free slot anyway.
+   * <p>
+   * A batch never takes more than its share of the remaining routes, {@code remaining / maxConcurrency}, so that the routes of
+   * the last batches are still spread among all the concurrency slots instead of running sequentially in a few of them.
+   */
+  static final class AdaptiveBatchSizer {
+
+    private final int maxConcurrency;
+    private final int maxBatchSize;
+
+    AdaptiveBatchSizer(int maxConcurrency, int maxBatchSize) {
+      this.maxConcurrency = maxConcurrency;
+      this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Splits the given routes into batches, keeping their order.
+     *
+     * @param routes the routes to split
+     * @return views of consecutive ranges of the given {@code routes}
+     */
+    <T> List<List<T>> split(List<T> routes) {
+      final List<List<T>> batches = new ArrayList<>();
+      int batchSize = 1;
+      int from = 0;
+      while (from < routes.size()) {
+        final int remaining = routes.size() - from;
+        final int size = min(batchSize, max(1, remaining / maxConcurrency));
+        batches.add(routes.subList(from, from + size));
+        from += size;
+
+        if (batches.size() >= maxConcurrency) {
+          batchSize = (int) min(maxBatchSize, batchSize * 2L);
+        }
+      }
+      return batches;
+    }
+  }
 }
@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.internal.routing;
 
+import static java.lang.System.clearProperty;
+import static java.lang.System.setProperty;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
@@ -34,6 +36,7 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.internal.routing.Foreach.DEFAULT_COUNTER_VARIABLE;
 import static org.mule.runtime.core.internal.routing.Foreach.DEFAULT_ROOT_MESSAGE_VARIABLE;
+import static org.mule.runtime.core.internal.routing.Foreach.STREAM_CURSOR_ITERATORS_PROPERTY;
 import static org.mule.runtime.core.internal.routing.ForeachInternalContextManager.getContext;
 import static org.mule.runtime.core.internal.routing.ForeachRouter.MAP_NOT_SUPPORTED_MESSAGE;
 import static org.mule.runtime.core.internal.streaming.CursorUtils.unwrap;
@@ -61,6 +64,7 @@ import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.internal.message.InternalEvent;
 import org.mule.runtime.core.internal.message.InternalMessage;
 import org.mule.runtime.core.internal.streaming.ManagedCursorProvider;
+import org.mule.runtime.core.internal.streaming.object.ListCursorIteratorProvider;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.mule.runtime.core.privileged.event.PrivilegedEvent;
 import org.mule.runtime.core.privileged.processor.InternalProcessor;
@@ -230,6 +234,20 @@ public class ForeachTestCase extends AbstractReactiveProcessorTestCase {
     assertSimpleProcessedMessages();
   }
 
+  @Test
+  public void cursorIteratorProviderPayloadStreamed() throws Exception {
+    setProperty(STREAM_CURSOR_ITERATORS_PROPERTY, "true");
+    try {
+      foreach = createForeach(getSimpleMessageProcessors(new TestMessageProcessor("zas")));
+    } finally {
+      clearProperty(STREAM_CURSOR_ITERATORS_PROPERTY);
+    }
+
+    process(foreach, eventBuilder(muleContext).message(of(new ListCursorIteratorProvider(asList("bar", "zip")))).build());
+
+    assertSimpleProcessedMessages();
+  }
+
   @Test
   public void mapPayload() throws Exception {
     expectedException.expect(IllegalArgumentException.class);
@@ -12,6 +12,8 @@ import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.junit.rules.ExpectedException.none;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
 import static org.mule.runtime.api.message.Message.of;
@@ -22,6 +24,7 @@ import org.mule.runtime.api.artifact.Registry;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.util.IOUtils;
 import org.mule.runtime.core.internal.el.ExpressionLanguageAdaptor;
@@ -221,6 +224,31 @@ public class IdempotentMessageValidatorTestCase extends AbstractMuleContextTestC
     assertThat(processedEvent, is(notNullValue()));
   }
 
+  @Test
+  public void bloomFilterSkipsLookupForNewIds() throws Exception {
+    ObjectStore<String> store = mock(ObjectStore.class);
+    when(store.contains("1")).thenReturn(true);
+    idempotent.setObjectStore(store);
+    idempotent.setBloomFilterMaxBytes(1024);
+    idempotent.initialise();
+    idempotent.start();
+
+    final BaseEventContext context = mock(BaseEventContext.class);
+    when(context.getCorrelationId()).thenReturn("1");
+    CoreEvent event = CoreEvent.builder(context).message(of("OK")).build();
+
+    assertThat(idempotent.process(event), sameInstance(event));
+    verify(store, never()).contains("1");
+    verify(store).store("1", "1");
+
+    expected.expect(ValidationException.class);
+    try {
+      idempotent.process(event);
+    } finally {
+      verify(store).contains("1");
+    }
+  }
+
   @Test
   public void multipleObjectStoreConfigurationShouldRaiseException() throws Exception {
     idempotent.setPrivateObjectStore(new InMemoryObjectStore<>());
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.test.allure.AllureConstants.ComponentsFeature.CORE_COMPONENTS;
+import static org.mule.test.allure.AllureConstants.ComponentsFeature.IdempotentMessageValidator.IDEMPOTENT_MESSAGE_VALIDATOR;
+
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.tck.core.util.store.InMemoryObjectStore;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@SmallTest
+@Feature(CORE_COMPONENTS)
+@Story(IDEMPOTENT_MESSAGE_VALIDATOR)
+public class MessageIdFilterTestCase extends AbstractMuleTestCase {
+
+  private InMemoryObjectStore<String> store;
+
+  @Before
+  public void before() {
+    store = new InMemoryObjectStore<>();
+  }
+
+  @Test
+  public void bypassedUntilBuilt() {
+    MessageIdFilter filter = new MessageIdFilter(1024, 0.01);
+    assertThat(filter.isDefinitelyNew("id"), is(false));
+  }
+
+  @Test
+  public void rebuiltFromStoreKeys() throws Exception {
+    store.store("stored", "value");
+    MessageIdFilter filter = new MessageIdFilter(1024, 0.01);
+    filter.rebuild(store);
+
+    assertThat(filter.isDefinitelyNew("stored"), is(false));
+    assertThat(filter.isDefinitelyNew("new"), is(true));
+  }
+
+  @Test
+  public void putIdsAreNotNew() {
+    MessageIdFilter filter = new MessageIdFilter(1024, 0.01);
+    filter.rebuild(store);
+
+    for (int i = 0; i < 100; ++i) {
+      filter.put("id" + i, store);
+    }
+    for (int i = 0; i < 100; ++i) {
+      assertThat(filter.isDefinitelyNew("id" + i), is(false));
+    }
+  }
+
+  @Test
+  public void rebuildDiscardsExpiredIds() throws Exception {
+    MessageIdFilter filter = new MessageIdFilter(1024, 0.01);
+    filter.rebuild(store);
+
+    filter.put("expired", store);
+    store.store("stored", "value");
+    filter.put("stored", store);
+    filter.rebuild(store);
+
+    assertThat(filter.isDefinitelyNew("stored"), is(false));
+    assertThat(filter.isDefinitelyNew("expired"), is(true));
+  }
+
+  @Test
+  public void saturatedFilterIsRebuilt() {
+    MessageIdFilter filter = new MessageIdFilter(64, 0.01);
+    filter.rebuild(store);
+
+    final int capacity = (int) filter.getCapacity();
+    for (int i = 0; i < capacity * 3; ++i) {
+      filter.put("id" + i, store);
+    }
+
+    // none of these were in the store, so they are discarded once the filter gets saturated
+    int reported = 0;
+    for (int i = 0; i < capacity / 2; ++i) {
+      if (!filter.isDefinitelyNew("id" + i)) {
+        reported++;
+      }
+    }
+    assertThat(reported, is(lessThan(capacity / 4)));
+  }
+
+  @Test
+  public void bypassedWhenStoreExceedsCapacity() throws Exception {
+    MessageIdFilter filter = new MessageIdFilter(8, 0.01);
+    for (int i = 0; i <= filter.getCapacity(); ++i) {
+      store.store("id" + i, "value");
+    }
+    filter.rebuild(store);
+
+    assertThat(filter.isDefinitelyNew("new"), is(false));
+  }
+
+  @Test
+  public void reenabledOnceStoreShrinks() throws Exception {
+    MessageIdFilter filter = new MessageIdFilter(8, 0.01);
+    for (int i = 0; i <= filter.getCapacity(); ++i) {
+      store.store("id" + i, "value");
+    }
+    filter.rebuild(store);
+    assertThat(filter.isDefinitelyNew("new"), is(false));
+
+    // as if the entries had expired
+    store.clear();
+    for (int i = 0; i < filter.getCapacity(); ++i) {
+      filter.put("put" + i, store);
+    }
+
+    assertThat(filter.isDefinitelyNew("new"), is(true));
+    assertThat(filter.isDefinitelyNew("put" + (filter.getCapacity() - 1)), is(false));
+  }
+
+  @Test
+  public void bypassedWhenStoreFails() throws Exception {
+    ObjectStore<String> failingStore = mock(ObjectStore.class);
+    when(failingStore.allKeys()).thenThrow(new ObjectStoreException());
+
+    MessageIdFilter filter = new MessageIdFilter(1024, 0.01);
+    filter.rebuild(failingStore);
+
+    assertThat(filter.isDefinitelyNew("new"), is(false));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidFalsePositiveProbability() {
+    new MessageIdFilter(1024, 1);
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.mule.test.allure.AllureConstants.ScopeFeature.SCOPE;
+import static org.mule.test.allure.AllureConstants.ScopeFeature.UntilSuccessfulStory.UNTIL_SUCCESSFUL;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@SmallTest
+@Feature(SCOPE)
+@Story(UNTIL_SUCCESSFUL)
+public class RetryDelaySchedulerTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void fixedDelay() {
+    RetryDelayScheduler retryScheduler = new RetryDelayScheduler(null);
+
+    assertThat(retryScheduler.delayFor(100, 1), is(100L));
+    assertThat(retryScheduler.delayFor(100, 5), is(100L));
+  }
+
+  @Test
+  public void exponentialBackoff() {
+    RetryDelayScheduler retryScheduler = new RetryDelayScheduler(null, null, 2, 500, 0);
+
+    assertThat(retryScheduler.delayFor(100, 1), is(100L));
+    assertThat(retryScheduler.delayFor(100, 2), is(200L));
+    assertThat(retryScheduler.delayFor(100, 3), is(400L));
+    assertThat(retryScheduler.delayFor(100, 4), is(500L));
+    assertThat(retryScheduler.delayFor(100, 100), is(500L));
+  }
+
+  @Test
+  public void jitter() {
+    RetryDelayScheduler retryScheduler = new RetryDelayScheduler(null, null, 1, Long.MAX_VALUE, 10);
+
+    for (int i = 0; i < 100; ++i) {
+      assertThat(retryScheduler.delayFor(1000, 1), is(allOf(greaterThanOrEqualTo(900L), lessThanOrEqualTo(1100L))));
+    }
+  }
+
+  @Test
+  public void retriesDiscardedByStoppedWheelNotPending() {
+    ScheduledExecutorService scheduler = newSingleThreadScheduledExecutor();
+    try {
+      RetryTimingWheel timingWheel = new RetryTimingWheel(scheduler, 10, 16);
+      RetryDelayScheduler retryScheduler = new RetryDelayScheduler(scheduler, timingWheel, 1, Long.MAX_VALUE, 0);
+
+      retryScheduler.schedule(() -> {
+      }, 1000);
+      assertThat(retryScheduler.getPendingRetries(), is(1));
+
+      timingWheel.stop();
+      assertThat(retryScheduler.getPendingRetries(), is(0));
+    } finally {
+      scheduler.shutdownNow();
+    }
+  }
+}
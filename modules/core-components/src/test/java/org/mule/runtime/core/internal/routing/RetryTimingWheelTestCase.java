@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.test.allure.AllureConstants.ScopeFeature.SCOPE;
+import static org.mule.test.allure.AllureConstants.ScopeFeature.UntilSuccessfulStory.UNTIL_SUCCESSFUL;
+
+import org.mule.runtime.core.internal.routing.RetryTimingWheel.RetryTimeout;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@SmallTest
+@Feature(SCOPE)
+@Story(UNTIL_SUCCESSFUL)
+public class RetryTimingWheelTestCase extends AbstractMuleTestCase {
+
+  private static final long TICK_MILLIS = 5;
+
+  private ScheduledExecutorService scheduler;
+
+  @Before
+  public void before() {
+    scheduler = newSingleThreadScheduledExecutor();
+  }
+
+  @After
+  public void after() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void taskRunAfterDelay() throws Exception {
+    RetryTimingWheel wheel = new RetryTimingWheel(scheduler, TICK_MILLIS, 16);
+    CountDownLatch latch = new CountDownLatch(1);
+
+    long start = nanoTime();
+    wheel.schedule(latch::countDown, 50);
+
+    assertThat(latch.await(5, SECONDS), is(true));
+    assertThat(NANOSECONDS.toMillis(nanoTime() - start), is(greaterThanOrEqualTo(50L)));
+    assertThat(wheel.getPendingTimeouts(), is(0));
+  }
+
+  @Test
+  public void delayLongerThanWheelRevolution() throws Exception {
+    // 4 buckets of 5 millis each, the delay takes several rounds of the wheel
+    RetryTimingWheel wheel = new RetryTimingWheel(scheduler, TICK_MILLIS, 4);
+    CountDownLatch latch = new CountDownLatch(1);
+
+    long start = nanoTime();
+    wheel.schedule(latch::countDown, 100);
+
+    assertThat(latch.await(5, SECONDS), is(true));
+    assertThat(NANOSECONDS.toMillis(nanoTime() - start), is(greaterThanOrEqualTo(100L)));
+  }
+
+  @Test
+  public void cancelledTaskNotRun() throws Exception {
+    RetryTimingWheel wheel = new RetryTimingWheel(scheduler, TICK_MILLIS, 16);
+    AtomicInteger runs = new AtomicInteger();
+    CountDownLatch latch = new CountDownLatch(1);
+
+    RetryTimeout timeout = wheel.schedule(runs::incrementAndGet, 20);
+    assertThat(wheel.getPendingTimeouts(), is(1));
+    assertThat(timeout.cancel(), is(true));
+    assertThat(timeout.cancel(), is(false));
+    assertThat(wheel.getPendingTimeouts(), is(0));
+
+    // tasks are run in order of their deadlines, so once this one runs the cancelled one would have run already
+    wheel.schedule(latch::countDown, 40);
+    assertThat(latch.await(5, SECONDS), is(true));
+    assertThat(runs.get(), is(0));
+  }
+
+  @Test
+  public void manyTasksRun() throws Exception {
+    RetryTimingWheel wheel = new RetryTimingWheel(scheduler, TICK_MILLIS, 8);
+    final int tasks = 1000;
+    CountDownLatch latch = new CountDownLatch(tasks);
+
+    for (int i = 0; i < tasks; ++i) {
+      wheel.schedule(latch::countDown, i % 100);
+    }
+
+    assertThat(latch.await(5, SECONDS), is(true));
+    assertThat(wheel.getPendingTimeouts(), is(0));
+  }
+
+  @Test
+  public void stopDiscardsPendingTasks() throws Exception {
+    RetryTimingWheel wheel = new RetryTimingWheel(scheduler, TICK_MILLIS, 16);
+    AtomicInteger runs = new AtomicInteger();
+
+    wheel.schedule(runs::incrementAndGet, 20);
+    wheel.stop();
+    assertThat(wheel.getPendingTimeouts(), is(0));
+
+    MILLISECONDS.sleep(100);
+    assertThat(runs.get(), is(0));
+  }
+
+  @Test
+  public void ticksStopWhenEmptyAndRestartOnSchedule() throws Exception {
+    RetryTimingWheel wheel = new RetryTimingWheel(scheduler, TICK_MILLIS, 16);
+    CountDownLatch firstLatch = new CountDownLatch(1);
+
+    wheel.schedule(firstLatch::countDown, 10);
+    assertThat(wheel.isTicking(), is(true));
+    assertThat(firstLatch.await(5, SECONDS), is(true));
+    new PollingProber(5000, 10).check(new JUnitLambdaProbe(() -> !wheel.isTicking()));
+
+    CountDownLatch secondLatch = new CountDownLatch(1);
+    wheel.schedule(secondLatch::countDown, 10);
+    assertThat(wheel.isTicking(), is(true));
+    assertThat(secondLatch.await(5, SECONDS), is(true));
+  }
+
+  @Test
+  public void scheduleAfterStop() throws Exception {
+    RetryTimingWheel wheel = new RetryTimingWheel(scheduler, TICK_MILLIS, 16);
+    wheel.schedule(() -> {
+    }, 1000);
+    wheel.stop();
+    assertThat(wheel.isTicking(), is(false));
+
+    CountDownLatch latch = new CountDownLatch(1);
+    wheel.schedule(latch::countDown, 10);
+    assertThat(latch.await(5, SECONDS), is(true));
+    assertThat(wheel.getPendingTimeouts(), is(0));
+  }
+
+  @Test
+  public void scheduleRacingStopWhenEmptyIsNotStranded() throws Exception {
+    RetryTimingWheel wheel = new RetryTimingWheel(scheduler, 1, 16);
+    final int threads = 4;
+    final int retriesPerThread = 200;
+    ExecutorService schedulingThreads = newFixedThreadPool(threads);
+    try {
+      // each retry is scheduled right after the previous one ran, when the wheel is likely becoming empty and stopping
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int t = 0; t < threads; ++t) {
+        results.add(schedulingThreads.submit(() -> {
+          for (int i = 0; i < retriesPerThread; ++i) {
+            CountDownLatch latch = new CountDownLatch(1);
+            wheel.schedule(latch::countDown, 0);
+            if (!latch.await(5, SECONDS)) {
+              return false;
+            }
+          }
+          return true;
+        }));
+      }
+
+      for (Future<Boolean> result : results) {
+        assertThat(result.get(), is(true));
+      }
+      assertThat(wheel.getPendingTimeouts(), is(0));
+    } finally {
+      schedulingThreads.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static org.mule.runtime.core.internal.routing.UntilSuccessful.RETRY_TIMING_WHEEL_PROPERTY;
+import static org.mule.test.allure.AllureConstants.ScopeFeature.SCOPE;
+import static org.mule.test.allure.AllureConstants.ScopeFeature.UntilSuccessfulStory.UNTIL_SUCCESSFUL;
+
+import org.mule.tck.junit4.rule.SystemProperty;
+
+import org.junit.Rule;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature(SCOPE)
+@Story(UNTIL_SUCCESSFUL)
+public class TimingWheelUntilSuccessfulTestCase extends UntilSuccessfulTestCase {
+
+  @Rule
+  public SystemProperty retryTimingWheel = new SystemProperty(RETRY_TIMING_WHEEL_PROPERTY, "true");
+
+  public TimingWheelUntilSuccessfulTestCase(boolean tx) {
+    super(tx);
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.lang.Integer.MAX_VALUE;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.internal.routing.forkjoin.AbstractForkJoinStrategyFactory.MAX_ROUTE_BATCH_SIZE_PROPERTY;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.ForkJoinStrategiesStory.COLLECT_LIST;
+
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+import org.mule.runtime.core.internal.routing.forkjoin.AbstractForkJoinStrategyFactory.AdaptiveBatchSizer;
+import org.mule.tck.junit4.rule.SystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Story;
+
+@Story(COLLECT_LIST)
+public class BatchedCollectListForkJoinStrategyTestCase extends CollectListForkJoinStrategyTestCase {
+
+  @Rule
+  public SystemProperty maxRouteBatchSize = new SystemProperty(MAX_ROUTE_BATCH_SIZE_PROPERTY, "4");
+
+  @Test
+  @Description("Routes dispatched in batches keep the order of the results.")
+  public void batchedRoutesKeepOrder() throws Throwable {
+    CollectListForkJoinStrategyFactory factory = new CollectListForkJoinStrategyFactory();
+    strategy = factory.createForkJoinStrategy(processingStrategy, 2, true, MAX_VALUE, scheduler, timeoutErrorType);
+
+    int pairs = 50;
+    List<RoutingPair> routingPairs = new ArrayList<>();
+    for (int i = 0; i < pairs; ++i) {
+      routingPairs.add(createRoutingPair(of(i)));
+    }
+
+    CoreEvent result = invokeStrategyBlocking(strategy, testEvent(), routingPairs);
+
+    List<Message> resultList = (List<Message>) result.getMessage().getPayload().getValue();
+    assertThat(resultList.stream().map(message -> message.getPayload().getValue()).collect(toList()),
+               is(range(0, pairs).boxed().collect(toList())));
+    assertThat(factory.getCompletedRoutes(), is((long) pairs));
+    assertThat(factory.getInFlightRoutes(), is(0L));
+  }
+
+  @Test
+  @Description("Batches have a single route until max concurrency is reached, and then grow up to the max batch size.")
+  public void batchSizes() {
+    AdaptiveBatchSizer batchSizer = new AdaptiveBatchSizer(2, 4);
+
+    assertThat(batchSizer.split(range(0, 40).boxed().collect(toList())).stream().map(List::size).collect(toList()),
+               is(asList(1, 1, 2, 4, 4, 4, 4, 4, 4, 4, 4, 2, 1, 1)));
+  }
+
+  @Test
+  @Description("Batches never take more than their share of the remaining routes among the concurrency slots.")
+  public void batchSizesCappedByRemainingRoutes() {
+    AdaptiveBatchSizer batchSizer = new AdaptiveBatchSizer(4, 64);
+
+    List<List<Integer>> batches = batchSizer.split(range(0, 20).boxed().collect(toList()));
+    assertThat(batches.stream().map(List::size).collect(toList()), is(asList(1, 1, 1, 1, 2, 3, 2, 2, 1, 1, 1, 1, 1, 1, 1)));
+    assertThat(batches.stream().flatMap(List::stream).collect(toList()), is(range(0, 20).boxed().collect(toList())));
+  }
+}
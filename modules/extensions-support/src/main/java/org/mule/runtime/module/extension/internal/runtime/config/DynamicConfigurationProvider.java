@@ -6,9 +6,11 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.config;
 
+import static java.lang.Boolean.getBoolean;
 import static java.util.Optional.ofNullable;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.api.util.collection.Collectors.toImmutableList;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.assertNotStopping;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
@@ -17,6 +19,7 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
 import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
 import static org.mule.runtime.extension.api.values.ValueResolvingException.UNKNOWN;
+import static org.mule.runtime.module.extension.internal.runtime.resolver.ResolverUtils.resolveRecursively;
 import static org.mule.runtime.module.extension.internal.value.ValueProviderUtils.valuesWithClassLoader;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -30,6 +33,7 @@ import org.mule.runtime.api.lifecycle.Startable;
 import org.mule.runtime.api.meta.model.ExtensionModel;
 import org.mule.runtime.api.meta.model.config.ConfigurationModel;
 import org.mule.runtime.api.meta.model.connection.ConnectionProviderModel;
+import org.mule.runtime.api.util.LazyValue;
 import org.mule.runtime.api.util.Pair;
 import org.mule.runtime.api.value.Value;
 import org.mule.runtime.core.api.MuleContext;
@@ -50,14 +54,16 @@ import org.mule.runtime.module.extension.internal.runtime.resolver.ValueResolvin
 import org.mule.runtime.module.extension.internal.util.ReflectionCache;
 import org.mule.runtime.module.extension.internal.value.ValueProviderMediator;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
 
 import org.slf4j.Logger;
 
@@ -69,6 +75,10 @@ import org.slf4j.Logger;
  * {@link #resolverSet#resolve(Object)}, the resulting {@link ResolverSetResult} might not end up generating a new instance. This
  * is so because {@link ResolverSetResult} instances are put in a cache to guarantee that equivalent evaluations of the
  * {@code resolverSet} return the same instance.
+ * <p>
+ * If the {@link #SHAPE_AWARE_LOOKUP_PROPERTY} system property is set, only the dynamic resolvers of the configuration and
+ * connection provider are evaluated to look up the cached instance. The static ones are only evaluated when a new instance has to
+ * be created.
  *
  * @since 4.0.0
  */
@@ -77,18 +87,30 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
 
   private static final Logger LOGGER = getLogger(DynamicConfigurationProvider.class);
 
+  /**
+   * When set, cached configurations are looked up by the values of the dynamic resolvers only.
+   *
+   * @since 4.5.0
+   */
+  public static final String SHAPE_AWARE_LOOKUP_PROPERTY = SYSTEM_PROPERTY_PREFIX + "dynamicConfig.shapeAwareLookup";
+
   private final ConfigurationInstanceFactory configurationInstanceFactory;
   private final ResolverSet resolverSet;
   private final ConnectionProviderValueResolver connectionProviderResolver;
   private final ExpirationPolicy expirationPolicy;
 
-  private final Map<Pair<ResolverSetResult, ResolverSetResult>, ConfigurationInstance> cache = new ConcurrentHashMap<>();
-  private final ReadWriteLock cacheLock = new ReentrantReadWriteLock();
-  private final Lock cacheReadLock = cacheLock.readLock();
-  private final Lock cacheWriteLock = cacheLock.writeLock();
+  private final Map<Object, ConfigurationInstance> cache = new ConcurrentHashMap<>();
+  private final StampedLock cacheLock = new StampedLock();
   private final ReflectionCache reflectionCache;
   private final ExpressionManager expressionManager;
 
+  private final boolean shapeAwareLookup = getBoolean(SHAPE_AWARE_LOOKUP_PROPERTY);
+  private final LazyValue<LookupShape> lookupShape = new LazyValue<>(this::createLookupShape);
+
+  private final LongAdder cacheHits = new LongAdder();
+  private final LongAdder cacheMisses = new LongAdder();
+  private final LongAdder instantiations = new LongAdder();
+
   /**
    * Creates a new instance
    *
@@ -133,32 +155,70 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
     return withContextClassLoader(getExtensionClassLoader(), () -> {
       try (ValueResolvingContext resolvingContext = ValueResolvingContext.builder(((CoreEvent) event))
           .withExpressionManager(expressionManager).build()) {
+        if (shapeAwareLookup) {
+          final LookupShape shape = lookupShape.get();
+          final ConfigurationKey key = shape.resolveKey(resolvingContext);
+          return getConfiguration(key, k -> shape.resolveValues(key, resolvingContext), (CoreEvent) event);
+        }
+
         ResolverSetResult result = resolverSet.resolve(resolvingContext);
         ResolverSetResult providerResult = null;
         if (connectionProviderResolver.getResolverSet().isPresent()) {
           providerResult = ((ResolverSet) connectionProviderResolver.getResolverSet().get()).resolve(resolvingContext);
         }
-        return getConfiguration(new Pair<>(result, providerResult), (CoreEvent) event);
+        return getConfiguration(new Pair<>(result, providerResult), k -> (Pair<ResolverSetResult, ResolverSetResult>) k,
+                                (CoreEvent) event);
       }
     });
   }
 
-  private ConfigurationInstance getConfiguration(Pair<ResolverSetResult, ResolverSetResult> resolverSetResult, CoreEvent event)
+  private ConfigurationInstance getConfiguration(Object key, ValuesResolver valuesResolver, CoreEvent event)
       throws Exception {
+    ConfigurationInstance configuration = getCachedConfiguration(key);
+    if (configuration != null) {
+      cacheHits.increment();
+      return configuration;
+    }
 
-    ConfigurationInstance configuration;
-    cacheReadLock.lock();
+    cacheMisses.increment();
+    final long stamp = cacheLock.readLock();
     try {
-      configuration = cache.computeIfAbsent(resolverSetResult, (r) -> createConfiguration(r, event));
+      configuration = cache.computeIfAbsent(key, k -> {
+        try {
+          return createConfiguration(valuesResolver.resolve(k), event);
+        } catch (MuleException e) {
+          throw new WrappingRuntimeException(e);
+        }
+      });
       updateUsageStatistic(configuration);
       return configuration;
     } catch (WrappingRuntimeException e) {
       throw e.getWrappedException();
     } finally {
-      cacheReadLock.unlock();
+      cacheLock.unlockRead(stamp);
     }
   }
 
+  /**
+   * Looks up an already created configuration without locking. If {@link #getExpired()} runs concurrently, the configuration
+   * may have been expired before its usage statistics were updated, so {@code null} is returned and the caller has to go through
+   * the locked path.
+   */
+  private ConfigurationInstance getCachedConfiguration(Object key) {
+    final long stamp = cacheLock.tryOptimisticRead();
+    if (stamp == 0) {
+      return null;
+    }
+
+    final ConfigurationInstance configuration = cache.get(key);
+    if (configuration == null) {
+      return null;
+    }
+
+    updateUsageStatistic(configuration);
+    return cacheLock.validate(stamp) ? configuration : null;
+  }
+
   private void updateUsageStatistic(ConfigurationInstance configuration) {
     MutableConfigurationStats stats = (MutableConfigurationStats) configuration.getStatistics();
     stats.updateLastUsed();
@@ -183,6 +243,7 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
                                                                          ofNullable(connectionProviderResolver));
       }
       registerConfiguration(configuration);
+      instantiations.increment();
       return configuration;
     } catch (MuleException e) {
       throw new WrappingRuntimeException(e);
@@ -228,7 +289,7 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
 
   @Override
   public List<ConfigurationInstance> getExpired() {
-    cacheWriteLock.lock();
+    final long stamp = cacheLock.writeLock();
     try {
       return cache.entrySet().stream().filter(entry -> isExpired(entry.getValue())).map(entry -> {
         cache.remove(entry.getKey());
@@ -236,10 +297,35 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
         return entry.getValue();
       }).collect(toImmutableList());
     } finally {
-      cacheWriteLock.unlock();
+      cacheLock.unlockWrite(stamp);
     }
   }
 
+  /**
+   * @return how many times a cached configuration was returned without locking
+   * @since 4.5.0
+   */
+  public long getCacheHits() {
+    return cacheHits.sum();
+  }
+
+  /**
+   * @return how many times a configuration could not be returned without locking, either because it had to be created or
+   *         because it was being expired concurrently
+   * @since 4.5.0
+   */
+  public long getCacheMisses() {
+    return cacheMisses.sum();
+  }
+
+  /**
+   * @return how many configurations were created by this provider
+   * @since 4.5.0
+   */
+  public long getInstantiations() {
+    return instantiations.sum();
+  }
+
   private boolean isExpired(ConfigurationInstance configuration) {
     ConfigurationStats stats = configuration.getStatistics();
     return stats.getActiveComponents() == 0 && expirationPolicy.isExpired(stats.getLastUsedMillis(), MILLISECONDS);
@@ -348,12 +434,125 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
     }, getExtensionModel());
   }
 
+  private LookupShape createLookupShape() {
+    return new LookupShape(resolverSet, (Optional<ResolverSet>) connectionProviderResolver.getResolverSet());
+  }
+
   private Optional<ConnectionProviderModel> getConnectionProviderModel() {
     return this.connectionProviderResolver.getObjectBuilder()
         .filter(ob -> ob instanceof ConnectionProviderObjectBuilder)
         .map(ob -> ((ConnectionProviderObjectBuilder) ob).providerModel);
   }
 
+  /**
+   * Obtains the values to create a configuration for the given cache key.
+   */
+  @FunctionalInterface
+  private interface ValuesResolver {
+
+    Pair<ResolverSetResult, ResolverSetResult> resolve(Object key) throws MuleException;
+  }
+
+  /**
+   * Splits the resolvers of the configuration and connection provider between the dynamic ones, which determine the
+   * configuration instance to use for each event, and the static ones.
+   */
+  private static final class LookupShape {
+
+    private final List<Entry<String, ValueResolver<?>>> configResolvers;
+    private final Optional<List<Entry<String, ValueResolver<?>>>> providerResolvers;
+    private final ValueResolver<?>[] dynamicResolvers;
+
+    private LookupShape(ResolverSet configResolverSet, Optional<ResolverSet> providerResolverSet) {
+      configResolvers = entries(configResolverSet);
+      providerResolvers = providerResolverSet.map(LookupShape::entries);
+
+      List<ValueResolver<?>> dynamic = new ArrayList<>();
+      addDynamic(configResolvers, dynamic);
+      providerResolvers.ifPresent(resolvers -> addDynamic(resolvers, dynamic));
+      dynamicResolvers = dynamic.toArray(new ValueResolver<?>[dynamic.size()]);
+    }
+
+    private static List<Entry<String, ValueResolver<?>>> entries(ResolverSet resolverSet) {
+      return new ArrayList<>(resolverSet.getResolvers().entrySet());
+    }
+
+    private static void addDynamic(List<Entry<String, ValueResolver<?>>> resolvers, List<ValueResolver<?>> dynamic) {
+      for (Entry<String, ValueResolver<?>> entry : resolvers) {
+        if (entry.getValue().isDynamic()) {
+          dynamic.add(entry.getValue());
+        }
+      }
+    }
+
+    private ConfigurationKey resolveKey(ValueResolvingContext context) throws MuleException {
+      final Object[] values = new Object[dynamicResolvers.length];
+      for (int i = 0; i < dynamicResolvers.length; ++i) {
+        values[i] = resolveRecursively(dynamicResolvers[i], context);
+      }
+      return new ConfigurationKey(values);
+    }
+
+    /**
+     * Resolves all the values of the configuration and connection provider, reusing the dynamic values already resolved for the
+     * {@code key} so the created configuration matches it.
+     */
+    private Pair<ResolverSetResult, ResolverSetResult> resolveValues(ConfigurationKey key, ValueResolvingContext context)
+        throws MuleException {
+      final int[] dynamicIndex = {0};
+      final ResolverSetResult result = resolveValues(configResolvers, key, dynamicIndex, context);
+      ResolverSetResult providerResult = null;
+      if (providerResolvers.isPresent()) {
+        providerResult = resolveValues(providerResolvers.get(), key, dynamicIndex, context);
+      }
+      return new Pair<>(result, providerResult);
+    }
+
+    private ResolverSetResult resolveValues(List<Entry<String, ValueResolver<?>>> resolvers, ConfigurationKey key,
+                                            int[] dynamicIndex, ValueResolvingContext context)
+        throws MuleException {
+      final ResolverSetResult.Builder builder = ResolverSetResult.newBuilder();
+      for (Entry<String, ValueResolver<?>> entry : resolvers) {
+        final Object value = entry.getValue().isDynamic()
+            ? key.values[dynamicIndex[0]++]
+            : resolveRecursively(entry.getValue(), context);
+        builder.add(entry.getKey(), value);
+      }
+      return builder.build();
+    }
+  }
+
+  /**
+   * Cache key holding only the values of the dynamic resolvers, with its hash computed once.
+   */
+  private static final class ConfigurationKey {
+
+    private final Object[] values;
+    private final int hash;
+
+    private ConfigurationKey(Object[] values) {
+      this.values = values;
+      this.hash = Arrays.hashCode(values);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof ConfigurationKey)) {
+        return false;
+      }
+      final ConfigurationKey other = (ConfigurationKey) obj;
+      return hash == other.hash && Arrays.equals(values, other.values);
+    }
+  }
+
   /**
    * Used to preserve exception throwing behaviour in {@link #getConfiguration} as the method {@link #createConfiguration} can no
    * longer throw checked exception as it is used inside {@link Map#computeIfAbsent}.
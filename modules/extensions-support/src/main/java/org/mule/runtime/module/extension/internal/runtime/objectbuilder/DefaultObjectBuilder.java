@@ -105,7 +105,7 @@ public class DefaultObjectBuilder<T> implements ObjectBuilder<T>, Initialisable,
 
     resolverByFieldName.put(field.getName(), resolver);
 
-    resolvers.put(new FieldSetter<>(field), (ValueResolver<Object>) resolver);
+    resolvers.put(new FieldSetter<>(field, reflectionCache), (ValueResolver<Object>) resolver);
     return this;
   }
 
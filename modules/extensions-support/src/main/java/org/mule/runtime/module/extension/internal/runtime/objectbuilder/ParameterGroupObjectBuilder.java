@@ -30,13 +30,16 @@ import org.mule.runtime.module.extension.internal.loader.ParameterGroupDescripto
 import org.mule.runtime.module.extension.internal.runtime.resolver.ResolverSetResult;
 import org.mule.runtime.module.extension.internal.runtime.resolver.StaticValueResolver;
 import org.mule.runtime.module.extension.internal.runtime.resolver.ValueResolvingContext;
+import org.mule.runtime.module.extension.internal.util.FieldSetter;
 import org.mule.runtime.module.extension.internal.util.ReflectionCache;
 
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -50,6 +53,7 @@ public class ParameterGroupObjectBuilder<T> {
   private final Class<T> prototypeClass;
   private final ExpressionManager expressionManager;
   private final List<FieldElement> groupDescriptorFields;
+  private final List<BiConsumer<Object, Object>> groupFieldSetters;
 
   /**
    * Create a new instance
@@ -64,6 +68,13 @@ public class ParameterGroupObjectBuilder<T> {
     checkInstantiable(prototypeClass, reflectionCache);
     this.expressionManager = expressionManager;
     this.groupDescriptorFields = reflectionCache.fieldElementsFor(groupDescriptor);
+
+    this.groupFieldSetters = new ArrayList<>(groupDescriptorFields.size());
+    for (FieldElement field : groupDescriptorFields) {
+      groupFieldSetters.add(field.getField()
+          .map(f -> (BiConsumer<Object, Object>) new FieldSetter<>(f, reflectionCache)::set)
+          .orElse(field::set));
+    }
   }
 
   public T build(EventedExecutionContext executionContext) throws MuleException {
@@ -106,7 +117,8 @@ public class ParameterGroupObjectBuilder<T> {
       throws MuleException {
     T object = createInstance(prototypeClass);
 
-    for (FieldElement field : groupDescriptorFields) {
+    for (int i = 0; i < groupDescriptorFields.size(); ++i) {
+      final FieldElement field = groupDescriptorFields.get(i);
       String name = field.getName();
       if (hasParameter.test(name)) {
         final boolean isContent = field.isAnnotatedWith(Content.class)
@@ -118,7 +130,7 @@ public class ParameterGroupObjectBuilder<T> {
                             isContent ? v -> decorateInput(v, context.getEvent().getCorrelationId(), componentDecoratorFactory)
                                 : identity())
             : resolvedValue;
-        field.set(object, value);
+        groupFieldSetters.get(i).accept(object, value);
       }
     }
 
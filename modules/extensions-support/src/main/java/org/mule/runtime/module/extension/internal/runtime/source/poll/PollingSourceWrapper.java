@@ -6,14 +6,23 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.source.poll;
 
+import static java.lang.Integer.getInteger;
 import static java.lang.String.format;
+import static java.lang.Math.min;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static java.util.Comparator.naturalOrder;
 import static java.util.Optional.ofNullable;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.store.ObjectStoreSettings.unmanagedPersistent;
 import static org.mule.runtime.api.store.ObjectStoreSettings.unmanagedTransient;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STORE_MANAGER;
+import static org.mule.runtime.core.internal.store.BatchObjectStoreUtils.putAll;
+import static org.mule.runtime.core.internal.store.BatchObjectStoreUtils.removeAll;
+import static org.mule.runtime.core.internal.store.BatchObjectStoreUtils.retrieveIfPresent;
 import static org.mule.runtime.core.internal.util.ConcurrencyUtils.safeUnlock;
 import static org.mule.runtime.module.extension.internal.runtime.source.poll.WatermarkStatus.ON_HIGH;
 import static org.mule.runtime.module.extension.internal.runtime.source.poll.WatermarkStatus.ON_NEW_HIGH;
@@ -40,6 +49,7 @@ import org.mule.runtime.api.lock.LockFactory;
 import org.mule.runtime.api.scheduler.SchedulerConfig;
 import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.api.scheduler.SchedulingStrategy;
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
 import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.ObjectStoreManager;
@@ -57,10 +67,15 @@ import org.mule.sdk.api.runtime.source.SourceCallback;
 import org.mule.sdk.api.runtime.source.SourceCallbackContext;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Consumer;
@@ -89,14 +104,26 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
       "Watermark with key:[{}] and value:[{}] returned from the ObjectStore for flow:[{}]";
   public static final String WATERMARK_NOT_RETURNED_MESSAGE =
       "Watermark with key:[{}] not found on the ObjectStore for flow:[{}]";
-  public static final String WATERMARK_REMOVED_MESSAGE = "Watermark with key:[{}] removed from the ObjectStore for flow:[{}]";
   public static final String WATERMARK_COMPARISON_MESSAGE =
       "Watermark comparison of {}:[{}] with {}:[{}] for flow:[{}] returns:[{}]";
 
+  /**
+   * Amount of accepted items whose watermark bookkeeping is buffered in memory before being written to the object stores in a
+   * single batch. Pending writes are always flushed at the end of each poll.
+   * <p>
+   * Defaults to {@code 1}, writing after each accepted item. Larger values reduce the object store round trips of polls with many
+   * items, at the cost of some of those items being processed again if the runtime crashes in the middle of a poll.
+   *
+   * @since 4.5.0
+   */
+  public static final String WATERMARK_WRITES_BATCH_SIZE_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "pollingSource.watermarkWritesBatchSize";
+
   private static final Logger LOGGER = getLogger(PollingSourceWrapper.class);
   private static final String ITEM_RELEASER_CTX_VAR = "itemReleaser";
   private static final String UPDATE_PROCESSED_LOCK = "OSClearing";
   private static final String INFLIGHT_IDS_OS_NAME_SUFFIX = "inflight-ids";
+  private static final int ITEM_IDS_SAMPLE_SIZE = 10;
   private static final String POLLING_SOURCE_EXECUTOR_KEY = "Polling source executor";
   private static final String RUNNABLE_KEY = "Runnable";
 
@@ -104,6 +131,7 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
   private final SchedulingStrategy scheduler;
   private final int maxItemsPerPoll;
   private final SystemExceptionHandler systemExceptionHandler;
+  private final int watermarkWritesBatchSize = getInteger(WATERMARK_WRITES_BATCH_SIZE_PROPERTY, 1);
 
   @Inject
   private LockFactory lockFactory;
@@ -212,7 +240,13 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
       DefaultPollContext pollContext = new DefaultPollContext(sourceCallback, getCurrentWatermark(), getUpdatedWatermark());
 
       try {
-        delegate.poll(pollContext);
+        try {
+          delegate.poll(pollContext);
+        } catch (RuntimeException e) {
+          flushWatermarkWritesAfterFailure(pollContext, e);
+          throw e;
+        }
+        pollContext.flushWatermarkWrites();
       } catch (RuntimeException e) {
         LOGGER.error(format("Found exception trying to process item on source at flow '%s'. %s",
                             flowName, e.getMessage()),
@@ -235,6 +269,21 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
     });
   }
 
+  /**
+   * The items accepted before the poll failed were already dispatched, so their watermark bookkeeping is still written. A failure
+   * doing so is logged and suppressed, so that the error of the poll is the one handled.
+   */
+  private void flushWatermarkWritesAfterFailure(DefaultPollContext pollContext, RuntimeException pollError) {
+    try {
+      pollContext.flushWatermarkWrites();
+    } catch (RuntimeException e) {
+      LOGGER.warn(format("Could not save the watermark of the items processed by the failed poll of source at flow '%s'. %s",
+                         flowName, e.getMessage()),
+                  e);
+      pollError.addSuppressed(e);
+    }
+  }
+
   private int compareWatermarks(String w1Label, Serializable w1, String w2Label, Serializable w2, Comparator comparator)
       throws IllegalArgumentException {
     if (comparator == null) {
@@ -277,6 +326,12 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
 
     private int currentPollItems;
 
+    private final Map<String, Serializable> pendingRecentlyProcessedIds = new LinkedHashMap<>();
+    private final Map<String, Serializable> pendingIdsOnUpdatedWatermark = new LinkedHashMap<>();
+    private boolean updatedWatermarkRenewed = false;
+    private int pendingItems = 0;
+    private Set<String> inflightIdsOnPollStart;
+
     private DefaultPollContext(SourceCallback<T, A> sourceCallback, Serializable currentWatermark,
                                Serializable updatedWatermark) {
       this.sourceCallback = sourceCallback;
@@ -299,7 +354,7 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
       boolean currentPollItemLimitApplied = false;
       if (isRequestedToStop()) {
         status = SOURCE_STOPPING;
-      } else if (!acquireItem(pollItem, callbackContext)) {
+      } else if (!acquireItem(pollItem, callbackContext, this)) {
         status = ALREADY_IN_PROCESS;
       } else {
         WatermarkStatus watermarkStatus = passesWatermark(pollItem);
@@ -361,50 +416,81 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
         case REJECT:
           break;
       }
+
+      if (++pendingItems >= watermarkWritesBatchSize) {
+        flushWatermarkWrites();
+      }
     }
 
     private void renewUpdatedWatermark(Serializable itemWatermark) {
-      try {
-        idsOnUpdatedWatermark.clear();
-        this.updatedWatermark = itemWatermark;
-        removeWatermark(UPDATED_WATERMARK_ITEM_OS_KEY);
-        saveWatermark(UPDATED_WATERMARK_ITEM_OS_KEY, updatedWatermark);
-      } catch (ObjectStoreException e) {
-        throw new MuleRuntimeException(
-                                       createStaticMessage("An error occurred while trying to update the updatedWatermark in the the object store"),
-                                       e);
-      }
+      this.updatedWatermark = itemWatermark;
+      updatedWatermarkRenewed = true;
+      pendingIdsOnUpdatedWatermark.clear();
     }
 
     private void addToUpdatedWatermark(String itemId, Serializable itemWatermark) {
       if (itemId != null) {
-        try {
-          idsOnUpdatedWatermark.store(itemId, itemWatermark);
-        } catch (ObjectStoreException e) {
-          throw new MuleRuntimeException(
-                                         createStaticMessage("An error occurred while updating the watermark for Item with ID [%s]",
-                                                             itemId),
-                                         e);
-        }
+        pendingIdsOnUpdatedWatermark.put(itemId, itemWatermark);
       }
     }
 
     private void addToRecentlyProcessedIds(String itemId, Serializable itemWatermark) {
+      if (itemId != null) {
+        pendingRecentlyProcessedIds.put(itemId, itemWatermark);
+      }
+    }
+
+    /**
+     * Writes the watermark values and item ids buffered since the last flush to the object stores.
+     */
+    private void flushWatermarkWrites() {
+      if (pendingItems == 0) {
+        return;
+      }
+
       try {
-        if (itemId != null) {
-          if (recentlyProcessedIds.contains(itemId)) {
-            recentlyProcessedIds.remove(itemId);
-          }
-          recentlyProcessedIds.store(itemId, itemWatermark);
+        if (updatedWatermarkRenewed) {
+          idsOnUpdatedWatermark.clear();
+          saveWatermark(UPDATED_WATERMARK_ITEM_OS_KEY, updatedWatermark);
+          updatedWatermarkRenewed = false;
+        }
+        if (!pendingIdsOnUpdatedWatermark.isEmpty()) {
+          putAll(idsOnUpdatedWatermark, pendingIdsOnUpdatedWatermark);
+          pendingIdsOnUpdatedWatermark.clear();
+        }
+        if (!pendingRecentlyProcessedIds.isEmpty()) {
+          putAll(recentlyProcessedIds, pendingRecentlyProcessedIds);
+          pendingRecentlyProcessedIds.clear();
         }
+        pendingItems = 0;
       } catch (ObjectStoreException e) {
         throw new MuleRuntimeException(
-                                       createStaticMessage("An error occurred while updating the watermark for Item with ID [%s]",
-                                                           itemId),
+                                       createStaticMessage("An error occurred while updating the watermark for %s",
+                                                           describeItemIds(pendingRecentlyProcessedIds.keySet())),
                                        e);
       }
     }
 
+    /**
+     * Whether the item with the given id was already being processed when this poll started. The ids of all the items in process
+     * are retrieved at once the first time this is called, instead of querying the object store for each polled item.
+     */
+    private boolean wasInflightOnPollStart(String itemId) {
+      if (inflightIdsOnPollStart == null) {
+        inflightIdsOnPollStart = retrieveInflightIds();
+      }
+      return inflightIdsOnPollStart.contains(itemId);
+    }
+
+    private Serializable getRecentlyProcessedWatermark(String itemId) throws ObjectStoreException {
+      Serializable pending = pendingRecentlyProcessedIds.get(itemId);
+      return pending != null ? pending : retrieveIfPresent(recentlyProcessedIds, itemId);
+    }
+
+    private boolean isRecentlyProcessed(String itemId) throws ObjectStoreException {
+      return pendingRecentlyProcessedIds.containsKey(itemId) || recentlyProcessedIds.contains(itemId);
+    }
+
     @Override
     public boolean isSourceStopping() {
       return isRequestedToStop();
@@ -455,8 +541,8 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
             : -1;
         if (compare < 0) {
           try {
-            if (itemId != null && recentlyProcessedIds.contains(itemId)) {
-              Serializable previousItemWatermark = recentlyProcessedIds.retrieve(itemId);
+            Serializable previousItemWatermark = itemId != null ? getRecentlyProcessedWatermark(itemId) : null;
+            if (previousItemWatermark != null) {
               if (compareWatermarks("itemWatermark", itemWatermark, "previousItemWatermark", previousItemWatermark,
                                     watermarkComparator) <= 0) {
                 status = REJECT;
@@ -483,7 +569,7 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
           }
         } else if (compare == 0 && pollItem.getItemId().isPresent()) {
           try {
-            status = recentlyProcessedIds.contains(itemId) ? REJECT : PASSED;
+            status = isRecentlyProcessed(itemId) ? REJECT : PASSED;
           } catch (ObjectStoreException e) {
             throw new MuleRuntimeException(
                                            createStaticMessage("An error occurred while checking the existence for Item with ID [%s]",
@@ -622,12 +708,9 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
   }
 
   private void updateWatermark(Serializable value, Comparator comparator) throws ObjectStoreException {
-    if (watermarkObjectStore.contains(WATERMARK_ITEM_OS_KEY)) {
-      Serializable currentValue = watermarkObjectStore.retrieve(WATERMARK_ITEM_OS_KEY);
-      if (compareWatermarks("currentValue", currentValue, "value", value, comparator) >= 0) {
-        return;
-      }
-      watermarkObjectStore.remove(WATERMARK_ITEM_OS_KEY);
+    Serializable currentValue = retrieveIfPresent(watermarkObjectStore, WATERMARK_ITEM_OS_KEY);
+    if (currentValue != null && compareWatermarks("currentValue", currentValue, "value", value, comparator) >= 0) {
+      return;
     }
 
     updateRecentlyProcessedIds();
@@ -636,7 +719,6 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
 
   private void setCurrentWatermarkAsMinimumRejectWatermark(Serializable minimumRejectedByLimitPassingWatermark)
       throws ObjectStoreException {
-    removeWatermark(WATERMARK_ITEM_OS_KEY);
     saveWatermark(WATERMARK_ITEM_OS_KEY, minimumRejectedByLimitPassingWatermark);
   }
 
@@ -644,17 +726,9 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
     Lock osClearingLock = lockFactory.createLock(UPDATE_PROCESSED_LOCK);
     try {
       osClearingLock.lock();
-      List<String> strings = idsOnUpdatedWatermark.allKeys();
+      Map<String, Serializable> ids = idsOnUpdatedWatermark.retrieveAll();
       recentlyProcessedIds.clear();
-      strings.forEach(key -> {
-        try {
-          recentlyProcessedIds.store(key, idsOnUpdatedWatermark.retrieve(key));
-        } catch (ObjectStoreException e) {
-          throw new MuleRuntimeException(createStaticMessage("An error occurred while updating the watermark Ids. Failed to update key '%s' in Watermark-IDs ObjectStore: %s",
-                                                             key, e.getMessage()),
-                                         e);
-        }
-      });
+      putAll(recentlyProcessedIds, ids);
       idsOnUpdatedWatermark.clear();
     } finally {
       safeUnlock(osClearingLock);
@@ -663,8 +737,8 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
 
   private Serializable getWatermark(String watermarkKey) {
     try {
-      if (watermarkObjectStore.contains(watermarkKey)) {
-        Serializable watermark = watermarkObjectStore.retrieve(watermarkKey);
+      Serializable watermark = retrieveIfPresent(watermarkObjectStore, watermarkKey);
+      if (watermark != null) {
         LOGGER.trace(WATERMARK_RETURNED_MESSAGE, watermarkKey, watermark, flowName);
         return watermark;
       } else {
@@ -680,17 +754,10 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
   }
 
   private void saveWatermark(String watermarkKey, Serializable watermarkValue) throws ObjectStoreException {
-    watermarkObjectStore.store(watermarkKey, watermarkValue);
+    putAll(watermarkObjectStore, singletonMap(watermarkKey, watermarkValue));
     LOGGER.trace(WATERMARK_SAVED_MESSAGE, watermarkKey, watermarkValue, flowName);
   }
 
-  private void removeWatermark(String watermarkKey) throws ObjectStoreException {
-    if (watermarkObjectStore.contains(watermarkKey)) {
-      watermarkObjectStore.remove(watermarkKey);
-      LOGGER.trace(WATERMARK_REMOVED_MESSAGE, watermarkKey, flowName);
-    }
-  }
-
   private Serializable getCurrentWatermark() {
     return getWatermark(WATERMARK_ITEM_OS_KEY);
   }
@@ -699,12 +766,17 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
     return getWatermark(UPDATED_WATERMARK_ITEM_OS_KEY);
   }
 
-  private boolean acquireItem(DefaultPollItem pollItem, SourceCallbackContext callbackContext) {
+  private boolean acquireItem(DefaultPollItem pollItem, SourceCallbackContext callbackContext, DefaultPollContext pollContext) {
     if (!pollItem.getItemId().isPresent()) {
       return true;
     }
 
     String id = pollItem.getItemId().get();
+    if (pollContext.wasInflightOnPollStart(id)) {
+      logItemAlreadyInProcess(id);
+      return false;
+    }
+
     Lock lock = lockFactory.createLock(flowName + "/" + id);
     if (!lock.tryLock()) {
       if (LOGGER.isDebugEnabled()) {
@@ -715,24 +787,18 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
     }
 
     try {
-      if (inflightIdsObjectStore.contains(id)) {
-        if (LOGGER.isDebugEnabled()) {
-          LOGGER.debug("Source at flow '{}' polled item '{}', but skipping it since it is already being processed in another "
-              + "thread or node", flowName, id);
-        }
-        return false;
-      } else {
-        try {
-          inflightIdsObjectStore.store(id, id);
-          callbackContext.addVariable(ITEM_RELEASER_CTX_VAR, new ItemReleaser(id));
-          return true;
-        } catch (ObjectStoreException e) {
-          LOGGER.error(format("Flow at source '%s' could not track item '%s' as being processed. %s",
-                              flowName, id, e.getMessage()),
-                       e);
-          return false;
-        }
-      }
+      // storing fails if the item started being processed after the poll started
+      inflightIdsObjectStore.store(id, id);
+      callbackContext.addVariable(ITEM_RELEASER_CTX_VAR, new ItemReleaser(id));
+      return true;
+    } catch (ObjectAlreadyExistsException e) {
+      logItemAlreadyInProcess(id);
+      return false;
+    } catch (ObjectStoreException e) {
+      LOGGER.error(format("Flow at source '%s' could not track item '%s' as being processed. %s",
+                          flowName, id, e.getMessage()),
+                   e);
+      return false;
     } catch (Exception e) {
       LOGGER.error(format("Could not guarantee idempotency for item '%s' for source at flow '%s'. '%s",
                           id, flowName, e.getMessage()),
@@ -743,6 +809,39 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
     }
   }
 
+  private void logItemAlreadyInProcess(String id) {
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Source at flow '{}' polled item '{}', but skipping it since it is already being processed in another "
+          + "thread or node", flowName, id);
+    }
+  }
+
+  private Set<String> retrieveInflightIds() {
+    try {
+      return new HashSet<>(inflightIdsObjectStore.retrieveAll().keySet());
+    } catch (ObjectStoreException e) {
+      // each item is still checked when it is tracked as being processed
+      LOGGER.warn(format("Source at flow '%s' could not retrieve the items being processed. %s", flowName, e.getMessage()), e);
+      return emptySet();
+    }
+  }
+
+  /**
+   * Describes the given item ids for an error message, with a sample of them rather than all of them, since there may be many.
+   */
+  private static String describeItemIds(Collection<String> itemIds) {
+    final List<String> sample = new ArrayList<>(min(itemIds.size(), ITEM_IDS_SAMPLE_SIZE));
+    for (String itemId : itemIds) {
+      if (sample.size() == ITEM_IDS_SAMPLE_SIZE) {
+        break;
+      }
+      sample.add(itemId);
+    }
+    return itemIds.size() > sample.size()
+        ? format("%d items, including the ones with IDs %s", itemIds.size(), sample)
+        : format("%d items with IDs %s", itemIds.size(), sample);
+  }
+
   private boolean isRequestedToStop() {
     return stopRequested.get() || Thread.currentThread().isInterrupted();
   }
@@ -764,9 +863,7 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
 
     private void release() {
       try {
-        if (inflightIdsObjectStore.contains(id)) {
-          inflightIdsObjectStore.remove(id);
-        }
+        removeAll(inflightIdsObjectStore, singletonList(id));
       } catch (ObjectStoreException e) {
         LOGGER.error(format("Could not untrack item '%s' in source at flow '%s'. %s", id, flowName, e.getMessage()), e);
       }
@@ -7,6 +7,7 @@
 package org.mule.runtime.module.extension.internal.util;
 
 import java.lang.reflect.Field;
+import java.util.function.BiConsumer;
 
 /**
  * Utility class which allows setting the value of a {@link Field} on random compatible instances
@@ -21,9 +22,29 @@ public final class FieldSetter<Target, Value> {
    */
   private final Field field;
 
+  /**
+   * A generated writer for the {@link #field}, if available
+   */
+  private final BiConsumer<Object, Object> writer;
+
   public FieldSetter(Field field) {
     this.field = field;
     field.setAccessible(true);
+    this.writer = null;
+  }
+
+  /**
+   * Creates a new instance which, if available, uses the writer for the {@code field} provided by
+   * {@link ReflectionCache#getFieldWriter(Field)} instead of reflection.
+   *
+   * @param field           the {@link Field} in which the value is to be assigned
+   * @param reflectionCache the cache for expensive reflection lookups
+   * @since 4.5.0
+   */
+  public FieldSetter(Field field, ReflectionCache reflectionCache) {
+    this.field = field;
+    field.setAccessible(true);
+    this.writer = reflectionCache.getFieldWriter(field).orElse(null);
   }
 
   /**
@@ -33,6 +54,11 @@ public final class FieldSetter<Target, Value> {
    * @param value  the value to set
    */
   public void set(Target target, Value value) {
+    if (writer != null) {
+      writer.accept(target, value);
+      return;
+    }
+
     try {
       field.set(target, value);
     } catch (IllegalAccessException ex) {
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.util;
+
+import static java.lang.Class.forName;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.lang.invoke.MethodType.methodType;
+import static java.lang.reflect.Modifier.isFinal;
+import static java.lang.reflect.Modifier.isPrivate;
+import static java.lang.reflect.Modifier.isPublic;
+import static java.lang.reflect.Modifier.isStatic;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+import static net.bytebuddy.dynamic.loading.ClassLoadingStrategy.Default.INJECTION;
+import static net.bytebuddy.implementation.bytecode.assign.Assigner.Typing.DYNAMIC;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+import org.slf4j.Logger;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.type.TypeDescription.ForLoadedType;
+import net.bytebuddy.dynamic.DynamicType.Unloaded;
+import net.bytebuddy.dynamic.scaffold.InstrumentedType;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.assign.TypeCasting;
+import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.MethodReturn;
+import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+
+/**
+ * Uses bytecode manipulation to dynamically generate classes that assign a value to a given {@link Field} of an object, without
+ * the reflective access done by {@link FieldSetter}.
+ * <p>
+ * The generated class is defined in the same package and {@link ClassLoader} as the class declaring the field, so it can write
+ * non private fields directly. Generated code cannot access private fields, so those are written through a {@link MethodHandle}
+ * obtained for the field itself. In both cases the field is assigned directly, as {@link FieldSetter} does, without invoking
+ * any setter the class may have.
+ *
+ * @since 4.5.0
+ */
+public final class FieldWriterGenerator {
+
+  private static final Logger LOGGER = getLogger(FieldWriterGenerator.class);
+
+  private FieldWriterGenerator() {
+    // Nothing to do
+  }
+
+  /**
+   * Instantiates a dynamically generated writer for the given {@code field}.
+   * <p>
+   * All invocations for the same {@code field} return instances of the same generated class.
+   *
+   * @param field the field to write
+   * @return a {@link BiConsumer} which takes the target object and the value to set, or {@link Optional#empty()} if the field
+   *         cannot be written from generated code
+   */
+  public static Optional<BiConsumer<Object, Object>> generateFieldWriter(Field field) {
+    final Class<?> declaringClass = field.getDeclaringClass();
+    final ClassLoader classLoader = declaringClass.getClassLoader();
+    if (classLoader == null || isStatic(field.getModifiers()) || isFinal(field.getModifiers())
+        || !isAccessibleFrom(declaringClass, declaringClass) || !isAccessibleFrom(field.getType(), declaringClass)) {
+      return empty();
+    }
+
+    if (isPrivate(field.getModifiers())) {
+      return createMethodHandleWriter(field);
+    }
+
+    final String writerName = declaringClass.getName() + "$" + field.getName() + "$FieldWriter";
+    try {
+      Class<?> writerClass;
+      try {
+        writerClass = forName(writerName, true, classLoader);
+      } catch (ClassNotFoundException e) {
+        writerClass = generateWriterClass(writerName, field).load(classLoader, INJECTION).getLoaded();
+      }
+      return of((BiConsumer<Object, Object>) writerClass.getConstructor().newInstance());
+    } catch (Exception | LinkageError e) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Could not generate writer for field '" + field + "'. Reflection will be used instead", e);
+      }
+      return empty();
+    }
+  }
+
+  private static Unloaded<Object> generateWriterClass(String writerName, Field field) {
+    return new ByteBuddy()
+        .subclass(Object.class)
+        .implement(BiConsumer.class)
+        .name(writerName)
+        .method(named("accept"))
+        .intercept(new Implementation() {
+
+          @Override
+          public InstrumentedType prepare(InstrumentedType instrumentedType) {
+            return instrumentedType;
+          }
+
+          @Override
+          public ByteCodeAppender appender(Target implementationTarget) {
+            return (methodVisitor, instrumentationContext, instrumentedMethod) -> {
+              List<StackManipulation> stack = new ArrayList<>();
+
+              // load the target object, as an instance of the class declaring the field
+              stack.add(MethodVariableAccess.REFERENCE.loadFrom(1));
+              stack.add(TypeCasting.to(new ForLoadedType(field.getDeclaringClass())));
+
+              // load the value, handling casting and unboxing
+              stack.add(MethodVariableAccess.REFERENCE.loadFrom(2));
+              stack.add(Assigner.DEFAULT.assign(new ForLoadedType(Object.class).asGenericType(),
+                                                new ForLoadedType(field.getType()).asGenericType(), DYNAMIC));
+
+              stack.add(FieldAccess.forField(new FieldDescription.ForLoadedField(field)).write());
+
+              stack.add(MethodReturn.VOID);
+
+              StackManipulation.Size size = new StackManipulation.Compound(stack).apply(methodVisitor, instrumentationContext);
+              return new ByteCodeAppender.Size(size.getMaximalSize(), instrumentedMethod.getStackSize());
+            };
+          }
+        })
+        .make();
+  }
+
+  private static Optional<BiConsumer<Object, Object>> createMethodHandleWriter(Field field) {
+    try {
+      field.setAccessible(true);
+      return of(new MethodHandleFieldWriter(lookup().unreflectSetter(field)
+          .asType(methodType(void.class, Object.class, Object.class))));
+    } catch (IllegalAccessException | RuntimeException e) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Could not create writer for field '" + field + "'. Reflection will be used instead", e);
+      }
+      return empty();
+    }
+  }
+
+  /**
+   * @return whether code in the package of {@code from} can reference the given {@code type}
+   */
+  private static boolean isAccessibleFrom(Class<?> type, Class<?> from) {
+    while (type.isArray()) {
+      type = type.getComponentType();
+    }
+    if (type.isPrimitive()) {
+      return true;
+    }
+
+    for (Class<?> current = type; current != null; current = current.getDeclaringClass()) {
+      if (isPrivate(current.getModifiers())) {
+        return false;
+      }
+      if (!isPublic(current.getModifiers())
+          && (current.getClassLoader() != from.getClassLoader() || !Objects.equals(packageName(current), packageName(from)))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String packageName(Class<?> type) {
+    final String name = type.getName();
+    final int lastDot = name.lastIndexOf('.');
+    return lastDot == -1 ? "" : name.substring(0, lastDot);
+  }
+
+  /**
+   * Writes a private field through a {@link MethodHandle} setter for it.
+   */
+  private static final class MethodHandleFieldWriter implements BiConsumer<Object, Object> {
+
+    private final MethodHandle setter;
+
+    private MethodHandleFieldWriter(MethodHandle setter) {
+      this.setter = setter;
+    }
+
+    @Override
+    public void accept(Object target, Object value) {
+      try {
+        setter.invokeExact(target, value);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new IllegalStateException("Unexpected exception writing field - " + t.getClass().getName() + ": " + t.getMessage(),
+                                        t);
+      }
+    }
+  }
+}
@@ -6,10 +6,13 @@
  */
 package org.mule.runtime.module.extension.internal.util;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.String.format;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.module.extension.internal.util.IntrospectionUtils.getAnnotatedFields;
+import static org.mule.runtime.module.extension.internal.util.FieldWriterGenerator.generateFieldWriter;
 
 import org.mule.runtime.core.api.util.ClassUtils;
 import org.mule.runtime.extension.api.exception.IllegalModelDefinitionException;
@@ -25,6 +28,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
 
 /**
  * Caches results of frequently done reflection lookups.
@@ -33,11 +37,21 @@ import java.util.concurrent.ConcurrentMap;
  */
 public class ReflectionCache {
 
+  /**
+   * When set, the {@link FieldSetter}s created through this cache write the fields of parameter groups and POJO parameters
+   * through classes generated by {@link FieldWriterGenerator} instead of through reflection.
+   *
+   * @since 4.5.0
+   */
+  public static final String GENERATED_FIELD_WRITERS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "extensions.generatedFieldWriters";
+
   private final ConcurrentMap<Class<?>, List<FieldElement>> fieldElements = new ConcurrentHashMap<>();
   private final ConcurrentMap<Class<? extends Annotation>, ConcurrentMap<Class<?>, Optional<FieldSetter>>> fieldSetterForAnnotatedField =
       new ConcurrentHashMap<>(3, 0.9f);
   private final ConcurrentMap<Class<?>, List<Field>> fieldsByClass = new ConcurrentHashMap<>();
   private final ConcurrentMap<Class<?>, Boolean> hasDefaultConstructorsByClass = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Field, Optional<BiConsumer<Object, Object>>> fieldWriters = new ConcurrentHashMap<>();
+  private final boolean generatedFieldWriters = getBoolean(GENERATED_FIELD_WRITERS_PROPERTY);
 
   public List<FieldElement> fieldElementsFor(ParameterGroupDescriptor groupDescriptor) {
     Class<?> clazz = groupDescriptor.getType().getDeclaringClass().get();
@@ -114,4 +128,24 @@ public class ReflectionCache {
     return value;
   }
 
+  /**
+   * @param field the field to write
+   * @return a writer generated by {@link FieldWriterGenerator} for the given {@code field}, or {@link Optional#empty()} if the
+   *         field cannot be written through generated code or the generated writers are disabled
+   * @since 4.5.0
+   */
+  public Optional<BiConsumer<Object, Object>> getFieldWriter(Field field) {
+    if (!generatedFieldWriters) {
+      return empty();
+    }
+
+    Optional<BiConsumer<Object, Object>> writer = fieldWriters.get(field);
+    // This pre-check is made in order to avoid the synchronized block in the implementation of ConcurrentHashMap
+    // (https://bugs.openjdk.java.net/browse/JDK-8161372)
+    if (writer == null) {
+      writer = fieldWriters.computeIfAbsent(field, f -> generateFieldWriter(f));
+    }
+    return writer;
+  }
+
 }
@@ -32,6 +32,17 @@ public final class SingleValueSetter implements ValueSetter {
     this.fieldSetter = new FieldSetter<>(field);
   }
 
+  /**
+   * Creates a new instance which sets the value through the writer for the {@code field} provided by the
+   * {@code reflectionCache}, if available.
+   *
+   * @since 4.5.0
+   */
+  public SingleValueSetter(String parameterName, Field field, ReflectionCache reflectionCache) {
+    this.parameterName = parameterName;
+    this.fieldSetter = new FieldSetter<>(field, reflectionCache);
+  }
+
   /**
    * Sets the {@code resolverSetResult} value for the {@link #parameterName} into the {@link Field} supplied in the constructor
    *
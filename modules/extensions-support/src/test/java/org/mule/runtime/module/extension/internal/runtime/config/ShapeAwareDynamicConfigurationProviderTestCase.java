@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.config;
+
+import static java.util.Arrays.asList;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.module.extension.internal.runtime.config.DynamicConfigurationProvider.SHAPE_AWARE_LOOKUP_PROPERTY;
+import static org.mule.test.module.extension.internal.util.ExtensionsTestUtils.mockClassLoaderModelProperty;
+import static org.mule.test.module.extension.internal.util.ExtensionsTestUtils.mockConfigurationInstance;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.meta.model.operation.OperationModel;
+import org.mule.runtime.core.api.el.ExpressionManager;
+import org.mule.runtime.core.api.el.ExpressionManagerSession;
+import org.mule.runtime.core.internal.config.ImmutableExpirationPolicy;
+import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
+import org.mule.runtime.module.extension.internal.runtime.resolver.ConnectionProviderResolver;
+import org.mule.runtime.module.extension.internal.runtime.resolver.ResolverSet;
+import org.mule.runtime.module.extension.internal.runtime.resolver.ValueResolver;
+import org.mule.runtime.module.extension.internal.util.ReflectionCache;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.size.SmallTest;
+import org.mule.test.heisenberg.extension.HeisenbergExtension;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import com.google.common.collect.ImmutableList;
+
+@SmallTest
+public class ShapeAwareDynamicConfigurationProviderTestCase extends AbstractConfigurationProviderTestCase<HeisenbergExtension> {
+
+  @Rule
+  public MockitoRule rule = MockitoJUnit.rule().silent();
+
+  @Rule
+  public SystemProperty shapeAwareLookup = new SystemProperty(SHAPE_AWARE_LOOKUP_PROPERTY, "true");
+
+  @Mock(lenient = true)
+  private OperationModel operationModel;
+
+  @Mock
+  private ConnectionProviderResolver connectionProviderResolver;
+
+  @Mock
+  private ExpressionManager expressionManager;
+
+  @Mock
+  private ValueResolver<String> tenantResolver;
+
+  @Mock
+  private ValueResolver<String> staticResolver;
+
+  @Mock
+  private ValueResolver<String> providerTenantResolver;
+
+  private ResolverSet resolverSet;
+
+  @Override
+  @Before
+  public void before() throws Exception {
+    mockConfigurationInstance(configurationModel, HeisenbergExtension.class.newInstance());
+    mockClassLoaderModelProperty(extensionModel, getClass().getClassLoader());
+    when(extensionModel.getSourceModels()).thenReturn(ImmutableList.of());
+    when(extensionModel.getOperationModels()).thenReturn(asList(operationModel));
+    when(extensionModel.getConfigurationModels()).thenReturn(asList(configurationModel));
+    when(configurationModel.getOperationModels()).thenReturn(asList(operationModel));
+    when(configurationModel.getSourceModels()).thenReturn(ImmutableList.of());
+
+    when(expressionManager.openSession(any())).thenReturn(mock(ExpressionManagerSession.class));
+
+    when(tenantResolver.isDynamic()).thenReturn(true);
+    when(tenantResolver.resolve(any())).thenReturn("tenant1");
+    when(staticResolver.isDynamic()).thenReturn(false);
+    when(staticResolver.resolve(any())).thenReturn("static");
+
+    resolverSet = new ResolverSet(muleContext);
+    resolverSet.add("tenant", tenantResolver);
+    resolverSet.add("static", staticResolver);
+
+    when(connectionProviderResolver.getResolverSet()).thenReturn(empty());
+    when(connectionProviderResolver.resolve(any())).thenReturn(null);
+    provider = new DynamicConfigurationProvider(CONFIG_NAME, extensionModel, configurationModel, resolverSet,
+                                                connectionProviderResolver,
+                                                new ImmutableExpirationPolicy(5, MINUTES, timeSupplier),
+                                                new ReflectionCache(), expressionManager, muleContext);
+
+    super.before();
+    provider.initialise();
+    provider.start();
+  }
+
+  @After
+  public void after() throws MuleException {
+    provider.stop();
+    provider.dispose();
+  }
+
+  @Test
+  public void staticResolversOnlyEvaluatedOnInstantiation() throws Exception {
+    final int count = 10;
+    Object config = provider.get(event);
+    for (int i = 1; i < count; i++) {
+      assertThat(provider.get(event), is(sameInstance(config)));
+    }
+
+    verify(tenantResolver, times(count)).resolve(any());
+    verify(staticResolver, times(1)).resolve(any());
+
+    DynamicConfigurationProvider dynamicProvider = (DynamicConfigurationProvider) provider;
+    assertThat(dynamicProvider.getInstantiations(), is(1L));
+    assertThat(dynamicProvider.getCacheMisses(), is(1L));
+    assertThat(dynamicProvider.getCacheHits(), is((long) count - 1));
+  }
+
+  @Test
+  public void differentDynamicValuesResolveDifferentInstances() throws Exception {
+    Object config1 = provider.get(event);
+    mockConfigurationInstance(configurationModel, HeisenbergExtension.class.newInstance());
+
+    when(tenantResolver.resolve(any())).thenReturn("tenant2");
+    Object config2 = provider.get(event);
+
+    assertThat(config2, is(not(sameInstance(config1))));
+    assertThat(((DynamicConfigurationProvider) provider).getInstantiations(), is(2L));
+  }
+
+  @Test
+  public void providerDynamicValuesAreCacheKey() throws Exception {
+    ResolverSet providerResolverSet = new ResolverSet(muleContext);
+    when(providerTenantResolver.isDynamic()).thenReturn(true);
+    when(providerTenantResolver.resolve(any())).thenReturn("provider1");
+    providerResolverSet.add("providerTenant", providerTenantResolver);
+    when(connectionProviderResolver.getResolverSet()).thenReturn(of(providerResolverSet));
+    when(connectionProviderResolver.getObjectBuilder()).thenReturn(empty());
+
+    Object config1 = provider.get(event);
+    assertThat(provider.get(event), is(sameInstance(config1)));
+
+    mockConfigurationInstance(configurationModel, HeisenbergExtension.class.newInstance());
+    when(providerTenantResolver.resolve(any())).thenReturn("provider2");
+    assertThat(provider.get(event), is(not(sameInstance(config1))));
+  }
+
+  @Test
+  public void expiredInstanceIsRecreated() throws Exception {
+    ConfigurationInstance config = provider.get(event);
+    timeSupplier.move(10, MINUTES);
+
+    List<ConfigurationInstance> expired = ((DynamicConfigurationProvider) provider).getExpired();
+    assertThat(expired, is(asList(config)));
+
+    mockConfigurationInstance(configurationModel, HeisenbergExtension.class.newInstance());
+    assertThat(provider.get(event), is(not(sameInstance(config))));
+    verify(staticResolver, times(2)).resolve(any());
+  }
+}
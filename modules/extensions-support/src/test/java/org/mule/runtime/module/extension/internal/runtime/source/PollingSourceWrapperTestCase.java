@@ -14,7 +14,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.api.store.ObjectStoreSettings.DEFAULT_EXPIRATION_INTERVAL;
@@ -35,6 +37,8 @@ import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lock.LockFactory;
 import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.api.scheduler.SchedulingStrategy;
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.api.store.ObjectStoreManager;
 import org.mule.runtime.api.store.ObjectStoreSettings;
 import org.mule.runtime.core.api.exception.SystemExceptionHandler;
@@ -206,6 +210,35 @@ public class PollingSourceWrapperTestCase {
     verifyLogMessage(traceMessages, WATERMARK_SAVED_MESSAGE, WATERMARK_ITEM_OS_KEY, 4, TEST_FLOW_NAME);
   }
 
+  @Test
+  public void itemInflightOnPollStartIsRejectedWithoutLockingIt() throws Exception {
+    ObjectStore<Serializable> inflightIds = mockInflightIdsStore();
+    when(inflightIds.retrieveAll()).thenReturn(Collections.singletonMap(POLL_ITEM_ID, POLL_ITEM_ID));
+    stubPollItem(Collections.singletonList(POLL_ITEM_ID), Collections.singletonList(null));
+    logger = createMockLogger(debugMessages, DEBUG);
+    startSourcePollWithMockedLogger();
+    verifyLogMessage(debugMessages, PollingSourceWrapper.REJECTED_ITEM_MESSAGE, POLL_ITEM_ID, ALREADY_IN_PROCESS);
+    verify(lockFactoryMock, never()).createLock(TEST_FLOW_NAME + "/" + POLL_ITEM_ID);
+    verify(inflightIds, never()).store(anyString(), any());
+  }
+
+  @Test
+  public void itemInflightAfterPollStartIsRejected() throws Exception {
+    ObjectStore<Serializable> inflightIds = mockInflightIdsStore();
+    when(inflightIds.retrieveAll()).thenReturn(Collections.emptyMap());
+    doThrow(new ObjectAlreadyExistsException()).when(inflightIds).store(eq(POLL_ITEM_ID), any());
+    stubPollItem(Collections.singletonList(POLL_ITEM_ID), Collections.singletonList(null));
+    logger = createMockLogger(debugMessages, DEBUG);
+    startSourcePollWithMockedLogger();
+    verifyLogMessage(debugMessages, PollingSourceWrapper.REJECTED_ITEM_MESSAGE, POLL_ITEM_ID, ALREADY_IN_PROCESS);
+  }
+
+  private ObjectStore<Serializable> mockInflightIdsStore() {
+    ObjectStore<Serializable> inflightIds = mock(ObjectStore.class);
+    when(objectStoreManagerMock.getOrCreateObjectStore(eq(EXPECTED_INFLIGHT_IDS_OS), any())).thenReturn(inflightIds);
+    return inflightIds;
+  }
+
   private void assertPersistentStoreIsCreated(String expectedName, Long expirationInterval) {
     assertStoreIsCreated(expectedName, true, expirationInterval);
   }
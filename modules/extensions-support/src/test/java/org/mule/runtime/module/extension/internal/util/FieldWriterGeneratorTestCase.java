@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.util;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.module.extension.internal.util.FieldWriterGenerator.generateFieldWriter;
+import static org.mule.runtime.module.extension.internal.util.ReflectionCache.GENERATED_FIELD_WRITERS_PROPERTY;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.size.SmallTest;
+
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+@SmallTest
+public class FieldWriterGeneratorTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public SystemProperty generatedFieldWriters = new SystemProperty(GENERATED_FIELD_WRITERS_PROPERTY, "true");
+
+  @Test
+  public void writeField() throws Exception {
+    Group group = new Group();
+    writerFor("name").get().accept(group, "value");
+    assertThat(group.name, is("value"));
+  }
+
+  @Test
+  public void writePrimitiveField() throws Exception {
+    Group group = new Group();
+    writerFor("count").get().accept(group, 42);
+    assertThat(group.count, is(42));
+  }
+
+  @Test
+  public void writePrivateFieldWithoutInvokingSetter() throws Exception {
+    Group group = new Group();
+    writerFor("withSetter").get().accept(group, "value");
+    assertThat(group.getWithSetter(), is("value"));
+    assertThat(group.setterInvoked, is(false));
+  }
+
+  @Test
+  public void writePrivateFieldWithoutSetter() throws Exception {
+    Group group = new Group();
+    writerFor("withoutSetter").get().accept(group, "value");
+    assertThat(group.getWithoutSetter(), is("value"));
+  }
+
+  @Test
+  public void writePrivatePrimitiveField() throws Exception {
+    Group group = new Group();
+    writerFor("privateCount").get().accept(group, 42);
+    assertThat(group.getPrivateCount(), is(42));
+  }
+
+  @Test
+  public void noWriterForFinalField() throws Exception {
+    assertThat(writerFor("constant").isPresent(), is(false));
+  }
+
+  @Test
+  public void sameClassForSameField() throws Exception {
+    assertThat(writerFor("name").get().getClass(), is(sameInstance(writerFor("name").get().getClass())));
+  }
+
+  @Test
+  public void fieldSetterWithReflectionCache() throws Exception {
+    Group group = new Group();
+    FieldSetter<Group, Object> setter = new FieldSetter<>(Group.class.getDeclaredField("hidden"), new ReflectionCache());
+    Object hidden = new Hidden();
+    setter.set(group, hidden);
+
+    FieldSetter<Group, String> generatedSetter = new FieldSetter<>(Group.class.getDeclaredField("name"), new ReflectionCache());
+    generatedSetter.set(group, "generated");
+
+    assertThat(group.hidden, is(sameInstance(hidden)));
+    assertThat(group.name, equalTo("generated"));
+  }
+
+  @Test
+  public void noWriterForFieldOfInaccessibleType() throws Exception {
+    assertThat(writerFor("hidden").isPresent(), is(false));
+  }
+
+  private Optional<BiConsumer<Object, Object>> writerFor(String fieldName) throws NoSuchFieldException {
+    return generateFieldWriter(Group.class.getDeclaredField(fieldName));
+  }
+
+  public static class Group {
+
+    String name;
+    int count;
+    final String constant = "constant";
+    private String withSetter;
+    private String withoutSetter;
+    private int privateCount;
+    Hidden hidden;
+    boolean setterInvoked = false;
+
+    public String getWithSetter() {
+      return withSetter;
+    }
+
+    public void setWithSetter(String withSetter) {
+      this.withSetter = withSetter;
+      setterInvoked = true;
+    }
+
+    public String getWithoutSetter() {
+      return withoutSetter;
+    }
+
+    public int getPrivateCount() {
+      return privateCount;
+    }
+  }
+
+  private static class Hidden {
+  }
+}
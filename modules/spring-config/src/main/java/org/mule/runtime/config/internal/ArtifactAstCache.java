@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.internal;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.ast.api.serialization.ArtifactAstSerializerFactory.JSON;
+import static org.mule.runtime.core.api.config.MuleManifest.getProductVersion;
+import static org.mule.runtime.core.api.util.IOUtils.copyLarge;
+import static org.mule.runtime.core.internal.util.cache.DiskCacheEntries.createDigest;
+import static org.mule.runtime.core.internal.util.cache.DiskCacheEntries.toHex;
+
+import static java.lang.String.valueOf;
+import static java.lang.Thread.currentThread;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Comparator.comparing;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+
+import static org.apache.commons.io.output.NullOutputStream.NULL_OUTPUT_STREAM;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.ast.api.ArtifactAst;
+import org.mule.runtime.ast.api.ImportedResource;
+import org.mule.runtime.ast.api.serialization.ArtifactAstDeserializer;
+import org.mule.runtime.ast.api.serialization.ArtifactAstSerializer;
+import org.mule.runtime.ast.api.serialization.ArtifactAstSerializerProvider;
+import org.mule.runtime.core.internal.util.cache.DiskCacheEntries;
+import org.mule.runtime.dsl.api.ConfigResource;
+import org.mule.runtime.extension.api.persistence.ExtensionModelJsonSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+
+/**
+ * On-disk cache of the {@link ArtifactAst} parsed from the config resources of an artifact, so that redeploying or restarting
+ * an artifact whose configuration didn't change skips parsing and validating its XML files.
+ * <p>
+ * Entries are keyed by a hash of everything that affects the parsed model: the contents of the config resources, the artifact
+ * properties, the name and version of the extension models, the runtime version and the parser options. The contents of a
+ * SNAPSHOT version of an extension may change without its version changing, so the serialized extension model is part of the
+ * key as well in that case. Only the entry for the last key is kept. An entry is validated when loaded, and any entry that is
+ * corrupt or that cannot be deserialized is deleted, so the artifact is parsed as usual.
+ * <p>
+ * The resources imported from the config resources are only known once parsed, so they are not part of the key. Instead, each
+ * entry keeps the hash of the contents of every imported resource, and it is discarded when loaded if any of them changed.
+ * Imported resources are looked up in the context {@link ClassLoader}, same as the parser does. An {@link ArtifactAst} with
+ * imports that cannot be read again is not cached.
+ *
+ * @since 4.5.0
+ */
+public final class ArtifactAstCache {
+
+  /**
+   * Enables the on-disk cache of the parsed {@link ArtifactAst} of applications.
+   */
+  public static final String ARTIFACT_AST_CACHE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "config.artifactAstCache";
+
+  static final String CACHE_DIRECTORY_NAME = "artifact-ast-cache";
+
+  private static final Logger LOGGER = getLogger(ArtifactAstCache.class);
+
+  private static final String CACHE_FILE_EXTENSION = ".ast";
+  private static final int CACHE_FORMAT_VERSION = 2;
+  private static final String SERIALIZER_VERSION = "1.0";
+  private static final String SNAPSHOT_VERSION_SUFFIX = "-SNAPSHOT";
+
+  private final DiskCacheEntries cacheEntries;
+  private final ArtifactAstSerializerProvider serializerProvider = new ArtifactAstSerializerProvider();
+  private final ExtensionModelJsonSerializer extensionModelSerializer = new ExtensionModelJsonSerializer(false);
+
+  /**
+   * Creates a new instance
+   *
+   * @param workingDirectory the working directory of the artifact, where the cache is stored
+   */
+  public ArtifactAstCache(File workingDirectory) {
+    this.cacheEntries =
+        new DiskCacheEntries(new File(workingDirectory, CACHE_DIRECTORY_NAME), CACHE_FILE_EXTENSION, CACHE_FORMAT_VERSION);
+  }
+
+  /**
+   * Computes the key of the cache entry for an artifact.
+   *
+   * @param configResources    the config resources of the artifact
+   * @param artifactProperties the properties used for resolving placeholders while parsing
+   * @param extensions         the extension models available to the artifact
+   * @param parserOptions      any other settings of the parser that affect the parsed model
+   * @return the key of the entry, or {@link Optional#empty()} if the artifact can't be cached because some config resource is
+   *         not backed by a URL that can be read again
+   */
+  public Optional<String> computeKey(ConfigResource[] configResources, Map<String, String> artifactProperties,
+                                     Set<ExtensionModel> extensions, Object... parserOptions) {
+    if (Stream.of(configResources).anyMatch(resource -> resource.getUrl() == null)) {
+      return empty();
+    }
+
+    final MessageDigest digest = createDigest();
+    try (DataOutputStream keyStream = new DataOutputStream(new DigestOutputStream(NULL_OUTPUT_STREAM, digest))) {
+      keyStream.writeInt(CACHE_FORMAT_VERSION);
+      keyStream.writeUTF(valueOf(getProductVersion()));
+      for (Object parserOption : parserOptions) {
+        keyStream.writeUTF(valueOf(parserOption));
+      }
+
+      keyStream.writeInt(configResources.length);
+      for (ConfigResource configResource : configResources) {
+        keyStream.writeUTF(configResource.getResourceName());
+        try (InputStream content = configResource.getUrl().openStream()) {
+          copyLarge(content, keyStream);
+        }
+      }
+
+      final Map<String, String> sortedProperties = new TreeMap<>(artifactProperties);
+      keyStream.writeInt(sortedProperties.size());
+      for (Map.Entry<String, String> property : sortedProperties.entrySet()) {
+        keyStream.writeUTF(property.getKey());
+        keyStream.writeUTF(valueOf(property.getValue()));
+      }
+
+      keyStream.writeInt(extensions.size());
+      final Iterable<ExtensionModel> sortedExtensions = extensions.stream().sorted(comparing(ExtensionModel::getName))::iterator;
+      for (ExtensionModel extension : sortedExtensions) {
+        keyStream.writeUTF(extension.getName());
+        keyStream.writeUTF(valueOf(extension.getVersion()));
+        if (isSnapshot(extension)) {
+          keyStream.write(extensionModelSerializer.serialize(extension).getBytes(UTF_8));
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      LOGGER.warn("Could not compute the cache key for the config resources {}, the ArtifactAst will not be cached: {}",
+                  Arrays.toString(configResources), e.getMessage());
+      return empty();
+    }
+
+    return of(toHex(digest.digest()));
+  }
+
+  private static boolean isSnapshot(ExtensionModel extension) {
+    return extension.getVersion() != null && extension.getVersion().toUpperCase().endsWith(SNAPSHOT_VERSION_SUFFIX);
+  }
+
+  /**
+   * Loads the cached {@link ArtifactAst} for the given {@code key}.
+   *
+   * @param key            the key of the entry, as returned by {@link #computeKey(ConfigResource[], Map, Set, Object...)}
+   * @param extensions     the extension models available to the artifact
+   * @param parentArtifact the parent of the artifact. May be {@code null}
+   * @return the cached {@link ArtifactAst}, or {@link Optional#empty()} if there is no valid entry for the given {@code key}
+   */
+  public Optional<ArtifactAst> load(String key, Set<ExtensionModel> extensions, ArtifactAst parentArtifact) {
+    final Optional<byte[]> entryContent = cacheEntries.read(key);
+    if (!entryContent.isPresent()) {
+      return empty();
+    }
+
+    try {
+      final ByteArrayInputStream serializedAst = new ByteArrayInputStream(entryContent.get());
+      final Optional<String> changedImport = findChangedImport(new DataInputStream(serializedAst));
+      if (changedImport.isPresent()) {
+        cacheEntries.discard(key, "imported resource '" + changedImport.get() + "' changed");
+        return empty();
+      }
+
+      final Map<String, ExtensionModel> extensionsByName =
+          extensions.stream().collect(toMap(ExtensionModel::getName, identity()));
+      final ArtifactAstDeserializer deserializer = serializerProvider.getDeserializer();
+      return of(deserializer.deserialize(serializedAst, extensionsByName::get, parentArtifact));
+    } catch (Exception e) {
+      cacheEntries.discard(key, e.toString());
+      return empty();
+    }
+  }
+
+  /**
+   * Reads the hashes of the imported resources written by {@link #writeImports(Map, DataOutputStream)}, leaving the
+   * {@code input} positioned at the serialized {@link ArtifactAst}.
+   *
+   * @return the location of the first imported resource that is missing or whose content changed, if any
+   */
+  private Optional<String> findChangedImport(DataInputStream input) throws IOException {
+    Optional<String> changedImport = empty();
+    final int importsCount = input.readInt();
+    for (int i = 0; i < importsCount; ++i) {
+      final String location = input.readUTF();
+      final byte[] storedHash = new byte[input.readInt()];
+      input.readFully(storedHash);
+
+      if (!changedImport.isPresent()) {
+        final Optional<byte[]> currentHash = hashImportedResource(location);
+        if (!currentHash.isPresent() || !MessageDigest.isEqual(storedHash, currentHash.get())) {
+          changedImport = of(location);
+        }
+      }
+    }
+    return changedImport;
+  }
+
+  /**
+   * @return the hash of the contents of each of the resources imported by the given {@code artifactAst}, or
+   *         {@link Optional#empty()} if any of them can't be read
+   */
+  private Optional<Map<String, byte[]>> hashImportedResources(ArtifactAst artifactAst) {
+    final Map<String, byte[]> importHashes = new TreeMap<>();
+    for (ImportedResource importedResource : artifactAst.getImportedResources()) {
+      if (importedResource.getResolutionFailure().isPresent()) {
+        return empty();
+      }
+
+      final String location = importedResource.getResourceLocation();
+      final Optional<byte[]> hash = hashImportedResource(location);
+      if (!hash.isPresent()) {
+        return empty();
+      }
+      importHashes.put(location, hash.get());
+    }
+    return of(importHashes);
+  }
+
+  private Optional<byte[]> hashImportedResource(String location) {
+    final URL resource = currentThread().getContextClassLoader().getResource(location);
+    if (resource == null) {
+      return empty();
+    }
+
+    final MessageDigest digest = createDigest();
+    try (InputStream content = resource.openStream()) {
+      copyLarge(content, new DigestOutputStream(NULL_OUTPUT_STREAM, digest));
+    } catch (IOException e) {
+      LOGGER.debug("Could not read imported resource '{}'", location, e);
+      return empty();
+    }
+    return of(digest.digest());
+  }
+
+  private static void writeImports(Map<String, byte[]> importHashes, DataOutputStream output) throws IOException {
+    output.writeInt(importHashes.size());
+    for (Map.Entry<String, byte[]> importHash : importHashes.entrySet()) {
+      output.writeUTF(importHash.getKey());
+      output.writeInt(importHash.getValue().length);
+      output.write(importHash.getValue());
+    }
+  }
+
+  /**
+   * Stores the given {@code artifactAst} for the given {@code key}, replacing any previous entry. Failures are logged and
+   * otherwise ignored.
+   * <p>
+   * Must be called with the same context {@link ClassLoader} used for parsing the {@code artifactAst}, so its imported resources
+   * are found.
+   *
+   * @param key         the key of the entry, as returned by {@link #computeKey(ConfigResource[], Map, Set, Object...)}
+   * @param artifactAst the parsed {@link ArtifactAst}
+   */
+  public void store(String key, ArtifactAst artifactAst) {
+    final Optional<Map<String, byte[]>> importHashes = hashImportedResources(artifactAst);
+    if (!importHashes.isPresent()) {
+      LOGGER.debug("Some imported resource can't be read again, the ArtifactAst will not be cached");
+      return;
+    }
+
+    try {
+      final ArtifactAstSerializer serializer = serializerProvider.getSerializer(JSON, SERIALIZER_VERSION);
+      final ByteArrayOutputStream entryContent = new ByteArrayOutputStream();
+      try (DataOutputStream contentOutput = new DataOutputStream(entryContent);
+          InputStream serialized = serializer.serialize(artifactAst)) {
+        writeImports(importHashes.get(), contentOutput);
+        copyLarge(serialized, contentOutput);
+      }
+
+      cacheEntries.write(key, entryContent.toByteArray());
+      cacheEntries.discardAllBut(key);
+    } catch (Exception e) {
+      LOGGER.warn("Could not store the ArtifactAst in the cache at '{}': {}", cacheEntries.getCacheDirectory(), e.toString());
+    }
+  }
+
+  File cacheFile(String key) {
+    return cacheEntries.entryFile(key);
+  }
+}
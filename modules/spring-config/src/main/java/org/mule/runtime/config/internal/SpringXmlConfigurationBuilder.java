@@ -11,6 +11,7 @@ import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.ast.api.util.MuleAstUtils.emptyArtifact;
 import static org.mule.runtime.config.api.dsl.ArtifactDeclarationUtils.toArtifactast;
 import static org.mule.runtime.config.internal.ApplicationFilteredFromPolicyArtifactAst.applicationFilteredFromPolicyArtifactAst;
+import static org.mule.runtime.config.internal.ArtifactAstCache.ARTIFACT_AST_CACHE_PROPERTY;
 import static org.mule.runtime.config.internal.registry.AbstractSpringRegistry.SPRING_APPLICATION_CONTEXT;
 import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.APP;
 import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.DOMAIN;
@@ -18,6 +19,7 @@ import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.POLICY;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.internal.config.RuntimeLockFactoryUtil.getRuntimeLockFactory;
 
+import static java.lang.Boolean.getBoolean;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
 import static java.util.Optional.empty;
@@ -25,6 +27,7 @@ import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
 
 import static org.apache.commons.lang3.ArrayUtils.isEmpty;
+import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.api.component.ConfigurationProperties;
 import org.mule.runtime.api.config.FeatureFlaggingService;
@@ -64,11 +67,13 @@ import org.mule.runtime.deployment.model.api.artifact.ArtifactContext;
 import org.mule.runtime.dsl.api.ConfigResource;
 import org.mule.runtime.internal.memory.management.DefaultMemoryManagementService;
 
+import java.io.File;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import org.slf4j.Logger;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ConfigurableApplicationContext;
 
@@ -79,6 +84,8 @@ import org.springframework.context.ConfigurableApplicationContext;
 public class SpringXmlConfigurationBuilder extends AbstractResourceConfigurationBuilder
     implements ParentMuleContextAwareConfigurationBuilder, ArtifactContextFactory {
 
+  private static final Logger LOGGER = getLogger(SpringXmlConfigurationBuilder.class);
+
   private MemoryManagementService memoryManagementService;
   private ArtifactDeclaration artifactDeclaration;
   private boolean enableLazyInit = false;
@@ -89,6 +96,7 @@ public class SpringXmlConfigurationBuilder extends AbstractResourceConfiguration
   private MuleArtifactContext muleArtifactContext;
   private final ArtifactType artifactType;
   private final LockFactory runtimeLockFactory;
+  private final boolean artifactAstCacheEnabled;
   private Optional<ComponentBuildingDefinitionRegistryFactory> componentBuildingDefinitionRegistryFactory = empty();
 
   private SpringXmlConfigurationBuilder(String[] configResources, Map<String, String> artifactProperties,
@@ -101,6 +109,7 @@ public class SpringXmlConfigurationBuilder extends AbstractResourceConfiguration
     this.disableXmlValidations = disableXmlValidations;
     this.runtimeLockFactory = runtimeLockFactory;
     this.memoryManagementService = memoryManagementService;
+    this.artifactAstCacheEnabled = getBoolean(ARTIFACT_AST_CACHE_PROPERTY);
   }
 
   public SpringXmlConfigurationBuilder(String[] configResources, Map<String, String> artifactProperties,
@@ -263,7 +272,8 @@ public class SpringXmlConfigurationBuilder extends AbstractResourceConfiguration
     final ArtifactAst artifactAst =
         createApplicationModel(getExtensions(muleContext.getExtensionManager()),
                                artifactDeclaration, resolveArtifactConfigResources(), getArtifactProperties(),
-                               disableXmlValidations, featureFlaggingService);
+                               disableXmlValidations, featureFlaggingService,
+                               artifactAstCacheEnabled ? muleContext.getConfiguration().getWorkingDirectory() : null);
 
     MuleArtifactContext muleArtifactContext;
     if (enableLazyInit) {
@@ -303,7 +313,8 @@ public class SpringXmlConfigurationBuilder extends AbstractResourceConfiguration
                                              ConfigResource[] artifactConfigResources,
                                              Map<String, String> artifactProperties,
                                              boolean disableXmlValidations,
-                                             FeatureFlaggingService featureFlaggingService) {
+                                             FeatureFlaggingService featureFlaggingService,
+                                             String workingDirectory) {
     try {
       final ArtifactAst artifactAst;
 
@@ -311,9 +322,8 @@ public class SpringXmlConfigurationBuilder extends AbstractResourceConfiguration
         if (artifactConfigResources.length == 0) {
           artifactAst = emptyArtifact();
         } else {
-          final AstXmlParser parser =
-              createMuleXmlParser(extensions, artifactProperties, disableXmlValidations, featureFlaggingService);
-          artifactAst = parser.parse(artifactConfigResources);
+          artifactAst = parseArtifactConfig(extensions, artifactConfigResources, artifactProperties, disableXmlValidations,
+                                            featureFlaggingService, workingDirectory);
         }
       } else {
         artifactAst = toArtifactast(artifactDeclaration, extensions);
@@ -327,6 +337,40 @@ public class SpringXmlConfigurationBuilder extends AbstractResourceConfiguration
     }
   }
 
+  private ArtifactAst parseArtifactConfig(Set<ExtensionModel> extensions,
+                                          ConfigResource[] artifactConfigResources,
+                                          Map<String, String> artifactProperties,
+                                          boolean disableXmlValidations,
+                                          FeatureFlaggingService featureFlaggingService,
+                                          String workingDirectory) {
+    if (workingDirectory == null || artifactType != APP) {
+      return createMuleXmlParser(extensions, artifactProperties, disableXmlValidations, featureFlaggingService)
+          .parse(artifactConfigResources);
+    }
+
+    final ArtifactAstCache artifactAstCache = new ArtifactAstCache(new File(workingDirectory));
+    final ArtifactAst parentArtifact = resolveParentArtifact(featureFlaggingService);
+    final Optional<String> cacheKey =
+        artifactAstCache.computeKey(artifactConfigResources, artifactProperties, extensions,
+                                    artifactType, disableXmlValidations,
+                                    featureFlaggingService.isEnabled(ENTITY_RESOLVER_FAIL_ON_FIRST_ERROR),
+                                    parentArtifact != null);
+
+    if (cacheKey.isPresent()) {
+      final Optional<ArtifactAst> cachedArtifactAst = artifactAstCache.load(cacheKey.get(), extensions, parentArtifact);
+      if (cachedArtifactAst.isPresent()) {
+        LOGGER.debug("Using cached ArtifactAst for config resources {}", (Object) artifactConfigResources);
+        return cachedArtifactAst.get();
+      }
+    }
+
+    final ArtifactAst artifactAst = createMuleXmlParser(extensions, artifactProperties, disableXmlValidations,
+                                                        featureFlaggingService)
+        .parse(artifactConfigResources);
+    cacheKey.ifPresent(key -> artifactAstCache.store(key, artifactAst));
+    return artifactAst;
+  }
+
   private AstXmlParser createMuleXmlParser(Set<ExtensionModel> extensions,
                                            Map<String, String> artifactProperties, boolean disableXmlValidations,
                                            FeatureFlaggingService featureFlaggingService) {
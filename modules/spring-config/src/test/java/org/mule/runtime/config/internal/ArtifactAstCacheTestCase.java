@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.internal;
+
+import static org.mule.runtime.core.api.extension.MuleExtensionModelProvider.getExtensionModel;
+import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonMap;
+
+import static org.apache.commons.io.FileUtils.write;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.ast.api.ArtifactAst;
+import org.mule.runtime.ast.api.ComponentAst;
+import org.mule.runtime.ast.api.xml.AstXmlParser;
+import org.mule.runtime.dsl.api.ConfigResource;
+import org.mule.runtime.extension.api.persistence.ExtensionModelJsonSerializer;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ArtifactAstCacheTestCase extends AbstractMuleTestCase {
+
+  private static final String CONFIG =
+      "<mule xmlns=\"http://www.mulesoft.org/schema/mule/core\">\n"
+          + "  <flow name=\"%s\">\n"
+          + "    <logger/>\n"
+          + "  </flow>\n"
+          + "</mule>";
+
+  private static final String IMPORTING_CONFIG =
+      "<mule xmlns=\"http://www.mulesoft.org/schema/mule/core\">\n"
+          + "  <import file=\"imported.xml\"/>\n"
+          + "</mule>";
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private final Set<ExtensionModel> extensions = singleton(getExtensionModel());
+
+  private ArtifactAstCache cache;
+  private File configFile;
+
+  @Before
+  public void setUp() throws IOException {
+    cache = new ArtifactAstCache(tempFolder.newFolder("working"));
+    configFile = tempFolder.newFile("config.xml");
+    write(configFile, String.format(CONFIG, "cached"), UTF_8);
+  }
+
+  @Test
+  public void storedArtifactAstIsLoaded() throws IOException {
+    final ConfigResource[] configResources = configResources();
+    final String key = cache.computeKey(configResources, emptyMap(), extensions).get();
+    assertThat(cache.load(key, extensions, null).isPresent(), is(false));
+
+    cache.store(key, parse(configResources));
+    final Optional<ArtifactAst> loaded = cache.load(key, extensions, null);
+
+    assertThat(loaded.isPresent(), is(true));
+    assertThat(loaded.get().topLevelComponentsStream().map(ComponentAst::getComponentId).findFirst().get(),
+               is(Optional.of("cached")));
+  }
+
+  @Test
+  public void keyChangesWithConfigContent() throws IOException {
+    final String key = cache.computeKey(configResources(), emptyMap(), extensions).get();
+    assertThat(cache.computeKey(configResources(), emptyMap(), extensions).get(), is(key));
+
+    write(configFile, String.format(CONFIG, "changed"), UTF_8);
+    assertThat(cache.computeKey(configResources(), emptyMap(), extensions).get(), is(not(key)));
+  }
+
+  @Test
+  public void keyChangesWithArtifactProperties() throws IOException {
+    final String key = cache.computeKey(configResources(), emptyMap(), extensions).get();
+    assertThat(cache.computeKey(configResources(), singletonMap("env", "dev"), extensions).get(), is(not(key)));
+  }
+
+  @Test
+  public void keyChangesWithSnapshotExtensionModelContent() throws IOException {
+    final ExtensionModelJsonSerializer serializer = new ExtensionModelJsonSerializer(false);
+    final String json = serializer.serialize(getExtensionModel())
+        .replaceFirst("\"version\"\\s*:\\s*\"[^\"]*\"", "\"version\":\"1.0.0-SNAPSHOT\"");
+    final String changedJson = json.replaceFirst("\"description\"\\s*:\\s*\"", "\"description\":\"changed ");
+
+    // same name and version, different contents
+    final String key = cache.computeKey(configResources(), emptyMap(), singleton(serializer.deserialize(json))).get();
+    assertThat(cache.computeKey(configResources(), emptyMap(), singleton(serializer.deserialize(json))).get(), is(key));
+    assertThat(cache.computeKey(configResources(), emptyMap(), singleton(serializer.deserialize(changedJson))).get(),
+               is(not(key)));
+  }
+
+  @Test
+  public void keyChangesWithParserOptions() throws IOException {
+    final String key = cache.computeKey(configResources(), emptyMap(), extensions, true).get();
+    assertThat(cache.computeKey(configResources(), emptyMap(), extensions, false).get(), is(not(key)));
+  }
+
+  @Test
+  public void resourceWithoutUrlIsNotCached() {
+    final ConfigResource[] configResources =
+        {new ConfigResource("config.xml", new ByteArrayInputStream(String.format(CONFIG, "flow").getBytes(UTF_8)))};
+    assertThat(cache.computeKey(configResources, emptyMap(), extensions).isPresent(), is(false));
+  }
+
+  @Test
+  public void corruptEntryIsDiscarded() throws IOException {
+    final ConfigResource[] configResources = configResources();
+    final String key = cache.computeKey(configResources, emptyMap(), extensions).get();
+    cache.store(key, parse(configResources));
+
+    final File cacheFile = cache.cacheFile(key);
+    final byte[] entry = Files.readAllBytes(cacheFile.toPath());
+    entry[entry.length - 1]++;
+    Files.write(cacheFile.toPath(), entry);
+
+    assertThat(cache.load(key, extensions, null).isPresent(), is(false));
+    assertThat(cacheFile.exists(), is(false));
+  }
+
+  @Test
+  public void previousEntriesAreDiscarded() throws IOException {
+    final String previousKey = cache.computeKey(configResources(), emptyMap(), extensions).get();
+    cache.store(previousKey, parse(configResources()));
+
+    write(configFile, String.format(CONFIG, "changed"), UTF_8);
+    final String key = cache.computeKey(configResources(), emptyMap(), extensions).get();
+    cache.store(key, parse(configResources()));
+
+    assertThat(cache.cacheFile(previousKey).exists(), is(false));
+    assertThat(cache.cacheFile(key).exists(), is(true));
+  }
+
+  @Test
+  public void entryDiscardedWhenImportedResourceChanges() throws IOException {
+    final File importedFile = tempFolder.newFile("imported.xml");
+    write(importedFile, String.format(CONFIG, "imported"), UTF_8);
+    write(configFile, IMPORTING_CONFIG, UTF_8);
+    final ClassLoader artifactClassLoader = new URLClassLoader(new URL[] {tempFolder.getRoot().toURI().toURL()}, null);
+
+    final ConfigResource[] configResources = configResources();
+    final String key = cache.computeKey(configResources, emptyMap(), extensions).get();
+    withContextClassLoader(artifactClassLoader, () -> cache.store(key, parse(configResources)));
+    assertThat(withContextClassLoader(artifactClassLoader, () -> cache.load(key, extensions, null)).isPresent(), is(true));
+
+    write(importedFile, String.format(CONFIG, "changed"), UTF_8);
+    // the key only covers the top level config resources, the imported ones are validated when loading the entry
+    assertThat(cache.computeKey(configResources(), emptyMap(), extensions).get(), is(key));
+    assertThat(withContextClassLoader(artifactClassLoader, () -> cache.load(key, extensions, null)).isPresent(), is(false));
+    assertThat(cache.cacheFile(key).exists(), is(false));
+  }
+
+  private ConfigResource[] configResources() throws IOException {
+    return new ConfigResource[] {new ConfigResource(configFile.toURI().toURL())};
+  }
+
+  private ArtifactAst parse(ConfigResource[] configResources) {
+    return AstXmlParser.builder()
+        .withExtensionModels(extensions)
+        .withSchemaValidationsDisabled()
+        .build()
+        .parse(configResources);
+  }
+}
@@ -6,11 +6,13 @@
  */
 package org.mule;
 
+import static java.util.Optional.empty;
 import static org.mule.runtime.api.message.Message.of;
 import static org.mule.runtime.api.util.collection.SmallMap.of;
 import static org.mule.runtime.core.api.event.EventContextFactory.create;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
 import static org.mule.runtime.core.internal.event.EventQuickCopy.quickCopy;
+import static org.mule.runtime.core.privileged.processor.MessageProcessors.newChildContext;
 import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.lookupObject;
 import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.registerObject;
 
@@ -20,10 +22,13 @@ import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.construct.Flow;
 import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.context.notification.FlowStackElement;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.event.CoreEvent.Builder;
+import org.mule.runtime.core.internal.context.notification.DefaultFlowCallStack;
 import org.mule.runtime.core.internal.message.InternalEvent;
 import org.mule.runtime.core.internal.message.InternalMessage;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.mule.runtime.core.privileged.event.DefaultMuleSession;
 import org.mule.runtime.core.privileged.event.PrivilegedEvent;
 
@@ -42,6 +47,7 @@ public class EventBenchmark extends AbstractBenchmark {
   private CoreEvent eventWith10VariablesProperties;
   private CoreEvent eventWith50VariablesProperties;
   private CoreEvent eventWith100VariablesProperties;
+  private CoreEvent eventWith10DeepFlowStack;
 
   @Setup
   public void setup() throws Exception {
@@ -56,6 +62,7 @@ public class EventBenchmark extends AbstractBenchmark {
     eventWith10VariablesProperties = createMuleEventWithFlowVarsAndProperties(10);
     eventWith50VariablesProperties = createMuleEventWithFlowVarsAndProperties(50);
     eventWith100VariablesProperties = createMuleEventWithFlowVarsAndProperties(50);
+    eventWith10DeepFlowStack = createMuleEventWithFlowStackDepth(10);
   }
 
   @TearDown
@@ -180,6 +187,28 @@ public class EventBenchmark extends AbstractBenchmark {
         .build();
   }
 
+  @Benchmark
+  public BaseEventContext forkEventWith10DeepFlowStack() {
+    return newChildContext(eventWith10DeepFlowStack, empty());
+  }
+
+  @Benchmark
+  public CoreEvent forkEventWith10DeepFlowStackAndSetProcessorPath() {
+    CoreEvent childEvent =
+        CoreEvent.builder(newChildContext(eventWith10DeepFlowStack, empty()), eventWith10DeepFlowStack).build();
+    ((DefaultFlowCallStack) childEvent.getFlowCallStack()).pushCurrentProcessorPath(FLOW_NAME + "/processors/1");
+    return childEvent;
+  }
+
+  private CoreEvent createMuleEventWithFlowStackDepth(int depth) {
+    CoreEvent event = createMuleEvent(of(PAYLOAD), 0);
+    DefaultFlowCallStack flowCallStack = (DefaultFlowCallStack) event.getFlowCallStack();
+    for (int i = 0; i < depth; i++) {
+      flowCallStack.push(new FlowStackElement(FLOW_NAME + i, FLOW_NAME + i + "/processors/0"));
+    }
+    return event;
+  }
+
   private CoreEvent createMuleEvent(Message message, int numProperties) {
     final Builder builder;
     try {
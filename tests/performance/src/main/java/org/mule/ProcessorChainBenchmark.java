@@ -6,9 +6,12 @@
  */
 package org.mule;
 
+import static java.lang.System.clearProperty;
+import static java.lang.System.setProperty;
 import static java.util.Optional.empty;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.event.CoreEvent.builder;
 import static org.mule.runtime.core.api.event.EventContextFactory.create;
 
@@ -23,7 +26,9 @@ import java.util.concurrent.CountDownLatch;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
 
 import reactor.core.publisher.FluxProcessor;
@@ -36,12 +41,18 @@ public class ProcessorChainBenchmark extends AbstractBenchmark {
 
   private static final int NUM_PROCESSORS = 20;
   private static final int STREAM_SIZE = 1000;
+  private static final String FUSE_CPU_LITE_PROCESSORS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "processorChain.fuseCpuLiteProcessors";
+
+  @Param({"false", "true"})
+  public boolean fuseCpuLiteProcessors;
+
   private MessageProcessorChain chain;
 
   private CoreEvent event;
 
   @Setup
   public void setup() throws Exception {
+    setProperty(FUSE_CPU_LITE_PROCESSORS_PROPERTY, Boolean.toString(fuseCpuLiteProcessors));
     DefaultMessageProcessorChainBuilder builder = new DefaultMessageProcessorChainBuilder();
     for (int i = 0; i < NUM_PROCESSORS; i++) {
       builder.chain(event -> event);
@@ -52,6 +63,11 @@ public class ProcessorChainBenchmark extends AbstractBenchmark {
         .message(of(PAYLOAD)).build();
   }
 
+  @TearDown
+  public void teardown() {
+    clearProperty(FUSE_CPU_LITE_PROCESSORS_PROPERTY);
+  }
+
   @Benchmark
   public CoreEvent blocking() throws MuleException {
     return chain.process(event);
@@ -15,6 +15,8 @@ import static org.mule.runtime.api.el.BindingContextUtils.ERROR;
 import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
 import static org.mule.runtime.api.el.BindingContextUtils.VARS;
 import static org.mule.runtime.api.el.BindingContextUtils.addEventBindings;
+import static org.mule.runtime.api.el.BindingContextUtils.addEventBuindingsToBuilder;
+import static org.mule.runtime.api.el.BindingContextUtils.addFlowNameBindingsToBuilder;
 import static org.mule.runtime.api.message.Message.of;
 import static org.mule.runtime.core.api.event.EventContextFactory.create;
 
@@ -25,6 +27,7 @@ import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.message.InternalEvent;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
@@ -54,6 +57,20 @@ public class BindingContextBenchmark extends AbstractBenchmark {
     return addEventBindings(event, NULL_BINDING_CONTEXT);
   }
 
+  /**
+   * What each evaluation from a component used to build. Run with {@code -prof gc} to compare the allocation rate per evaluation
+   * against {@link #fromEventForLocationCached()}.
+   */
+  @Benchmark
+  public Object fromEventForLocation() {
+    return addFlowNameBindingsToBuilder(CONNECTOR_LOCATION, addEventBuindingsToBuilder(event, NULL_BINDING_CONTEXT)).build();
+  }
+
+  @Benchmark
+  public Object fromEventForLocationCached() {
+    return ((InternalEvent) event).asBindingContext(CONNECTOR_LOCATION);
+  }
+
   @Benchmark
   public Object withParent() {
     return BindingContext.builder(globalCtx)
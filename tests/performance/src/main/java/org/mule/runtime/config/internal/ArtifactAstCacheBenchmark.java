@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.internal;
+
+import static org.mule.runtime.core.api.extension.MuleExtensionModelProvider.getExtensionModel;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createTempDirectory;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singleton;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.apache.commons.io.FileUtils.write;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.ast.api.ArtifactAst;
+import org.mule.runtime.ast.api.xml.AstXmlParser;
+import org.mule.runtime.dsl.api.ConfigResource;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares building the {@link ArtifactAst} of a synthetic application with 500 flows by parsing its config files against
+ * loading it from an {@link ArtifactAstCache}, as done on application startup.
+ */
+@OutputTimeUnit(MILLISECONDS)
+public class ArtifactAstCacheBenchmark extends AbstractBenchmark {
+
+  private static final int CONFIG_FILES = 10;
+  private static final int FLOWS_PER_FILE = 50;
+
+  private final Set<ExtensionModel> extensions = singleton(getExtensionModel());
+
+  private File workingDirectory;
+  private ConfigResource[] configResources;
+  private ArtifactAstCache cache;
+
+  @Setup
+  public void setUp() throws IOException {
+    workingDirectory = createTempDirectory("artifactAstCacheBenchmark").toFile();
+
+    configResources = new ConfigResource[CONFIG_FILES];
+    for (int i = 0; i < CONFIG_FILES; ++i) {
+      final File configFile = new File(workingDirectory, "config-" + i + ".xml");
+      write(configFile, createConfig(i), UTF_8);
+      configResources[i] = new ConfigResource(configFile.toURI().toURL());
+    }
+
+    cache = new ArtifactAstCache(workingDirectory);
+    final String key = cache.computeKey(configResources, emptyMap(), extensions).get();
+    cache.store(key, parse());
+  }
+
+  @TearDown
+  public void tearDown() {
+    deleteQuietly(workingDirectory);
+  }
+
+  @Benchmark
+  public ArtifactAst parse() {
+    return AstXmlParser.builder()
+        .withExtensionModels(extensions)
+        .build()
+        .parse(configResources);
+  }
+
+  @Benchmark
+  public ArtifactAst loadFromCache() {
+    final String key = cache.computeKey(configResources, emptyMap(), extensions).get();
+    return cache.load(key, extensions, null).get();
+  }
+
+  private String createConfig(int fileIndex) {
+    final StringBuilder config = new StringBuilder()
+        .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+        .append("<mule xmlns=\"http://www.mulesoft.org/schema/mule/core\"\n")
+        .append("      xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n")
+        .append("      xsi:schemaLocation=\"http://www.mulesoft.org/schema/mule/core ")
+        .append("http://www.mulesoft.org/schema/mule/core/current/mule.xsd\">\n");
+
+    for (int i = 0; i < FLOWS_PER_FILE; ++i) {
+      final String flowName = format("flow-%d-%d", fileIndex, i);
+      config.append(format("  <flow name=\"%s\">\n", flowName))
+          .append("    <set-variable variableName=\"count\" value=\"#[1]\"/>\n")
+          .append("    <choice>\n")
+          .append("      <when expression=\"#[vars.count > 0]\">\n")
+          .append(format("        <logger level=\"DEBUG\" message=\"%s\"/>\n", flowName))
+          .append("      </when>\n")
+          .append("      <otherwise>\n")
+          .append("        <set-payload value=\"#[payload]\"/>\n")
+          .append("      </otherwise>\n")
+          .append("    </choice>\n")
+          .append("  </flow>\n");
+    }
+
+    return config.append("</mule>\n").toString();
+  }
+}
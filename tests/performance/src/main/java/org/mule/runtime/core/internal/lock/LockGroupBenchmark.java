@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lock;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+
+import org.mule.AbstractBenchmark;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(SECONDS)
+public class LockGroupBenchmark extends AbstractBenchmark {
+
+  private static final String SHARED_KEY = "shared";
+
+  @Param({"instance", "concurrent"})
+  public String lockGroupType;
+
+  private LockGroup lockGroup;
+
+  @Setup
+  public void setUp() {
+    lockGroup = lockGroupType.equals("concurrent")
+        ? new ConcurrentLockGroup(new SingleServerLockProvider())
+        : new InstanceLockGroup(new SingleServerLockProvider());
+  }
+
+  @TearDown
+  public void tearDown() {
+    lockGroup.dispose();
+  }
+
+  @State(Scope.Thread)
+  public static class DistinctKey {
+
+    private static final AtomicInteger THREAD_IDS = new AtomicInteger();
+
+    private final String key = "key-" + THREAD_IDS.incrementAndGet();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public LockGroup distinctKeys1Thread(DistinctKey distinctKey) {
+    return lockAndUnlock(distinctKey.key);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public LockGroup distinctKeys8Threads(DistinctKey distinctKey) {
+    return lockAndUnlock(distinctKey.key);
+  }
+
+  @Benchmark
+  @Threads(64)
+  public LockGroup distinctKeys64Threads(DistinctKey distinctKey) {
+    return lockAndUnlock(distinctKey.key);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public LockGroup sharedKey1Thread() {
+    return lockAndUnlock(SHARED_KEY);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public LockGroup sharedKey8Threads() {
+    return lockAndUnlock(SHARED_KEY);
+  }
+
+  @Benchmark
+  @Threads(64)
+  public LockGroup sharedKey64Threads() {
+    return lockAndUnlock(SHARED_KEY);
+  }
+
+  private LockGroup lockAndUnlock(String key) {
+    lockGroup.lock(key);
+    lockGroup.unlock(key);
+    return lockGroup;
+  }
+}
@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.internal.routing;
 
+import static java.lang.System.clearProperty;
+import static java.lang.System.setProperty;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
@@ -21,6 +23,7 @@ import static org.mockito.Mockito.when;
 import static org.mule.runtime.api.component.location.ConfigurationComponentLocator.REGISTRY_KEY;
 import static org.mule.runtime.api.message.Message.of;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.internal.routing.Foreach.STREAM_CURSOR_ITERATORS_PROPERTY;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.newChildContext;
 import static org.mule.tck.junit4.AbstractMuleContextTestCase.getAppleFlowComponentLocationAnnotations;
 import static org.mule.tck.util.MuleContextUtils.eventBuilder;
@@ -35,6 +38,7 @@ import org.mule.runtime.api.util.concurrent.Latch;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.internal.streaming.object.ListCursorIteratorProvider;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -61,6 +65,7 @@ public class ForeachBenchmark extends AbstractBenchmark {
 
   private static final Logger LOGGER = getLogger(ForeachBenchmark.class);
   private static final int PAYLOADS = 50000;
+  private static final int CURSOR_PAYLOADS = 1000000;
   private static final int NESTED_PAYLOADS = 5000;
   private static final int INNER_PAYLOADS = 100;
 
@@ -72,6 +77,7 @@ public class ForeachBenchmark extends AbstractBenchmark {
 
   private MuleContext muleContext;
   private CoreEvent singleForeachEvent;
+  private CoreEvent cursorForeachEvent;
   private CoreEvent nestedForeachEvent;
 
   private CoreEvent foreachEvent;
@@ -91,6 +97,13 @@ public class ForeachBenchmark extends AbstractBenchmark {
 
     singleForeachEvent = eventBuilder(muleContext).message(of(payload)).build();
 
+    // Create foreach over cursor event
+    List<String> cursorPayload = new ArrayList<>();
+    for (int i = 0; i < CURSOR_PAYLOADS; i++) {
+      cursorPayload.add("" + i);
+    }
+    cursorForeachEvent = eventBuilder(muleContext).message(of(new ListCursorIteratorProvider(cursorPayload))).build();
+
     // Create nested foreach event
     List<List<String>> nestedForeachPayload = new ArrayList<>();
     for (int i = 0; i < NESTED_PAYLOADS; i++) {
@@ -143,6 +156,30 @@ public class ForeachBenchmark extends AbstractBenchmark {
     return counter.get();
   }
 
+  @Benchmark
+  @BenchmarkMode(SingleShotTime)
+  public int singleForeachOverCursor() {
+    AtomicInteger counter = new AtomicInteger();
+    setProperty(STREAM_CURSOR_ITERATORS_PROPERTY, "true");
+    try {
+      Foreach cursorForeach = createForeach();
+      Processor capturedEventProcessor = event -> {
+        counter.incrementAndGet();
+        return event;
+      };
+
+      cursorForeach.setMessageProcessors(singletonList(capturedEventProcessor));
+      initialiseIfNeeded(cursorForeach, muleContext);
+
+      cursorForeach.process(cursorForeachEvent);
+    } catch (Throwable t) {
+      LOGGER.error("Unexpected error on singleForeachOverCursor", t);
+    } finally {
+      clearProperty(STREAM_CURSOR_ITERATORS_PROPERTY);
+    }
+    return counter.get();
+  }
+
   @Benchmark
   @BenchmarkMode(SingleShotTime)
   public int nestedForeach() {
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.lang.Integer.MAX_VALUE;
+import static java.lang.System.clearProperty;
+import static java.lang.System.setProperty;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.api.error.Errors.ComponentIdentifiers.Handleable.TIMEOUT;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair.of;
+import static org.mule.runtime.core.internal.routing.forkjoin.AbstractForkJoinStrategyFactory.MAX_ROUTE_BATCH_SIZE_PROPERTY;
+import static org.mule.runtime.core.privileged.processor.MessageProcessors.newChain;
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+import static reactor.core.publisher.Flux.from;
+import static reactor.core.publisher.Flux.fromIterable;
+import static reactor.core.scheduler.Schedulers.fromExecutorService;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Measures a fork-join of many trivial routes with a collect list strategy, with and without dispatching the routes in
+ * micro-batches, for small and bigger values of {@code maxConcurrency}.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@BenchmarkMode(AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class ForkJoinStrategyBenchmark extends AbstractBenchmark {
+
+  @Param({"2", "4", "16"})
+  public int maxConcurrency;
+
+  @Param({"1", "16"})
+  public int maxRouteBatchSize;
+
+  @Param({"16", "1000"})
+  public int routes;
+
+  private MuleContext muleContext;
+  private Scheduler scheduler;
+  private MessageProcessorChain chain;
+  private CoreEvent event;
+  private ForkJoinStrategy strategy;
+
+  @Setup
+  public void setUp() throws Exception {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+    scheduler = muleContext.getSchedulerService().cpuLightScheduler();
+
+    final ProcessingStrategy processingStrategy = mock(ProcessingStrategy.class);
+    when(processingStrategy.onPipeline(any(ReactiveProcessor.class)))
+        .thenAnswer(invocation -> {
+          final ReactiveProcessor processor = invocation.getArgument(0);
+          return (ReactiveProcessor) publisher -> from(publisher).publishOn(fromExecutorService(scheduler)).transform(processor);
+        });
+
+    final Processor emptyProcessor = e -> e;
+    chain = newChain(Optional.empty(), emptyProcessor);
+    initialiseIfNeeded(chain, muleContext);
+
+    final Flow flow = createFlow(muleContext);
+    event = createEvent(flow, "payload");
+
+    // the factory reads the batch size when it is created
+    setProperty(MAX_ROUTE_BATCH_SIZE_PROPERTY, Integer.toString(maxRouteBatchSize));
+    try {
+      strategy = new CollectListForkJoinStrategyFactory()
+          .createForkJoinStrategy(processingStrategy, maxConcurrency, true, MAX_VALUE, scheduler,
+                                  muleContext.getErrorTypeRepository().getErrorType(TIMEOUT).get());
+    } finally {
+      clearProperty(MAX_ROUTE_BATCH_SIZE_PROPERTY);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    scheduler.stop();
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public CoreEvent forkJoin() {
+    final List<RoutingPair> routingPairs = new ArrayList<>(routes);
+    for (int i = 0; i < routes; ++i) {
+      routingPairs.add(of(event, chain));
+    }
+    return Mono.from(strategy.forkJoin(event, fromIterable(routingPairs))).block();
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.store;
+
+import static java.lang.Long.MAX_VALUE;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.store.ObjectStoreException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(SECONDS)
+public class PartitionedInMemoryObjectStoreBenchmark extends AbstractBenchmark {
+
+  private static final String PARTITION = "partition";
+
+  @Param({"10000", "100000", "1000000"})
+  public int entries;
+
+  private PartitionedInMemoryObjectStore<String> store;
+  private int next;
+
+  @Setup(Level.Iteration)
+  public void setUp() throws ObjectStoreException {
+    store = new PartitionedInMemoryObjectStore<>();
+    for (int i = 0; i < entries; i++) {
+      store.store(KEY + i, VALUE, PARTITION);
+    }
+    next = 0;
+  }
+
+  @Benchmark
+  public String storeNewestAndRemoveOldest() throws ObjectStoreException {
+    store.store(KEY + (entries + next), VALUE, PARTITION);
+    return store.remove(KEY + next++, PARTITION);
+  }
+
+  @Benchmark
+  public String removeAndStoreAgain() throws ObjectStoreException {
+    String key = KEY + (next++ % entries);
+    String value = store.remove(key, PARTITION);
+    store.store(key, value, PARTITION);
+    return value;
+  }
+
+  @Benchmark
+  public PartitionedInMemoryObjectStore<String> expireExcessEntry() throws ObjectStoreException {
+    store.store(KEY + (entries + next++), VALUE, PARTITION);
+    store.expire(UNBOUNDED, entries, PARTITION);
+    return store;
+  }
+
+  @Benchmark
+  public PartitionedInMemoryObjectStore<String> expireWithNoExpiredEntries() throws ObjectStoreException {
+    store.expire(MAX_VALUE, UNBOUNDED, PARTITION);
+    return store;
+  }
+}
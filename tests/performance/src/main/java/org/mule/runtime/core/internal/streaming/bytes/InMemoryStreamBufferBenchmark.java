@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Math.min;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.util.DataUnit.MB;
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamConfig;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link InMemoryStreamBuffer} against {@link SegmentedInMemoryStreamBuffer} by fully reading streams of different sizes
+ * with several concurrent cursors.
+ */
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+public class InMemoryStreamBufferBenchmark extends AbstractBenchmark {
+
+  private static final int READ_BUFFER_SIZE = 8 * 1024;
+
+  @Param({"1", "16", "128", "512"})
+  public int streamSizeMb;
+
+  @Param({"1", "4"})
+  public int cursors;
+
+  private InMemoryCursorStreamConfig config;
+  private SimpleByteBufferManager bufferManager;
+  private ExecutorService executor;
+
+  @Setup
+  public void setUp() {
+    config = new InMemoryCursorStreamConfig(new DataSize(1, MB), new DataSize(8, MB), new DataSize(1024, MB));
+    bufferManager = new SimpleByteBufferManager();
+    executor = newFixedThreadPool(cursors);
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Benchmark
+  public long inMemoryStreamBuffer() throws Exception {
+    return readConcurrently(new InMemoryStreamBuffer(new SizedInputStream(MB.toBytes(streamSizeMb)), config, bufferManager));
+  }
+
+  @Benchmark
+  public long segmentedInMemoryStreamBuffer() throws Exception {
+    return readConcurrently(new SegmentedInMemoryStreamBuffer(new SizedInputStream(MB.toBytes(streamSizeMb)), config,
+                                                              bufferManager));
+  }
+
+  private long readConcurrently(InputStreamBuffer buffer) throws Exception {
+    try {
+      List<Future<Long>> results = new ArrayList<>(cursors);
+      for (int i = 0; i < cursors; i++) {
+        results.add(executor.submit(() -> readFully(new BufferedCursorStream(buffer, null))));
+      }
+
+      long read = 0;
+      for (Future<Long> result : results) {
+        read += result.get();
+      }
+      return read;
+    } finally {
+      buffer.close();
+    }
+  }
+
+  private long readFully(InputStream cursor) throws Exception {
+    byte[] dest = new byte[READ_BUFFER_SIZE];
+    long total = 0;
+    int read;
+    while ((read = cursor.read(dest, 0, dest.length)) != -1) {
+      total += read;
+    }
+    return total;
+  }
+
+  /**
+   * Generates a stream of the given size without holding it in memory
+   */
+  private static class SizedInputStream extends InputStream {
+
+    private long remaining;
+
+    private SizedInputStream(long size) {
+      this.remaining = size;
+    }
+
+    @Override
+    public int read() {
+      if (remaining <= 0) {
+        return -1;
+      }
+      remaining--;
+      return 'a';
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (remaining <= 0) {
+        return -1;
+      }
+      int read = (int) min(len, remaining);
+      remaining -= read;
+      return read;
+    }
+
+    @Override
+    public int available() {
+      return (int) min(remaining, Integer.MAX_VALUE);
+    }
+  }
+}
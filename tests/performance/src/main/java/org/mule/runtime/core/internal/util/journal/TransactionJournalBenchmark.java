@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.journal;
+
+import static java.nio.file.Files.createTempDirectory;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mule.runtime.core.internal.util.journal.queue.LocalTxQueueTransactionJournal.createLocalTxQueueJournalEntrySerializer;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.util.journal.queue.AbstractQueueTxJournalEntry;
+import org.mule.runtime.core.internal.util.journal.queue.LocalQueueTxJournalEntry;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(SECONDS)
+@Threads(8)
+public class TransactionJournalBenchmark extends AbstractBenchmark {
+
+  private static final byte ADD = 5;
+  private static final byte COMMIT = 1;
+
+  /**
+   * Zero means that group commit is disabled.
+   */
+  @Param({"0", "32"})
+  public int groupCommitBatchSize;
+
+  @Param({"false", "true"})
+  public boolean sync;
+
+  private MuleContext muleContext;
+  private File journalDirectory;
+  private TransactionJournal<Integer, LocalQueueTxJournalEntry> journal;
+  private final AtomicInteger txIds = new AtomicInteger();
+
+  @Setup
+  public void setUp() throws Exception {
+    muleContext = createMuleContextWithServices();
+    journalDirectory = createTempDirectory("journal-benchmark").toFile();
+    JournalGroupCommitConfig groupCommitConfig =
+        groupCommitBatchSize > 0 ? new JournalGroupCommitConfig(groupCommitBatchSize, 0, sync) : null;
+
+    journal = new TransactionJournal<>(journalDirectory.getAbsolutePath(),
+                                       entry -> ((AbstractQueueTxJournalEntry) entry).isCommit(),
+                                       createLocalTxQueueJournalEntrySerializer(muleContext), null, groupCommitConfig);
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    journal.close();
+    muleContext.dispose();
+    FileUtils.deleteDirectory(journalDirectory);
+  }
+
+  @Benchmark
+  public TransactionJournal<Integer, LocalQueueTxJournalEntry> addAndCommit() {
+    final int txId = txIds.incrementAndGet();
+    journal.logUpdateOperation(new LocalQueueTxJournalEntry(txId, ADD, "queue", PAYLOAD));
+    journal.logCheckpointOperation(new LocalQueueTxJournalEntry(txId, COMMIT));
+    return journal;
+  }
+
+}
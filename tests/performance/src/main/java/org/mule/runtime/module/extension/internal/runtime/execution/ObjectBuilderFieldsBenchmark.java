@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.execution;
+
+import static org.mule.runtime.module.extension.internal.util.FieldWriterGenerator.generateFieldWriter;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.module.extension.internal.util.FieldSetter;
+
+import java.lang.reflect.Field;
+import java.util.function.BiConsumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares populating parameter group like objects through reflective {@link FieldSetter}s against doing it through writers
+ * generated by {@link org.mule.runtime.module.extension.internal.util.FieldWriterGenerator}.
+ */
+@Threads(3)
+public class ObjectBuilderFieldsBenchmark extends AbstractBenchmark {
+
+  public static class Group5 {
+
+    Object f0, f1, f2, f3, f4;
+  }
+
+  public static class Group20 {
+
+    Object f0, f1, f2, f3, f4, f5, f6, f7, f8, f9;
+    Object f10, f11, f12, f13, f14, f15, f16, f17, f18, f19;
+  }
+
+  public static class Group50 {
+
+    Object f0, f1, f2, f3, f4, f5, f6, f7, f8, f9;
+    Object f10, f11, f12, f13, f14, f15, f16, f17, f18, f19;
+    Object f20, f21, f22, f23, f24, f25, f26, f27, f28, f29;
+    Object f30, f31, f32, f33, f34, f35, f36, f37, f38, f39;
+    Object f40, f41, f42, f43, f44, f45, f46, f47, f48, f49;
+  }
+
+  @Param({"5", "20", "50"})
+  public int fields;
+
+  private Class<?> groupClass;
+  private FieldSetter<Object, Object>[] reflectiveSetters;
+  private BiConsumer<Object, Object>[] generatedWriters;
+  private final Object value = new Object();
+
+  @Setup
+  public void setUp() {
+    switch (fields) {
+      case 5:
+        groupClass = Group5.class;
+        break;
+      case 20:
+        groupClass = Group20.class;
+        break;
+      default:
+        groupClass = Group50.class;
+    }
+
+    Field[] declaredFields = groupClass.getDeclaredFields();
+    reflectiveSetters = new FieldSetter[declaredFields.length];
+    generatedWriters = new BiConsumer[declaredFields.length];
+    for (int i = 0; i < declaredFields.length; ++i) {
+      reflectiveSetters[i] = new FieldSetter<>(declaredFields[i]);
+      generatedWriters[i] = generateFieldWriter(declaredFields[i])
+          .orElseThrow(() -> new IllegalStateException("Could not generate writer"));
+    }
+  }
+
+  @Benchmark
+  public Object reflectiveFieldSetters() throws Exception {
+    Object group = groupClass.newInstance();
+    for (FieldSetter<Object, Object> setter : reflectiveSetters) {
+      setter.set(group, value);
+    }
+    return group;
+  }
+
+  @Benchmark
+  public Object generatedFieldWriters() throws Exception {
+    Object group = groupClass.newInstance();
+    for (BiConsumer<Object, Object> writer : generatedWriters) {
+      writer.accept(group, value);
+    }
+    return group;
+  }
+}